@@ -0,0 +1,76 @@
+package com.example.ioc.bench; // 声明包路径，基准模块的公共工具
+
+import org.openjdk.jmh.annotations.Threads; // 引入 Threads，max 对应的线程数
+import org.openjdk.jmh.results.RunResult; // 引入 RunResult，汇总多次运行的结果
+import org.openjdk.jmh.results.format.ResultFormatFactory; // 引入 ResultFormatFactory，写出汇总结果
+import org.openjdk.jmh.results.format.ResultFormatType; // 引入 ResultFormatType，指定结果文件格式
+import org.openjdk.jmh.runner.Runner; // 引入 Runner，执行基准
+import org.openjdk.jmh.runner.options.CommandLineOptions; // 引入 CommandLineOptions，解析 JMH 命令行参数
+import org.openjdk.jmh.runner.options.OptionsBuilder; // 引入 OptionsBuilder，补充默认的结果输出
+
+import java.util.ArrayList; // 引入 ArrayList，收集参数与结果
+import java.util.Arrays; // 引入 Arrays，复制命令行参数
+import java.util.List; // 引入 List，作为参数与结果列表类型
+
+/**
+ * 基准入口（benchmarks.jar 的 Main-Class）：参数与 JMH 自带的 {@code org.openjdk.jmh.Main} 完全相同，
+ * 区别只在于未指定 {@code -rf/-rff} 时结果默认写成 JSON（{@code jmh-result.json}），便于在版本之间比较。
+ * <p>
+ * 另外 {@code -t} 可以给出逗号分隔的线程数（例如 {@code -t 1,2,4,max}）：按每个线程数各运行一遍，
+ * 结果汇总写入同一个结果文件（每条结果带有自己的线程数），用于观察吞吐量随核数的变化。
+ */
+public final class BenchmarkMain { // 基准入口
+
+    /** 默认的结果文件。 */
+    static final String DEFAULT_RESULT = "jmh-result.json"; // 工作目录下
+
+    private BenchmarkMain() { // 工具类不允许实例化
+    }
+
+    /**
+     * @param args JMH 命令行参数（例如 {@code StartBenchmark -p size=1000 -prof gc}）
+     * @throws Exception 参数错误或基准失败
+     */
+    public static void main(String[] args) throws Exception { // 入口
+        final List<String> rest = new ArrayList<>(Arrays.asList(args)); // 可修改的参数副本
+        final int[] sweep = threadSweep(rest); // 取出多值的 -t；没有时为 null
+        final CommandLineOptions cmd = new CommandLineOptions(rest.toArray(new String[0])); // 解析其余参数
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams() || cmd.shouldListProfilers()
+                || cmd.shouldListResultFormats()) { // 帮助与列表类参数
+            org.openjdk.jmh.Main.main(args); // 交给 JMH 原样处理
+            return; // 结束
+        }
+        final ResultFormatType format = cmd.getResultFormat().hasValue()
+                ? cmd.getResultFormat().get() : ResultFormatType.JSON; // 默认 JSON
+        final String file = cmd.getResult().hasValue() ? cmd.getResult().get() : DEFAULT_RESULT; // 默认文件
+        if (sweep == null) { // 单次运行：由 Runner 直接写出结果
+            new Runner(new OptionsBuilder().parent(cmd).resultFormat(format).result(file).build()).run(); // 执行基准
+            return; // 结束
+        }
+        final List<RunResult> results = new ArrayList<>(); // 各线程数的结果
+        for (int threads : sweep) { // 逐个线程数
+            results.addAll(new Runner(new OptionsBuilder().parent(cmd).threads(threads).build()).run()); // 不单独写文件
+        }
+        ResultFormatFactory.getInstance(format, file).writeOut(results); // 汇总写出
+    }
+
+    private static int[] threadSweep(List<String> args) { // 取出 "-t a,b,c"，其余参数原样保留
+        for (int i = 0; i < args.size() - 1; i++) { // 查找 -t
+            if (args.get(i).equals("-t") && args.get(i + 1).indexOf(',') >= 0) { // 多个线程数
+                final String[] values = args.get(i + 1).split(","); // 逐个解析
+                final int[] sweep = new int[values.length]; // 线程数
+                for (int k = 0; k < values.length; k++) { // 解析
+                    final String v = values[k].trim(); // 去掉空白
+                    sweep[k] = v.equalsIgnoreCase("max") ? Threads.MAX : Integer.parseInt(v); // max 即全部硬件线程
+                    if (sweep[k] <= 0 && sweep[k] != Threads.MAX) { // 非法值
+                        throw new IllegalArgumentException("Invalid thread count in -t: " + v); // 快速失败
+                    }
+                }
+                args.remove(i + 1); // 移除取值
+                args.remove(i); // 移除选项
+                return sweep; // 返回线程数
+            }
+        }
+        return null; // 没有多值的 -t
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ioc.bench; // 声明包路径，基准模块
+
+import com.example.ioc.Container; // 引入 Container，被测对象
+import com.example.ioc.bench.fixture.TenantSession; // 引入夹具：租户组件
+import org.openjdk.jmh.annotations.Benchmark; // 引入 @Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode; // 引入 @BenchmarkMode
+import org.openjdk.jmh.annotations.Fork; // 引入 @Fork
+import org.openjdk.jmh.annotations.Measurement; // 引入 @Measurement
+import org.openjdk.jmh.annotations.Mode; // 引入 Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit; // 引入 @OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope; // 引入 Scope
+import org.openjdk.jmh.annotations.Setup; // 引入 @Setup
+import org.openjdk.jmh.annotations.State; // 引入 @State
+import org.openjdk.jmh.annotations.Warmup; // 引入 @Warmup
+
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，输出单位
+
+/**
+ * 子容器（每租户一个）的创建开销：只创建子容器，以及创建后立即获取一个租户组件。
+ * <p>
+ * 配合 {@code -prof gc} 的 {@code gc.alloc.rate.norm} 可读出每次创建分配的字节数（含创建过程中的垃圾）；
+ * 子容器存活期间实际保留的堆见 {@link ChildFootprint}（保持一万个子容器存活，按 GC 后的已用堆计算）。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChildContainerBenchmark { // 子容器基准
+
+    private Container parent; // 已启动的父容器
+
+    @Setup
+    public void start() { // 启动父容器
+        parent = FixtureState.start(FixtureState.options()); // 默认配置
+    }
+
+    @Benchmark
+    public Container createChild() { // 只创建子容器
+        return parent.createChild(); // 返回子容器，避免被消除
+    }
+
+    @Benchmark
+    public Object createChildAndGetTenant() { // 创建子容器并获取租户组件
+        return parent.createChild().getBean(TenantSession.class); // 返回实例，避免被消除
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.ioc.bench; // 声明包路径，基准模块
+
+import com.example.ioc.Container; // 引入 Container，被测对象
+import com.example.ioc.bench.fixture.TenantSession; // 引入夹具：租户组件
+
+import java.lang.management.ManagementFactory; // 引入 ManagementFactory，读取堆使用量
+import java.lang.management.MemoryMXBean; // 引入 MemoryMXBean，堆使用量
+
+/**
+ * 子容器的常驻堆开销（可运行的 main，不是 JMH 基准）：保持 N 个子容器存活（默认 10 000），
+ * 用创建前后“充分 GC 之后的已用堆”之差除以 N，得到每个子容器保留的字节数。
+ * 分两轮：只创建子容器，以及每个子容器再获取一个租户组件（{@link TenantSession}）。
+ * <p>
+ * 与 {@link ChildContainerBenchmark} 配合 {@code -prof gc} 读出的 {@code gc.alloc.rate.norm} 不同，
+ * 这里不包括创建过程中产生的垃圾。建议使用串行收集器以获得稳定的数字：
+ * {@code java -XX:+UseSerialGC -cp benchmarks/target/benchmarks.jar com.example.ioc.bench.ChildFootprint [count]}。
+ */
+public final class ChildFootprint { // 子容器常驻开销
+
+    private ChildFootprint() { // 工具类不允许实例化
+    }
+
+    /**
+     * @param args 可选的子容器数
+     * @throws InterruptedException 等待 GC 时被中断
+     */
+    public static void main(String[] args) throws InterruptedException { // 入口
+        final int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000; // 子容器数
+        final Container parent = FixtureState.start(FixtureState.options()); // 父容器
+        parent.createChild().getBean(TenantSession.class); // 预热：注入计划与类在测量之前完成初始化
+        report("child", count, measure(parent, count, false)); // 只创建子容器
+        report("child + tenant bean", count, measure(parent, count, true)); // 子容器 + 租户组件
+        parent.close(); // 关闭父容器
+    }
+
+    private static long measure(Container parent, int count, boolean withTenant) throws InterruptedException { // 一轮：返回保留的字节数
+        final long before = usedAfterGc(); // 基线
+        final Container[] children = new Container[count]; // 保持全部子容器存活
+        for (int i = 0; i < count; i++) { // 逐个创建
+            children[i] = parent.createChild(); // 子容器
+            if (withTenant) { // 同时创建租户组件
+                children[i].getBean(TenantSession.class); // 每个子容器一个实例
+            }
+        }
+        final long after = usedAfterGc(); // 创建后
+        for (Container child : children) { // 测量之后才释放，保证测量期间全部存活
+            if (child == null) { // 不可能发生
+                throw new IllegalStateException("child container missing"); // 快速失败
+            }
+        }
+        return after - before; // 保留的字节数
+    }
+
+    private static long usedAfterGc() throws InterruptedException { // 反复 GC 直到已用堆不再下降
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean(); // 堆使用量
+        long used = Long.MAX_VALUE; // 上一次的读数
+        for (int i = 0; i < 10; i++) { // 最多 10 次
+            System.gc(); // 请求完整 GC
+            Thread.sleep(50); // 给并发收集器留出时间
+            final long now = memory.getHeapMemoryUsage().getUsed(); // 当前已用堆
+            if (now >= used) { // 不再下降
+                return used; // 稳定值
+            }
+            used = now; // 继续
+        }
+        return used; // 返回最后的读数
+    }
+
+    private static void report(String what, int count, long bytes) { // 输出一轮的结果
+        System.out.println(what + ": " + count + " alive, " + bytes + " bytes retained, "
+                + bytes / count + " bytes per child"); // 总量与每个子容器的开销
+    }
+}
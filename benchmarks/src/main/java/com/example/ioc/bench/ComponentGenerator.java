@@ -0,0 +1,375 @@
+package com.example.ioc.bench; // 声明包路径，基准模块的公共工具
+
+import javax.tools.JavaCompiler; // 引入 JavaCompiler，编译生成的组件源码
+import javax.tools.ToolProvider; // 引入 ToolProvider，获取当前 JDK 的编译器
+import java.io.ByteArrayOutputStream; // 引入 ByteArrayOutputStream，在内存中生成填充 JAR
+import java.io.IOException; // 引入 IOException，读写文件可能抛出
+import java.io.OutputStream; // 引入 OutputStream，写出 JAR
+import java.io.UncheckedIOException; // 引入 UncheckedIOException，在 Setup 中抛出 I/O 失败
+import java.net.MalformedURLException; // 引入 MalformedURLException，构造类加载器 URL
+import java.net.URL; // 引入 URL，作为类加载器的根
+import java.net.URLClassLoader; // 引入 URLClassLoader，加载生成的组件
+import java.nio.charset.StandardCharsets; // 引入 StandardCharsets，按 UTF-8 写源码
+import java.nio.file.FileVisitResult; // 引入 FileVisitResult，控制目录遍历
+import java.nio.file.Files; // 引入 Files，读写文件
+import java.nio.file.Path; // 引入 Path，表示生成目录
+import java.nio.file.Paths; // 引入 Paths，构造默认输出目录
+import java.nio.file.SimpleFileVisitor; // 引入 SimpleFileVisitor，遍历编译输出
+import java.nio.file.StandardCopyOption; // 引入 StandardCopyOption，原子替换生成的 fat jar
+import java.nio.file.attribute.BasicFileAttributes; // 引入 BasicFileAttributes，遍历回调参数
+import java.util.ArrayList; // 引入 ArrayList，收集源码文件与类名
+import java.util.Collections; // 引入 Collections，返回只读列表
+import java.util.Enumeration; // 引入 Enumeration，类加载器的资源枚举
+import java.util.List; // 引入 List，作为类名列表类型
+import java.util.Locale; // 引入 Locale，生成小写包名
+import java.util.Random; // 引入 Random，生成无法压缩的填充内容
+import java.util.jar.JarEntry; // 引入 JarEntry，写出 JAR 条目
+import java.util.jar.JarOutputStream; // 引入 JarOutputStream，把编译输出打成 JAR
+import java.util.zip.CRC32; // 引入 CRC32，STORED 条目的校验和
+
+/**
+ * 合成组件生成器：按依赖图形状生成 N 个 {@code @Component} 类的源码，用当前 JDK 的编译器编译，
+ * 输出为目录或 JAR 类路径根，供扫描与启动基准使用。
+ * <p>
+ * 生成结果按“形状 + 数量 + 是否带索引”缓存在 {@code target/bench-components/} 下（以 {@code .done} 标记完成），
+ * 同一台机器上的后续 fork 直接复用，不再重复编译。
+ * <p>
+ * 形状：
+ * <ul>
+ *   <li>{@link Shape#WIDE}：C0 没有依赖，其余组件都只依赖 C0（一层，最大并行度）；</li>
+ *   <li>{@link Shape#DEEP}：每 {@value #CHAIN} 个组件一条依赖链（链长受创建时的递归深度限制）；</li>
+ *   <li>{@link Shape#DIAMOND}：每层 {@value #LAYER} 个组件，每个组件通过构造器与字段各依赖上一层的两个组件；</li>
+ *   <li>{@link Shape#HIERARCHY}：另外生成 {@value #DEPTH} 层的接口链 {@code L0..L15}（{@code Lk extends Lk-1}）
+ *       与抽象类链 {@code B0..B15}（{@code B0 implements L0}）。C0 继承最深的抽象类并实现最深的接口，
+ *       是 {@code L1..L15} 的唯一实现；其余组件分别继承各层的抽象类（都是 {@code L0}/{@code B0} 的实现），
+ *       并通过构造器按最深的接口注入 C0。</li>
+ * </ul>
+ * 每 10 个组件中有一个带无参 {@code @InvokeOnStart} 回调；每个组件构造时调用 {@link ConstructorCost#spend()}
+ * （默认不做任何事，见 {@link ConstructorCost}）。
+ * <p>
+ * {@link Layout#FAT_JAR} 把组件 JAR 以 STORED 方式嵌套进 Spring Boot 风格的 fat jar，并加入填充 JAR
+ * （默认共约 {@value #FAT_JAR_MB} MB，可用 {@code -Dbench.fatJarMb=...} 调整），用来测量大归档中嵌套根的扫描。
+ */
+public final class ComponentGenerator { // 合成组件生成器（仅含静态方法）
+
+    /** DEEP 形状的链长：10k 个组件的单条链会在递归创建时耗尽默认线程栈。 */
+    static final int CHAIN = 100; // 链长
+    /** DIAMOND 形状的层宽。 */
+    static final int LAYER = 100; // 层宽
+    /** HIERARCHY 形状的接口链与抽象类链的深度。 */
+    public static final int DEPTH = 16; // 继承深度
+    /** 生成代码的格式版本：生成的源码变化时递增，旧的缓存目录随之失效。 */
+    static final int FORMAT = 2; // 格式版本
+    /** fat jar 的默认填充大小（MB）。 */
+    static final int FAT_JAR_MB = 200; // 填充大小
+    /** fat jar 中组件 JAR 的条目名。 */
+    static final String NESTED_COMPONENTS = "BOOT-INF/lib/components.jar"; // 嵌套条目名
+
+    private ComponentGenerator() { // 工具类不允许实例化
+    }
+
+    /**
+     * 依赖图形状。
+     */
+    public enum Shape { // 形状
+        /** 所有组件依赖同一个根组件。 */
+        WIDE,
+        /** 多条定长依赖链。 */
+        DEEP,
+        /** 分层菱形：每个组件依赖上一层的两个组件。 */
+        DIAMOND,
+        /** 深接口链与深抽象类链：按超类型获取与按接口注入。 */
+        HIERARCHY
+    }
+
+    /**
+     * 类路径根的形式。
+     */
+    public enum Layout { // 根形式
+        /** 编译输出目录。 */
+        DIRECTORY,
+        /** 打包后的 JAR（含目录条目）。 */
+        JAR,
+        /** fat jar 中以 STORED 方式嵌套的组件 JAR（{@code jar:file:/fat.jar!/BOOT-INF/lib/components.jar!/...}）。 */
+        FAT_JAR
+    }
+
+    /**
+     * 生成结果：基础包、类路径根与组件类名。
+     */
+    public static final class Root { // 生成结果（不可变）
+        private final String basePackage; // 基础包
+        private final Path path; // 类路径根（目录、JAR 或 fat jar）
+        private final Path classes; // 编译输出目录（fat jar 的类定义从这里读取）
+        private final Layout layout; // 根形式
+        private final List<String> classNames; // 组件类名（C0..Cn-1 的顺序）
+
+        Root(String basePackage, Path path, Path classes, Layout layout, List<String> classNames) { // 由生成器创建
+            this.basePackage = basePackage; // 保存基础包
+            this.path = path; // 保存根
+            this.classes = classes; // 保存编译输出目录
+            this.layout = layout; // 保存根形式
+            this.classNames = Collections.unmodifiableList(classNames); // 只读保存
+        }
+
+        /**
+         * @return 组件所在的基础包
+         */
+        public String getBasePackage() { // 读取基础包
+            return basePackage; // 直接返回
+        }
+
+        /**
+         * @return 类路径根（目录、JAR 或 fat jar）
+         */
+        public Path getPath() { // 读取根
+            return path; // 直接返回
+        }
+
+        /**
+         * @return 组件类名，顺序与编号一致
+         */
+        public List<String> getClassNames() { // 读取类名
+            return classNames; // 直接返回
+        }
+
+        /**
+         * 新建只包含本根的类加载器（父加载器为基准自身的加载器）：每个新加载器都要重新加载全部组件类，用于测量冷启动。
+         * <p>
+         * JDK 自带的加载器不能从嵌套 JAR 加载类，{@link Layout#FAT_JAR} 的加载器因此只把基础包资源报告为嵌套 JAR 中的
+         * URL（与 Spring Boot 启动器一致），类定义仍从编译输出目录读取：扫描走 fat jar，类加载的成本与 JAR 根相同。
+         *
+         * @return 类加载器
+         */
+        public URLClassLoader newLoader() { // 新建类加载器
+            try { // 路径转换不会失败
+                if (layout == Layout.FAT_JAR) { // 嵌套根
+                    return new FatJarLoader(classes, path, basePackage.replace('.', '/')); // 报告嵌套 URL 的加载器
+                }
+                return new URLClassLoader(new URL[]{path.toUri().toURL()}, ComponentGenerator.class.getClassLoader()); // 单根加载器
+            } catch (MalformedURLException e) { // 不可能发生
+                throw new IllegalStateException(e); // 包装
+            }
+        }
+    }
+
+    /**
+     * 把基础包资源报告为 fat jar 中嵌套 JAR 的 URL，其余资源与类照常从编译输出目录查找。
+     */
+    private static final class FatJarLoader extends URLClassLoader { // fat jar 加载器
+        private final String packagePath; // 基础包的资源路径
+        private final URL packageUrl; // 嵌套 JAR 中的包资源 URL
+
+        FatJarLoader(Path classes, Path fatJar, String packagePath) throws MalformedURLException { // 由 newLoader 创建
+            super(new URL[]{classes.toUri().toURL()}, ComponentGenerator.class.getClassLoader()); // 类定义来自编译输出
+            this.packagePath = packagePath; // 保存包路径
+            this.packageUrl = new URL("jar:" + fatJar.toUri() + "!/" + NESTED_COMPONENTS + "!/" + packagePath); // 嵌套 URL
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException { // 基础包只报告嵌套 URL
+            if (name.equals(packagePath)) { // 基础包
+                return Collections.enumeration(Collections.singletonList(packageUrl)); // 嵌套 JAR 中的包
+            }
+            return super.getResources(name); // 其余资源
+        }
+    }
+
+    /**
+     * 生成（或复用已生成的）组件。
+     *
+     * @param shape  依赖图形状
+     * @param count  组件数（至少 1）
+     * @param layout 目录或 JAR
+     * @param index  是否用容器的注解处理器生成组件索引
+     * @return 生成结果
+     */
+    public static Root generate(Shape shape, int count, Layout layout, boolean index) { // 生成入口
+        if (count < 1) { // 参数校验
+            throw new IllegalArgumentException("count must be positive: " + count); // 非法数量
+        }
+        final String pkg = "bench.gen." + shape.name().toLowerCase(Locale.ROOT) + ".n" + count; // 基础包
+        final Path base = Paths.get(System.getProperty("bench.dir", "target/bench-components"))
+                .toAbsolutePath().resolve(pkg + (index ? "-idx" : "") + "-v" + FORMAT); // 本次生成的工作目录
+        final List<String> names = new ArrayList<>(count); // 类名
+        for (int i = 0; i < count; i++) { // 编号即类名
+            names.add(pkg + ".C" + i); // 全限定名
+        }
+        final Path classes = base.resolve("classes"); // 编译输出目录
+        final Path jar = base.resolve("components.jar"); // JAR 根
+        final Path fatJar = base.resolve("fat.jar"); // fat jar 根
+        try { // 生成与编译涉及文件 I/O
+            if (!Files.exists(base.resolve(".done"))) { // 尚未生成
+                compile(shape, count, pkg, base, classes, index); // 生成源码并编译
+                writeJar(classes, jar); // 打包
+                Files.createFile(base.resolve(".done")); // 完成标记
+            }
+            if (layout == Layout.FAT_JAR && !Files.exists(fatJar)) { // fat jar 按需生成（体积大）
+                writeFatJar(jar, fatJar, Integer.getInteger("bench.fatJarMb", FAT_JAR_MB)); // 打包
+            }
+        } catch (IOException e) { // 写入失败
+            throw new UncheckedIOException(e); // 交给 JMH 报告
+        }
+        final Path path = layout == Layout.JAR ? jar : layout == Layout.FAT_JAR ? fatJar : classes; // 类路径根
+        return new Root(pkg, path, classes, layout, names); // 返回结果
+    }
+
+    private static void compile(Shape shape, int count, String pkg, Path base, Path classes, boolean index) throws IOException { // 生成源码并编译
+        final JavaCompiler javac = ToolProvider.getSystemJavaCompiler(); // 当前 JDK 的编译器
+        if (javac == null) { // 运行在 JRE 上
+            throw new IllegalStateException("Benchmarks need a JDK to compile generated components"); // 快速失败
+        }
+        final Path sources = base.resolve("src").resolve(pkg.replace('.', '/')); // 源码目录
+        Files.createDirectories(sources); // 确保目录存在
+        Files.createDirectories(classes); // 确保输出目录存在
+        final List<String> args = new ArrayList<>(); // 编译参数
+        args.add("-nowarn"); // 生成代码无需警告
+        args.add("-d"); // 输出目录
+        args.add(classes.toString()); // 输出目录
+        args.add("-cp"); // 编译类路径：当前进程的类路径（含容器注解）
+        args.add(System.getProperty("java.class.path")); // 类路径
+        if (index) { // 带组件索引
+            args.add("-processor"); // 显式指定处理器
+            args.add("com.example.ioc.processor.ComponentIndexProcessor"); // 容器的索引处理器
+        } else { // 不带索引
+            args.add("-proc:none"); // 关闭注解处理
+        }
+        for (int i = 0; i < count; i++) { // 逐个生成
+            final Path file = sources.resolve("C" + i + ".java"); // 源文件
+            Files.write(file, source(shape, pkg, i).getBytes(StandardCharsets.UTF_8)); // 写出源码
+            args.add(file.toString()); // 加入编译列表
+        }
+        if (shape == Shape.HIERARCHY) { // 接口链与抽象类链（不是组件）
+            for (int k = 0; k < DEPTH; k++) { // 逐层生成
+                args.add(write(sources, "L" + k, "package " + pkg + ";\n\npublic interface L" + k
+                        + (k == 0 ? "" : " extends L" + (k - 1)) + " {\n}\n")); // 接口链
+                args.add(write(sources, "B" + k, "package " + pkg + ";\n\npublic abstract class B" + k
+                        + (k == 0 ? " implements L0" : " extends B" + (k - 1)) + " {\n}\n")); // 抽象类链
+            }
+        }
+        final int status = javac.run(null, null, null, args.toArray(new String[0])); // 一次编译全部源码
+        if (status != 0) { // 编译失败
+            throw new IllegalStateException("Compiling generated components failed: " + pkg); // 快速失败
+        }
+    }
+
+    private static String write(Path sources, String simpleName, String source) throws IOException { // 写出一个辅助类型的源码
+        final Path file = sources.resolve(simpleName + ".java"); // 源文件
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8)); // 写出源码
+        return file.toString(); // 编译参数
+    }
+
+    static String source(Shape shape, String pkg, int i) { // 单个组件的源码
+        final StringBuilder sb = new StringBuilder(); // 源码
+        sb.append("package ").append(pkg).append(";\n\n"); // 包声明
+        sb.append("import com.example.ioc.annotations.*;\n\n"); // 容器注解
+        sb.append("@Component\npublic class C").append(i); // 类声明
+        if (shape == Shape.HIERARCHY) { // 深继承链
+            sb.append(i == 0 ? " extends B" + (DEPTH - 1) + " implements L" + (DEPTH - 1)
+                    : " extends B" + (i - 1) % DEPTH); // C0 位于两条链的最深处，其余分布在各层
+        }
+        sb.append(" {\n"); // 类体开始
+        sb.append("    { com.example.ioc.bench.ConstructorCost.spend(); }\n"); // 实例初始化块：每个构造器都会执行
+        int ctorDep = -1; // 构造器依赖的编号
+        int fieldDep = -1; // 字段依赖的编号
+        switch (shape) { // 按形状决定依赖
+            case WIDE: // 全部依赖 C0
+                ctorDep = i == 0 ? -1 : 0; // C0 没有依赖
+                break; // 结束
+            case DEEP: // 定长链
+                ctorDep = i % CHAIN == 0 ? -1 : i - 1; // 链首没有依赖
+                break; // 结束
+            case HIERARCHY: // 按最深的接口注入 C0（单独处理）
+                break; // 结束
+            default: // 分层菱形
+                if (i >= LAYER) { // 第一层没有依赖
+                    final int prev = i - LAYER; // 上一层的对应组件
+                    final int layerStart = prev - prev % LAYER; // 上一层起点
+                    ctorDep = prev; // 构造器依赖正上方
+                    fieldDep = layerStart + (prev % LAYER + 1) % LAYER; // 字段依赖右上方（同层回绕）
+                }
+                break; // 结束
+        }
+        if (fieldDep >= 0) { // 字段依赖
+            sb.append("    @Inject C").append(fieldDep).append(" right;\n"); // 字段注入
+        }
+        if (shape == Shape.HIERARCHY && i > 0) { // 接口注入
+            sb.append("    private final L").append(DEPTH - 1).append(" top;\n"); // 依赖字段
+            sb.append("    @Inject public C").append(i).append("(L").append(DEPTH - 1)
+                    .append(" top) { this.top = top; }\n"); // 按最深的接口解析到 C0
+        }
+        if (ctorDep >= 0) { // 构造器依赖
+            sb.append("    private final C").append(ctorDep).append(" up;\n"); // 依赖字段
+            sb.append("    @Inject public C").append(i).append("(C").append(ctorDep).append(" up) { this.up = up; }\n"); // 注入构造器
+        }
+        if (i % 10 == 0) { // 每 10 个一个启动回调
+            sb.append("    @InvokeOnStart public void start() { }\n"); // 空回调
+        }
+        sb.append("}\n"); // 类结束
+        return sb.toString(); // 返回源码
+    }
+
+    private static void writeJar(Path classes, Path jar) throws IOException { // 把编译输出打成 JAR（含目录条目，getResources 需要）
+        try (OutputStream file = Files.newOutputStream(jar);
+             JarOutputStream out = new JarOutputStream(file)) { // 写出 JAR
+            Files.walkFileTree(classes, new SimpleFileVisitor<Path>() { // 遍历编译输出
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException { // 目录条目
+                    if (!dir.equals(classes)) { // 根目录本身不写
+                        out.putNextEntry(new JarEntry(entryName(classes, dir) + "/")); // 目录条目
+                        out.closeEntry(); // 结束条目
+                    }
+                    return FileVisitResult.CONTINUE; // 继续遍历
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path f, BasicFileAttributes attrs) throws IOException { // 文件条目
+                    out.putNextEntry(new JarEntry(entryName(classes, f))); // 文件条目
+                    Files.copy(f, out); // 写出内容
+                    out.closeEntry(); // 结束条目
+                    return FileVisitResult.CONTINUE; // 继续遍历
+                }
+            });
+        }
+    }
+
+    private static void writeFatJar(Path components, Path fatJar, int fillerMb) throws IOException { // 组件 JAR + 填充 JAR 打成 fat jar
+        final Path tmp = fatJar.resolveSibling(fatJar.getFileName() + ".tmp"); // 先写临时文件
+        final Random random = new Random(42); // 固定种子：内容可复现，且无法压缩
+        try (OutputStream file = Files.newOutputStream(tmp);
+             JarOutputStream out = new JarOutputStream(file)) { // 写出 fat jar
+            putStored(out, NESTED_COMPONENTS, Files.readAllBytes(components)); // 组件 JAR（STORED，可直接切片）
+            final byte[] content = new byte[16 * 1024]; // 填充条目内容
+            for (int i = 0; i < fillerMb; i++) { // 每个填充 JAR 约 1MB
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 20); // 填充 JAR 内容
+                try (JarOutputStream filler = new JarOutputStream(bytes)) { // 64 个 16KB 的条目
+                    for (int j = 0; j < 64; j++) { // 逐个写出
+                        random.nextBytes(content); // 随机内容
+                        filler.putNextEntry(new JarEntry("filler/p" + i + "/R" + j + ".bin")); // 基础包之外的条目
+                        filler.write(content); // 写出内容
+                        filler.closeEntry(); // 结束条目
+                    }
+                }
+                putStored(out, "BOOT-INF/lib/filler-" + i + ".jar", bytes.toByteArray()); // 嵌套填充 JAR
+            }
+        }
+        Files.move(tmp, fatJar, StandardCopyOption.REPLACE_EXISTING); // 写完再改名，中断时不会留下半个文件
+    }
+
+    private static void putStored(JarOutputStream out, String name, byte[] content) throws IOException { // 写出 STORED 条目
+        final CRC32 crc = new CRC32(); // STORED 条目需要预先给出 CRC 与大小
+        crc.update(content); // 计算 CRC
+        final JarEntry entry = new JarEntry(name); // 条目
+        entry.setMethod(JarEntry.STORED); // 不压缩
+        entry.setSize(content.length); // 大小
+        entry.setCompressedSize(content.length); // 压缩后大小
+        entry.setCrc(crc.getValue()); // CRC
+        out.putNextEntry(entry); // 开始条目
+        out.write(content); // 写出内容
+        out.closeEntry(); // 结束条目
+    }
+
+    private static String entryName(Path root, Path p) { // 相对路径 -> JAR 条目名
+        return root.relativize(p).toString().replace('\\', '/'); // 统一使用斜杠
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.ioc.bench; // 声明包路径，基准模块
+
+import com.example.ioc.Container; // 引入 Container，被测对象
+import com.example.ioc.ContainerOptions; // 引入 ContainerOptions，关闭日志
+import com.example.ioc.LogSink; // 引入 LogSink，检查中关闭日志
+import com.example.ioc.bench.concurrent.Counted; // 引入 Counted，读取构造次数
+import com.example.ioc.bench.concurrent.CycleA; // 引入环的一端
+import com.example.ioc.bench.concurrent.CycleB; // 引入环的另一端
+import com.example.ioc.bench.concurrent.StressLeaf; // 引入依赖链末端
+import com.example.ioc.bench.concurrent.StressMiddle; // 引入依赖链中间
+import com.example.ioc.bench.concurrent.StressRoot; // 引入依赖链起点
+
+import java.util.ArrayList; // 引入 ArrayList，收集各线程的结果
+import java.util.List; // 引入 List，作为结果列表类型
+import java.util.concurrent.Callable; // 引入 Callable，各线程的任务
+import java.util.concurrent.CyclicBarrier; // 引入 CyclicBarrier，让所有线程同时开始
+import java.util.concurrent.ExecutionException; // 引入 ExecutionException，任务失败
+import java.util.concurrent.ExecutorService; // 引入 ExecutorService，工作线程
+import java.util.concurrent.Executors; // 引入 Executors，创建固定线程池
+import java.util.concurrent.Future; // 引入 Future，任务结果
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，等待超时
+import java.util.concurrent.TimeoutException; // 引入 TimeoutException，视为死锁
+
+/**
+ * {@code getBean} 的并发压力检查（可运行的 main，不是 JMH 基准），失败时抛出异常、以非零状态退出：
+ * <ul>
+ *   <li>每一轮新建容器，N 个线程同时以不同顺序获取三个尚未创建的类型（依赖链 root → middle → leaf），
+ *       检查每个类型只构造一次、所有线程拿到同一个实例、注入的依赖也是同一个实例；</li>
+ *   <li>两个线程分别获取互相字段注入的 {@link CycleA} 与 {@link CycleB}，两端构造器汇合后才开始注入，
+ *       形成跨线程的环：两个线程都必须在超时之前收到 {@code Circular dependency detected}，而不是死锁。</li>
+ * </ul>
+ * 用法：{@code java -cp benchmarks/target/benchmarks.jar com.example.ioc.bench.ConcurrencyCheck [threads] [rounds]}，
+ * 默认线程数为处理器数的两倍（至少 4），默认 200 轮。
+ * 只依赖容器与 {@code concurrent} 包中的夹具、不依赖 JMH，{@code verify.sh}/{@code verify.bat} 直接编译并运行它。
+ */
+public final class ConcurrencyCheck { // 并发压力检查
+
+    /** 等待单个线程结果的上限；超过即认为发生了死锁。 */
+    static final long TIMEOUT_SECONDS = 10L; // 秒
+
+    /** 被检查的类型。 */
+    private static final Class<?>[] TYPES = {StressRoot.class, StressMiddle.class, StressLeaf.class}; // 依赖链
+
+    private ConcurrencyCheck() { // 工具类不允许实例化
+    }
+
+    /**
+     * @param args 可选的线程数与轮数
+     * @throws Exception 检查失败（{@link IllegalStateException}）或线程池异常
+     */
+    public static void main(String[] args) throws Exception { // 入口
+        final int threads = args.length > 0 ? Integer.parseInt(args[0])
+                : Math.max(4, Runtime.getRuntime().availableProcessors() * 2); // 线程数
+        final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 200; // 轮数
+        final ExecutorService pool = Executors.newFixedThreadPool(threads); // 所有轮共用的线程
+        try { // 结束时关闭线程池
+            for (int i = 0; i < rounds; i++) { // 逐轮检查
+                exactlyOnce(pool, threads); // 每个类型只创建一次
+            }
+            System.out.println("exactly-once: " + rounds + " rounds x " + threads + " threads ok"); // 输出结果
+            final int cycles = Math.max(1, rounds / 10); // 环检查每轮只有两个线程，轮数少一些即可
+            for (int i = 0; i < cycles; i++) { // 逐轮检查
+                crossThreadCycle(pool); // 跨线程环
+            }
+            System.out.println("cross-thread cycle: " + cycles + " rounds ok"); // 输出结果
+        } finally { // 无论成败
+            pool.shutdownNow(); // 关闭线程池
+        }
+    }
+
+    private static void exactlyOnce(ExecutorService pool, int threads) throws Exception { // 一轮：N 个线程竞争创建
+        Counted.reset(); // 新容器，重新计数
+        try (Container container = newContainer()) { // 每轮新容器，所有类型都未创建
+            final CyclicBarrier startLine = new CyclicBarrier(threads); // 所有线程同时开始
+            final List<Future<Object[]>> futures = new ArrayList<>(); // 各线程的结果
+            for (int t = 0; t < threads; t++) { // 提交任务
+                final int offset = t % TYPES.length; // 每个线程从不同的类型开始获取
+                futures.add(pool.submit(() -> { // 获取全部类型
+                    startLine.await(); // 等待其他线程就绪
+                    final Object[] beans = new Object[TYPES.length]; // 按 TYPES 顺序保存
+                    for (int k = 0; k < TYPES.length; k++) { // 按本线程的顺序获取
+                        final int index = (offset + k) % TYPES.length; // 类型下标
+                        beans[index] = container.getBean(TYPES[index]); // 可能命中、等待或负责创建
+                    }
+                    return beans; // 返回结果
+                }));
+            }
+            final Object[] first = await(futures.get(0), "getBean"); // 第一个线程的结果作为基准
+            for (Future<Object[]> f : futures) { // 逐个比较
+                final Object[] beans = await(f, "getBean"); // 等待结果
+                for (int k = 0; k < TYPES.length; k++) { // 逐个类型
+                    check(beans[k] == first[k], "threads got different instances of " + TYPES[k].getName()); // 同一个实例
+                }
+            }
+            for (Class<?> type : TYPES) { // 构造次数
+                check(Counted.of(type) == 1, type.getName() + " constructed " + Counted.of(type) + " times"); // 只构造一次
+            }
+            final StressRoot root = (StressRoot) first[0]; // 起点
+            final StressMiddle middle = (StressMiddle) first[1]; // 中间
+            check(root.getMiddle() == middle && root.getLeaf() == first[2] && middle.getLeaf() == first[2],
+                    "injected dependencies are not the shared singletons"); // 依赖同样是单例
+        }
+    }
+
+    private static void crossThreadCycle(ExecutorService pool) throws Exception { // 一轮：两个线程互相等待
+        try (Container container = newContainer()) { // 每轮新容器
+            final CyclicBarrier startLine = new CyclicBarrier(2); // 两个线程同时开始
+            final Future<Throwable> a = pool.submit(failureOf(startLine, () -> container.getBean(CycleA.class))); // 一端
+            final Future<Throwable> b = pool.submit(failureOf(startLine, () -> container.getBean(CycleB.class))); // 另一端
+            checkCycle(await(a, "getBean(CycleA)"), CycleA.class); // 必须报告循环依赖
+            checkCycle(await(b, "getBean(CycleB)"), CycleB.class); // 必须报告循环依赖
+        }
+    }
+
+    private static Callable<Throwable> failureOf(CyclicBarrier startLine, Callable<?> call) { // 返回调用抛出的异常（成功为 null）
+        return () -> { // 任务
+            startLine.await(); // 等待另一个线程就绪
+            try { // 期望失败
+                call.call(); // 获取
+                return null; // 不应成功
+            } catch (RuntimeException e) { // 期望的失败
+                return e; // 交给主线程检查
+            }
+        };
+    }
+
+    private static void checkCycle(Throwable failure, Class<?> type) { // 异常链中必须包含循环依赖错误
+        check(failure != null, "getBean(" + type.getSimpleName() + ") succeeded despite a cross-thread cycle"); // 不应成功
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) { // 沿 cause 链查找
+            if (t.getMessage() != null && t.getMessage().contains("Circular dependency detected")) { // 找到
+                return; // 符合预期
+            }
+        }
+        throw new IllegalStateException("getBean(" + type.getSimpleName() + ") failed without a cycle error", failure); // 其他错误
+    }
+
+    private static <T> T await(Future<T> future, String what) throws Exception { // 有界等待
+        try { // 超时即视为死锁
+            return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS); // 等待结果
+        } catch (TimeoutException e) { // 超时
+            throw new IllegalStateException(what + " did not finish in " + TIMEOUT_SECONDS + "s (deadlock?)", e); // 检查失败
+        } catch (ExecutionException e) { // 任务本身失败
+            throw new IllegalStateException(what + " failed", e.getCause()); // 检查失败
+        }
+    }
+
+    private static Container newContainer() { // 新容器：基础包中没有组件，所有类型都按非组件单例首次创建
+        final Container container = new Container("com.example.ioc.bench.concurrent",
+                ContainerOptions.defaults().logSink(LogSink.silent())); // 关闭日志
+        container.start(); // 启动（没有组件需要创建）
+        return container; // 返回容器
+    }
+
+    private static void check(boolean condition, String message) { // 断言
+        if (!condition) { // 不满足
+            throw new IllegalStateException(message); // 快速失败
+        }
+    }
+}
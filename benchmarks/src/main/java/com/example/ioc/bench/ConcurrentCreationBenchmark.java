@@ -0,0 +1,108 @@
+package com.example.ioc.bench; // 声明包路径，基准模块
+
+import com.example.ioc.Container; // 引入 Container，被测对象
+import com.example.ioc.ContainerOptions; // 引入 ContainerOptions，延迟模式
+import com.example.ioc.LogSink; // 引入 LogSink，基准中关闭日志
+import org.openjdk.jmh.annotations.Benchmark; // 引入 @Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode; // 引入 @BenchmarkMode
+import org.openjdk.jmh.annotations.Fork; // 引入 @Fork
+import org.openjdk.jmh.annotations.Level; // 引入 Level，每次迭代新建容器
+import org.openjdk.jmh.annotations.Measurement; // 引入 @Measurement
+import org.openjdk.jmh.annotations.Mode; // 引入 Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit; // 引入 @OutputTimeUnit
+import org.openjdk.jmh.annotations.Param; // 引入 @Param
+import org.openjdk.jmh.annotations.Scope; // 引入 Scope
+import org.openjdk.jmh.annotations.Setup; // 引入 @Setup
+import org.openjdk.jmh.annotations.State; // 引入 @State
+import org.openjdk.jmh.annotations.TearDown; // 引入 @TearDown
+import org.openjdk.jmh.annotations.Threads; // 引入 @Threads
+import org.openjdk.jmh.annotations.Warmup; // 引入 @Warmup
+
+import java.io.IOException; // 引入 IOException，关闭类加载器
+import java.net.URLClassLoader; // 引入 URLClassLoader，生成组件的类加载器
+import java.util.List; // 引入 List，组件类名
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，输出单位
+import java.util.concurrent.atomic.AtomicInteger; // 引入 AtomicInteger，给线程分配起点
+
+/**
+ * 多个线程同时首次获取同一批单例时的耗时：每次迭代新建一个延迟模式的容器（启动只登记、不创建），
+ * 每个线程从不同的起点依次获取全部合成组件，大部分获取都会落在其他线程正在创建的类型上，
+ * 走“每个类型一条创建记录、其余线程等待”的路径。单次调用即“所有组件都已可用”为止的时间。
+ * <p>
+ * 线程数用 {@code -t} 指定，配合 {@link BenchmarkMain} 的 {@code -t 1,2,4,max} 观察随核数的变化。
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+@Threads(Threads.MAX)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentCreationBenchmark { // 并发首次创建基准
+
+    @Param({"1000"})
+    public int size; // 组件数
+
+    @Param({"WIDE", "DIAMOND"})
+    public ComponentGenerator.Shape shape; // 依赖图形状
+
+    private ComponentGenerator.Root root; // 生成的组件
+    private URLClassLoader loader; // 所有迭代共用的类加载器
+    private ClassLoader previous; // 原来的上下文类加载器
+    private Class<?>[] types; // 组件类型
+    private final AtomicInteger nextOffset = new AtomicInteger(); // 下一个线程的起点
+    private Container container; // 当前迭代的容器
+
+    /**
+     * 每个线程的起点（按线程均匀分布在组件列表上）。
+     */
+    @State(Scope.Thread)
+    public static class Walker { // 线程状态
+        int offset; // 起点
+
+        @Setup(Level.Trial)
+        public void assign(ConcurrentCreationBenchmark bench) { // 分配起点
+            offset = bench.nextOffset.getAndAdd(97) % bench.size; // 与链长、层宽互质的步长，避免线程扎堆
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void generate() throws ClassNotFoundException { // 生成并加载组件
+        previous = Thread.currentThread().getContextClassLoader(); // 保存原加载器
+        root = ComponentGenerator.generate(shape, size, ComponentGenerator.Layout.DIRECTORY, false); // 目录根，不带索引
+        loader = root.newLoader(); // 组件类只加载一次，迭代之间只换容器
+        final List<String> names = root.getClassNames(); // 组件类名
+        types = new Class<?>[names.size()]; // 组件类型
+        for (int i = 0; i < types.length; i++) { // 逐个加载
+            types[i] = Class.forName(names.get(i), false, loader); // 不初始化
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void start() { // 每次迭代新建容器，所有单例都尚未创建
+        Thread.currentThread().setContextClassLoader(loader); // 容器从上下文类加载器查找资源
+        container = new Container(root.getBasePackage(),
+                ContainerOptions.defaults().logSink(LogSink.silent()).lazyInitEnabled(true)); // 只登记
+        container.start(); // 启动
+    }
+
+    @Benchmark
+    public Object getAll(Walker walker) { // 从本线程的起点获取全部组件
+        Object last = null; // 最后一个实例，避免被消除
+        for (int i = 0; i < types.length; i++) { // 绕列表一圈
+            last = container.getBean(types[(walker.offset + i) % types.length]); // 命中、等待或负责创建
+        }
+        return last; // 返回实例
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() { // 关闭本次迭代的容器
+        container.close(); // 释放
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() throws IOException { // 清理
+        Thread.currentThread().setContextClassLoader(previous); // 恢复上下文类加载器
+        loader.close(); // 关闭加载器
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.ioc.bench; // 声明包路径，基准模块的公共工具
+
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，换算等待时间
+
+/**
+ * 合成组件构造器的耗时：{@link ComponentGenerator} 生成的每个组件在构造时调用 {@link #spend()}，
+ * 按当前设定（{@link #use(ConstructorCost)}，默认 {@link #NONE}）忙等或休眠，
+ * 使并行实例化能体现依赖图关键路径的效果。
+ * <p>
+ * {@link #BUSY} 占用 CPU，加速比受处理器数限制；{@link #BLOCKING} 模拟 I/O 等阻塞型构造器，
+ * 单核机器上同样可以并行。
+ */
+public enum ConstructorCost { // 构造器耗时
+
+    /** 不做任何事。 */
+    NONE {
+        @Override
+        void pay() { // 空实现
+            // 空实现
+        }
+    },
+    /** 忙等 {@value #BUSY_MICROS} 微秒。 */
+    BUSY {
+        @Override
+        void pay() { // 忙等
+            final long end = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(BUSY_MICROS); // 截止时间
+            while (System.nanoTime() < end) { // 占用 CPU 直到截止（nanoTime 不会被优化掉；Java 8 没有 Thread.onSpinWait）
+                // 忙等
+            }
+        }
+    },
+    /** 休眠 {@value #BLOCKING_MILLIS} 毫秒。 */
+    BLOCKING {
+        @Override
+        void pay() { // 休眠
+            try { // 休眠可能被中断
+                Thread.sleep(BLOCKING_MILLIS); // 模拟阻塞
+            } catch (InterruptedException e) { // 中断
+                Thread.currentThread().interrupt(); // 恢复中断标志
+            }
+        }
+    };
+
+    /** {@link #BUSY} 的忙等时间（微秒）。 */
+    static final long BUSY_MICROS = 100L; // 微秒
+    /** {@link #BLOCKING} 的休眠时间（毫秒）。 */
+    static final long BLOCKING_MILLIS = 1L; // 毫秒
+
+    private static volatile ConstructorCost current = NONE; // 当前设定
+
+    abstract void pay(); // 按本设定耗费时间
+
+    /**
+     * 设置之后创建的组件的构造耗时。
+     *
+     * @param cost 构造耗时
+     */
+    public static void use(ConstructorCost cost) { // 设置当前设定
+        current = cost; // 保存
+    }
+
+    /**
+     * 由生成的组件构造器调用。
+     */
+    public static void spend() { // 按当前设定耗费时间
+        current.pay(); // 委托当前设定
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.ioc.bench; // 声明包路径，基准模块
+
+import com.example.ioc.BeanPool; // 引入 BeanPool，池化组件的借还
+import com.example.ioc.Container; // 引入 Container，被测对象
+import com.example.ioc.bench.fixture.Buffer; // 引入夹具：池化组件
+import com.example.ioc.bench.fixture.Command; // 引入夹具：原型组件
+import com.example.ioc.bench.fixture.OrderService; // 引入夹具：构造器 + 字段注入
+import com.example.ioc.bench.fixture.Tokenizer; // 引入夹具：线程作用域组件
+import org.openjdk.jmh.annotations.Benchmark; // 引入 @Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode; // 引入 @BenchmarkMode
+import org.openjdk.jmh.annotations.Fork; // 引入 @Fork
+import org.openjdk.jmh.annotations.Measurement; // 引入 @Measurement
+import org.openjdk.jmh.annotations.Mode; // 引入 Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit; // 引入 @OutputTimeUnit
+import org.openjdk.jmh.annotations.Param; // 引入 @Param
+import org.openjdk.jmh.annotations.Scope; // 引入 Scope
+import org.openjdk.jmh.annotations.Setup; // 引入 @Setup
+import org.openjdk.jmh.annotations.State; // 引入 @State
+import org.openjdk.jmh.annotations.Warmup; // 引入 @Warmup
+
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，输出单位
+
+/**
+ * 实例创建与各作用域获取的单次耗时：{@link Container#createInstance(Class)}、单例命中（基线）、原型获取、
+ * 对象池借还与线程作用域获取，对比三条创建路径（见 {@link CreatePath}）。
+ * 配合 {@code -prof gc} 可在同一次运行中对比四种作用域每次操作的分配字节数（{@code gc.alloc.rate.norm}）。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreateInstanceBenchmark { // 实例创建基准
+
+    /**
+     * 创建路径。
+     */
+    public enum CreatePath { // 创建路径
+        /** 缓存的注入计划 + 链接工厂（默认配置）。 */
+        LINKED,
+        /** 缓存的注入计划 + 普通反射调用。 */
+        REFLECTIVE,
+        /** 每次创建都重新反射计算计划（引入计划缓存之前的路径）。 */
+        UNCACHED
+    }
+
+    @Param({"LINKED", "REFLECTIVE", "UNCACHED"})
+    public CreatePath path; // 创建路径
+
+    private Container container; // 已启动的夹具容器
+    private BeanPool<Buffer> pool; // 缓冲区对象池
+
+    @Setup
+    public void start() { // 启动容器
+        container = FixtureState.start(FixtureState.options()
+                .linkedFactoriesEnabled(path == CreatePath.LINKED)
+                .injectionPlanCacheEnabled(path != CreatePath.UNCACHED)); // 按参数选择路径
+        pool = container.getPool(Buffer.class); // 热路径上保存池
+    }
+
+    @Benchmark
+    public Object createInstance() { // 构造器注入 + 字段注入的新实例
+        return container.createInstance(OrderService.class); // 返回实例，避免被消除
+    }
+
+    @Benchmark
+    public Object singleton() { // 单例命中：各作用域的基线
+        return container.getBean(OrderService.class); // 返回实例，避免被消除
+    }
+
+    @Benchmark
+    public Object prototype() { // 原型作用域获取
+        return container.getBean(Command.class); // 返回实例，避免被消除
+    }
+
+    @Benchmark
+    public Buffer pooled() { // 借出、写入、归还
+        final Buffer buffer = pool.acquire(); // 借出
+        buffer.put((byte) 1); // 使用
+        pool.release(buffer); // 归还（触发 @OnRelease）
+        return buffer; // 返回实例，避免被消除
+    }
+
+    @Benchmark
+    public Object threadScoped() { // 线程作用域获取（同一线程首次之后复用）
+        return container.getBean(Tokenizer.class); // 返回实例，避免被消除
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.ioc.bench; // 声明包路径，基准模块的公共工具
+
+import com.example.ioc.Container; // 引入 Container，被测对象
+import com.example.ioc.ContainerOptions; // 引入 ContainerOptions，关闭日志
+import com.example.ioc.LogSink; // 引入 LogSink，基准中关闭日志
+
+/**
+ * 夹具容器的创建：基础包固定为 {@code com.example.ioc.bench.fixture}，日志关闭。
+ */
+final class FixtureState { // 夹具工具（仅含静态方法）
+
+    /** 夹具组件所在的基础包。 */
+    static final String FIXTURE_PACKAGE = "com.example.ioc.bench.fixture"; // 基础包
+
+    private FixtureState() { // 工具类不允许实例化
+    }
+
+    /**
+     * @return 静默日志的默认配置，调用方可继续修改
+     */
+    static ContainerOptions options() { // 基准配置
+        return ContainerOptions.defaults().logSink(LogSink.silent()); // 关闭日志
+    }
+
+    /**
+     * @param options 容器配置
+     * @return 已启动的夹具容器
+     */
+    static Container start(ContainerOptions options) { // 启动夹具容器
+        final Container container = new Container(FIXTURE_PACKAGE, options); // 新容器
+        container.start(); // 启动
+        return container; // 返回容器
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ioc.bench; // 声明包路径，基准模块
+
+import com.example.ioc.Container; // 引入 Container，被测对象
+import com.example.ioc.bench.fixture.JdbcRepository; // 引入夹具：按类获取
+import com.example.ioc.bench.fixture.Repository; // 引入夹具：按接口获取
+import org.openjdk.jmh.annotations.Benchmark; // 引入 @Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode; // 引入 @BenchmarkMode
+import org.openjdk.jmh.annotations.Fork; // 引入 @Fork
+import org.openjdk.jmh.annotations.Measurement; // 引入 @Measurement
+import org.openjdk.jmh.annotations.Mode; // 引入 Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit; // 引入 @OutputTimeUnit
+import org.openjdk.jmh.annotations.Param; // 引入 @Param
+import org.openjdk.jmh.annotations.Scope; // 引入 Scope
+import org.openjdk.jmh.annotations.Setup; // 引入 @Setup
+import org.openjdk.jmh.annotations.State; // 引入 @State
+import org.openjdk.jmh.annotations.Warmup; // 引入 @Warmup
+
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，输出单位
+
+/**
+ * 单线程下已启动容器的单例查找耗时：按类、按接口、按名称，对比冻结前后的注册表。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GetBeanBenchmark { // 单例查找基准
+
+    @Param({"false", "true"})
+    public boolean frozen; // 启动后是否冻结注册表
+
+    private Container container; // 已启动的夹具容器
+
+    @Setup
+    public void start() { // 启动容器
+        container = FixtureState.start(FixtureState.options().freezeAfterStartEnabled(frozen)); // 按参数冻结
+    }
+
+    @Benchmark
+    public Object byClass() { // 按实现类查找
+        return container.getBean(JdbcRepository.class); // 返回实例，避免被消除
+    }
+
+    @Benchmark
+    public Object byInterface() { // 按接口查找
+        return container.getBean(Repository.class); // 返回实例，避免被消除
+    }
+
+    @Benchmark
+    public Object byName() { // 按名称查找
+        return container.getBean("orders"); // 返回实例，避免被消除
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.ioc.bench; // 声明包路径，基准模块
+
+import com.example.ioc.Container; // 引入 Container，被测对象
+import com.example.ioc.ContainerOptions; // 引入 ContainerOptions，冻结开关
+import com.example.ioc.LogSink; // 引入 LogSink，基准中关闭日志
+import org.openjdk.jmh.annotations.Benchmark; // 引入 @Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode; // 引入 @BenchmarkMode
+import org.openjdk.jmh.annotations.Fork; // 引入 @Fork
+import org.openjdk.jmh.annotations.Level; // 引入 Level，试验级别的准备与清理
+import org.openjdk.jmh.annotations.Measurement; // 引入 @Measurement
+import org.openjdk.jmh.annotations.Mode; // 引入 Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit; // 引入 @OutputTimeUnit
+import org.openjdk.jmh.annotations.Param; // 引入 @Param
+import org.openjdk.jmh.annotations.Scope; // 引入 Scope
+import org.openjdk.jmh.annotations.Setup; // 引入 @Setup
+import org.openjdk.jmh.annotations.State; // 引入 @State
+import org.openjdk.jmh.annotations.TearDown; // 引入 @TearDown
+import org.openjdk.jmh.annotations.Warmup; // 引入 @Warmup
+
+import java.io.IOException; // 引入 IOException，关闭类加载器
+import java.net.URLClassLoader; // 引入 URLClassLoader，生成组件的类加载器
+import java.util.List; // 引入 List，getBeansOfType 的结果
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，输出单位
+
+/**
+ * 深继承层次下按超类型查找的耗时：{@link ComponentGenerator.Shape#HIERARCHY} 生成的组件位于
+ * {@value ComponentGenerator#DEPTH} 层的接口链与抽象类链上，对比冻结前后的注册表。
+ * <ul>
+ *   <li>{@code byDeepInterface} / {@code byShallowInterface}：按最深的接口 {@code L15} 与最浅的 {@code L1}
+ *       获取唯一实现 C0；</li>
+ *   <li>{@code beansOfRootInterface} / {@code beansOfRootClass}：按链根 {@code L0} 与 {@code B0}
+ *       获取全部 {@code size} 个组件。</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HierarchyBenchmark { // 深层次查找基准
+
+    @Param({"100", "1000"})
+    public int size; // 组件数
+
+    @Param({"false", "true"})
+    public boolean frozen; // 启动后是否冻结注册表
+
+    private URLClassLoader loader; // 生成组件的类加载器
+    private ClassLoader previous; // 原来的上下文类加载器
+    private Container container; // 已启动的容器
+    private Class<?> deepInterface; // L15
+    private Class<?> shallowInterface; // L1
+    private Class<?> rootInterface; // L0
+    private Class<?> rootClass; // B0
+
+    @Setup(Level.Trial)
+    public void start() throws ClassNotFoundException { // 生成组件并启动容器
+        previous = Thread.currentThread().getContextClassLoader(); // 保存原加载器
+        final ComponentGenerator.Root root = ComponentGenerator.generate(ComponentGenerator.Shape.HIERARCHY, size,
+                ComponentGenerator.Layout.DIRECTORY, false); // 目录根，不带索引
+        loader = root.newLoader(); // 类加载器
+        Thread.currentThread().setContextClassLoader(loader); // 容器从上下文类加载器查找资源
+        final String pkg = root.getBasePackage() + "."; // 类名前缀
+        deepInterface = Class.forName(pkg + "L" + (ComponentGenerator.DEPTH - 1), false, loader); // 最深的接口
+        shallowInterface = Class.forName(pkg + "L1", false, loader); // 最浅的非根接口
+        rootInterface = Class.forName(pkg + "L0", false, loader); // 接口链根
+        rootClass = Class.forName(pkg + "B0", false, loader); // 抽象类链根
+        container = new Container(root.getBasePackage(),
+                ContainerOptions.defaults().logSink(LogSink.silent()).freezeAfterStartEnabled(frozen)); // 按参数冻结
+        container.start(); // 启动
+        if (container.getBeansOfType(rootInterface).size() != size) { // 结果校验，防止测到失败的启动
+            throw new IllegalStateException("Expected " + size + " implementations of " + rootInterface.getName()); // 快速失败
+        }
+    }
+
+    @Benchmark
+    public Object byDeepInterface() { // 按最深的接口获取
+        return container.getBean(deepInterface); // 返回实例，避免被消除
+    }
+
+    @Benchmark
+    public Object byShallowInterface() { // 按最浅的非根接口获取
+        return container.getBean(shallowInterface); // 返回实例，避免被消除
+    }
+
+    @Benchmark
+    public List<?> beansOfRootInterface() { // 接口链根的全部实现
+        return container.getBeansOfType(rootInterface); // 返回列表，避免被消除
+    }
+
+    @Benchmark
+    public List<?> beansOfRootClass() { // 抽象类链根的全部子类
+        return container.getBeansOfType(rootClass); // 返回列表，避免被消除
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() throws IOException { // 清理
+        container.close(); // 关闭容器
+        Thread.currentThread().setContextClassLoader(previous); // 恢复上下文类加载器
+        loader.close(); // 关闭加载器
+    }
+}
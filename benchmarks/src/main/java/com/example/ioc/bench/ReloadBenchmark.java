@@ -0,0 +1,94 @@
+package com.example.ioc.bench; // 声明包路径，基准模块
+
+import com.example.ioc.Container; // 引入 Container，被测对象
+import com.example.ioc.ContainerOptions; // 引入 ContainerOptions，容器配置
+import com.example.ioc.LogSink; // 引入 LogSink，基准中关闭日志
+import com.example.ioc.ReloadReport; // 引入 ReloadReport，reload() 的返回值
+import org.openjdk.jmh.annotations.Benchmark; // 引入 @Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode; // 引入 @BenchmarkMode
+import org.openjdk.jmh.annotations.Fork; // 引入 @Fork
+import org.openjdk.jmh.annotations.Level; // 引入 Level，按试验准备容器
+import org.openjdk.jmh.annotations.Measurement; // 引入 @Measurement
+import org.openjdk.jmh.annotations.Mode; // 引入 Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit; // 引入 @OutputTimeUnit
+import org.openjdk.jmh.annotations.Param; // 引入 @Param
+import org.openjdk.jmh.annotations.Scope; // 引入 Scope
+import org.openjdk.jmh.annotations.Setup; // 引入 @Setup
+import org.openjdk.jmh.annotations.State; // 引入 @State
+import org.openjdk.jmh.annotations.TearDown; // 引入 @TearDown
+import org.openjdk.jmh.annotations.Warmup; // 引入 @Warmup
+
+import java.io.IOException; // 引入 IOException，关闭类加载器
+import java.net.URLClassLoader; // 引入 URLClassLoader，生成组件的类加载器
+import java.nio.file.Path; // 引入 Path，变化的类文件
+import java.util.Collection; // 引入 Collection，reload() 的参数
+import java.util.Collections; // 引入 Collections，单元素集合
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，输出单位
+
+/**
+ * {@link Container#reload(java.util.Collection)} 的耗时：1k 个合成组件，单个类文件“变化”后的增量重载。
+ * <p>
+ * 每次调用都把同一个类文件作为变化交给容器，容器按修改处理：用新一代类加载器重新加载它以及（间接）依赖它的组件，
+ * 重新创建这些单例，其余单例保留原实例。{@code LEAF} 是没有被依赖的最后一个组件（只重建自身），
+ * {@code ROOT} 是 C0（{@code WIDE} 下全部组件依赖它，{@code DEEP} 下是第一条链的链首），两者的差即受影响集合大小的代价。
+ * 与 {@link StartBenchmark} 的完整启动对比即增量重载节省的时间。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReloadBenchmark { // 增量重载基准
+
+    /**
+     * 变化的组件。
+     */
+    public enum Target { // 变化的组件
+        /** 最后一个组件，没有其他组件依赖它。 */
+        LEAF,
+        /** C0，被依赖最多的组件。 */
+        ROOT
+    }
+
+    @Param({"1000"})
+    public int size; // 组件数
+
+    @Param({"WIDE", "DEEP"})
+    public ComponentGenerator.Shape shape; // 依赖图形状
+
+    @Param({"LEAF", "ROOT"})
+    public Target target; // 变化的组件
+
+    private URLClassLoader loader; // 生成组件的类加载器
+    private ClassLoader previous; // 原来的上下文类加载器
+    private Container container; // 已启动的容器
+    private Collection<Path> changed; // 每次调用交给容器的变化
+
+    @Setup(Level.Trial)
+    public void start() throws IOException { // 生成组件并启动容器
+        previous = Thread.currentThread().getContextClassLoader(); // 保存原加载器
+        final ComponentGenerator.Root root = ComponentGenerator.generate(shape, size, ComponentGenerator.Layout.DIRECTORY, false); // 目录根，不带索引
+        loader = root.newLoader(); // 组件类加载器
+        Thread.currentThread().setContextClassLoader(loader); // 容器从上下文类加载器查找资源
+        container = new Container(root.getBasePackage(), ContainerOptions.defaults().logSink(LogSink.silent())); // 新容器
+        container.start(); // 启动
+        final String name = root.getClassNames().get(target == Target.LEAF ? size - 1 : 0); // 变化的组件
+        changed = Collections.singleton(root.getPath().resolve(name.replace('.', '/') + ".class")); // 对应的类文件
+    }
+
+    @Benchmark
+    public ReloadReport reload() { // 重载一次
+        final ReloadReport report = container.reload(changed); // 增量重载
+        if (!report.getFailures().isEmpty() || container.singletonCount() != size) { // 结果校验，防止测到失败的重载
+            throw new IllegalStateException("Reload failed: " + report + " " + report.getFailures()); // 快速失败
+        }
+        return report; // 返回结果，避免被消除
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() throws IOException { // 清理
+        Thread.currentThread().setContextClassLoader(previous); // 恢复上下文类加载器
+        loader.close(); // 关闭加载器
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.ioc.bench; // 声明包路径，基准模块
+
+import com.example.ioc.Container; // 引入 Container，被测对象
+import com.example.ioc.ContainerOptions; // 引入 ContainerOptions，切换扫描策略
+import com.example.ioc.LogSink; // 引入 LogSink，基准中关闭日志
+import org.openjdk.jmh.annotations.Benchmark; // 引入 @Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode; // 引入 @BenchmarkMode
+import org.openjdk.jmh.annotations.Fork; // 引入 @Fork
+import org.openjdk.jmh.annotations.Level; // 引入 Level，按调用准备类加载器
+import org.openjdk.jmh.annotations.Measurement; // 引入 @Measurement
+import org.openjdk.jmh.annotations.Mode; // 引入 Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit; // 引入 @OutputTimeUnit
+import org.openjdk.jmh.annotations.Param; // 引入 @Param
+import org.openjdk.jmh.annotations.Scope; // 引入 Scope
+import org.openjdk.jmh.annotations.Setup; // 引入 @Setup
+import org.openjdk.jmh.annotations.State; // 引入 @State
+import org.openjdk.jmh.annotations.TearDown; // 引入 @TearDown
+import org.openjdk.jmh.annotations.Warmup; // 引入 @Warmup
+
+import java.io.IOException; // 引入 IOException，关闭类加载器与删除缓存
+import java.net.URLClassLoader; // 引入 URLClassLoader，生成组件的类加载器
+import java.nio.file.Files; // 引入 Files，创建扫描缓存文件
+import java.nio.file.Path; // 引入 Path，扫描缓存文件
+import java.util.Set; // 引入 Set，扫描结果
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，输出单位
+
+/**
+ * {@link Container#scanComponents(String)} 在目录、JAR 与 fat jar 嵌套根上的耗时，对比各扫描策略。
+ * <p>
+ * 单次调用计时（SingleShotTime）：{@code COLD} 每次调用使用新的类加载器（组件类需要重新加载），
+ * {@code WARM} 复用同一个加载器（只剩遍历、字节码判定与查找的开销）。
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScanBenchmark { // 扫描基准
+
+    /**
+     * 扫描策略。
+     */
+    public enum Strategy { // 扫描策略
+        /** 关闭字节码判定：每个类都先加载再读注解。 */
+        CLASS_LOAD,
+        /** 默认：字节码判定后只加载组件类。 */
+        BYTECODE,
+        /** 字节码判定 + 并行扫描。 */
+        PARALLEL,
+        /** 磁盘扫描缓存命中。 */
+        CACHED,
+        /** 编译期组件索引。 */
+        INDEXED
+    }
+
+    /**
+     * 类加载器的冷热。
+     */
+    public enum Loading { // 类加载
+        /** 每次调用新的类加载器。 */
+        COLD,
+        /** 复用同一个类加载器。 */
+        WARM
+    }
+
+    @Param({"1000", "10000"})
+    public int size; // 组件数
+
+    @Param({"DIRECTORY", "JAR", "FAT_JAR"})
+    public ComponentGenerator.Layout layout; // 根形式
+
+    @Param({"CLASS_LOAD", "BYTECODE", "PARALLEL", "CACHED", "INDEXED"})
+    public Strategy strategy; // 扫描策略
+
+    @Param({"COLD", "WARM"})
+    public Loading loading; // 类加载
+
+    private ComponentGenerator.Root root; // 生成的组件
+    private ContainerOptions options; // 容器配置
+    private Path cacheFile; // 扫描缓存文件（CACHED）
+    private URLClassLoader loader; // 当前使用的类加载器
+    private ClassLoader previous; // 原来的上下文类加载器
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException { // 生成组件并准备配置
+        previous = Thread.currentThread().getContextClassLoader(); // 保存原加载器
+        root = ComponentGenerator.generate(ComponentGenerator.Shape.WIDE, size, layout, strategy == Strategy.INDEXED); // WIDE 形状即可，扫描与依赖无关
+        options = ContainerOptions.defaults().logSink(LogSink.silent()) // 关闭日志
+                .componentIndexEnabled(strategy == Strategy.INDEXED) // 只有 INDEXED 读取索引
+                .bytecodeScanEnabled(strategy != Strategy.CLASS_LOAD) // CLASS_LOAD 关闭字节码判定
+                .parallelScanEnabled(strategy == Strategy.PARALLEL); // PARALLEL 开启并行
+        if (strategy == Strategy.CACHED) { // 预先写好缓存
+            cacheFile = Files.createTempFile("mini-ioc-scan", ".bin"); // 临时缓存文件
+            Files.delete(cacheFile); // 从空缓存开始
+            options.scanCacheFile(cacheFile); // 开启缓存
+            scanWith(root.newLoader()); // 第一次扫描写出缓存
+        }
+        loader = root.newLoader(); // WARM 使用的加载器
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareLoader() throws IOException { // COLD：每次调用换新的加载器
+        if (loading == Loading.COLD) { // 冷加载
+            loader.close(); // 释放旧加载器
+            loader = root.newLoader(); // 新加载器
+        }
+    }
+
+    @Benchmark
+    public Set<Class<?>> scan() { // 扫描一次
+        return scanWith(loader); // 返回结果，避免被消除
+    }
+
+    private Set<Class<?>> scanWith(ClassLoader cl) { // 在指定加载器下扫描
+        Thread.currentThread().setContextClassLoader(cl); // 容器从上下文类加载器查找资源
+        final Set<Class<?>> found = new Container(root.getBasePackage(), options).scanComponents(root.getBasePackage()); // 扫描
+        if (found.size() != size) { // 结果校验，防止测到空扫描
+            throw new IllegalStateException("Expected " + size + " components, found " + found.size()); // 快速失败
+        }
+        return found; // 返回结果
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() throws IOException { // 清理
+        Thread.currentThread().setContextClassLoader(previous); // 恢复上下文类加载器
+        loader.close(); // 关闭加载器
+        if (cacheFile != null) { // 删除缓存文件
+            Files.deleteIfExists(cacheFile); // 删除
+        }
+    }
+}
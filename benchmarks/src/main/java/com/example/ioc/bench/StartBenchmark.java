@@ -0,0 +1,166 @@
+package com.example.ioc.bench; // 声明包路径，基准模块
+
+import com.example.ioc.Container; // 引入 Container，被测对象
+import com.example.ioc.ContainerOptions; // 引入 ContainerOptions，切换启动模式
+import com.example.ioc.LogSink; // 引入 LogSink，基准中关闭日志
+import com.example.ioc.StartReport; // 引入 StartReport，start() 的返回值
+import org.openjdk.jmh.annotations.Benchmark; // 引入 @Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode; // 引入 @BenchmarkMode
+import org.openjdk.jmh.annotations.Fork; // 引入 @Fork
+import org.openjdk.jmh.annotations.Level; // 引入 Level，按调用准备类加载器
+import org.openjdk.jmh.annotations.Measurement; // 引入 @Measurement
+import org.openjdk.jmh.annotations.Mode; // 引入 Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit; // 引入 @OutputTimeUnit
+import org.openjdk.jmh.annotations.Param; // 引入 @Param
+import org.openjdk.jmh.annotations.Scope; // 引入 Scope
+import org.openjdk.jmh.annotations.Setup; // 引入 @Setup
+import org.openjdk.jmh.annotations.State; // 引入 @State
+import org.openjdk.jmh.annotations.TearDown; // 引入 @TearDown
+import org.openjdk.jmh.annotations.Warmup; // 引入 @Warmup
+
+import java.io.IOException; // 引入 IOException，关闭类加载器与删除快照
+import java.net.URLClassLoader; // 引入 URLClassLoader，生成组件的类加载器
+import java.nio.file.Files; // 引入 Files，创建快照文件
+import java.nio.file.Path; // 引入 Path，快照文件
+import java.util.List; // 引入 List，组件类名
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，输出单位
+
+/**
+ * {@link Container#start()} 的耗时：100 / 1k / 5k / 10k 个合成组件，三种依赖图形状，多种启动模式。
+ * <p>
+ * {@code start} 只计到 {@code start()} 返回（{@code LAZY} 另外取 10% 的组件）；{@code firstRequest} 计到首个请求可以被处理：
+ * 启动后再获取最后生成的组件（{@code WIDE} 中依赖 C0，{@code DEEP}/{@code DIAMOND} 中位于依赖链末端），
+ * 即首个请求的时间（time-to-first-request）。5k 个组件下 {@code SEQUENTIAL} 与 {@code SNAPSHOT} 的
+ * {@code firstRequest} 即有无快照的对比。
+ * <p>
+ * 每次调用都新建容器（单次调用计时）。{@code COLD} 每次调用使用新的类加载器，组件类重新加载、注入计划重新计算
+ * （计划按类缓存，新类即新计划），接近进程内的首次启动；{@code WARM} 复用加载器，只测容器自身的工作。
+ * 启动模式：
+ * <ul>
+ *   <li>{@code SEQUENTIAL}：默认配置；</li>
+ *   <li>{@code PARALLEL}：并行实例化 + 异步回调；</li>
+ *   <li>{@code LAZY}：容器级延迟模式，启动后取 10% 的组件（模拟只访问部分组件的请求）；</li>
+ *   <li>{@code SNAPSHOT}：回放预先写好的装配计划快照。</li>
+ * </ul>
+ * {@code cost} 给每个组件的构造器加上耗时（见 {@link ConstructorCost}）：生成的组件本身不做任何事，
+ * 只有构造器有耗时，{@code PARALLEL} 才能体现按依赖图并行、启动耗时趋近关键路径的效果；
+ * {@code BLOCKING} 模拟阻塞型构造器（单核机器上同样可以并行），{@code BUSY} 的加速比受处理器数限制。
+ * <p>
+ * {@code metrics} 对比默认的观测（启动指标 + JFR 事件）与 {@code startupMetricsEnabled(false)}，即观测本身的启动开销。
+ * JFR 事件只有在录制启用时才会提交，需要计入录制开销时加上
+ * {@code -jvmArgsAppend -XX:StartFlightRecording}。
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 15)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartBenchmark { // 启动基准
+
+    /**
+     * 启动模式。
+     */
+    public enum StartMode { // 启动模式
+        /** 默认配置。 */
+        SEQUENTIAL,
+        /** 并行实例化与异步回调。 */
+        PARALLEL,
+        /** 延迟模式，启动后获取 10% 的组件。 */
+        LAZY,
+        /** 装配计划快照回放。 */
+        SNAPSHOT
+    }
+
+    @Param({"100", "1000", "5000", "10000"})
+    public int size; // 组件数
+
+    @Param({"WIDE", "DEEP", "DIAMOND"})
+    public ComponentGenerator.Shape shape; // 依赖图形状
+
+    @Param({"SEQUENTIAL", "PARALLEL", "LAZY", "SNAPSHOT"})
+    public StartMode mode; // 启动模式
+
+    @Param({"COLD", "WARM"})
+    public ScanBenchmark.Loading loading; // 类加载
+
+    @Param({"true", "false"})
+    public boolean metrics; // 是否记录启动指标并发布 JFR 事件
+
+    @Param({"NONE", "BUSY", "BLOCKING"})
+    public ConstructorCost cost; // 每个组件构造器的耗时
+
+    private ComponentGenerator.Root root; // 生成的组件
+    private String requestType; // 首个请求获取的组件（最后生成的组件）
+    private ContainerOptions options; // 容器配置
+    private Path snapshotFile; // 快照文件（SNAPSHOT）
+    private URLClassLoader loader; // 当前使用的类加载器
+    private ClassLoader previous; // 原来的上下文类加载器
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException, ClassNotFoundException { // 生成组件并准备配置
+        previous = Thread.currentThread().getContextClassLoader(); // 保存原加载器
+        ConstructorCost.use(cost); // 构造器耗时（含 SNAPSHOT 写快照的那次启动）
+        root = ComponentGenerator.generate(shape, size, ComponentGenerator.Layout.DIRECTORY, false); // 目录根，不带索引
+        requestType = root.getClassNames().get(size - 1); // 依赖链末端
+        options = ContainerOptions.defaults().logSink(LogSink.silent()).startupMetricsEnabled(metrics); // 关闭日志，按参数开关观测
+        if (mode == StartMode.PARALLEL) { // 并行模式
+            options.parallelStartEnabled(true).asyncCallbacksEnabled(true); // 并行实例化 + 异步回调
+        } else if (mode == StartMode.LAZY) { // 延迟模式
+            options.lazyInitEnabled(true); // 全部延迟
+        } else if (mode == StartMode.SNAPSHOT) { // 快照模式
+            snapshotFile = Files.createTempFile("mini-ioc-wiring", ".bin"); // 临时快照文件
+            Files.delete(snapshotFile); // 从没有快照开始
+            options.snapshotFile(snapshotFile); // 开启快照
+            startWith(root.newLoader()); // 第一次正常启动写出快照
+        }
+        loader = root.newLoader(); // WARM 使用的加载器
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareLoader() throws IOException { // COLD：每次调用换新的加载器
+        if (loading == ScanBenchmark.Loading.COLD) { // 冷加载
+            loader.close(); // 释放旧加载器
+            loader = root.newLoader(); // 新加载器
+        }
+    }
+
+    @Benchmark
+    public Container start() throws ClassNotFoundException { // 启动一次
+        final Container container = startWith(loader); // 启动
+        if (mode == StartMode.LAZY) { // 模拟只访问 10% 的组件
+            final List<String> names = root.getClassNames(); // 组件类名
+            for (int i = 0; i < names.size(); i += 10) { // 每 10 个取一个
+                container.getBean(Class.forName(names.get(i), false, loader)); // 触发创建（含依赖）
+            }
+        }
+        return container; // 返回容器，避免被消除
+    }
+
+    @Benchmark
+    public Object firstRequest() throws ClassNotFoundException { // 启动并处理首个请求
+        final Container container = startWith(loader); // 启动
+        return container.getBean(Class.forName(requestType, false, loader)); // 首个请求：延迟模式下在这里创建整条依赖链
+    }
+
+    private Container startWith(ClassLoader cl) { // 在指定加载器下启动
+        Thread.currentThread().setContextClassLoader(cl); // 容器从上下文类加载器查找资源
+        final Container container = new Container(root.getBasePackage(), options); // 新容器
+        final StartReport report = container.start(); // 启动
+        if (mode != StartMode.LAZY && container.singletonCount() != size) { // 结果校验，防止测到失败的启动
+            throw new IllegalStateException("Expected " + size + " singletons, got " + container.singletonCount()
+                    + " (" + report + ")"); // 快速失败
+        }
+        return container; // 返回容器
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() throws IOException { // 清理
+        ConstructorCost.use(ConstructorCost.NONE); // 恢复默认
+        Thread.currentThread().setContextClassLoader(previous); // 恢复上下文类加载器
+        loader.close(); // 关闭加载器
+        if (snapshotFile != null) { // 删除快照文件
+            Files.deleteIfExists(snapshotFile); // 删除
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ioc.bench; // 声明包路径，基准模块
+
+import com.example.ioc.Container; // 引入 Container，被测对象
+import com.example.ioc.bench.fixture.Checksum; // 引入夹具：不计时的基线
+import com.example.ioc.bench.fixture.Hasher; // 引入夹具：计时代理
+import com.example.ioc.bench.fixture.HasherClient; // 引入夹具：持有计时代理
+import com.example.ioc.bench.fixture.TimedChecksum; // 引入夹具：计时子类
+import org.openjdk.jmh.annotations.Benchmark; // 引入 @Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode; // 引入 @BenchmarkMode
+import org.openjdk.jmh.annotations.Fork; // 引入 @Fork
+import org.openjdk.jmh.annotations.Measurement; // 引入 @Measurement
+import org.openjdk.jmh.annotations.Mode; // 引入 Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit; // 引入 @OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope; // 引入 Scope
+import org.openjdk.jmh.annotations.Setup; // 引入 @Setup
+import org.openjdk.jmh.annotations.State; // 引入 @State
+import org.openjdk.jmh.annotations.Warmup; // 引入 @Warmup
+
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，输出单位
+
+/**
+ * {@code @Timed} 的单次调用开销：同一个方法体分别不计时、经计时子类（每次计时与 {@code sampleEvery = 64}）、经计时代理调用，差值即计时开销。
+ * <p>
+ * 计时子类的开销是两次 {@link System#nanoTime()}、一次 {@code ThreadLocal} 查找与两次单写者写入；用 {@code -t N} 多线程运行可确认分段计数没有竞争。
+ * 采样计时时未轮到的调用只有一次 {@code ThreadLocal} 查找与一次写入，读时钟较慢的平台上差别最明显。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimedCallBenchmark { // 计时开销基准
+
+    private Checksum plain; // 不计时
+    private TimedChecksum subclass; // 计时子类
+    private Hasher proxy; // 计时代理
+    private long value = 42L; // 输入（非常量，避免常量折叠）
+
+    @Setup
+    public void start() { // 启动容器并取出三种实例
+        final Container container = FixtureState.start(FixtureState.options()); // 夹具容器
+        plain = container.getBean(Checksum.class); // 原对象
+        subclass = container.getBean(TimedChecksum.class); // 计时子类实例
+        proxy = container.getBean(HasherClient.class).getHasher(); // 接口注入点的计时代理
+    }
+
+    @Benchmark
+    public long plain() { // 基线
+        return plain.update(value); // 返回结果，避免被消除
+    }
+
+    @Benchmark
+    public long timedSubclass() { // 计时子类
+        return subclass.update(value); // 返回结果，避免被消除
+    }
+
+    @Benchmark
+    public long timedSampled() { // 计时子类（采样计时）
+        return subclass.updateSampled(value); // 返回结果，避免被消除
+    }
+
+    @Benchmark
+    public long timedProxy() { // 计时代理
+        return proxy.update(value); // 返回结果，避免被消除
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.ioc.bench.concurrent; // 声明包路径，并发检查类型
+
+import java.util.concurrent.atomic.AtomicInteger; // 引入 AtomicInteger，统计构造次数
+
+/**
+ * 构造计数：每个类型一个计数器，构造器里短暂让出 CPU，放大多个线程同时进入创建路径的窗口。
+ */
+public final class Counted { // 计数工具（仅含静态方法）
+
+    private static final java.util.Map<Class<?>, AtomicInteger> COUNTS = new java.util.concurrent.ConcurrentHashMap<>(); // 类型 -> 构造次数
+
+    private Counted() { // 工具类不允许实例化
+    }
+
+    static void constructed(Class<?> type) { // 构造器调用
+        COUNTS.computeIfAbsent(type, t -> new AtomicInteger()).incrementAndGet(); // 计数
+        for (int i = 0; i < 100; i++) { // 让出 CPU，其他线程此时应在等待同一份创建结果
+            Thread.yield(); // 让出
+        }
+    }
+
+    /**
+     * @param type 类型
+     * @return 自上次 {@link #reset()} 以来的构造次数
+     */
+    public static int of(Class<?> type) { // 读取计数
+        final AtomicInteger count = COUNTS.get(type); // 计数器
+        return count == null ? 0 : count.get(); // 从未构造为 0
+    }
+
+    /**
+     * 清零全部计数。
+     */
+    public static void reset() { // 清零
+        COUNTS.clear(); // 丢弃计数器
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.ioc.bench.concurrent; // 声明包路径，并发检查类型
+
+import com.example.ioc.annotations.Inject; // 引入 @Inject
+
+/**
+ * 跨线程环的一端：字段注入 {@link CycleB}；构造器等待另一端也进入构造，保证两个线程各持有一个创建记录后再注入。
+ */
+public class CycleA { // 环的一端
+    @Inject
+    private CycleB b; // 另一端
+
+    /**
+     * 等待 {@link CycleB} 的构造器。
+     */
+    public CycleA() { // 无参构造器
+        CycleBarrier.arrive(); // 汇合
+    }
+
+    /**
+     * @return 注入的另一端
+     */
+    public CycleB getB() { // 读取依赖
+        return b; // 直接返回
+    }
+}
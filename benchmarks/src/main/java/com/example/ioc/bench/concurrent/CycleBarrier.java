@@ -0,0 +1,29 @@
+package com.example.ioc.bench.concurrent; // 声明包路径，并发检查类型
+
+import java.util.concurrent.BrokenBarrierException; // 引入 BrokenBarrierException，另一端失败
+import java.util.concurrent.CyclicBarrier; // 引入 CyclicBarrier，两端的构造器汇合
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，汇合超时
+import java.util.concurrent.TimeoutException; // 引入 TimeoutException，另一端没有到达
+
+/**
+ * {@link CycleA} 与 {@link CycleB} 构造器的汇合点（可重复使用）。
+ */
+public final class CycleBarrier { // 汇合点（仅含静态方法）
+
+    private static final CyclicBarrier BARRIER = new CyclicBarrier(2); // 两端各一个线程
+
+    private CycleBarrier() { // 工具类不允许实例化
+    }
+
+    static void arrive() { // 等待另一端
+        try { // 另一端可能从未到达
+            BARRIER.await(5, TimeUnit.SECONDS); // 有界等待，检查本身不会挂住
+        } catch (InterruptedException e) { // 被中断
+            Thread.currentThread().interrupt(); // 恢复中断标记
+            throw new IllegalStateException("interrupted at cycle barrier", e); // 转为运行时异常
+        } catch (BrokenBarrierException | TimeoutException e) { // 另一端没有按预期进入构造器
+            BARRIER.reset(); // 下一轮重新开始
+            throw new IllegalStateException("other end of the cycle never arrived", e); // 检查失败
+        }
+    }
+}
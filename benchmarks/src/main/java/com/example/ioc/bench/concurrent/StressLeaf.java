@@ -0,0 +1,13 @@
+package com.example.ioc.bench.concurrent; // 声明包路径，并发检查类型
+
+/**
+ * 依赖链的末端：无依赖。
+ */
+public class StressLeaf { // 末端
+    /**
+     * 记录一次构造。
+     */
+    public StressLeaf() { // 无参构造器
+        Counted.constructed(StressLeaf.class); // 计数
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.ioc.bench.concurrent; // 声明包路径，并发检查类型
+
+import com.example.ioc.annotations.Inject; // 引入 @Inject
+
+/**
+ * 依赖链的中间：构造器注入 {@link StressLeaf}。
+ */
+public class StressMiddle { // 中间
+    private final StressLeaf leaf; // 构造器注入的依赖
+
+    /**
+     * @param leaf 末端
+     */
+    @Inject
+    public StressMiddle(StressLeaf leaf) { // 注入构造器
+        Counted.constructed(StressMiddle.class); // 计数
+        this.leaf = leaf; // 保存依赖
+    }
+
+    /**
+     * @return 注入的末端
+     */
+    public StressLeaf getLeaf() { // 读取依赖
+        return leaf; // 直接返回
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.ioc.bench.concurrent; // 声明包路径，并发检查类型
+
+import com.example.ioc.annotations.Inject; // 引入 @Inject
+
+/**
+ * 依赖链的起点：字段注入 {@link StressMiddle} 与 {@link StressLeaf}，与中间节点共享同一个末端。
+ */
+public class StressRoot { // 起点
+    @Inject
+    private StressMiddle middle; // 字段注入的依赖
+
+    @Inject
+    private StressLeaf leaf; // 与 middle 共享的依赖
+
+    /**
+     * 记录一次构造。
+     */
+    public StressRoot() { // 无参构造器
+        Counted.constructed(StressRoot.class); // 计数
+    }
+
+    /**
+     * @return 注入的中间节点
+     */
+    public StressMiddle getMiddle() { // 读取依赖
+        return middle; // 直接返回
+    }
+
+    /**
+     * @return 注入的末端
+     */
+    public StressLeaf getLeaf() { // 读取依赖
+        return leaf; // 直接返回
+    }
+}
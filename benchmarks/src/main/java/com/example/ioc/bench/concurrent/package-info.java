@@ -0,0 +1,5 @@
+/**
+ * {@link com.example.ioc.bench.ConcurrencyCheck} 使用的类型：都不是组件，不会被任何基础包扫描到，
+ * 由 {@code getBean} 按非组件单例首次创建；构造器记录创建次数，环中的两个类型在构造器里互相等待。
+ */
+package com.example.ioc.bench.concurrent; // 声明并发检查类型所在的包
@@ -0,0 +1,15 @@
+package com.example.ioc.bench.fixture; // 声明包路径，基准夹具组件
+
+import com.example.ioc.annotations.Component; // 引入 @Component
+
+/**
+ * 审计日志（单例）：字段注入的目标类型。
+ */
+@Component
+public class AuditLog { // 审计日志
+    /**
+     * @param event 事件
+     */
+    public void record(String event) { // 记录事件（基准中不需要真正写出）
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ioc.bench.fixture; // 声明包路径，基准夹具组件
+
+import com.example.ioc.annotations.Component; // 引入 @Component
+import com.example.ioc.annotations.OnRelease; // 引入 @OnRelease
+import com.example.ioc.annotations.Scope; // 引入 Scope
+
+/**
+ * 缓冲区（池化）：借出后写入，归还时复位，测量池的借还开销。
+ */
+@Component(scope = Scope.POOLED)
+public class Buffer { // 缓冲区
+    private final byte[] data = new byte[1024]; // 固定大小的缓冲
+    private int position; // 写入位置
+
+    /**
+     * @param b 写入的字节
+     */
+    public void put(byte b) { // 写入一个字节
+        data[position++ % data.length] = b; // 环形写入
+    }
+
+    /**
+     * 归还时复位。
+     */
+    @OnRelease
+    public void reset() { // 复位
+        position = 0; // 清空写入位置
+    }
+}
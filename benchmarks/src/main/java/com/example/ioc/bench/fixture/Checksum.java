@@ -0,0 +1,17 @@
+package com.example.ioc.bench.fixture; // 声明包路径，基准夹具组件
+
+import com.example.ioc.annotations.Component; // 引入 @Component
+
+/**
+ * 校验和（单例，不计时）：计时开销基准的基线。
+ */
+@Component
+public class Checksum { // 校验和
+    /**
+     * @param value 输入
+     * @return 混合后的值
+     */
+    public long update(long value) { // 一次混合
+        return Long.rotateLeft(value * 0x9E3779B97F4A7C15L, 31); // 少量算术，避免被当作空方法
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.ioc.bench.fixture; // 声明包路径，基准夹具组件
+
+import com.example.ioc.annotations.Component; // 引入 @Component
+import com.example.ioc.annotations.Inject; // 引入 @Inject
+import com.example.ioc.annotations.Scope; // 引入 Scope
+
+/**
+ * 命令对象（原型）：每次获取都新建，测量原型作用域的分配与注入开销。
+ */
+@Component(scope = Scope.PROTOTYPE)
+public class Command { // 命令对象
+    @Inject
+    private Repository repository; // 字段注入的依赖
+
+    /**
+     * @return 执行结果
+     */
+    public String execute() { // 执行
+        return repository.find(1L); // 查询
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.ioc.bench.fixture; // 声明包路径，基准夹具组件
+
+import com.example.ioc.annotations.Component; // 引入 @Component
+import com.example.ioc.annotations.Timed; // 引入 @Timed
+
+/**
+ * final 的计时组件：无法生成计时子类（编译时的警告是预期的），接口注入点得到计时代理。
+ */
+@Component
+@Timed
+public final class FinalHasher implements Hasher { // 计时代理路径
+    @Override
+    public long update(long value) { // 一次混合
+        return Long.rotateLeft(value * 0x9E3779B97F4A7C15L, 31); // 与 Checksum 相同
+    }
+}
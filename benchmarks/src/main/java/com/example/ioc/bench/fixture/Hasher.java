@@ -0,0 +1,12 @@
+package com.example.ioc.bench.fixture; // 声明包路径，基准夹具组件
+
+/**
+ * 哈希接口：计时代理的注入点类型。
+ */
+public interface Hasher { // 哈希接口
+    /**
+     * @param value 输入
+     * @return 混合后的值
+     */
+    long update(long value); // 一次混合
+}
@@ -0,0 +1,20 @@
+package com.example.ioc.bench.fixture; // 声明包路径，基准夹具组件
+
+import com.example.ioc.annotations.Component; // 引入 @Component
+import com.example.ioc.annotations.Inject; // 引入 @Inject
+
+/**
+ * 按接口注入 {@link Hasher} 的组件：注入的是计时代理。
+ */
+@Component
+public class HasherClient { // 代理使用方
+    @Inject
+    private Hasher hasher; // 计时代理
+
+    /**
+     * @return 注入的哈希实现（计时代理）
+     */
+    public Hasher getHasher() { // 读取依赖
+        return hasher; // 直接返回
+    }
+}
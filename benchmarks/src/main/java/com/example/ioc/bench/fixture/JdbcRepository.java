@@ -0,0 +1,14 @@
+package com.example.ioc.bench.fixture; // 声明包路径，基准夹具组件
+
+import com.example.ioc.annotations.Component; // 引入 @Component
+
+/**
+ * {@link Repository} 的唯一实现（单例，具名 {@code repository}）。
+ */
+@Component("repository")
+public class JdbcRepository implements Repository { // 仓储实现
+    @Override
+    public String find(long id) { // 按主键读取
+        return "row-" + id; // 固定返回值
+    }
+}
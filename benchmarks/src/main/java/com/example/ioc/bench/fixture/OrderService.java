@@ -0,0 +1,33 @@
+package com.example.ioc.bench.fixture; // 声明包路径，基准夹具组件
+
+import com.example.ioc.annotations.Component; // 引入 @Component
+import com.example.ioc.annotations.Inject; // 引入 @Inject
+
+/**
+ * 订单服务（单例，具名 {@code orders}）：构造器注入 {@link Repository}，字段注入 {@link AuditLog}，
+ * 覆盖实例创建的两条注入路径。
+ */
+@Component("orders")
+public class OrderService { // 订单服务
+    private final Repository repository; // 构造器注入的依赖
+
+    @Inject
+    private AuditLog audit; // 字段注入的依赖
+
+    /**
+     * @param repository 仓储
+     */
+    @Inject
+    public OrderService(Repository repository) { // 注入构造器
+        this.repository = repository; // 保存依赖
+    }
+
+    /**
+     * @param id 订单号
+     * @return 订单记录
+     */
+    public String load(long id) { // 读取订单
+        audit.record("load"); // 审计
+        return repository.find(id); // 查询
+    }
+}
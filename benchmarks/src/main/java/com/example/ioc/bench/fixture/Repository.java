@@ -0,0 +1,12 @@
+package com.example.ioc.bench.fixture; // 声明包路径，基准夹具组件
+
+/**
+ * 仓储接口：按接口获取与构造器注入的目标类型。
+ */
+public interface Repository { // 仓储接口
+    /**
+     * @param id 主键
+     * @return 记录
+     */
+    String find(long id); // 按主键读取
+}
@@ -0,0 +1,21 @@
+package com.example.ioc.bench.fixture; // 声明包路径，基准夹具组件
+
+import com.example.ioc.annotations.Component; // 引入 @Component
+import com.example.ioc.annotations.Inject; // 引入 @Inject
+import com.example.ioc.annotations.Scope; // 引入 Scope
+
+/**
+ * 租户会话（租户作用域）：每个子容器各有一个实例，依赖父容器共享的 {@link Repository}。
+ */
+@Component(scope = Scope.TENANT)
+public class TenantSession { // 租户会话
+    @Inject
+    private Repository repository; // 来自父容器的单例
+
+    /**
+     * @return 仓储
+     */
+    public Repository getRepository() { // 读取依赖
+        return repository; // 直接返回
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ioc.bench.fixture; // 声明包路径，基准夹具组件
+
+import com.example.ioc.annotations.Component; // 引入 @Component
+import com.example.ioc.annotations.Timed; // 引入 @Timed
+
+/**
+ * 与 {@link Checksum} 相同的实现，方法标注 {@code @Timed}（每次计时与采样计时各一个）：容器实例化生成的计时子类。
+ */
+@Component
+public class TimedChecksum { // 计时校验和
+    /**
+     * @param value 输入
+     * @return 混合后的值
+     */
+    @Timed
+    public long update(long value) { // 一次混合
+        return Long.rotateLeft(value * 0x9E3779B97F4A7C15L, 31); // 与 Checksum 相同
+    }
+
+    /**
+     * 与 {@link #update(long)} 相同，每个线程每 64 次调用计时一次。
+     *
+     * @param value 输入
+     * @return 混合后的值
+     */
+    @Timed(sampleEvery = 64)
+    public long updateSampled(long value) { // 一次混合（采样计时）
+        return Long.rotateLeft(value * 0x9E3779B97F4A7C15L, 31); // 与 Checksum 相同
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.ioc.bench.fixture; // 声明包路径，基准夹具组件
+
+import com.example.ioc.annotations.Component; // 引入 @Component
+import com.example.ioc.annotations.Inject; // 引入 @Inject
+import com.example.ioc.annotations.Scope; // 引入 Scope
+
+/**
+ * 分词器（线程作用域）：每个线程首次获取时创建一个实例，之后同一线程复用；依赖与 {@link Command} 相同，便于对比各作用域。
+ */
+@Component(scope = Scope.THREAD)
+public class Tokenizer { // 分词器
+    @Inject
+    private Repository repository; // 字段注入的依赖
+
+    /**
+     * @param text 输入
+     * @return 第一个词
+     */
+    public String first(String text) { // 取第一个词
+        final int space = text.indexOf(' '); // 分隔位置
+        return space < 0 ? text : text.substring(0, space); // 返回第一个词
+    }
+}
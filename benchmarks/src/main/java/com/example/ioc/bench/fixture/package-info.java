@@ -0,0 +1,5 @@
+/**
+ * 基准夹具组件：按类型、接口、名称获取，原型、池化、线程与租户作用域，构造器与字段两种注入路径各一例，
+ * 以及计时子类与计时代理的对照组。
+ */
+package com.example.ioc.bench.fixture; // 声明夹具包
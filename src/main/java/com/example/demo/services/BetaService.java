@@ -2,6 +2,7 @@ package com.example.demo.services; // 演示服务所在包
 
 import com.example.ioc.annotations.Component; // 引入 @Component
 import com.example.ioc.annotations.Inject; // 引入 @Inject
+import com.example.ioc.annotations.Timed; // 引入 @Timed
 
 /**
  * 通过构造器注入 AlphaService 的服务。
@@ -16,6 +17,7 @@ public class BetaService { // 依赖 AlphaService 的服务
         this.alpha = alpha; // 赋值依赖
     } // 构造器结束
 
+    @Timed // 记录调用耗时（见 Container#getMethodMetrics）
     public String ping() { // 供调试的方法
         return "beta->" + alpha.name(); // 使用被注入的依赖
     } // ping 方法结束
@@ -0,0 +1,126 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.util.concurrent.atomic.AtomicLong; // 引入 AtomicLong，统计新建实例数
+import java.util.concurrent.atomic.AtomicReferenceArray; // 引入 AtomicReferenceArray，作为无锁的空闲槽位
+import java.util.function.Consumer; // 引入 Consumer，表示重置动作
+import java.util.function.Supplier; // 引入 Supplier，表示创建动作
+
+/**
+ * 池化组件（{@code @Component(scope = Scope.POOLED)}）的有界无锁对象池。
+ * <p>
+ * 空闲实例保存在固定长度的 {@link AtomicReferenceArray} 中：{@link #acquire()} 从当前线程对应的槽位开始探测，
+ * 用 CAS 取走第一个空闲实例；全部为空时按注入计划新建一个。{@link #release(Object)} 先调用重置方法，
+ * 再用 CAS 放入第一个空槽；池已满时直接丢弃（交给 GC）。借出与归还都不加锁，也不分配对象。
+ * <p>
+ * 通过 {@link Container#getPool(Class)} 获取，或在注入点声明 {@code BeanPool<Foo>}。
+ * 同一个实例不能重复归还；池不记录借出的实例，未归还的实例只是不再复用。
+ *
+ * @param <T> 池化组件的类型
+ */
+public final class BeanPool<T> { // 对象池
+
+    private final Class<T> type; // 池化组件类型
+    private final AtomicReferenceArray<T> idle; // 空闲槽位（null 表示空槽）
+    private final Supplier<T> factory; // 新建实例（含依赖注入）
+    private final Consumer<T> reset; // 重置动作（@OnRelease）；没有时为 null
+    private final AtomicLong created = new AtomicLong(); // 新建实例数（只在池空时递增）
+
+    BeanPool(Class<T> type, int capacity, Supplier<T> factory, Consumer<T> reset) { // 由容器创建
+        this.type = type; // 保存类型
+        this.idle = new AtomicReferenceArray<>(capacity); // 固定容量
+        this.factory = factory; // 保存创建动作
+        this.reset = reset; // 保存重置动作
+    }
+
+    /**
+     * 借出一个实例：优先复用空闲实例，池空时新建。
+     *
+     * @return 实例（调用方用完后应调用 {@link #release(Object)}）
+     */
+    public T acquire() { // 借出
+        final int n = idle.length(); // 容量
+        int i = start(n); // 探测起点
+        for (int k = 0; k < n; k++) { // 最多探测一圈
+            final T t = idle.get(i); // 读取槽位
+            if (t != null && idle.compareAndSet(i, t, null)) { // 取走空闲实例
+                return t; // 复用
+            }
+            if (++i == n) { // 环绕
+                i = 0; // 回到开头
+            }
+        }
+        created.incrementAndGet(); // 记录新建
+        return factory.get(); // 池空：新建
+    }
+
+    /**
+     * 归还实例：调用重置方法后放回池中；池已满时丢弃。
+     *
+     * @param instance 借出的实例
+     * @throws IllegalArgumentException instance 为 null 或类型不符
+     * @throws IllegalStateException    重置方法抛出异常（实例被丢弃）
+     */
+    public void release(T instance) { // 归还
+        if (!type.isInstance(instance)) { // 防御：null 或其他类型
+            throw new IllegalArgumentException("Not a pooled " + type.getName() + ": " + instance); // 抛出非法参数异常
+        }
+        if (reset != null) { // 有重置方法
+            reset.accept(instance); // 失败时抛出，实例不回到池中
+        }
+        final int n = idle.length(); // 容量
+        int i = start(n); // 探测起点（与 acquire 相同，同一线程倾向于复用同一槽位）
+        for (int k = 0; k < n; k++) { // 最多探测一圈
+            if (idle.get(i) == null && idle.compareAndSet(i, null, instance)) { // 放入空槽
+                return; // 完成
+            }
+            if (++i == n) { // 环绕
+                i = 0; // 回到开头
+            }
+        }
+        // 池已满：丢弃实例
+    }
+
+    /**
+     * @return 池化组件类型
+     */
+    public Class<T> getType() { // 读取类型
+        return type; // 直接返回
+    }
+
+    /**
+     * @return 池中最多保留的空闲实例数
+     */
+    public int capacity() { // 容量
+        return idle.length(); // 数组长度
+    }
+
+    /**
+     * @return 当前空闲实例数（并发借还时只是近似值）
+     */
+    public int idleCount() { // 空闲数
+        int count = 0; // 计数器
+        for (int i = 0; i < idle.length(); i++) { // 遍历槽位
+            if (idle.get(i) != null) { // 非空槽
+                count++; // 计数
+            }
+        }
+        return count; // 返回数量
+    }
+
+    /**
+     * @return 池创建以来新建的实例数（复用率 = 1 - 新建数 / 借出次数）
+     */
+    public long createdCount() { // 新建数
+        return created.get(); // 直接返回
+    }
+
+    private static int start(int n) { // 当前线程的探测起点：不同线程从不同槽位开始，减少 CAS 冲突
+        final int h = System.identityHashCode(Thread.currentThread()); // 线程对象的身份哈希（首次计算后缓存在对象头中）
+        return (h & Integer.MAX_VALUE) % n; // 落在 [0, n)
+    }
+
+    @Override
+    public String toString() { // 便于日志输出
+        return "BeanPool[" + type.getName() + ", idle " + idleCount() + "/" + capacity() + ", created " + createdCount() + "]"; // 简要描述
+    }
+}
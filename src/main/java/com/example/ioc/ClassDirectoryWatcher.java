@@ -0,0 +1,267 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.io.Closeable; // 引入 Closeable，停止监听
+import java.io.File; // 引入 File，统一路径分隔符
+import java.io.IOException; // 引入 IOException，注册目录可能抛出
+import java.net.URISyntaxException; // 引入 URISyntaxException，资源 URL 转路径
+import java.net.URL; // 引入 URL，类目录资源
+import java.nio.file.ClosedWatchServiceException; // 引入 ClosedWatchServiceException，关闭后退出循环
+import java.nio.file.FileSystems; // 引入 FileSystems，创建 WatchService
+import java.nio.file.FileVisitResult; // 引入 FileVisitResult，控制目录遍历
+import java.nio.file.Files; // 引入 Files，遍历目录
+import java.nio.file.Path; // 引入 Path，表示类目录与变化的文件
+import java.nio.file.Paths; // 引入 Paths，URL 转路径
+import java.nio.file.SimpleFileVisitor; // 引入 SimpleFileVisitor，递归注册子目录
+import java.nio.file.StandardWatchEventKinds; // 引入 StandardWatchEventKinds，监听的事件类型
+import java.nio.file.WatchEvent; // 引入 WatchEvent，单个文件事件
+import java.nio.file.WatchKey; // 引入 WatchKey，目录的事件队列
+import java.nio.file.WatchService; // 引入 WatchService，NIO 文件监听
+import java.nio.file.attribute.BasicFileAttributes; // 引入 BasicFileAttributes，遍历回调参数
+import java.time.Duration; // 引入 Duration，静默期
+import java.util.ArrayList; // 引入 ArrayList，收集类目录
+import java.util.Collections; // 引入 Collections，返回只读列表
+import java.util.Enumeration; // 引入 Enumeration，遍历资源
+import java.util.HashMap; // 引入 HashMap，WatchKey -> 目录
+import java.util.LinkedHashSet; // 引入 LinkedHashSet，去重并保持顺序的待处理文件
+import java.util.List; // 引入 List，作为类目录列表类型
+import java.util.Map; // 引入 Map，作为 WatchKey 映射类型
+import java.util.Set; // 引入 Set，待处理文件
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，轮询超时
+import java.util.function.Consumer; // 引入 Consumer，重载结果监听器
+
+/**
+ * 类目录监听器：用 NIO {@link WatchService} 监听基础包所在的类目录，把变化的 .class 文件交给
+ * {@link Container#reload(java.util.Collection)} 增量重载。由 {@link Container#watch()} 创建，{@link #close()} 停止。
+ * <p>
+ * 监听基础包对应的目录及其全部子目录（新建的子目录自动加入）。编译器一次会写出多个文件，因此事件先累积，
+ * 直到 {@link ContainerOptions#reloadQuietPeriod(Duration)} 内没有新事件时才合并为一次重载；
+ * 事件队列溢出时把该目录下的全部类文件视为已变化。重载失败只打印错误，监听继续。
+ * <p>
+ * 监听在一个守护线程上运行，监听器也在该线程上调用。JAR 中的类不会被监听；部分平台的 {@link WatchService}
+ * 是轮询实现（例如 macOS 上的 JDK），事件可能延迟数秒。
+ */
+public final class ClassDirectoryWatcher implements Closeable { // 类目录监听器
+
+    private final Container container; // 执行重载的容器
+    private final List<Path> roots; // 类目录（类路径根）
+    private final long quietNanos; // 静默期
+    private final Consumer<ReloadReport> listener; // 重载结果监听器（可为 null）
+    private final LogSink log; // 日志输出目标
+    private final WatchService service; // NIO 监听服务
+    private final Map<WatchKey, Path> directories = new HashMap<>(); // WatchKey -> 目录（只由监听线程访问，构造期间的写入由线程启动发布）
+    private final Thread thread; // 监听线程
+    private volatile boolean closed; // 是否已停止
+
+    ClassDirectoryWatcher(Container container,
+                          List<Path> roots,
+                          List<String> packagePaths,
+                          Duration quietPeriod,
+                          Consumer<ReloadReport> listener,
+                          LogSink log) throws IOException { // 由容器创建
+        this.container = container; // 保存容器
+        this.roots = Collections.unmodifiableList(new ArrayList<>(roots)); // 只读保存
+        this.quietNanos = quietPeriod.toNanos(); // 换算静默期
+        this.listener = listener; // 保存监听器
+        this.log = log; // 保存日志输出目标
+        this.service = FileSystems.getDefault().newWatchService(); // 创建监听服务
+        try { // 注册失败时释放监听服务
+            for (Path root : this.roots) { // 逐个类目录
+                for (String packagePath : packagePaths) { // 逐个基础包
+                    register(root.resolve(packagePath), null); // 基础包目录及其子目录（不在该目录下的包被忽略）
+                }
+            }
+        } catch (IOException | RuntimeException e) { // 注册失败
+            service.close(); // 释放
+            throw e; // 原样抛出
+        }
+        if (log.isEnabled(LogSink.Level.INFO)) { // 级别开启时才拼接消息（监听线程启动之前读取目录数）
+            log.log(LogSink.Level.INFO, "watching " + directories.size() + " class directories under " + this.roots); // 打印监听范围
+        }
+        this.thread = new Thread(this::run, "mini-ioc-class-watcher"); // 监听线程
+        this.thread.setDaemon(true); // 不阻止 JVM 退出
+        this.thread.start(); // 开始监听
+    }
+
+    /**
+     * @return 被监听的类目录（类路径根）
+     */
+    public List<Path> getRoots() { // 读取类目录
+        return roots; // 直接返回只读列表
+    }
+
+    /**
+     * 停止监听：关闭 {@link WatchService} 并等待正在进行的重载结束。重复调用没有效果。
+     */
+    @Override
+    public void close() { // 停止监听
+        if (closed) { // 已停止
+            return; // 幂等
+        }
+        closed = true; // 标记停止
+        try { // 关闭监听服务会唤醒阻塞的监听线程
+            service.close(); // 关闭
+        } catch (IOException e) { // 关闭失败不影响停止
+            if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.WARN, "closing class watcher failed: " + e.getMessage()); // 提示
+            }
+        }
+        if (Thread.currentThread() != thread) { // 监听器内部调用时不能等待自己
+            try { // 等待监听线程退出
+                thread.join(); // 正在进行的重载完成后退出
+            } catch (InterruptedException e) { // 等待被中断
+                Thread.currentThread().interrupt(); // 恢复中断标记
+            }
+        }
+    }
+
+    private void run() { // 监听循环
+        final Set<Path> pending = new LinkedHashSet<>(); // 尚未重载的变化文件
+        try { // 关闭后退出
+            while (!closed) { // 直到停止
+                final WatchKey key = pending.isEmpty()
+                        ? service.take() // 没有待处理的变化：一直等待
+                        : service.poll(quietNanos, TimeUnit.NANOSECONDS); // 有待处理的变化：等待静默期
+                if (key == null) { // 静默期内没有新事件
+                    fire(pending); // 合并为一次重载
+                    pending.clear(); // 清空
+                    continue; // 继续等待
+                }
+                collect(key, pending); // 记录变化
+                if (!key.reset()) { // 目录已被删除
+                    directories.remove(key); // 不再跟踪
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) { // 已停止
+            // 正常退出
+        }
+    }
+
+    private void collect(WatchKey key, Set<Path> pending) { // 把一个目录的事件记入待处理集合
+        final Path dir = directories.get(key); // 事件所在目录
+        if (dir == null) { // 已不再跟踪
+            return; // 忽略
+        }
+        for (WatchEvent<?> event : key.pollEvents()) { // 逐个事件
+            try { // 注册新目录可能失败
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) { // 事件溢出：无法知道具体变化
+                    addClassFiles(dir, pending); // 该目录下的类文件全部视为已变化
+                    continue; // 下一个事件
+                }
+                final Path child = dir.resolve((Path) event.context()); // 变化的文件或目录
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(child)) { // 新建的子目录（新包）
+                    register(child, pending); // 开始监听，并把其中已有的类文件记入
+                } else if (child.getFileName().toString().endsWith(".class")) { // 类文件
+                    pending.add(child); // 新增、修改与删除都交给重载判定
+                }
+            } catch (IOException e) { // 目录可能刚被删除
+                if (log.isEnabled(LogSink.Level.DEBUG)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.DEBUG, "class watcher skipped event in " + dir + " -> " + e.getMessage()); // 调试输出
+                }
+            }
+        }
+    }
+
+    private void fire(Set<Path> pending) { // 执行一次重载
+        try { // 失败不影响监听
+            final ReloadReport report = container.reload(new ArrayList<>(pending)); // 增量重载（容器打印汇总）
+            if (listener != null && !report.isEmpty()) { // 有实际变化
+                listener.accept(report); // 通知监听器
+            }
+        } catch (RuntimeException e) { // 名称冲突、类无法加载等
+            if (log.isEnabled(LogSink.Level.ERROR)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.ERROR, "reload failed: " + e.getMessage()); // 打印错误，继续监听
+            }
+        }
+    }
+
+    private void register(Path start, Set<Path> found) throws IOException { // 注册目录树；found 非空时同时收集其中的类文件
+        if (!Files.isDirectory(start)) { // 目录不存在
+            return; // 忽略
+        }
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() { // 递归遍历
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException { // 每个目录
+                directories.put(dir.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE), dir); // 注册
+                return FileVisitResult.CONTINUE; // 继续遍历
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) { // 每个文件
+                if (found != null && file.getFileName().toString().endsWith(".class")) { // 新目录中的类文件
+                    found.add(file); // 记入
+                }
+                return FileVisitResult.CONTINUE; // 继续遍历
+            }
+        });
+    }
+
+    private static void addClassFiles(Path dir, Set<Path> found) throws IOException { // 收集目录树下的类文件
+        if (!Files.isDirectory(dir)) { // 目录不存在
+            return; // 忽略
+        }
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() { // 递归遍历
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) { // 每个文件
+                if (file.getFileName().toString().endsWith(".class")) { // 类文件
+                    found.add(file); // 记入
+                }
+                return FileVisitResult.CONTINUE; // 继续遍历
+            }
+        });
+    }
+
+    /**
+     * 列出各基础包所在的类目录（{@code file:} 协议的类路径根）；JAR 等其他根被忽略。
+     * 多个基础包位于同一个类目录时只返回一次。
+     *
+     * @param packages 已去除首尾空白的基础包名
+     * @param cl       类加载器
+     * @return 类目录（绝对、规范化的路径）
+     * @throws IllegalStateException 无法列举资源
+     */
+    static List<Path> directoryRoots(List<String> packages, ClassLoader cl) { // 基础包 -> 类目录
+        final List<Path> roots = new ArrayList<>(); // 结果
+        for (String basePackage : packages) { // 逐个基础包
+            final String path = basePackage.replace('.', '/'); // 资源路径
+            final int depth = path.split("/").length; // 包路径的层数
+            try { // 列举资源
+                final Enumeration<URL> urls = cl.getResources(path); // 所有同名资源
+                while (urls.hasMoreElements()) { // 逐个处理
+                    final URL url = urls.nextElement(); // 资源 URL
+                    if (!"file".equals(url.getProtocol())) { // 只处理目录
+                        continue; // 跳过 JAR 等
+                    }
+                    Path root = Paths.get(url.toURI()).toAbsolutePath().normalize(); // 基础包目录
+                    for (int i = 0; i < depth && root != null; i++) { // 退回到类路径根
+                        root = root.getParent(); // 上一级
+                    }
+                    if (root != null && !roots.contains(root)) { // 去重
+                        roots.add(root); // 记录
+                    }
+                }
+            } catch (IOException | URISyntaxException e) { // 列举失败
+                throw new IllegalStateException("Cannot list class directories of " + basePackage + ": " + e.getMessage(), e); // 快速失败
+            }
+        }
+        return roots; // 返回类目录
+    }
+
+    /**
+     * @param root 类目录
+     * @param file 文件（任意形式的路径）
+     * @return 文件位于类目录下且是普通类的 .class 文件时返回类名；否则（含 package-info 与 module-info）返回 null
+     */
+    static String classNameOf(Path root, Path file) { // 文件 -> 类名
+        final Path abs = file.toAbsolutePath().normalize(); // 统一形式
+        if (!abs.startsWith(root) || abs.equals(root)) { // 不在类目录下
+            return null; // 不是该目录的类
+        }
+        final String rel = root.relativize(abs).toString().replace(File.separatorChar, '/'); // 相对路径
+        if (!rel.endsWith(".class")) { // 不是类文件
+            return null; // 忽略
+        }
+        final String name = rel.substring(0, rel.length() - 6).replace('/', '.'); // 去掉 ".class" 并转为类名
+        return name.endsWith("package-info") || name.equals("module-info") ? null : name; // 描述文件不是类
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.io.DataInputStream; // 引入 DataInputStream，按大端序读取 class 文件结构
+import java.io.IOException; // 引入 IOException，读取字节码可能抛出
+import java.io.InputStream; // 引入 InputStream，作为字节码来源
+import java.lang.annotation.Annotation; // 引入 Annotation，限定可检测的注解类型
+import java.nio.charset.StandardCharsets; // 引入 StandardCharsets，将描述符编码为字节
+import java.util.Arrays; // 引入 Arrays，扩容临时缓冲区
+
+/**
+ * 直接解析 .class 文件字节码，判断类型上是否带有某个运行时可见注解，全程不加载类。
+ * <p>
+ * 只读取常量池与类级别的 {@code RuntimeVisibleAnnotations} 属性（JVMS §4.4、§4.7.16）：
+ * <ol>
+ *   <li>遍历常量池时按字节比较 UTF8 常量，记下注解描述符与属性名所在的下标；</li>
+ *   <li>若常量池中根本没有该描述符（绝大多数类如此），立即返回 false；</li>
+ *   <li>否则跳过字段与方法，只检查类级别注解的 type_index 是否指向该描述符。</li>
+ * </ol>
+ * 该类无状态、线程安全；仅需 JDK 自带 API，不依赖 ASM 等第三方库。
+ */
+final class ClassFileAnnotations { // 字节码注解探测器
+
+    private static final int MAGIC = 0xCAFEBABE; // class 文件魔数
+    private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS =
+            "RuntimeVisibleAnnotations".getBytes(StandardCharsets.UTF_8); // 目标属性名（纯 ASCII，与修改版 UTF-8 一致）
+
+    private final byte[] descriptor; // 目标注解的类型描述符字节，如 "Lcom/example/ioc/annotations/Component;"
+
+    private ClassFileAnnotations(byte[] descriptor) { // 通过 forAnnotation 创建
+        this.descriptor = descriptor; // 保存描述符
+    }
+
+    /**
+     * 为指定注解类型创建探测器。
+     *
+     * @param annotationType 需要探测的注解（必须是 RUNTIME 保留策略才会出现在字节码中）
+     * @return 对应的探测器
+     */
+    static ClassFileAnnotations forAnnotation(Class<? extends Annotation> annotationType) { // 工厂方法
+        final String desc = "L" + annotationType.getName().replace('.', '/') + ";"; // 构造类型描述符
+        return new ClassFileAnnotations(desc.getBytes(StandardCharsets.UTF_8)); // 包名类名均为 ASCII 时与修改版 UTF-8 相同
+    }
+
+    /**
+     * 判断字节码所描述的类型上是否直接标注了目标注解。
+     *
+     * @param in class 文件字节流（调用方负责关闭；建议外层套 BufferedInputStream）
+     * @return 类级别存在目标注解时返回 true
+     * @throws IOException 字节码截断或格式非法时抛出
+     */
+    boolean isPresentOn(InputStream in) throws IOException { // 探测入口
+        final DataInputStream data = new DataInputStream(in); // 包装为大端读取器
+        if (data.readInt() != MAGIC) { // 校验魔数
+            throw new IOException("not a class file"); // 非 class 文件
+        }
+        data.skipBytes(4); // 跳过 minor_version 与 major_version
+
+        final int poolCount = data.readUnsignedShort(); // 常量池计数（实际条目为 count - 1）
+        int descriptorIndex = -1; // 目标描述符所在下标
+        int attributeNameIndex = -1; // "RuntimeVisibleAnnotations" 所在下标
+        byte[] scratch = new byte[64]; // 复用的 UTF8 读取缓冲区
+        for (int i = 1; i < poolCount; i++) { // 常量池下标从 1 开始
+            final int tag = data.readUnsignedByte(); // 读取条目标签
+            switch (tag) { // 按标签跳过或读取
+                case 1: { // CONSTANT_Utf8
+                    final int len = data.readUnsignedShort(); // 字节长度
+                    if (len > scratch.length) { // 缓冲区不足
+                        scratch = Arrays.copyOf(scratch, Math.max(len, scratch.length * 2)); // 扩容
+                    }
+                    data.readFully(scratch, 0, len); // 读入原始字节（不解码，避免分配字符串）
+                    if (equalsPrefix(scratch, len, descriptor)) { // 命中注解描述符
+                        descriptorIndex = i; // 记录下标
+                    } else if (equalsPrefix(scratch, len, RUNTIME_VISIBLE_ANNOTATIONS)) { // 命中属性名
+                        attributeNameIndex = i; // 记录下标
+                    }
+                    break; // 处理完毕
+                }
+                case 7: case 8: case 16: case 19: case 20: // Class、String、MethodType、Module、Package
+                    data.skipBytes(2); // 2 字节下标
+                    break; // 处理完毕
+                case 15: // MethodHandle
+                    data.skipBytes(3); // 1 字节种类 + 2 字节下标
+                    break; // 处理完毕
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18: // Integer、Float、各类 ref、NameAndType、Dynamic、InvokeDynamic
+                    data.skipBytes(4); // 4 字节内容
+                    break; // 处理完毕
+                case 5: case 6: // Long、Double
+                    data.skipBytes(8); // 8 字节内容
+                    i++; // 占用两个常量池槽位
+                    break; // 处理完毕
+                default: // 未知标签：无法继续解析
+                    throw new IOException("unknown constant pool tag " + tag + " at #" + i); // 交给调用方回退
+            }
+        }
+        if (descriptorIndex < 0 || attributeNameIndex < 0) { // 常量池未引用该注解或没有任何运行时注解
+            return false; // 快速判定：一定未标注
+        }
+
+        data.skipBytes(6); // 跳过 access_flags、this_class、super_class
+        data.skipBytes(2 * data.readUnsignedShort()); // 跳过接口表
+        skipMembers(data); // 跳过字段表
+        skipMembers(data); // 跳过方法表
+
+        final int attributes = data.readUnsignedShort(); // 类级别属性数量
+        for (int a = 0; a < attributes; a++) { // 遍历类属性
+            final int nameIndex = data.readUnsignedShort(); // 属性名下标
+            final int length = data.readInt(); // 属性长度
+            if (nameIndex != attributeNameIndex) { // 不是运行时可见注解属性
+                skipFully(data, length); // 整体跳过
+                continue; // 处理下一个属性
+            }
+            final int annotations = data.readUnsignedShort(); // 注解数量
+            for (int n = 0; n < annotations; n++) { // 遍历类级别注解
+                if (data.readUnsignedShort() == descriptorIndex) { // type_index 指向目标描述符
+                    return true; // 命中
+                }
+                skipElementValuePairs(data); // 跳过该注解的键值对
+            }
+            return false; // 运行时可见注解属性至多一个，检查完即可结束
+        }
+        return false; // 没有类级别运行时注解
+    }
+
+    private static boolean equalsPrefix(byte[] buf, int len, byte[] expected) { // 比较缓冲区前 len 字节与期望值
+        if (len != expected.length) { // 长度不同直接不等
+            return false; // 不匹配
+        }
+        for (int i = 0; i < len; i++) { // 逐字节比较
+            if (buf[i] != expected[i]) { // 出现差异
+                return false; // 不匹配
+            }
+        }
+        return true; // 完全一致
+    }
+
+    private static void skipMembers(DataInputStream data) throws IOException { // 跳过字段表或方法表
+        final int count = data.readUnsignedShort(); // 成员数量
+        for (int i = 0; i < count; i++) { // 逐个成员
+            data.skipBytes(6); // access_flags、name_index、descriptor_index
+            final int attributes = data.readUnsignedShort(); // 成员属性数量
+            for (int a = 0; a < attributes; a++) { // 逐个属性
+                data.skipBytes(2); // attribute_name_index
+                skipFully(data, data.readInt()); // 按长度跳过属性体
+            }
+        }
+    }
+
+    private static void skipElementValuePairs(DataInputStream data) throws IOException { // 跳过注解的键值对
+        final int pairs = data.readUnsignedShort(); // 键值对数量
+        for (int p = 0; p < pairs; p++) { // 逐个键值对
+            data.skipBytes(2); // element_name_index
+            skipElementValue(data); // 跳过值
+        }
+    }
+
+    private static void skipElementValue(DataInputStream data) throws IOException { // 跳过一个 element_value（JVMS §4.7.16.1）
+        final int tag = data.readUnsignedByte(); // 值类型标签
+        switch (tag) { // 按标签跳过
+            case 'B': case 'C': case 'D': case 'F': case 'I': case 'J': case 'S': case 'Z': case 's': case 'c': // 常量、字符串、类
+                data.skipBytes(2); // 2 字节下标
+                break; // 处理完毕
+            case 'e': // 枚举常量
+                data.skipBytes(4); // 类型名下标 + 常量名下标
+                break; // 处理完毕
+            case '@': // 嵌套注解
+                data.skipBytes(2); // type_index
+                skipElementValuePairs(data); // 递归跳过
+                break; // 处理完毕
+            case '[': { // 数组
+                final int values = data.readUnsignedShort(); // 元素数量
+                for (int i = 0; i < values; i++) { // 逐个元素
+                    skipElementValue(data); // 递归跳过
+                }
+                break; // 处理完毕
+            }
+            default: // 非法标签
+                throw new IOException("unknown element_value tag " + (char) tag); // 交给调用方回退
+        }
+    }
+
+    private static void skipFully(DataInputStream data, int length) throws IOException { // 可靠地跳过指定字节数
+        int remaining = length; // 剩余待跳过字节
+        while (remaining > 0) { // skipBytes 可能一次跳不完
+            final int skipped = data.skipBytes(remaining); // 尝试跳过
+            if (skipped <= 0) { // 流已结束
+                throw new IOException("truncated class file"); // 报告截断
+            }
+            remaining -= skipped; // 更新剩余量
+        }
+    }
+}
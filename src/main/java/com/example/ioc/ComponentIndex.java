@@ -0,0 +1,156 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.io.BufferedReader; // 引入 BufferedReader，用于逐行读取索引文件
+import java.io.IOException; // 引入 IOException，读取索引时可能抛出
+import java.io.InputStream; // 引入 InputStream，承载索引资源的字节流
+import java.io.InputStreamReader; // 引入 InputStreamReader，将字节流按 UTF-8 解码
+import java.net.URL; // 引入 URL，表示索引资源所在位置
+import java.nio.charset.StandardCharsets; // 引入 StandardCharsets，固定使用 UTF-8
+import java.util.ArrayList; // 引入 ArrayList，保存过滤后的类名
+import java.util.Collections; // 引入 Collections，返回只读视图
+import java.util.Enumeration; // 引入 Enumeration，遍历 ClassLoader 返回的资源
+import java.util.HashMap; // 引入 HashMap，保存“根路径 -> 索引”的映射
+import java.util.List; // 引入 List，作为类名列表的返回类型
+import java.util.Map; // 引入 Map，作为索引映射的类型
+import java.util.TreeMap; // 引入 TreeMap，保证索引条目有序
+
+/**
+ * 编译期生成的组件索引（由 {@code ComponentIndexProcessor} 写入 {@link #LOCATION}）。
+ * <p>
+ * 文件格式为每行一条 {@code 类的二进制名=标记[,标记...]}，标记取值：
+ * <ul>
+ *   <li>{@link #COMPONENT}：类型上标注了 {@code @Component}</li>
+ *   <li>{@link #INJECT}：类型内存在 {@code @Inject} 构造器或字段</li>
+ *   <li>{@link #START}：类型内存在 {@code @InvokeOnStart} 方法</li>
+ * </ul>
+ * 索引按“类路径根”（目录或 JAR）区分：只有带索引的根才会跳过扫描，其余根仍按原逻辑扫描。
+ */
+public final class ComponentIndex { // 组件索引：只提供读取能力，写入由注解处理器负责
+
+    /** 索引在类路径中的固定位置。 */
+    public static final String LOCATION = "META-INF/mini-ioc/components.idx"; // 处理器与容器共用的资源路径
+
+    /** 标记：类型带 {@code @Component}。 */
+    public static final String COMPONENT = "component"; // 组件标记
+    /** 标记：类型包含 {@code @Inject} 注入点。 */
+    public static final String INJECT = "inject"; // 注入点标记
+    /** 标记：类型包含 {@code @InvokeOnStart} 回调。 */
+    public static final String START = "start"; // 启动回调标记
+
+    private final Map<String, String> entries; // 类名 -> 标记串（有序）
+
+    private ComponentIndex(Map<String, String> entries) { // 仅允许通过 load 创建
+        this.entries = entries; // 保存解析结果
+    }
+
+    /**
+     * 读取 ClassLoader 可见的全部索引文件，并按类路径根分组。
+     *
+     * @param cl  用于查找索引资源的类加载器
+     * @param log 读取失败时的警告输出目标
+     * @return 根路径（形如 {@code file:/app/classes/} 或 {@code jar:file:/app.jar!/}）到索引的映射；无索引时为空
+     */
+    static Map<String, ComponentIndex> load(ClassLoader cl, LogSink log) { // 加载所有索引
+        final Map<String, ComponentIndex> result = new HashMap<>(); // 保存结果
+        try { // 读取资源可能抛出 I/O 异常
+            final Enumeration<URL> urls = cl.getResources(LOCATION); // 列举所有同名索引资源
+            while (urls.hasMoreElements()) { // 逐个处理
+                final URL url = urls.nextElement(); // 取出一个索引资源
+                final String external = url.toExternalForm(); // 转成字符串便于截取根路径
+                final String root = external.substring(0, external.length() - LOCATION.length()); // 去掉固定后缀即为根路径
+                result.put(root, parse(url)); // 解析并登记
+            }
+        } catch (IOException e) { // 读取失败时回退到扫描
+            if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.WARN, "component index ignored: " + e.getMessage()); // 打印原因
+            }
+            return Collections.emptyMap(); // 返回空映射，表示全部根都需要扫描
+        }
+        return result; // 返回分组后的索引
+    }
+
+    /**
+     * 根据某个包资源的 URL 计算其所在的类路径根，与 {@link #load(ClassLoader, LogSink)} 的键一致。
+     *
+     * @param packageUrl   {@code ClassLoader.getResources(path)} 返回的 URL
+     * @param resourcePath 包路径形式（如 "com/example"）
+     * @return 根路径字符串；无法推导时返回 null
+     */
+    static String rootOf(URL packageUrl, String resourcePath) { // 推导包资源所属的根
+        String external = packageUrl.toExternalForm(); // 完整 URL 字符串
+        if (external.endsWith("/")) { // 目录资源可能带尾部斜杠
+            external = external.substring(0, external.length() - 1); // 统一去掉
+        }
+        if (!external.endsWith(resourcePath)) { // 非预期格式（例如被 URL 编码）
+            return null; // 交由调用方回退到扫描
+        }
+        return external.substring(0, external.length() - resourcePath.length()); // 去掉包路径即为根
+    }
+
+    private static ComponentIndex parse(URL url) throws IOException { // 解析单个索引文件
+        final Map<String, String> entries = new TreeMap<>(); // 有序保存，保证结果稳定
+        try (InputStream in = url.openStream(); // 打开资源流
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) { // 按 UTF-8 读取
+            String line; // 当前行
+            while ((line = reader.readLine()) != null) { // 逐行读取
+                line = line.trim(); // 去除首尾空白
+                if (line.isEmpty() || line.startsWith("#")) { // 跳过空行与注释
+                    continue; // 继续下一行
+                }
+                final int eq = line.indexOf('='); // 定位分隔符
+                if (eq <= 0) { // 格式不合法
+                    continue; // 忽略该行
+                }
+                entries.put(line.substring(0, eq).trim(), line.substring(eq + 1).trim()); // 登记类名与标记
+            }
+        }
+        return new ComponentIndex(entries); // 构造索引对象
+    }
+
+    /**
+     * 返回位于 basePackage（含子包）下且带 {@link #COMPONENT} 标记的类名。
+     *
+     * @param basePackage 基础包名，形如 "com.example"
+     * @return 有序的类名列表（只读）
+     */
+    List<String> componentNames(String basePackage) { // 按包前缀过滤组件类名
+        final String prefix = basePackage + "."; // 包前缀，避免 com.exampleX 被误匹配
+        final List<String> names = new ArrayList<>(); // 保存结果
+        for (Map.Entry<String, String> e : entries.entrySet()) { // 遍历有序条目
+            if (e.getKey().startsWith(prefix) && containsMarker(e.getValue(), COMPONENT)) { // 同时满足包前缀与组件标记
+                names.add(e.getKey()); // 收集类名
+            }
+        }
+        return Collections.unmodifiableList(names); // 返回只读列表
+    }
+
+    /**
+     * 判断某个类型在索引中是否带有指定标记。
+     *
+     * @param className 类的二进制名
+     * @param marker    标记（{@link #COMPONENT}/{@link #INJECT}/{@link #START}）
+     * @return 带有该标记时返回 true
+     */
+    boolean hasMarker(String className, String marker) { // 查询单个类型的标记
+        final String markers = entries.get(className); // 取出标记串
+        return markers != null && containsMarker(markers, marker); // 委托静态判定
+    }
+
+    private static boolean containsMarker(String markers, String marker) { // 在逗号分隔的标记串中查找
+        for (String m : markers.split(",")) { // 拆分标记
+            if (m.trim().equals(marker)) { // 精确匹配
+                return true; // 命中
+            }
+        }
+        return false; // 未命中
+    }
+
+    /**
+     * 索引中的条目数量（调试用）。
+     *
+     * @return 条目数
+     */
+    int size() { // 返回条目数量
+        return entries.size(); // 直接读取 Map 大小
+    }
+}
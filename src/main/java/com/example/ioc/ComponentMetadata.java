@@ -0,0 +1,175 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import com.example.ioc.annotations.Inject; // 引入 @Inject，识别注入构造器与注入字段
+import com.example.ioc.annotations.InvokeOnStart; // 引入 @InvokeOnStart，识别启动回调
+
+import java.io.DataInputStream; // 引入 DataInputStream，从缓存文件读取
+import java.io.DataOutputStream; // 引入 DataOutputStream，写入缓存文件
+import java.io.IOException; // 引入 IOException，读写缓存可能抛出
+import java.lang.reflect.Constructor; // 引入 Constructor，表示注入构造器
+import java.lang.reflect.Field; // 引入 Field，表示注入字段
+import java.lang.reflect.Method; // 引入 Method，表示启动回调
+import java.util.ArrayList; // 引入 ArrayList，收集名称列表
+import java.util.Collections; // 引入 Collections，返回只读列表
+import java.util.List; // 引入 List，作为名称列表类型
+
+/**
+ * 组件的“已解析注入元数据”：只记录名称，可以序列化到扫描缓存中。
+ * <p>
+ * 包含：注入构造器的参数类型名（无 {@code @Inject} 构造器时为 null，表示使用无参构造器）、
+ * {@code @Inject} 字段名、无参 {@code @InvokeOnStart} 方法名。
+ * 容器拿到元数据后可以用 {@code getDeclaredConstructor/Field/Method} 精确定位成员，
+ * 无需再枚举全部声明成员并逐个检查注解。
+ */
+final class ComponentMetadata { // 组件注入元数据（不可变）
+
+    final String className; // 组件类的二进制名
+    final List<String> constructorParams; // @Inject 构造器的参数类型名；null 表示使用无参构造器
+    final List<String> injectFields; // @Inject 字段名
+    final List<String> startMethods; // 无参 @InvokeOnStart 方法名
+
+    ComponentMetadata(String className,
+                      List<String> constructorParams,
+                      List<String> injectFields,
+                      List<String> startMethods) { // 全字段构造器
+        this.className = className; // 保存类名
+        this.constructorParams = constructorParams == null ? null : Collections.unmodifiableList(constructorParams); // 只读保存
+        this.injectFields = Collections.unmodifiableList(injectFields); // 只读保存
+        this.startMethods = Collections.unmodifiableList(startMethods); // 只读保存
+    }
+
+    /**
+     * 通过反射提取组件的注入元数据（仅在缓存未命中时调用一次）。
+     *
+     * @param type 组件类型
+     * @return 元数据；存在多个 {@code @Inject} 构造器时返回 null，交由容器在实例化时报告错误
+     */
+    static ComponentMetadata introspect(Class<?> type) { // 反射提取元数据
+        List<String> params = null; // 注入构造器参数
+        for (Constructor<?> c : type.getDeclaredConstructors()) { // 遍历构造器
+            if (c.isAnnotationPresent(Inject.class)) { // 注入构造器
+                if (params != null) { // 多个注入构造器属于错误配置
+                    return null; // 不缓存，保留原有报错路径
+                }
+                params = new ArrayList<>(); // 创建参数列表
+                for (Class<?> p : c.getParameterTypes()) { // 遍历参数类型
+                    params.add(p.getName()); // 记录类型名（数组为 "[L...;" 形式，可直接 Class.forName）
+                }
+            }
+        }
+        final List<String> fields = new ArrayList<>(); // 注入字段
+        for (Field f : type.getDeclaredFields()) { // 遍历字段
+            if (f.isAnnotationPresent(Inject.class)) { // 注入字段
+                fields.add(f.getName()); // 记录字段名
+            }
+        }
+        final List<String> starts = new ArrayList<>(); // 启动回调
+        for (Method m : type.getDeclaredMethods()) { // 遍历方法
+            if (m.isAnnotationPresent(InvokeOnStart.class) && m.getParameterCount() == 0) { // 仅无参回调（带参方法由容器告警）
+                starts.add(m.getName()); // 记录方法名（无参方法名在同一类中唯一）
+            }
+        }
+        return new ComponentMetadata(type.getName(), params, fields, starts); // 构造元数据
+    }
+
+    /**
+     * 按元数据定位注入构造器。
+     *
+     * @param type 组件类型（必须与 {@link #className} 一致）
+     * @param <T>  组件类型参数
+     * @return 注入构造器；元数据声明使用无参构造器时返回 null
+     * @throws ReflectiveOperationException 成员已不存在（缓存与类不一致）时抛出
+     */
+    <T> Constructor<T> injectConstructor(Class<T> type) throws ReflectiveOperationException { // 精确查找构造器
+        if (constructorParams == null) { // 没有注入构造器
+            return null; // 交由调用方使用无参构造器
+        }
+        final Class<?>[] paramTypes = new Class<?>[constructorParams.size()]; // 参数类型数组
+        for (int i = 0; i < paramTypes.length; i++) { // 逐个解析
+            paramTypes[i] = typeForName(constructorParams.get(i), type.getClassLoader()); // 按名称加载类型
+        }
+        final Constructor<T> ctor = type.getDeclaredConstructor(paramTypes); // 精确定位
+        if (!ctor.isAnnotationPresent(Inject.class)) { // 防御：缓存陈旧
+            throw new NoSuchMethodException("@Inject constructor changed in " + type.getName()); // 触发回退
+        }
+        return ctor; // 返回构造器
+    }
+
+    /**
+     * 按元数据定位全部注入字段。
+     *
+     * @param type 组件类型
+     * @return 注入字段数组
+     * @throws NoSuchFieldException 字段已不存在时抛出
+     */
+    Field[] injectFields(Class<?> type) throws NoSuchFieldException { // 精确查找字段
+        final Field[] result = new Field[injectFields.size()]; // 结果数组
+        for (int i = 0; i < result.length; i++) { // 逐个定位
+            result[i] = type.getDeclaredField(injectFields.get(i)); // 按名称查找
+        }
+        return result; // 返回字段
+    }
+
+    /**
+     * 按元数据定位全部启动回调。
+     *
+     * @param type 组件类型
+     * @return 无参回调方法数组
+     * @throws NoSuchMethodException 方法已不存在时抛出
+     */
+    Method[] startMethods(Class<?> type) throws NoSuchMethodException { // 精确查找方法
+        final Method[] result = new Method[startMethods.size()]; // 结果数组
+        for (int i = 0; i < result.length; i++) { // 逐个定位
+            result[i] = type.getDeclaredMethod(startMethods.get(i)); // 无参方法按名称即可唯一定位
+        }
+        return result; // 返回方法
+    }
+
+    void writeTo(DataOutputStream out) throws IOException { // 序列化到缓存文件
+        out.writeUTF(className); // 类名
+        out.writeBoolean(constructorParams != null); // 是否存在注入构造器
+        if (constructorParams != null) { // 仅在存在时写出参数
+            writeNames(out, constructorParams); // 参数类型名
+        }
+        writeNames(out, injectFields); // 字段名
+        writeNames(out, startMethods); // 回调名
+    }
+
+    static ComponentMetadata readFrom(DataInputStream in) throws IOException { // 从缓存文件反序列化
+        final String className = in.readUTF(); // 类名
+        final List<String> params = in.readBoolean() ? readNames(in) : null; // 注入构造器参数
+        final List<String> fields = readNames(in); // 字段名
+        final List<String> starts = readNames(in); // 回调名
+        return new ComponentMetadata(className, params, fields, starts); // 构造元数据
+    }
+
+    private static void writeNames(DataOutputStream out, List<String> names) throws IOException { // 写出名称列表
+        out.writeInt(names.size()); // 数量
+        for (String n : names) { // 逐个写出
+            out.writeUTF(n); // 名称
+        }
+    }
+
+    private static List<String> readNames(DataInputStream in) throws IOException { // 读取名称列表
+        final int count = in.readInt(); // 数量
+        final List<String> names = new ArrayList<>(count); // 预分配容量
+        for (int i = 0; i < count; i++) { // 逐个读取
+            names.add(in.readUTF()); // 名称
+        }
+        return names; // 返回列表
+    }
+
+    private static Class<?> typeForName(String name, ClassLoader cl) throws ClassNotFoundException { // 支持基本类型的类名解析
+        switch (name) { // 基本类型无法通过 Class.forName 加载
+            case "boolean": return boolean.class; // 布尔
+            case "byte": return byte.class; // 字节
+            case "char": return char.class; // 字符
+            case "short": return short.class; // 短整型
+            case "int": return int.class; // 整型
+            case "long": return long.class; // 长整型
+            case "float": return float.class; // 单精度
+            case "double": return double.class; // 双精度
+            default: return Class.forName(name, false, cl); // 引用类型与数组类型
+        }
+    }
+}
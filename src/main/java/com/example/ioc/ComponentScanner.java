@@ -0,0 +1,445 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import com.example.ioc.annotations.Component; // 引入 @Component，扫描的判定依据
+
+import java.util.ArrayList; // 引入 ArrayList，用于排序扫描结果
+import java.util.Collections; // 引入 Collections，提供空映射
+import java.util.Comparator; // 引入 Comparator，按类名排序
+import java.util.HashMap; // 引入 HashMap，保存组件元数据
+import java.util.HashSet; // 引入 HashSet，记录已处理的资源 URL
+import java.util.LinkedHashSet; // 引入 LinkedHashSet，保持排序后的迭代顺序
+import java.util.List; // 引入 List，作为排序中间结果
+import java.util.Map; // 引入 Map，保存按根分组的索引
+import java.util.Set; // 引入 Set，作为扫描结果类型
+import java.util.concurrent.CompletableFuture; // 引入 CompletableFuture，用于等待并行任务全部结束
+import java.util.concurrent.ConcurrentHashMap; // 引入 ConcurrentHashMap，提供并发安全的结果集合
+import java.util.concurrent.Executor; // 引入 Executor，承载并行扫描任务
+import java.util.concurrent.RejectedExecutionException; // 引入 RejectedExecutionException，线程池拒绝时回退为当前线程执行
+import java.util.concurrent.atomic.AtomicInteger; // 引入 AtomicInteger，统计未完成的任务数
+import java.util.concurrent.atomic.AtomicReference; // 引入 AtomicReference，记录第一个失败原因
+import java.util.concurrent.atomic.LongAdder; // 引入 LongAdder，并行任务累加类加载耗时
+
+/**
+ * 类路径组件扫描器（从 {@link Container} 中拆出，供 {@link Container#scanComponents(String)} 使用）。
+ * <p>
+ * 扫描单位是“任务”：每个 JAR 是一个任务，每个目录也是一个任务（子目录会再提交为新任务）。
+ * <ul>
+ *   <li>顺序模式：任务直接在调用线程上执行，等价于原来的深度优先遍历；</li>
+ *   <li>并行模式：任务提交到 {@link ContainerOptions#getScanExecutor()}（默认 ForkJoinPool 公共池），
+ *       结果写入并发集合，全部任务结束后再返回。</li>
+ * </ul>
+ * 两种模式最终都按类名排序输出，保证结果与执行顺序无关。
+ * <p>
+ * 扫描范围由 {@link ScanScope} 给出：多个基础包逐个列举资源，同一个资源 URL 只处理一次；
+ * 类名过滤在读取字节码之前按目录项或 JAR 条目名判定，被整体排除的子包目录直接跳过。
+ * <p>
+ * 配置了 {@link ContainerOptions#scanCacheFile(java.nio.file.Path)} 时，每个类路径根先计算指纹：
+ * 命中 {@link ScanCache} 则直接按缓存的类名加载组件，不再遍历；未命中的根扫描完成后写回缓存。
+ */
+final class ComponentScanner { // 组件扫描器
+
+    private static final ClassFileAnnotations COMPONENT_BYTECODE =
+            ClassFileAnnotations.forAnnotation(Component.class); // 字节码级 @Component 探测器（无状态，可共享）
+
+    private final ContainerOptions options; // 容器配置（只读）
+    private final LogSink log; // 日志输出目标
+
+    ComponentScanner(ContainerOptions options) { // 由容器创建
+        this.options = options; // 保存配置
+        this.log = options.getLogSink(); // 取出日志输出目标
+    }
+
+    /**
+     * 扫描范围内所有被 {@link Component} 标注的类型。
+     *
+     * @param scope  基础包与类名过滤模式
+     * @param cl     用于查找资源与加载类的类加载器
+     * @param tracer 启动追踪（每次类加载一个时间片）
+     * @return 扫描结果：按类名排序的组件类型集合、启用缓存时的注入元数据，以及类加载累计耗时
+     */
+    Result scan(ScanScope scope, ClassLoader cl, StartupTracer tracer) { // 扫描入口
+        final Executor executor = options.isParallelScanEnabled() ? options.getScanExecutor() : null; // 顺序模式不使用线程池
+        final ScanContext ctx = new ScanContext(cl, scope, executor, log, tracer); // 本次扫描的共享上下文
+        final ScanCache cache = options.getScanCacheFile() == null ? null : ScanCache.load(options.getScanCacheFile(), log); // 按需加载磁盘缓存
+        final List<RootScan> roots = new ArrayList<>(); // 需要遍历（或命中缓存）的根
+
+        try { // 包裹整体扫描逻辑以捕获异常
+            final Map<String, ComponentIndex> indexes = options.isComponentIndexEnabled()
+                    ? ComponentIndex.load(cl, log) // 读取全部编译期索引（按类路径根分组）
+                    : Collections.<String, ComponentIndex>emptyMap(); // 关闭索引时视为没有索引
+            final Set<String> seen = new HashSet<>(); // 已处理的资源 URL（类路径中重复的条目只处理一次）
+            for (String basePackage : scope.packages()) { // 逐个基础包（已合并嵌套的包，彼此不重叠）
+                if (scope.excludesPackage(basePackage)) { // 整个基础包都被排除
+                    continue; // 不列举资源
+                }
+                scanPackage(basePackage, indexes, seen, roots, cache, ctx); // 列举并提交该包的根
+            }
+        } catch (Exception e) { // 捕获并汇总所有扫描过程的异常
+            if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.WARN, "scanComponents failed: " + e.getMessage()); // 打印异常摘要
+            }
+        } // try-catch 结束
+
+        ctx.await(); // 等待所有任务结束（顺序模式下立即返回）
+        if (cache != null) { // 启用了缓存：为未命中的根补充元数据并写回
+            for (RootScan root : roots) { // 逐个根处理
+                storeRoot(root, cache, ctx); // 写入缓存条目
+            }
+            cache.saveIfDirty(); // 有更新时写回磁盘
+        }
+        return new Result(sortedByName(ctx.out), ctx.metadata, ctx.classLoadNanos.sum()); // 排序后输出，保证结果确定
+    }
+
+    /**
+     * 列举单个基础包所在的全部资源，按根提交索引加载或遍历任务。
+     */
+    private void scanPackage(String basePackage,
+                             Map<String, ComponentIndex> indexes,
+                             Set<String> seen,
+                             List<RootScan> roots,
+                             ScanCache cache,
+                             ScanContext ctx) throws java.io.IOException { // 单个基础包
+        final String path = basePackage.replace('.', '/'); // 类路径资源使用斜杠分隔
+        final java.util.Enumeration<java.net.URL> resources = ctx.cl.getResources(path); // 列举所有同名资源
+        while (resources.hasMoreElements()) { // 逐个资源处理
+            final java.net.URL url = resources.nextElement(); // 取出一个资源 URL
+            final String protocol = url.getProtocol(); // 协议可能是 "file" 或 "jar"
+            if (!seen.add(url.toExternalForm())) { // 同一个根在类路径中出现了多次
+                continue; // 不重复遍历
+            }
+            final String rootKey = ComponentIndex.rootOf(url, path); // 推导该资源所属的类路径根
+            final ComponentIndex index = rootKey == null ? null : indexes.get(rootKey); // 查找该根的索引
+            if (index != null) { // 该根带有索引：跳过遍历
+                ctx.submit(() -> { // 索引条目同样可以并行加载
+                    for (String fqcn : index.componentNames(basePackage)) { // 只加载索引中的组件类
+                        if (ctx.scope.accepts(fqcn)) { // 类名过滤同样适用于索引条目
+                            maybeAddComponentClass(fqcn, ctx, null); // 复用统一判定，陈旧条目会被跳过
+                        }
+                    } // 索引条目遍历结束
+                }); // 任务提交结束
+            } else if ("file".equals(protocol) || JarDirectory.isArchive(url)) { // 文件系统或 JAR（含嵌套 JAR）场景
+                final RootScan root = new RootScan(basePackage + ctx.scope.signature() + "|" + url.toExternalForm()); // 缓存键：基础包 + 过滤模式 + 根 URL
+                roots.add(root); // 登记，扫描结束后写回缓存
+                ctx.submit(() -> scanRoot(basePackage, path, url, root, cache, ctx)); // 每个根一个任务
+            } else if (log.isEnabled(LogSink.Level.WARN)) { // 其他协议：不因未知协议而失败，但要说明跳过了哪个根
+                log.log(LogSink.Level.WARN, "unsupported class path root skipped: " + url); // 打印被跳过的根
+            } // 协议分支结束
+        } // 资源遍历结束
+    }
+
+    /**
+     * 处理单个类路径根：指纹命中缓存时直接加载缓存的组件，否则遍历目录或 JAR。
+     */
+    private void scanRoot(String basePackage,
+                          String path,
+                          java.net.URL url,
+                          RootScan root,
+                          ScanCache cache,
+                          ScanContext ctx) { // 单根扫描任务
+        if (cache != null) { // 启用了缓存
+            root.fingerprint = ScanCache.fingerprint(url, log); // 计算当前指纹
+            final ScanCache.Entry hit = root.fingerprint == null ? null : cache.lookup(root.key, root.fingerprint); // 查询缓存
+            if (hit != null) { // 指纹一致：跳过遍历
+                root.hit = true; // 标记命中，无需写回
+                for (ComponentMetadata m : hit.components) { // 按缓存的类名加载
+                    final Class<?> clazz = maybeAddComponentClass(m.className, ctx, null); // 仍做注解校验
+                    if (clazz != null) { // 加载成功
+                        ctx.metadata.put(clazz, m); // 附带缓存的注入元数据
+                    }
+                }
+                return; // 该根处理完毕
+            }
+        }
+        if ("file".equals(url.getProtocol())) { // 文件系统场景
+            final String filePath; // 解码后的实际文件路径
+            try { // UTF-8 必然受支持，异常仅为编译期要求
+                filePath = java.net.URLDecoder.decode(url.getFile(), "UTF-8"); // 解码后得到实际文件路径
+            } catch (java.io.UnsupportedEncodingException e) { // 不可能发生
+                throw new IllegalStateException(e); // 交给任务失败处理
+            }
+            final java.io.File dir = new java.io.File(filePath); // 将路径包装成 File
+            scanDirectory(basePackage, dir, ctx, root); // 委托目录扫描
+        } else { // JAR 包场景
+            scanJarEntries(path, url, ctx, root); // 委托 JAR 扫描
+        }
+    }
+
+    private static void storeRoot(RootScan root, ScanCache cache, ScanContext ctx) { // 将未命中的根写入缓存
+        if (root.hit || root.fingerprint == null) { // 已命中或无法计算指纹
+            return; // 无需写入
+        }
+        final List<ComponentMetadata> components = new ArrayList<>(); // 该根的组件元数据
+        for (Class<?> clazz : sortedByName(root.found)) { // 按类名排序，保证文件内容稳定
+            final ComponentMetadata m = ComponentMetadata.introspect(clazz); // 反射提取一次
+            if (m == null) { // 配置错误（例如多个 @Inject 构造器）
+                return; // 整个根不缓存，下次启动仍走扫描并报告错误
+            }
+            components.add(m); // 收集元数据
+            ctx.metadata.put(clazz, m); // 本次启动同样可以使用
+        }
+        cache.put(root.key, new ScanCache.Entry(root.fingerprint, components)); // 写入缓存条目
+    }
+
+    /**
+     * 递归扫描目录，查找以 .class 结尾的文件，并尝试按包名推导加载为 Class。
+     * 并行模式下每个子目录作为独立任务提交。
+     *
+     * @param basePackage 目录对应的包名（如 "com.example"）
+     * @param dir         起始目录（与 basePackage 对应的物理路径）
+     * @param ctx         本次扫描的共享上下文
+     * @param root        目录所属的根（记录该根扫描到的组件）
+     */
+    private void scanDirectory(String basePackage, java.io.File dir, ScanContext ctx, RootScan root) { // 遍历文件系统目录
+        if (dir == null || !dir.exists()) { // 若目录不存在，直接返回
+            return; // 安全兜底
+        } // 目录存在性检查结束
+        final java.io.File[] files = dir.listFiles(); // 列出目录下的所有文件与子目录
+        if (files == null) { // I/O 异常或无权限时可能返回 null
+            return; // 安全兜底
+        } // 文件列表获取结束
+        for (java.io.File f : files) { // 逐项遍历
+            if (f.isDirectory()) { // 子目录
+                final String subPackage = basePackage + "." + f.getName(); // 拼接子包名
+                if (!ctx.scope.excludesPackage(subPackage)) { // 整个子包被排除时不再进入
+                    ctx.submit(() -> scanDirectory(subPackage, f, ctx, root)); // 深度优先遍历（并行模式下交给线程池）
+                }
+            } else if (f.getName().endsWith(".class")) { // 命中字节码文件
+                final String simpleClassName = f.getName().substring(0, f.getName().length() - 6); // 6 为 ".class" 长度
+                final String fqcn = basePackage + "." + simpleClassName; // 生成 FQCN
+                if (ctx.scope.accepts(fqcn) && isComponentClassFile(f, fqcn)) { // 字节码预判：未标注 @Component 的类不再加载
+                    maybeAddComponentClass(fqcn, ctx, root); // 委托统一的类加载与判定方法
+                } // 字节码预判结束
+            } // 文件类型分支结束
+        } // for 循环结束
+    } // scanDirectory 方法结束
+
+    /**
+     * 扫描 JAR 包条目：通过 {@link JarDirectory} 映射中央目录，二分查找基础包前缀，只处理前缀范围内的 .class 条目。
+     * 嵌套 JAR 与 fat jar 中的目录前缀（如 {@code BOOT-INF/classes/}）在内存中定位，不解压到磁盘；
+     * 不经过 {@link java.net.JarURLConnection}，因此也不会关闭 JVM 缓存的 {@link java.util.jar.JarFile}。
+     *
+     * @param resourcePath 包路径形式（如 "com/example"）
+     * @param url          指向 JAR 资源的 URL
+     * @param ctx          本次扫描的共享上下文
+     * @param root         JAR 所属的根（记录该根扫描到的组件）
+     */
+    private void scanJarEntries(String resourcePath, java.net.URL url, ScanContext ctx, RootScan root) { // 遍历 JAR 中的条目
+        try { // 捕获 JAR 访问异常
+            final JarDirectory.Location location = JarDirectory.locate(url, ctx.jars); // 定位（可能嵌套的）归档与目录前缀
+            final int skip = location.prefix.length(); // 目录前缀不属于类名
+            for (String name : location.jar.names(location.prefix + resourcePath + "/")) { // 只取基础包前缀范围内的条目
+                if (name.endsWith(".class")) { // 过滤目录与资源条目
+                    final String fqcn = name
+                            .substring(skip, name.length() - 6) // 去掉目录前缀与 ".class"
+                            .replace('/', '.'); // 将路径分隔符替换为包名分隔符
+                    if (ctx.scope.accepts(fqcn) && isComponentClassEntry(location.jar, name, fqcn)) { // 字节码预判：未标注 @Component 的类不再加载
+                        maybeAddComponentClass(fqcn, ctx, root); // 统一处理
+                    } // 字节码预判结束
+                } // 条目过滤结束
+            } // JAR 条目遍历结束
+        } catch (java.io.IOException | RuntimeException e) { // 捕获定位与读取过程中的异常
+            if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.WARN, "scanJarEntries failed: " + url + " -> " + e.getMessage()); // 输出根与异常信息
+            }
+        } // try-catch 结束
+    } // scanJarEntries 方法结束
+
+    /**
+     * 在不加载类的前提下，通过解析目录中的 .class 文件判断其是否标注了 {@link Component}。
+     *
+     * @param classFile .class 文件
+     * @param fqcn      对应的完全限定类名（仅用于日志）
+     * @return 需要继续加载判定时返回 true；关闭字节码探测或解析失败时保守地返回 true
+     */
+    private boolean isComponentClassFile(java.io.File classFile, String fqcn) { // 目录场景的字节码预判
+        if (!options.isBytecodeScanEnabled()) { // 未开启字节码探测
+            return true; // 沿用旧逻辑：全部交给 Class.forName 判定
+        } // 开关判定结束
+        try (java.io.InputStream in = new java.io.BufferedInputStream(new java.io.FileInputStream(classFile))) { // 带缓冲读取
+            return COMPONENT_BYTECODE.isPresentOn(in); // 解析常量池与类级注解
+        } catch (java.io.IOException e) { // 读取或解析失败
+            if (log.isEnabled(LogSink.Level.DEBUG)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.DEBUG, "bytecode probe failed: " + fqcn + " -> " + e.getMessage()); // 调试输出
+            }
+            return true; // 保守回退到类加载判定
+        } // try-catch 结束
+    } // isComponentClassFile 方法结束
+
+    /**
+     * 在不加载类的前提下，通过解析 JAR 条目的字节码判断其是否标注了 {@link Component}。
+     *
+     * @param jar   条目所在的归档
+     * @param entry .class 条目名
+     * @param fqcn  对应的完全限定类名（仅用于日志）
+     * @return 需要继续加载判定时返回 true；关闭字节码探测或解析失败时保守地返回 true
+     */
+    private boolean isComponentClassEntry(JarDirectory jar, String entry, String fqcn) { // JAR 场景的字节码预判
+        if (!options.isBytecodeScanEnabled()) { // 未开启字节码探测
+            return true; // 沿用旧逻辑
+        } // 开关判定结束
+        try (java.io.InputStream in = jar.open(entry)) { // 直接读取映射区（压缩条目边读边解压）
+            return COMPONENT_BYTECODE.isPresentOn(in); // 解析常量池与类级注解
+        } catch (java.io.IOException e) { // 读取或解析失败
+            if (log.isEnabled(LogSink.Level.DEBUG)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.DEBUG, "bytecode probe failed: " + fqcn + " -> " + e.getMessage()); // 调试输出
+            }
+            return true; // 保守回退到类加载判定
+        } // try-catch 结束
+    } // isComponentClassEntry 方法结束
+
+    /**
+     * 不加载类，判断单个类文件是否标注了 {@link Component}（增量重载时判定变化的文件，不受字节码探测开关影响）。
+     *
+     * @param classFile .class 文件
+     * @return 类级别标注了 {@link Component} 时返回 true
+     * @throws java.io.IOException 读取失败或格式非法
+     */
+    static boolean isComponentFile(java.nio.file.Path classFile) throws java.io.IOException { // 单个类文件的字节码判定
+        try (java.io.InputStream in = new java.io.BufferedInputStream(java.nio.file.Files.newInputStream(classFile))) { // 带缓冲读取
+            return COMPONENT_BYTECODE.isPresentOn(in); // 解析常量池与类级注解
+        }
+    }
+
+    /**
+     * 根据 FQCN 尝试加载类；若带有 @Component 注解，则加入结果集合。
+     *
+     * @param fqcn 完全限定类名（Fully Qualified Class Name）
+     * @param ctx  本次扫描的共享上下文（提供类加载器与结果集合）
+     * @param root 类所属的根；索引或缓存来源时为 null
+     * @return 命中时返回组件类型，否则返回 null
+     */
+    private Class<?> maybeAddComponentClass(String fqcn, ScanContext ctx, RootScan root) { // 统一的类加载与注解判定
+        final long t0 = System.nanoTime(); // 类加载开始时间
+        try { // 捕获类加载异常
+            final Class<?> clazz = Class.forName(fqcn, false, ctx.cl); // 使用 doInitialize=false 降低副作用
+            final boolean component = clazz.isAnnotationPresent(Component.class); // 读取类级注解（首次读取会解析注解）
+            final long t1 = System.nanoTime(); // 类加载结束时间
+            ctx.classLoadNanos.add(t1 - t0); // 累加类加载耗时
+            ctx.tracer.complete(StartupTrace.Kind.CLASS_LOAD, null, fqcn, t0, t1); // 追踪时间片（未开启时为空调用）
+            if (component) { // 仅收集带注解的类型
+                ctx.out.add(clazz); // 放入输出集合（并发安全）
+                if (root != null) { // 来自遍历
+                    root.found.add(clazz); // 同时记入所属根，供写回缓存
+                }
+                return clazz; // 返回命中的类型
+            } // 注解判定结束
+        } catch (Throwable ex) { // 捕获所有可能的错误与异常
+            final long t1 = System.nanoTime(); // 类加载结束时间
+            ctx.classLoadNanos.add(t1 - t0); // 失败的加载同样计入
+            ctx.tracer.complete(StartupTrace.Kind.CLASS_LOAD, null, fqcn, t0, t1); // 追踪时间片（未开启时为空调用）
+            if (log.isEnabled(LogSink.Level.DEBUG)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.DEBUG, "skip class load: " + fqcn + " -> " + ex.getClass().getSimpleName()); // 调试输出
+            }
+        } // try-catch 结束
+        return null; // 未命中
+    } // maybeAddComponentClass 方法结束
+
+    private static Set<Class<?>> sortedByName(Set<Class<?>> found) { // 按类名排序，消除线程调度带来的顺序差异
+        final List<Class<?>> sorted = new ArrayList<>(found); // 拷贝到列表
+        sorted.sort(Comparator.comparing(Class::getName)); // 按全限定名排序
+        return new LinkedHashSet<>(sorted); // 保持排序后的迭代顺序
+    }
+
+    /**
+     * 扫描结果：组件类型集合、（启用缓存时的）注入元数据与类加载累计耗时。
+     */
+    static final class Result { // 扫描结果
+        final Set<Class<?>> components; // 按类名排序的组件类型
+        final Map<Class<?>, ComponentMetadata> metadata; // 组件 -> 注入元数据（未启用缓存时为空）
+        final long classLoadNanos; // Class.forName 与类级注解读取的累计耗时（并行扫描时为各线程之和）
+
+        Result(Set<Class<?>> components, Map<Class<?>, ComponentMetadata> metadata, long classLoadNanos) { // 构造结果
+            this.components = components; // 保存组件
+            this.metadata = new HashMap<>(metadata); // 拷贝为普通 Map，交给单线程使用
+            this.classLoadNanos = classLoadNanos; // 保存类加载耗时
+        }
+    }
+
+    /**
+     * 单个类路径根的扫描状态（缓存键、指纹、是否命中、扫描到的组件）。
+     */
+    private static final class RootScan { // 根扫描状态
+        final String key; // 缓存键
+        final Set<Class<?>> found = ConcurrentHashMap.newKeySet(); // 该根扫描到的组件（子目录任务可能并发写入）
+        volatile String fingerprint; // 当前指纹（未启用缓存或无法计算时为 null）
+        volatile boolean hit; // 是否命中缓存
+
+        RootScan(String key) { // 构造状态
+            this.key = key; // 保存缓存键
+        }
+    }
+
+    /**
+     * 单次扫描的共享状态：结果集合、类加载器与未完成任务计数。
+     * <p>
+     * executor 为 null 时任务在提交线程上立即执行（顺序模式）；
+     * 否则提交到线程池，计数归零时完成 {@link #done}。计数从 1 开始，代表“调用方仍在提交根任务”，
+     * 调用 {@link #await()} 时才释放，避免根任务尚未全部提交时就被判定为完成。
+     */
+    private static final class ScanContext { // 扫描上下文
+
+        final ClassLoader cl; // 类加载器
+        final ScanScope scope; // 基础包与类名过滤模式
+        final Set<Class<?>> out = ConcurrentHashMap.newKeySet(); // 并发安全的结果集合
+        final Map<Class<?>, ComponentMetadata> metadata = new ConcurrentHashMap<>(); // 并发安全的元数据集合
+        final LongAdder classLoadNanos = new LongAdder(); // 类加载累计耗时（多线程累加无竞争）
+        final Map<String, JarDirectory> jars = new ConcurrentHashMap<>(); // 本次扫描已打开的归档：同一个 fat jar 的多个根共享外层映射
+        final StartupTracer tracer; // 启动追踪
+        private final LogSink log; // 日志输出目标
+        private final Executor executor; // 线程池（顺序模式为 null）
+        private final AtomicInteger pending = new AtomicInteger(1); // 未完成任务数（含调用方自身）
+        private final CompletableFuture<Void> done = new CompletableFuture<>(); // 全部任务完成的信号
+        private final AtomicReference<Throwable> failure = new AtomicReference<>(); // 第一个失败原因
+
+        ScanContext(ClassLoader cl, ScanScope scope, Executor executor, LogSink log, StartupTracer tracer) { // 创建上下文
+            this.cl = cl; // 保存类加载器
+            this.scope = scope; // 保存扫描范围
+            this.tracer = tracer; // 保存追踪
+            this.log = log; // 保存日志输出目标
+            this.executor = executor; // 保存线程池
+        }
+
+        void submit(Runnable task) { // 提交一个扫描任务
+            if (executor == null) { // 顺序模式
+                task.run(); // 直接在当前线程执行
+                return; // 无需计数
+            }
+            pending.incrementAndGet(); // 登记新任务
+            try { // 线程池可能拒绝任务
+                executor.execute(() -> runTracked(task)); // 交给线程池执行
+            } catch (RejectedExecutionException e) { // 线程池已满或已关闭
+                runTracked(task); // 退回当前线程执行，保证结果完整
+            }
+        }
+
+        private void runTracked(Runnable task) { // 执行任务并维护计数
+            try { // 任务异常不应导致等待方永远阻塞
+                task.run(); // 执行任务
+            } catch (Throwable t) { // 记录第一个失败
+                failure.compareAndSet(null, t); // 仅保留第一个
+            } finally { // 无论成功失败都要减计数
+                release(); // 释放一个计数
+            }
+        }
+
+        private void release() { // 计数减一，归零即完成
+            if (pending.decrementAndGet() == 0) { // 所有任务均已结束
+                done.complete(null); // 唤醒等待方
+            }
+        }
+
+        void await() { // 等待全部任务结束
+            if (executor == null) { // 顺序模式下任务已同步执行完毕
+                return; // 直接返回
+            }
+            release(); // 释放调用方自身占用的计数
+            done.join(); // 阻塞直到计数归零
+            final Throwable t = failure.get(); // 检查是否有任务失败
+            if (t != null) { // 与顺序模式一致：只打印，不中断
+                if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.WARN, "scanComponents failed: " + t); // 打印异常摘要
+                }
+            }
+        }
+    }
+}
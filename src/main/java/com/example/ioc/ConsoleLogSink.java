@@ -0,0 +1,42 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+/**
+ * {@link LogSink#console(LogSink.Level)} 与 {@link LogSink#silent()} 的实现：按级别加前缀写到 {@code System.out}。
+ */
+final class ConsoleLogSink implements LogSink { // 控制台日志（不可变）
+
+    static final ConsoleLogSink SILENT = new ConsoleLogSink(null); // 不输出任何级别
+    static final ConsoleLogSink DEFAULT = new ConsoleLogSink(Level.INFO); // 默认配置使用的实例
+
+    private final Level threshold; // 最低输出级别；null 表示全部关闭
+
+    ConsoleLogSink(Level threshold) { // 由 LogSink 的工厂方法创建
+        this.threshold = threshold; // 保存级别
+    }
+
+    @Override
+    public boolean isEnabled(Level level) { // 级别判定
+        return threshold != null && level.compareTo(threshold) >= 0; // 不低于阈值
+    }
+
+    @Override
+    public void log(Level level, String message) { // 输出
+        if (isEnabled(level)) { // 再次过滤，允许调用方不做判定
+            System.out.println(prefixOf(level) + message); // 整行一次写出，多线程时不会交错
+        }
+    }
+
+    private static String prefixOf(Level level) { // 与早期版本一致的前缀
+        switch (level) { // 按级别
+            case DEBUG: return "[DEBUG] "; // 调试
+            case INFO: return "[info] "; // 信息
+            case WARN: return "[WARN] "; // 警告
+            default: return "[ERROR] "; // 错误
+        }
+    }
+
+    @Override
+    public String toString() { // 便于日志输出
+        return threshold == null ? "LogSink[silent]" : "LogSink[console >= " + threshold + "]"; // 简要描述
+    }
+}
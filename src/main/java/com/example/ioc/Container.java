@@ -1,392 +1,2176 @@
 package com.example.ioc; // 声明包路径，容器核心类所在位置
 
-import com.example.ioc.annotations.Component; // 引入 @Component 注解，用于后续识别组件（本轮仅作为类型引用）
-import com.example.ioc.annotations.Inject; // 引入 @Inject 注解，后续用于依赖注入（本轮不实现）
-import com.example.ioc.annotations.InvokeOnStart; // 引入 @InvokeOnStart 注解，后续用于启动回调（本轮不实现）
+import com.example.ioc.annotations.Component; // 引入 @Component 注解，读取组件名称与作用域
+import com.example.ioc.annotations.Inject; // 引入 @Inject 注解，识别注入点
+import com.example.ioc.annotations.InvokeOnStart; // 引入 @InvokeOnStart 注解，识别启动回调
+import com.example.ioc.annotations.InvokeOnStop; // 引入 @InvokeOnStop 注解，读取停止回调的超时
+import com.example.ioc.annotations.Lazy; // 引入 @Lazy 注解，识别延迟创建的组件
+import com.example.ioc.annotations.Scope; // 引入 Scope，区分单例与原型/池化/线程组件
 
 import java.util.Map; // 引入 Map，用于维护单例缓存与命名 Bean 映射
-import java.util.HashMap; // 引入 HashMap，用于 Map 的默认实现
+import java.util.HashMap; // 引入 HashMap，记录线程之间的等待关系
 import java.util.Set; // 引入 Set，用于保存扫描到的组件类型集合
 import java.util.HashSet; // 引入 HashSet，用于 Set 的默认实现
 import java.util.Objects; // 引入 Objects，用于非空检查等通用工具
+import java.util.concurrent.ConcurrentHashMap; // 引入 ConcurrentHashMap，单例缓存的并发实现（读取无锁）
+import java.util.concurrent.CountDownLatch; // 引入 CountDownLatch，等待其他线程完成同一单例的创建
+import java.util.concurrent.Executor; // 引入 Executor，承载并行实例化与异步启动回调
+import java.util.concurrent.ExecutorService; // 引入 ExecutorService，容器自建的执行器需要关闭
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，换算回调超时
 
 /**
- * 迷你 IoC 容器的核心类骨架（Round 3：仅声明字段、构造器与方法签名，不实现逻辑）。
+ * 迷你 IoC 容器的核心类：扫描组件、按注入计划创建并装配 Bean、管理作用域与生命周期。
  * <p>
- * 职责概览（将在后续轮次逐步实现）：
+ * 职责概览：
  * <ul>
- *   <li>扫描：根据 basePackage 扫描出带 {@link Component} 的类（Round 4）</li>
- *   <li>单例：维护 {@code singletons} 缓存，按类型（和可选名称）提供 Bean（Round 5）</li>
- *   <li>注入：支持构造器优先、字段兜底的依赖注入（Round 6）</li>
- *   <li>回调：启动后调用标注 {@link InvokeOnStart} 且无参的方法（Round 7）</li>
+ *   <li>扫描：按基础包与类名过滤模式发现带 {@link Component} 的类（编译期索引、字节码探测、并行扫描与磁盘缓存见
+ *       {@link ComponentScanner}），或回放装配计划快照（{@link ContainerOptions#snapshotFile(java.nio.file.Path)}）；</li>
+ *   <li>注入计划：每个类型的构造器、{@link Inject} 字段与回调只反射一次（{@link InjectionPlan}），并链接为工厂；</li>
+ *   <li>单例：缓存命中无锁，每个类型只创建一次，跨线程的循环依赖会被检测并报告；可选按依赖图并行实例化，
+ *       启动后可冻结为只读的数组注册表；按接口、超类型与名称查找走启动时建立的索引；</li>
+ *   <li>作用域：原型、池化（{@link BeanPool}）、线程与租户组件（子容器见 {@link #createChild()}），
+ *       以及 {@link Lazy} 组件的代理与 {@link Deferred}/{@link Provider} 注入；</li>
+ *   <li>生命周期：按依赖顺序执行 {@link InvokeOnStart} 回调（可异步、可超时，结果见 {@link StartReport}），
+ *       关闭时逆序执行 {@link InvokeOnStop} 回调（见 {@link StopReport}）；</li>
+ *   <li>重载与观测：增量重载修改过的类（{@link #reload(java.util.Collection)}、{@link #watch()}），启动指标、JFR 事件与启动追踪。</li>
  * </ul>
- * 本轮仅提供可编译的骨架与 TODO，占位返回值确保构建通过。
+ * 所有公开方法都可以被多个线程同时调用。
  */
-public class Container { // 定义容器核心类
+public class Container implements AutoCloseable { // 定义容器核心类
 
-    // === 配置与状态字段（仅声明，不在本轮实现业务逻辑） ===
+    // === 配置与状态字段 ===
 
-    private final String basePackage; // 保存基础扫描包，如 "com.example"；由构造器注入
+    private final String basePackage; // 保存基础扫描包，如 "com.example"；多个包时为规范化后的逗号分隔形式
+    private final ScanScope scope; // 扫描范围：基础包与类名过滤模式（构造时解析并编译一次）
+    private final ContainerOptions options; // 容器配置（构造时复制，之后只读）
+    private final ComponentScanner scanner; // 组件扫描器（顺序/并行两种模式）
+    private final Container parent; // 父容器；根容器为 null
+    private final LogSink log; // 日志输出目标（来自配置，子容器与父容器相同）
+    private final MetricsRecorder metrics; // 启动指标（每个容器各自记录；关闭时为空实现）
+    private final StartupEvents events; // JFR 事件（关闭启动指标时为空实现）
+    private final StartupTracer tracer; // 启动追踪（未开启时为空实现；子容器不记录）
+    private final Map<Class<?>, Map<String, MethodTimer>> timers; // @Timed 方法的记录器：组件类型 -> 方法签名 -> 记录器（子容器与父容器共享）
 
-    private final Map<Class<?>, Object> singletons = new HashMap<>(); // 单例缓存：类型 -> 实例；Round 5 实现
-    private final Map<String, Object> namedBeans = new HashMap<>(); // 命名 Bean 缓存：名称 -> 实例；Round 5 可选扩展
-    // 用于检测简单的循环依赖（如 A 依赖 B，B 又依赖 A）
-    private final Set<Class<?>> inCreation = new HashSet<>(); // 记录当前递归创建链上的类型
+    private final Map<Class<?>, Object> singletons = new ConcurrentHashMap<>(); // 单例缓存：类型 -> 实例；命中时无锁读取
+    private final Map<String, Object> namedBeans = new ConcurrentHashMap<>(); // 命名 Bean 缓存：名称 -> 实例
+    private final Map<Class<?>, ComponentMetadata> metadata; // 扫描缓存提供的注入元数据：类型 -> 元数据（子容器与父容器共享）
+    private final Map<Class<?>, Creation> creations = new ConcurrentHashMap<>(); // 正在创建中的单例：类型 -> 创建记录（保证每个类型只创建一次）
+    private final Map<Thread, Creation> waiting = new HashMap<>(); // 线程 -> 正在等待的创建记录（用于发现跨线程循环依赖；由自身加锁保护）
+    private final Set<Class<?>> registered; // start() 登记的组件类型（含延迟组件；子容器与父容器共享）
+    private final Map<Class<?>, BeanPool<?>> pools = new ConcurrentHashMap<>(); // 池化组件：类型（含其接口）-> 对象池
+    private final Map<Class<?>, ThreadLocal<Object>> threadScoped = new ConcurrentHashMap<>(); // 线程作用域组件：类型 -> 各线程的实例
+    private volatile TypeIndex typeIndex = TypeIndex.EMPTY; // 由已登记组件构建的可赋值索引：超类型/接口 -> 实现类
+    private volatile NameTable<Class<?>> componentNames = NameTable.empty(); // 由已登记组件构建的名称索引：@Component 名称 -> 组件类型
+    private volatile Map<Class<?>, java.util.List<?>> beansOfType = new ConcurrentHashMap<>(); // getBeansOfType 的结果缓存（索引重建时整体替换）
+    private final Set<Class<?>> callbacksClaimed = ConcurrentHashMap.newKeySet(); // 已执行（或正在执行）启动回调的类型，保证每个 Bean 的回调只执行一次
+    private volatile boolean started; // 是否已进入启动回调阶段；之后才创建的延迟 Bean 在创建时立即执行自己的回调
+    private final Object registrationLock = new Object(); // 写入单例与冻结互斥，保证冻结后不会再有单例漏进旧的缓存
+    private volatile FrozenRegistry frozen; // 冻结后的只读注册表；为 null 表示尚未冻结
+    private final Object reloadLock = new Object(); // 串行化增量重载
+    private final Map<String, ClassLoader> reloadedBy = new HashMap<>(); // 重新加载过的顶层类名 -> 定义其最新版本的加载器（由 reloadLock 保护）
+    private final Set<ClassDirectoryWatcher> watchers = ConcurrentHashMap.newKeySet(); // watch() 创建的监听器，关闭容器时一并停止
+    private final Object stopLock = new Object(); // 串行化关闭，并保护 stopReport 与 shutdownHook
+    private volatile boolean closed; // 是否已关闭；之后不再登记新的单例（写入时同时持有 registrationLock）
+    private StopReport stopReport; // 关闭结果，重复关闭时直接返回（由 stopLock 保护）
+    private Thread shutdownHook; // 已注册的 JVM 关闭钩子（由 stopLock 保护）
+    // 用于检测简单的循环依赖（如 A 依赖 B，B 又依赖 A）；每个线程各自维护自己的创建链
+    private final ThreadLocal<Set<Class<?>>> inCreation = ThreadLocal.withInitial(HashSet::new); // 记录当前线程递归创建链上的类型
 
     /**
      * 由调用方提供基础包名的构造器。
      *
-     * @param basePackage 需要扫描的基础包（非空），例如 "com.example"
+     * @param basePackage 需要扫描的基础包（非空），例如 "com.example"；多个包用逗号分隔
      * @throws NullPointerException 如果 basePackage 为 null
-     * @throws IllegalArgumentException 如果 basePackage 为空字符串
+     * @throws IllegalArgumentException 如果 basePackage 为空字符串或包含不合法的包名
      */
     public Container(String basePackage) { // 容器构造器，保存基础包名
+        this(basePackage, ContainerOptions.defaults()); // 使用默认配置
+    }
+
+    /**
+     * 由调用方提供基础包名与配置的构造器。
+     *
+     * @param basePackage 需要扫描的基础包（非空），例如 "com.example"；多个包用逗号分隔，
+     *                    如 "com.example.api, com.example.core"（重复或嵌套的包只扫描一次）
+     * @param options     容器配置（非空）；构造时会复制一份
+     * @throws NullPointerException 如果 basePackage 或 options 为 null
+     * @throws IllegalArgumentException 如果 basePackage 为空字符串或包含不合法的包名
+     */
+    public Container(String basePackage, ContainerOptions options) { // 带配置的构造器
         Objects.requireNonNull(basePackage, "basePackage must not be null"); // 非空校验，避免 NPE
+        Objects.requireNonNull(options, "options must not be null"); // 配置同样不允许为 null
         if (basePackage.trim().isEmpty()) { // 处理空白字符串的非法输入
             throw new IllegalArgumentException("basePackage must not be blank"); // 抛出非法参数异常
         }
-        this.basePackage = basePackage; // 赋值给字段，供后续扫描与初始化使用
+        this.options = options.copy(); // 复制配置，避免外部后续修改影响本容器
+        this.scope = ScanScope.of(basePackage, this.options.getIncludePatterns(), this.options.getExcludePatterns()); // 解析基础包并编译过滤模式
+        this.basePackage = String.join(",", scope.packages()); // 规范化后的基础包，供后续扫描与日志使用
+        this.scanner = new ComponentScanner(this.options); // 扫描器与容器共享同一份配置
+        this.parent = null; // 根容器
+        this.log = this.options.getLogSink(); // 日志输出目标
+        this.metadata = new ConcurrentHashMap<>(); // 由扫描填充
+        this.registered = ConcurrentHashMap.newKeySet(); // 由 start() 填充
+        this.timers = new ConcurrentHashMap<>(); // 首次创建 @Timed 组件时填充
+        this.metrics = MetricsRecorder.create(this.options.isStartupMetricsEnabled()); // 启动指标
+        this.events = this.options.isStartupMetricsEnabled() ? StartupEvents.CURRENT : StartupEvents.DISABLED; // JFR 事件
+        this.tracer = StartupTracer.create(this.options.isStartupTraceEnabled()); // 追踪起点即构造时刻
+    }
+
+    private Container(Container parent) { // 子容器：直接引用父容器的扫描结果与索引，不复制
+        this.basePackage = parent.basePackage; // 同一基础包
+        this.scope = parent.scope; // 同一扫描范围
+        this.options = parent.options; // 配置只读，直接共享
+        this.scanner = parent.scanner; // 扫描器无状态，直接共享
+        this.parent = parent; // 单例查找委托给父容器
+        this.log = parent.log; // 同一日志输出目标
+        this.metadata = parent.metadata; // 共享注入元数据
+        this.registered = parent.registered; // 共享组件集合
+        this.timers = parent.timers; // 租户组件的计时汇总到同一组记录器
+        this.typeIndex = parent.typeIndex; // 共享可赋值索引
+        this.componentNames = parent.componentNames; // 共享名称索引
+        this.metrics = MetricsRecorder.create(this.options.isStartupMetricsEnabled()); // 子容器各自记录租户组件的创建
+        this.events = parent.events; // 与父容器相同
+        this.tracer = StartupTracer.DISABLED; // 子容器没有启动过程
+        this.started = true; // 租户组件创建时立即执行自己的回调
+    }
+
+    /**
+     * 创建子容器（例如每个租户一个）。
+     * <p>
+     * 子容器不扫描、不计算注入计划，只引用本容器的扫描结果、可赋值索引与名称索引（注入计划本身按类型全局缓存），
+     * 创建成本是一个对象和几个空的并发 Map。查找规则：
+     * <ul>
+     *   <li>{@link Scope#TENANT} 组件：每个子容器各自创建一个实例（首次获取时），并执行其 {@link InvokeOnStart} 回调；</li>
+     *   <li>原型、池化、线程组件：由子容器按其注入计划创建，依赖中的租户组件取子容器自己的实例；</li>
+     *   <li>其余单例（以及组件依赖到的非组件类型）：委托父容器，所有子容器共享同一个实例；</li>
+     *   <li>{@link #getBeansOfType(Class)} 委托父容器（只包含单例）。</li>
+     * </ul>
+     * 父容器的单例不应依赖租户组件，否则它们拿到的是父容器自己的租户实例。
+     * 子容器不能再 {@link #start()}、{@link #freeze()} 或 {@link #writeSnapshot(java.nio.file.Path)}；
+     * 子容器本身也可以继续创建子容器。
+     *
+     * @return 新的子容器
+     * @throws IllegalStateException 本容器尚未启动
+     */
+    public Container createChild() { // 创建子容器
+        if (!started) { // 子容器依赖父容器的扫描结果
+            throw new IllegalStateException("Container has not been started: " + basePackage); // 快速失败
+        }
+        requireOpen("create child containers"); // 父容器的单例已停止
+        return new Container(this); // 只分配子容器自身的状态
+    }
+
+    /**
+     * @return 父容器；根容器返回 null
+     */
+    public Container getParent() { // 读取父容器
+        return parent; // 直接返回字段
+    }
+
+    private void requireRoot(String action) { // 只允许根容器执行的操作
+        if (parent != null) { // 子容器
+            throw new IllegalStateException("Child container cannot " + action + "; use the root container"); // 快速失败
+        }
+    }
+
+    private void requireOpen(String action) { // 关闭后不允许的操作
+        if (closed) { // 已关闭
+            throw new IllegalStateException("Container is closed; cannot " + action + ": " + basePackage); // 快速失败
+        }
+    }
+
+    /**
+     * 启动容器的入口方法。
+     * <p>
+     * 流程：
+     * 1) 扫描组件类型集合；
+     * 2) 实例化并完成依赖注入；
+     * 3) 执行 {@link InvokeOnStart} 标注的无参方法（依赖方的回调先于使用方执行）。
+     * <p>
+     * 配置了 {@link ContainerOptions#snapshotFile(java.nio.file.Path)} 且快照有效时，前两步改为回放快照
+     * （见 {@link #writeSnapshot(java.nio.file.Path)}）；快照不存在或已失效时正常启动，并在回调阶段之后重写快照。
+     *
+     * @return 启动回调阶段的报告（每个回调的状态与耗时）
+     */
+    public StartReport start() { // 容器启动入口：扫描组件 → 实例化单例 → 执行启动回调
+        requireRoot("be started"); // 子容器共享父容器的组件
+        requireOpen("start"); // 关闭后不能再启动
+        if (frozen != null) { // 冻结后组件集合不可再变化
+            throw new IllegalStateException("Container is frozen; cannot start again: " + basePackage); // 快速失败
+        }
+        final java.nio.file.Path snapshotFile = options.getSnapshotFile(); // 快照文件（可选）
+        final Map<Class<?>, java.util.List<Class<?>>> replayed = snapshotFile == null ? null : replaySnapshot(snapshotFile); // 快照有效时直接回放
+        final StartReport report; // 启动报告
+        if (replayed != null) { // 已按快照完成实例化
+            report = invokeStartCallbacks(type -> replayed.containsKey(type) ? replayed.get(type) : hardDependencies(type)); // 第三步：回调顺序同样来自快照
+        } else { // 正常启动
+            scanAndInstantiate(); // 第一、二步：扫描并实例化
+            report = invokeStartCallbacks(this::hardDependencies); // 第三步：执行所有带 @InvokeOnStart 的无参方法
+            if (snapshotFile != null) { // 开启了快照：为下一次启动写出
+                try { // 写出失败不影响本次启动
+                    writeSnapshot(snapshotFile); // 重写快照
+                } catch (java.io.IOException | IllegalStateException e) { // 写入失败或存在未创建的组件
+                    if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                        log.log(LogSink.Level.WARN, "wiring snapshot not written: " + e.getMessage()); // 提示
+                    }
+                }
+            }
+        }
+        if (options.isFreezeAfterStartEnabled()) { // 第四步（可选）：冻结单例注册表
+            freeze(); // 之后的查找走只读注册表
+        }
+        if (options.isShutdownHookEnabled()) { // 可选：进程退出时自动关闭
+            registerShutdownHook(); // 注册 JVM 关闭钩子
+        }
+        if (options.isStartupTraceEnabled()) { // 开启了启动追踪：记录到此为止
+            tracer.close(); // 之后创建的 Bean 不再记录
+            if (log.isEnabled(LogSink.Level.INFO)) { // 级别开启时才分析与拼接消息
+                log.log(LogSink.Level.INFO, getStartupTrace().toString()); // 打印关键路径摘要
+            }
+        }
+        return report; // 返回启动报告
+    } // start 方法结束
+
+    /**
+     * 正常启动的前两步：扫描组件、登记并实例化全部非延迟单例。
+     */
+    private void scanAndInstantiate() { // 扫描 + 实例化
+        final Object scanEvent = events.beginPhase(); // 扫描阶段事件
+        final long scanBegin = System.nanoTime(); // 扫描开始时间
+        final ComponentScanner.Result scanned = scan(scope); // 扫描基础包，找出所有带 @Component 的类型
+        final Set<Class<?>> components = scanned.components; // 组件类型
+        metrics.addPhase(StartupMetrics.Phase.CLASS_LOAD, scanned.classLoadNanos); // 扫描期间的类加载累计耗时
+        endPhase(scanEvent, scanBegin, StartupMetrics.Phase.SCAN, components.size()); // 记录扫描阶段
+        if (log.isEnabled(LogSink.Level.INFO)) { // 级别开启时才拼接消息
+            log.log(LogSink.Level.INFO, "components discovered: " + components.size()); // 打印扫描到的组件总数
+        }
+        registered.addAll(components); // 登记全部组件（延迟组件只登记、不创建）
+        metrics.components(registered.size()); // 记录组件数
+        typeIndex = TypeIndex.build(registered); // 一次性构建可赋值索引
+        componentNames = NameTable.of(namesOf(registered)); // 一次性构建名称索引（名称重复时在实例化之前失败）
+        beansOfType = new ConcurrentHashMap<>(); // 组件集合变化后旧的列表缓存作废
+        reportUnresolvedDependencies(components); // 在实例化之前报告无法唯一解析的接口依赖
+        reportUninstrumented(components); // 报告没有计时子类的 @Timed 组件
+
+        final Set<Class<?>> eager = new java.util.LinkedHashSet<>(); // 需要在启动时创建的组件（保持扫描顺序）
+        for (Class<?> type : components) { // 区分立即创建与延迟创建
+            if (isEager(type)) { // 立即创建
+                eager.add(type); // 加入启动集合
+            }
+        }
+
+        final Object instantiateEvent = events.beginPhase(); // 实例化阶段事件
+        final long instantiateBegin = System.nanoTime(); // 实例化开始时间
+        if (options.isParallelStartEnabled()) { // 并行模式：按依赖图并行实例化
+            instantiateInParallel(eager); // 互不依赖的子树同时构建
+        } else { // 顺序模式：逐个实例化
+            for (Class<?> type : eager) { // 实例化所有非延迟组件（这一步会填充 singletons）
+                initComponent(type); // 创建单例并打印结果
+            } // 组件实例化循环结束
+        }
+        endPhase(instantiateEvent, instantiateBegin, StartupMetrics.Phase.INSTANTIATE, eager.size()); // 记录实例化阶段
+    }
+
+    private void endPhase(Object event, long begin, StartupMetrics.Phase phase, int count) { // 记录一个墙钟阶段（指标 + JFR 事件 + 追踪）
+        final long end = System.nanoTime(); // 阶段结束时间
+        metrics.addPhase(phase, end - begin); // 累加耗时（快照失效后重新扫描时两次都计入）
+        tracer.complete(StartupTrace.Kind.PHASE, null, phase.name(), begin, end); // 追踪时间片（未开启时为空调用）
+        events.endPhase(event, basePackage, phase, count); // 提交事件
+    }
+
+    /**
+     * 判断组件是否在启动时创建；非单例与延迟组件只打印登记日志。
+     *
+     * @param type 组件类型
+     * @return 启动时创建返回 true
+     */
+    private boolean isEager(Class<?> type) { // 区分立即创建与延迟创建
+        final Scope scope = InjectionPlan.scopeOf(type); // 作用域
+        if (scope == Scope.TENANT) { // 租户组件：每个容器首次获取时创建
+            if (log.isEnabled(LogSink.Level.DEBUG)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.DEBUG, "tenant component registered: " + type.getName()); // 只登记
+            }
+            return false; // 不在启动时创建
+        }
+        if (scope != Scope.SINGLETON) { // 原型/池化/线程组件：获取时才创建
+            if (log.isEnabled(LogSink.Level.DEBUG)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.DEBUG, "scoped component registered: " + type.getName() + " (" + scope + ")"); // 只登记
+            }
+            warnIgnoredStartCallbacks(type); // 启动回调只对单例生效
+            return false; // 不在启动时创建
+        }
+        if (isLazy(type)) { // 延迟组件
+            if (log.isEnabled(LogSink.Level.DEBUG)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.DEBUG, "lazy component registered: " + type.getName()); // 只登记
+            }
+            return false; // 不在启动时创建
+        }
+        return true; // 立即创建
+    }
+
+    /**
+     * 把当前容器的装配计划写成快照文件，供之后的 {@link #start()} 直接回放
+     * （需在启动配置中指定同一文件，见 {@link ContainerOptions#snapshotFile(java.nio.file.Path)}）。
+     * <p>
+     * 快照包含：全部非延迟单例按依赖拓扑排列的创建顺序；每个构造器参数与注入字段对应的单例节点
+     * （持有者、对象池、代理与非单例依赖记为回放时普通解析）；依赖边（用于并行回放与启动回调排序）；
+     * 每个类型的注入构造器、注入字段与启动回调的名称；以及其余组件（延迟与非单例）的登记信息。
+     * 通常在构建阶段启动一次容器后调用；开启快照启动时，容器在快照失效的那次正常启动之后自动调用。
+     *
+     * @param file 快照文件（父目录不存在时会自动创建）
+     * @throws java.io.IOException   写入失败
+     * @throws IllegalStateException 容器尚未启动、某个单例没有创建成功，或类路径根无法计算指纹
+     */
+    public void writeSnapshot(java.nio.file.Path file) throws java.io.IOException { // 写出装配计划快照
+        Objects.requireNonNull(file, "file must not be null"); // 非空校验
+        requireRoot("write a wiring snapshot"); // 子容器没有自己的装配计划
+        if (!started) { // 只有完整启动过的容器才有确定的装配计划
+            throw new IllegalStateException("Container has not been started: " + basePackage); // 快速失败
+        }
+        final java.util.List<String[]> roots = WiringSnapshot.fingerprintRoots(scope.packages(), classLoader(), log); // 类路径根指纹
+        if (roots == null) { // 无法校验的根（例如非 file/jar 协议）
+            throw new IllegalStateException("Class path roots of " + basePackage + " cannot be fingerprinted"); // 不写出无法校验的快照
+        }
+        final java.util.List<Class<?>> components = new java.util.ArrayList<>(registered); // 全部已登记组件
+        components.sort(java.util.Comparator.comparing(Class::getName)); // 按类名排序，保证文件内容确定
+        final java.util.List<Class<?>> eager = new java.util.ArrayList<>(); // 启动时创建的单例
+        for (Class<?> type : components) { // 与启动时的判定一致（抽象组件由其实现类代表）
+            if (InjectionPlan.isConcrete(type) && InjectionPlan.scopeOf(type) == Scope.SINGLETON && !isLazy(type)) { // 立即创建的单例
+                eager.add(type); // 加入根集合
+            }
+        }
+        final DependencyGraph graph = DependencyGraph.build(eager, this::hardDependencies); // 依赖图给出拓扑顺序
+        final Map<Class<?>, Integer> index = new HashMap<>(graph.size() * 2); // 类型 -> 节点下标
+        for (int i = 0; i < graph.size(); i++) { // 逐个检查
+            final Class<?> type = graph.typeAt(i); // 节点类型
+            if (graph.isBlockedAt(i) || !singletons.containsKey(type)) { // 循环依赖或创建失败
+                throw new IllegalStateException("Cannot snapshot wiring, singleton not created: " + type.getName()); // 只记录完整的装配计划
+            }
+            index.put(type, i); // 记录下标
+        }
+        final java.util.List<WiringSnapshot.Node> nodes = new java.util.ArrayList<>(components.size()); // 快照节点
+        for (int i = 0; i < graph.size(); i++) { // 立即创建的节点（拓扑顺序）
+            final Class<?> type = graph.typeAt(i); // 节点类型
+            final InjectionPlan plan = planFor(type); // 注入计划
+            final int flags = WiringSnapshot.EAGER | (registered.contains(type) ? WiringSnapshot.COMPONENT : 0); // 节点标记
+            nodes.add(new WiringSnapshot.Node(flags, snapshotMetadataOf(type),
+                    slotsOf(index, plan.constructorDependencies, plan.constructorKinds, plan.constructorNames),
+                    slotsOf(index, plan.fieldDependencies, plan.fieldKinds, plan.fieldNames),
+                    graph.dependenciesAt(i))); // 槽位与依赖
+        }
+        for (Class<?> type : components) { // 其余组件：只登记
+            if (!index.containsKey(type)) { // 延迟、非单例或抽象组件
+                nodes.add(new WiringSnapshot.Node(WiringSnapshot.COMPONENT, snapshotMetadataOf(type),
+                        new int[0], new int[0], new int[0])); // 回放时不创建
+            }
+        }
+        final java.util.List<String> urls = new java.util.ArrayList<>(roots.size()); // 根 URL
+        final java.util.List<String> fingerprints = new java.util.ArrayList<>(roots.size()); // 根指纹
+        for (String[] root : roots) { // 拆分
+            urls.add(root[0]); // URL
+            fingerprints.add(root[1]); // 指纹
+        }
+        new WiringSnapshot(scope.toString(), options.isLazyInitEnabled(), urls, fingerprints, nodes).save(file); // 原子写出
+        if (log.isEnabled(LogSink.Level.INFO)) { // 级别开启时才拼接消息
+            log.log(LogSink.Level.INFO, "wiring snapshot written: " + nodes.size() + " types -> " + file); // 打印汇总
+        }
+    }
+
+    private ComponentMetadata snapshotMetadataOf(Class<?> type) { // 快照中的成员名称
+        final ComponentMetadata meta = metadata.get(type); // 扫描缓存提供的元数据优先
+        final ComponentMetadata result = meta != null ? meta : ComponentMetadata.introspect(type); // 否则反射提取
+        if (result == null) { // 多个 @Inject 构造器
+            throw new IllegalStateException("Cannot snapshot wiring, multiple @Inject constructors in: " + type.getName()); // 无法记录
+        }
+        return result; // 返回元数据
+    }
+
+    private int[] slotsOf(Map<Class<?>, Integer> index, Class<?>[] types, byte[] kinds, String[] names) { // 注入点 -> 节点下标
+        final int[] slots = new int[types.length]; // 与注入点一一对应
+        for (int i = 0; i < types.length; i++) { // 逐个计算
+            final Class<?> target = hardTarget(types[i], kinds[i], names[i]); // 与依赖图相同的解析规则
+            final Integer at = target == null ? null : index.get(target); // 对应节点
+            slots[i] = at == null ? -1 : at; // 不是单例节点时回放走普通解析
+        }
+        return slots; // 返回槽位
+    }
+
+    /**
+     * 按快照完成启动的前两步：加载类型、登记组件、按快照顺序直接创建单例。
+     * <p>
+     * 构造器参数与注入字段直接取快照指定节点的单例，不经过 {@link #getBean(Class)}、创建记录与创建链检查；
+     * 快照中记为普通解析的注入点（持有者、对象池、代理、非单例依赖）以及依赖创建失败时，退回 {@link #resolveDependency}。
+     * 开启并行启动时按快照中的依赖边并行回放。
+     *
+     * @param file 快照文件
+     * @return 类型 -> 依赖（供启动回调排序）；快照不存在、已失效或无法加载时返回 null，此时尚未创建任何单例
+     */
+    private Map<Class<?>, java.util.List<Class<?>>> replaySnapshot(java.nio.file.Path file) { // 快照回放
+        final Object scanEvent = events.beginPhase(); // 读取快照计入扫描阶段
+        final long begin = System.nanoTime(); // 计时起点
+        final WiringSnapshot snapshot = WiringSnapshot.load(file, log); // 读取快照
+        if (snapshot == null) { // 首次启动或文件损坏
+            endPhase(scanEvent, begin, StartupMetrics.Phase.SCAN, 0); // 读取失败的时间同样计入
+            return null; // 正常启动
+        }
+        final ClassLoader cl = classLoader(); // 类加载器
+        if (!snapshot.matches(scope.toString(), options.isLazyInitEnabled(),
+                WiringSnapshot.fingerprintRoots(scope.packages(), cl, log))) { // 配置或类路径变化
+            if (log.isEnabled(LogSink.Level.INFO)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.INFO, "wiring snapshot out of date, starting normally: " + file); // 提示
+            }
+            endPhase(scanEvent, begin, StartupMetrics.Phase.SCAN, 0); // 校验时间同样计入
+            return null; // 正常启动
+        }
+        final int n = snapshot.nodes.size(); // 节点数
+        final Class<?>[] types = new Class<?>[n]; // 节点 -> 类型
+        final InjectionPlan[] plans = new InjectionPlan[n]; // 节点 -> 注入计划（只有立即创建的节点）
+        try { // 类型或成员可能已不存在
+            final long loadBegin = System.nanoTime(); // 类加载开始时间
+            for (int i = 0; i < n; i++) { // 加载类型（不初始化，与扫描一致）
+                final WiringSnapshot.Node node = snapshot.nodes.get(i); // 节点
+                types[i] = Class.forName(node.metadata.className, false, cl); // 按名称加载
+                metadata.put(types[i], node.metadata); // 计划按名称精确定位成员
+            }
+            metrics.addPhase(StartupMetrics.Phase.CLASS_LOAD, System.nanoTime() - loadBegin); // 记录类加载耗时
+            for (int i = 0; i < n; i++) { // 计算注入计划并校验槽位
+                final WiringSnapshot.Node node = snapshot.nodes.get(i); // 节点
+                if (node.is(WiringSnapshot.EAGER)) { // 只有立即创建的节点需要回放
+                    plans[i] = planFor(types[i]); // 按元数据计算
+                    if (plans[i].constructorDependencies.length != node.constructorSlots.length
+                            || plans[i].fieldDependencies.length != node.fieldSlots.length) { // 成员与快照不一致
+                        throw new IllegalStateException("injection points changed in " + types[i].getName()); // 放弃快照
+                    }
+                }
+            }
+        } catch (ClassNotFoundException | LinkageError | RuntimeException e) { // 快照与类不一致
+            if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.WARN, "wiring snapshot ignored (" + e.getMessage() + "), starting normally: " + file); // 提示
+            }
+            endPhase(scanEvent, begin, StartupMetrics.Phase.SCAN, 0); // 已花费的时间同样计入
+            return null; // 正常启动（尚未登记或创建任何 Bean）
+        }
+
+        final Set<Class<?>> components = new java.util.LinkedHashSet<>(); // 快照中的组件
+        for (int i = 0; i < n; i++) { // 收集组件
+            if (snapshot.nodes.get(i).is(WiringSnapshot.COMPONENT)) { // 组件节点
+                components.add(types[i]); // 登记
+            }
+        }
+        endPhase(scanEvent, begin, StartupMetrics.Phase.SCAN, components.size()); // 读取、校验与加载快照类型即扫描阶段
+        if (log.isEnabled(LogSink.Level.INFO)) { // 级别开启时才拼接消息
+            log.log(LogSink.Level.INFO, "components discovered: " + components.size() + " (wiring snapshot)"); // 与正常启动相同的汇总
+        }
+        registered.addAll(components); // 登记全部组件
+        metrics.components(registered.size()); // 记录组件数
+        typeIndex = TypeIndex.build(registered); // 可赋值索引
+        componentNames = NameTable.of(namesOf(registered)); // 名称索引
+        beansOfType = new ConcurrentHashMap<>(); // 旧的列表缓存作废
+
+        final Map<Class<?>, java.util.List<Class<?>>> edges = new HashMap<>(n * 2); // 类型 -> 依赖
+        final Map<Class<?>, Integer> at = new HashMap<>(n * 2); // 类型 -> 节点下标
+        final java.util.List<Class<?>> eager = new java.util.ArrayList<>(); // 立即创建的类型（拓扑顺序）
+        for (int i = 0; i < n; i++) { // 整理依赖边
+            final WiringSnapshot.Node node = snapshot.nodes.get(i); // 节点
+            if (!node.is(WiringSnapshot.EAGER)) { // 只登记的组件
+                isEager(types[i]); // 打印与正常启动相同的登记日志
+                continue; // 不创建
+            }
+            final java.util.List<Class<?>> deps = new java.util.ArrayList<>(node.dependencies.length); // 依赖类型
+            for (int d : node.dependencies) { // 下标 -> 类型
+                deps.add(types[d]); // 依赖类型
+            }
+            edges.put(types[i], deps); // 记录依赖
+            at.put(types[i], i); // 记录下标
+            eager.add(types[i]); // 按拓扑顺序
+        }
+
+        final Object instantiateEvent = events.beginPhase(); // 实例化阶段事件
+        final long instantiateBegin = System.nanoTime(); // 实例化开始时间
+        if (options.isParallelStartEnabled()) { // 并行模式：快照中的依赖边直接建图
+            final DependencyGraph graph = DependencyGraph.build(eager, edges::get); // 图中只有快照节点
+            executeInParallel(graph, type -> { // 依赖完成后立即回放
+                final int i = at.get(type); // 节点下标
+                replayNode(types, i, plans[i], snapshot.nodes.get(i)); // 创建单例
+            });
+        } else { // 顺序模式：快照顺序即拓扑顺序
+            for (Class<?> type : eager) { // 依赖在前
+                final int i = at.get(type); // 节点下标
+                replayNode(types, i, plans[i], snapshot.nodes.get(i)); // 创建单例
+            }
+        }
+        endPhase(instantiateEvent, instantiateBegin, StartupMetrics.Phase.INSTANTIATE, eager.size()); // 记录实例化阶段
+        if (log.isEnabled(LogSink.Level.INFO)) { // 级别开启时才拼接消息
+            log.log(LogSink.Level.INFO, "wiring snapshot replayed: " + eager.size() + " singletons in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin) + " ms"); // 打印耗时
+        }
+        return edges; // 回调阶段同样使用快照中的依赖
+    }
+
+    private void replayNode(Class<?>[] types, int i, InjectionPlan plan, WiringSnapshot.Node node) { // 回放单个节点
+        final Class<?> type = types[i]; // 节点类型
+        final Object event = events.beginBean(); // 单例创建事件
+        final long begin = System.nanoTime(); // 创建开始时间
+        long constructorNanos = 0L; // 构造器耗时
+        long injectionNanos = 0L; // 字段赋值耗时
+        final Object span = tracer.begin(StartupTrace.Kind.BEAN, type, null); // 追踪令牌（未开启时为 null）
+        try { // 与正常启动相同的容错：失败只打印错误
+            if (!singletons.containsKey(type)) { // 普通解析的注入点可能已经提前创建了它
+                final InjectionPlan.Factories factories = factoriesOf(plan); // 调用工厂
+                final Object[] args = new Object[node.constructorSlots.length]; // 构造器参数
+                for (int k = 0; k < args.length; k++) { // 按槽位取值
+                    args[k] = replayed(types, node.constructorSlots[k],
+                            plan.constructorDependencies[k], plan.constructorKinds[k], plan.constructorNames[k]); // 单例或普通解析
+                }
+                final Object constructSpan = tracer.begin(StartupTrace.Kind.CONSTRUCT, type, "constructor"); // 构造器时间片
+                final long t0 = System.nanoTime(); // 构造开始时间
+                final Object instance; // 新实例
+                try { // 构造器可能抛出
+                    instance = factories.instantiator.newInstance(args); // 使用计划选定的构造器创建实例
+                } finally { // 无论成败都结束时间片
+                    tracer.end(constructSpan); // 结束
+                }
+                constructorNanos = System.nanoTime() - t0; // 构造耗时
+                bindTimers(plan, instance); // 计时子类绑定记录器
+                final Object injectSpan = tracer.begin(StartupTrace.Kind.INJECT, type, "inject"); // 字段注入时间片
+                try { // 字段注入可能失败
+                    for (int k = 0; k < node.fieldSlots.length; k++) { // 字段注入
+                        final Object dep = replayed(types, node.fieldSlots[k],
+                                plan.fieldDependencies[k], plan.fieldKinds[k], plan.fieldNames[k]); // 单例或普通解析
+                        final long t1 = System.nanoTime(); // 赋值开始时间
+                        factories.injectors[k].inject(instance, dep); // 赋值
+                        injectionNanos += System.nanoTime() - t1; // 累加赋值耗时
+                    }
+                } finally { // 无论成败都结束时间片
+                    tracer.end(injectSpan); // 结束
+                }
+                putSingleton(type, instance); // 写入单例与命名 Bean
+                recordBean(event, type, begin, constructorNanos, injectionNanos, null); // 记录创建指标
+            }
+            if (node.is(WiringSnapshot.COMPONENT)) { // 组件：与正常启动相同的日志
+                if (log.isEnabled(LogSink.Level.DEBUG)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.DEBUG, "singleton ready: " + type.getName()); // 打印完成实例化的类名
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) { // 创建失败
+            final String message = e instanceof ReflectiveOperationException
+                    ? "Failed to instantiate type: " + type.getName() : e.getMessage(); // 与 createInstance 的包装一致
+            recordBean(event, type, begin, constructorNanos, injectionNanos, MetricsRecorder.describe(e)); // 记录失败原因
+            if (node.is(WiringSnapshot.COMPONENT)) { // 非组件依赖静默失败，由使用方报告
+                if (log.isEnabled(LogSink.Level.ERROR)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.ERROR, "failed to init component: " + type.getName() + " -> " + message); // 打印错误但不中断后续流程
+                }
+            }
+        } finally { // 无论成败都结束时间片
+            tracer.end(span); // 结束
+        }
+    }
+
+    private void recordBean(Object event,
+                            Class<?> type,
+                            long begin,
+                            long constructorNanos,
+                            long injectionNanos,
+                            String failure) { // 记录一次单例创建（指标 + JFR 事件）
+        metrics.bean(type, System.nanoTime() - begin, constructorNanos, injectionNanos, failure); // 写入指标
+        events.endBean(event, type, constructorNanos, injectionNanos, failure); // 提交事件
+    }
+
+    private Object replayed(Class<?>[] types, int slot, Class<?> dep, byte kind, String name) { // 回放时的注入值
+        if (slot >= 0) { // 快照指定的单例节点
+            final Object bean = singletons.get(types[slot]); // 依赖已先于本节点回放
+            if (bean != null) { // 创建成功
+                return dep.isInterface() ? timedView(dep, bean) : bean; // 与 resolveDependency 相同：接口注入点可能需要计时代理
+            }
+        }
+        return resolveDependency(dep, kind, name); // 普通解析（依赖创建失败时报告原错误）
+    }
+
+    /**
+     * 冻结单例注册表：把当前全部单例与命名 Bean 压缩为只读的数组注册表（见 {@link FrozenRegistry}）。
+     * <p>
+     * 冻结后：
+     * 1) {@link #getBean(Class)} 命中时只做一次 {@link ClassValue} 查找，不分配对象、不加锁；
+     *    接口与抽象类在首次查找时解析，之后同样是一次查找；
+     * 2) 任何新的单例（未登记的类型、尚未创建的延迟组件）都不能再创建，{@link #getBean(Class)} 立即抛出
+     *    {@link IllegalStateException}；再次调用 {@link #start()} 同样失败；
+     * 3) {@link #createInstance(Class)} 仍可使用（它不登记单例），其依赖只能来自已冻结的单例。
+     * <p>
+     * 重复调用没有效果。
+     */
+    public void freeze() { // 冻结单例注册表
+        requireRoot("be frozen"); // 子容器的单例大多在父容器中
+        synchronized (registrationLock) { // 与 putSingleton 互斥：冻结后的快照包含全部已写入的单例
+            if (frozen != null) { // 已冻结
+                return; // 幂等
+            }
+            for (Class<?> type : registered) { // 报告尚未创建的延迟组件（冻结后无法再创建）
+                if (InjectionPlan.isConcrete(type) && InjectionPlan.scopeOf(type) == Scope.SINGLETON
+                        && !singletons.containsKey(type)) { // 已登记但未创建的单例
+                    if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                        log.log(LogSink.Level.WARN, "component not created before freeze: " + type.getName()); // 提示
+                    }
+                }
+            }
+            frozen = FrozenRegistry.of(singletons, namedBeans, typeIndex); // 构建并发布只读注册表
+            if (log.isEnabled(LogSink.Level.INFO)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.INFO, "registry frozen: " + frozen.size() + " singletons, " + namedBeans.size() + " names"); // 打印汇总
+            }
+        }
+    }
+
+    /**
+     * @return 已调用 {@link #freeze()} 时为 true
+     */
+    public boolean isFrozen() { // 是否已冻结
+        return frozen != null; // 注册表已发布即冻结
+    }
+
+    private void warnIgnoredStartCallbacks(Class<?> type) { // 非单例组件上的 @InvokeOnStart 不会执行
+        try { // 计划可能无法计算（由获取时报告）
+            if (planFor(type).startMethods.length > 0) { // 声明了启动回调
+                if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.WARN, "@InvokeOnStart is ignored on non-singleton component: " + type.getName()); // 提示
+                }
+            }
+        } catch (RuntimeException e) { // 配置错误
+            // 留给获取时报告
+        }
+    }
+
+    /**
+     * 通过 {@link #getBean(Class)} 创建单个组件；失败时只打印错误，不中断其他组件（简化容错）。
+     *
+     * @param type 组件类型
+     */
+    private void initComponent(Class<?> type) { // 单个组件的初始化
+        try { // 尝试通过 getBean 触发创建或获取单例
+            getBean(type); // 通过 getBean 触发：命中缓存则返回，否则创建并放入缓存（含依赖注入）
+            if (log.isEnabled(LogSink.Level.DEBUG)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.DEBUG, "singleton ready: " + type.getName()); // 打印完成实例化的类名
+            }
+        } catch (RuntimeException ex) { // 捕获实例化过程中的运行时异常
+            if (log.isEnabled(LogSink.Level.ERROR)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.ERROR, "failed to init component: " + type.getName() + " -> " + ex.getMessage()); // 打印错误但不中断后续流程（简化容错）
+            }
+        } // try-catch 结束
+    }
+
+    /**
+     * 按依赖图并行实例化组件。
+     * <p>
+     * 先根据注入计划建立依赖图并检查循环依赖：位于环上或依赖环的组件在任何实例化开始之前就报告错误并跳过；
+     * 其余类型在其全部依赖完成后立即提交到实例化线程池（见 {@link #executeInParallel}）。
+     * 组件的可达依赖（即使本身不是组件）也作为独立节点提前创建，只有组件会输出 {@code singleton ready} 日志。
+     *
+     * @param components 扫描到的组件类型
+     */
+    private void instantiateInParallel(Set<Class<?>> components) { // 并行实例化
+        final DependencyGraph graph = DependencyGraph.build(components, this::hardDependencies); // 建立依赖图
+        if (log.isEnabled(LogSink.Level.INFO)) { // 级别开启时才拼接消息
+            log.log(LogSink.Level.INFO, "dependency graph: " + graph.size() + " types, " + graph.depth() + " levels"); // 打印图规模与关键路径长度
+        }
+        for (Class<?> type : components) { // 先报告循环依赖
+            if (graph.isBlocked(type)) { // 位于环上或依赖环
+                if (log.isEnabled(LogSink.Level.ERROR)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.ERROR, "failed to init component: " + type.getName()
+                            + " -> Circular dependency detected: " + graph.cycleOf(type)); // 打印环路径
+                }
+            }
+        }
+        executeInParallel(graph, type -> { // 按依赖关系并行执行
+            if (components.contains(type)) { // 组件：与顺序模式相同的日志与容错
+                initComponent(type); // 创建并打印
+            } else { // 非组件依赖：静默创建，失败时由使用方报告
+                getBean(type); // 提前创建，使用方直接命中缓存
+            }
+        });
+    }
+
+    /**
+     * 在实例化线程池上按依赖关系执行依赖图：调用方指定了 {@link ContainerOptions#startExecutor(Executor)} 时直接使用；
+     * 否则自建守护线程池（线程数取 {@link ContainerOptions#getStartThreads()} 与图宽度中的较小值），阶段结束后关闭。
+     *
+     * @param graph  依赖图
+     * @param action 对单个类型执行的动作
+     */
+    private void executeInParallel(DependencyGraph graph, java.util.function.Consumer<Class<?>> action) { // 并行执行依赖图
+        final Executor given = options.getStartExecutor(); // 调用方指定的线程池优先
+        final ExecutorService owned = given != null ? null
+                : StartCallbacks.newPhaseExecutor("mini-ioc-init-", Math.max(1, Math.min(options.getStartThreads(), graph.width()))); // 自建有界线程池
+        try { // 确保自建线程池被关闭
+            graph.execute(given != null ? given : owned, action); // 阻塞直到全部节点结束
+        } finally { // 实例化阶段结束
+            if (owned != null) { // 自建线程池
+                owned.shutdown(); // 全部任务已结束，线程随即退出
+            }
+        }
+    }
+
+    /**
+     * 按依赖顺序调用已创建单例上所有被 @InvokeOnStart 标注且“无参”的方法。
+     * <p>
+     * 回调顺序由依赖图决定：某个 Bean 的回调只会在它所依赖的 Bean 的回调全部结束后开始。
+     * 开启 {@link ContainerOptions#asyncCallbacksEnabled(boolean)} 后，互不依赖的 Bean 的回调并行执行，
+     * 并按 {@link InvokeOnStart#timeoutMillis()}、{@link ContainerOptions#callbackTimeout} 与
+     * {@link ContainerOptions#startTimeout} 判定超时。
+     * 带参数的方法在计算注入计划时已打印警告并排除；任意回调失败或超时只记录在报告中，不影响其他回调。
+     *
+     * @param dependencies 回调顺序依据的依赖边（正常启动按注入计划计算，快照启动直接使用快照中的边）
+     * @return 启动报告
+     */
+    private StartReport invokeStartCallbacks(java.util.function.Function<Class<?>, ? extends java.util.Collection<Class<?>>> dependencies) { // 启动回调的集中执行逻辑
+        final Object phaseEvent = events.beginPhase(); // 回调阶段事件
+        final long phaseBegin = System.nanoTime(); // 回调阶段开始时间
+        started = true; // 之后才创建的延迟 Bean 在创建时自行执行回调
+        final java.util.List<Class<?>> types = new java.util.ArrayList<>(); // 本阶段负责回调的类型
+        for (Class<?> type : singletons.keySet()) { // 将当前单例类型快照出来
+            if (callbacksClaimed.add(type)) { // 认领回调（与延迟创建的回调互斥）
+                types.add(type); // 由本阶段执行
+            }
+        }
+        types.sort(java.util.Comparator.comparing(Class::getName)); // 按类名排序，保证报告顺序确定
+        final Set<Class<?>> claimed = new HashSet<>(types); // 便于按类型判断是否由本阶段负责
+        final DependencyGraph graph = DependencyGraph.build(types, dependencies); // 依赖图决定回调顺序
+        final long defaultTimeout = nanosOf(options.getCallbackTimeout()); // 单个回调的默认超时
+        final StartCallbacks.Callback[][] callbacks = new StartCallbacks.Callback[graph.size()][]; // 与图节点一一对应
+        for (int i = 0; i < callbacks.length; i++) { // 按拓扑顺序
+            final Class<?> type = graph.typeAt(i); // 节点类型
+            final Object bean = claimed.contains(type) ? singletons.get(type) : null; // 对应的单例（依赖创建失败或未认领时不处理）
+            if (bean == null) { // 没有实例
+                callbacks[i] = new StartCallbacks.Callback[0]; // 没有回调
+                continue; // 下一个节点
+            }
+            final InjectionPlan plan = planFor(type); // 取出注入计划
+            final InjectionPlan.Factories factories = factoriesOf(plan); // 取出调用工厂
+            callbacks[i] = new StartCallbacks.Callback[plan.startMethods.length]; // 计划中的无参回调
+            for (int k = 0; k < plan.startMethods.length; k++) { // 逐个描述
+                final java.lang.reflect.Method m = plan.startMethods[k]; // 回调方法
+                final InvokeOnStart ann = m.getAnnotation(InvokeOnStart.class); // 读取超时设置
+                final long timeout = ann != null && ann.timeoutMillis() > 0
+                        ? TimeUnit.MILLISECONDS.toNanos(ann.timeoutMillis()) : defaultTimeout; // 方法上的设置优先
+                callbacks[i][k] = new StartCallbacks.Callback(type, bean, m.getName(), factories.invokers[k], timeout); // 组装回调
+            }
+        }
+
+        ExecutorService owned = null; // 容器自行创建的执行器（虚拟线程或阶段线程池）
+        Executor executor = null; // 同步模式为 null
+        if (options.isAsyncCallbacksEnabled()) { // 异步模式
+            executor = options.getCallbackExecutor(); // 调用方指定的线程池优先
+            if (executor == null && options.isVirtualThreadCallbacks()) { // 请求使用虚拟线程
+                owned = StartCallbacks.newVirtualThreadExecutor(); // JDK 21+ 才能创建
+                if (owned == null) { // 运行时不支持
+                    if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                        log.log(LogSink.Level.WARN, "virtual threads not available, running start callbacks on platform threads"); // 提示退回
+                    }
+                }
+            }
+            if (executor == null && owned == null) { // 既未指定也没有虚拟线程
+                owned = StartCallbacks.newPhaseExecutor(); // 自建阶段线程池
+            }
+            if (owned != null) { // 使用自建执行器
+                executor = owned; // 选定执行器
+            }
+        }
+        final StartReport report; // 回调报告
+        try { // 确保自建执行器被关闭
+            report = StartCallbacks.run(graph, callbacks, executor, nanosOf(options.getStartTimeout()), false, tracer,
+                    events); // 执行回调
+        } finally { // 回调阶段结束
+            if (owned != null) { // 自建的虚拟线程执行器
+                owned.shutdown(); // 不中断仍在运行的超时回调
+            }
+        }
+
+        endPhase(phaseEvent, phaseBegin, StartupMetrics.Phase.START_CALLBACKS, report.getEntries().size()); // 记录回调阶段
+        metrics.failedCallbacks(report.count(StartReport.Status.FAILED) + report.count(StartReport.Status.TIMED_OUT)); // 记录失败数
+
+        for (StartReport.Entry e : report.getEntries()) { // 失败与超时仍打印，便于排查
+            if (e.getStatus() == StartReport.Status.FAILED) { // 失败
+                if (log.isEnabled(LogSink.Level.ERROR)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.ERROR, "@InvokeOnStart failed on "
+                            + e.getBeanType().getName() + "#" + e.getMethodName()
+                            + " -> " + e.getError().getClass().getSimpleName() + ": " + e.getError().getMessage()); // 打印错误
+                }
+            } else if (e.getStatus() == StartReport.Status.TIMED_OUT) { // 超时
+                if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.WARN, "@InvokeOnStart timed out on "
+                            + e.getBeanType().getName() + "#" + e.getMethodName()); // 打印警告
+                }
+            }
+        }
+        if (log.isEnabled(LogSink.Level.INFO)) { // 级别开启时才拼接消息
+            log.log(LogSink.Level.INFO, String.valueOf(report)); // 打印一行汇总
+        }
+        return report; // 返回结构化报告
+    } // invokeStartCallbacks 方法结束
+
+    private static long nanosOf(java.time.Duration d) { // Duration 转纳秒；null 或非正数表示不限制
+        return d == null || d.isNegative() || d.isZero() ? 0L : d.toNanos(); // 统一为 0
+    }
+
+    /**
+     * 关闭容器：停止 {@link #watch()} 创建的监听器，然后调用本容器已创建单例的停止回调，释放其持有的资源。
+     * <p>
+     * 停止回调是无参的 {@link InvokeOnStop} 方法；没有标注时，实现了 {@link AutoCloseable} 的 Bean 调用其 {@code close()}。
+     * 顺序与启动相反：某个 Bean 的回调只会在注入了它的 Bean 的回调全部结束后开始
+     * （依赖图与启动回调相同，持有者与代理注入不构成边）。{@link ContainerOptions#parallelStopEnabled(boolean)}（默认开启）时
+     * 互不依赖的 Bean 在容器自建的守护线程池上并行停止；{@link ContainerOptions#stopTimeout}（默认 30 秒）是整个阶段的截止时间，
+     * {@link InvokeOnStop#timeoutMillis()} 限制单个回调。超时与失败只记录在报告中（回调线程不会被中断），
+     * 不影响其他回调，因此并行模式下关闭总能在截止时间内返回；顺序模式下截止时间只跳过尚未开始的回调。
+     * <p>
+     * 关闭后不能再启动、重载或创建子容器，也不会再创建新的单例（{@link #getBean(Class)} 仍返回已停止的实例）。
+     * 原型、池化与线程作用域的实例不由容器跟踪，不会被停止；子容器各自关闭（只停止自己的租户实例），父容器不会代为关闭。
+     * 重复调用直接返回第一次的报告；与 {@link ContainerOptions#shutdownHookEnabled(boolean) JVM 关闭钩子}并发时只执行一次。
+     *
+     * @return 停止阶段的报告（每个回调的状态与耗时，以及最慢的回调）
+     */
+    public StopReport stop() { // 关闭入口
+        synchronized (stopLock) { // 同一时间只有一次关闭
+            if (stopReport != null) { // 已关闭
+                return stopReport; // 幂等
+            }
+            removeShutdownHook(); // 显式关闭后不再需要钩子
+            for (ClassDirectoryWatcher watcher : watchers) { // 先停止监听，等待进行中的重载结束
+                watcher.close(); // 幂等
+            }
+            watchers.clear(); // 释放引用
+            final Map<Class<?>, Object> beans; // 需要停止的单例
+            synchronized (registrationLock) { // 与单例写入互斥：关闭之后不会再有单例漏登记
+                closed = true; // 标记关闭
+                beans = new HashMap<>(singletons); // 此刻的全部单例
+            }
+            stopReport = stopBeans(beans); // 调用停止回调
+            return stopReport; // 返回报告
+        }
+    }
+
+    /**
+     * 等价于 {@link #stop()}，便于 try-with-resources；失败与超时只记录在日志与报告中，不抛出异常。
+     */
+    @Override
+    public void close() { // AutoCloseable
+        stop(); // 委托关闭入口
+    }
+
+    /**
+     * @return 已调用 {@link #stop()}（或 {@link #close()}）时为 true
+     */
+    public boolean isClosed() { // 是否已关闭
+        return closed; // 直接返回字段
+    }
+
+    private StopReport stopBeans(Map<Class<?>, Object> beans) { // 按逆依赖顺序调用一组单例的停止回调
+        final java.util.List<Class<?>> types = new java.util.ArrayList<>(); // 声明了停止回调的类型
+        for (Class<?> type : beans.keySet()) { // 逐个检查
+            try { // 计划无法计算的类型不会有实例，这里只做防御
+                if (planFor(type).stopMethods(log).length > 0) { // 有停止回调
+                    types.add(type); // 需要停止
+                }
+            } catch (RuntimeException e) { // 配置错误
+                if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.WARN, "stop callbacks of " + type.getName() + " skipped -> " + e.getMessage()); // 提示
+                }
+            }
+        }
+        if (types.isEmpty()) { // 常见情况：没有任何停止回调
+            return StopReport.EMPTY; // 不建图、不创建线程
+        }
+        types.sort(java.util.Comparator.comparing(Class::getName)); // 按类名排序，保证报告顺序确定
+        final Set<Class<?>> stopping = new HashSet<>(types); // 便于按类型判断
+        final DependencyGraph graph = DependencyGraph.build(beans.keySet(), this::hardDependencies); // 含没有回调的单例，保证间接依赖的顺序
+        final StartCallbacks.Callback[][] callbacks = new StartCallbacks.Callback[graph.size()][]; // 与图节点一一对应
+        for (int i = 0; i < callbacks.length; i++) { // 按拓扑顺序组装（执行时逆序）
+            final Class<?> type = graph.typeAt(i); // 节点类型
+            final Object bean = stopping.contains(type) ? beans.get(type) : null; // 可达依赖中的非单例节点没有实例
+            if (bean == null) { // 没有回调
+                callbacks[i] = new StartCallbacks.Callback[0]; // 空数组
+                continue; // 下一个节点
+            }
+            final java.lang.reflect.Method[] methods = planFor(type).stopMethods(log); // 停止回调
+            callbacks[i] = new StartCallbacks.Callback[methods.length]; // 逐个描述
+            for (int k = 0; k < methods.length; k++) { // 按声明顺序
+                final InvokeOnStop ann = methods[k].getAnnotation(InvokeOnStop.class); // 读取超时设置（close() 没有注解）
+                final long timeout = ann != null && ann.timeoutMillis() > 0 ? TimeUnit.MILLISECONDS.toNanos(ann.timeoutMillis()) : 0L; // 单个回调超时
+                callbacks[i][k] = new StartCallbacks.Callback(type, bean, methods[k].getName(),
+                        MemberLinker.reflective(methods[k]), timeout); // 只调用一次，反射比链接便宜
+            }
+        }
+        final ExecutorService executor = options.isParallelStopEnabled() ? StartCallbacks.newPhaseExecutor("mini-ioc-stop-") : null; // 并行时自建守护线程池
+        final StopReport report; // 停止报告
+        try { // 确保线程池被关闭
+            report = StopReport.of(StartCallbacks.run(graph, callbacks, executor, nanosOf(options.getStopTimeout()), true,
+                    StartupTracer.DISABLED, StartupEvents.DISABLED)); // 逆序执行
+        } finally { // 阶段结束
+            if (executor != null) { // 自建线程池
+                executor.shutdown(); // 不中断仍在运行的超时回调
+            }
+        }
+        for (StopReport.Entry e : report.getEntries()) { // 失败与超时逐个打印
+            if (e.getStatus() == StopReport.Status.FAILED) { // 失败
+                if (log.isEnabled(LogSink.Level.ERROR)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.ERROR, "@InvokeOnStop failed on "
+                            + e.getBeanType().getName() + "#" + e.getMethodName()
+                            + " -> " + e.getError().getClass().getSimpleName() + ": " + e.getError().getMessage()); // 打印错误
+                }
+            } else if (e.getStatus() == StopReport.Status.TIMED_OUT || e.getStatus() == StopReport.Status.SKIPPED) { // 超时或来不及执行
+                if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.WARN, "@InvokeOnStop " + (e.getStatus() == StopReport.Status.SKIPPED ? "skipped" : "timed out")
+                            + " on " + e.getBeanType().getName() + "#" + e.getMethodName()); // 打印警告
+                }
+            }
+        }
+        if (log.isEnabled(LogSink.Level.INFO)) { // 级别开启时才拼接消息
+            log.log(LogSink.Level.INFO, String.valueOf(report)); // 打印一行汇总（含最慢的回调）
+        }
+        return report; // 返回报告
+    }
+
+    private void registerShutdownHook() { // 注册 JVM 关闭钩子
+        synchronized (stopLock) { // 与 stop 互斥
+            if (shutdownHook != null || stopReport != null) { // 已注册或已关闭
+                return; // 无需重复注册
+            }
+            final Thread hook = new Thread(this::stop, "mini-ioc-shutdown"); // 进程退出时关闭容器
+            Runtime.getRuntime().addShutdownHook(hook); // 注册
+            shutdownHook = hook; // 记录，显式关闭时注销
+        }
+    }
+
+    private void removeShutdownHook() { // 注销 JVM 关闭钩子（调用方持有 stopLock）
+        final Thread hook = shutdownHook; // 已注册的钩子
+        shutdownHook = null; // 清除记录
+        if (hook == null || hook == Thread.currentThread()) { // 没有钩子，或正由钩子自身关闭
+            return; // 无需注销
+        }
+        try { // JVM 可能已经在关闭
+            Runtime.getRuntime().removeShutdownHook(hook); // 注销
+        } catch (IllegalStateException e) { // 关闭进行中：钩子会调用 stop()，等待本次关闭后直接拿到报告
+            // 无需处理
+        }
+    }
+
+    /**
+     * 扫描基础包下所有被 {@link Component} 标注的类型。
+     * <p>
+     * 多个基础包用逗号分隔；{@link ContainerOptions#includePatterns(String...)} 与
+     * {@link ContainerOptions#excludePatterns(String...)} 同样适用。若某个类路径根（目录或 JAR）包含编译期生成的 {@link ComponentIndex}，且配置允许使用索引，
+     * 则该根直接按索引加载组件；其余根仍逐个遍历 .class 文件。
+     * 开启 {@link ContainerOptions#parallelScanEnabled(boolean)} 后，各 JAR 与目录子树会并行扫描。
+     *
+     * @param basePackage 基础包名，形如 "com.example"；多个包用逗号分隔
+     * @return 扫描到并经 {@link Component} 过滤的类型集合（按类名排序，结果确定）
+     * @throws IllegalArgumentException 如果 basePackage 为空字符串或包含不合法的包名
+     */
+    public Set<Class<?>> scanComponents(String basePackage) { // 扫描基础包下的 @Component 类型
+        Objects.requireNonNull(basePackage, "basePackage must not be null"); // 允许外部直接调用时做保护
+        final ScanScope requested = ScanScope.of(basePackage, options.getIncludePatterns(), options.getExcludePatterns()); // 去掉空白、合并嵌套包，空白输入抛出异常
+
+        return scan(requested).components; // 返回组件类型集合
+    } // scanComponents 方法结束
+
+    private ComponentScanner.Result scan(ScanScope scope) { // 扫描并记录注入元数据（调用方负责计时）
+        final ComponentScanner.Result result = scanner.scan(scope, classLoader(), tracer); // 委托扫描器完成目录/JAR 遍历
+        metadata.putAll(result.metadata); // 记录缓存提供的注入元数据，实例化时按名称精确定位成员
+        return result; // 返回扫描结果
+    }
+
+    private static ClassLoader classLoader() { // 扫描与快照使用的类加载器
+        ClassLoader cl = Thread.currentThread().getContextClassLoader(); // 优先使用上下文类加载器
+        if (cl == null) { // 某些运行时（例如早期的单元测试）可能返回 null
+            cl = Container.class.getClassLoader(); // 回落到容器类自身的类加载器
+        }
+        if (cl == null) { // 仍然为 null 时无法继续扫描
+            throw new IllegalStateException("No ClassLoader available for component scanning");
+        }
+        return cl; // 返回类加载器
+    }
+
+    /**
+     * 开始监听基础包所在的类目录，类文件变化时自动 {@link #reload(java.util.Collection) 增量重载}（见 {@link ClassDirectoryWatcher}）。
+     *
+     * @return 监听器；{@link ClassDirectoryWatcher#close()} 停止监听
+     * @throws java.io.IOException   无法创建或注册 {@link java.nio.file.WatchService}
+     * @throws IllegalStateException 容器尚未启动、是子容器，或基础包不在任何类目录中（例如只在 JAR 里）
+     */
+    public ClassDirectoryWatcher watch() throws java.io.IOException { // 开始监听
+        return watch(null); // 不需要监听器
+    }
+
+    /**
+     * 开始监听基础包所在的类目录，并在每次有实际变化的重载之后调用监听器（在监听线程上）。
+     *
+     * @param listener 重载结果监听器；为 null 时只打印日志
+     * @return 监听器；{@link ClassDirectoryWatcher#close()} 停止监听
+     * @throws java.io.IOException   无法创建或注册 {@link java.nio.file.WatchService}
+     * @throws IllegalStateException 容器尚未启动、是子容器，或基础包不在任何类目录中（例如只在 JAR 里）
+     */
+    public ClassDirectoryWatcher watch(java.util.function.Consumer<ReloadReport> listener) throws java.io.IOException { // 开始监听
+        requireRoot("watch class directories"); // 重载只作用于根容器
+        if (!started) { // 需要启动时的组件集合作为比较基准
+            throw new IllegalStateException("Container has not been started: " + basePackage); // 快速失败
+        }
+        final java.util.List<java.nio.file.Path> roots = ClassDirectoryWatcher.directoryRoots(scope.packages(), classLoader()); // 类目录
+        if (roots.isEmpty()) { // 没有可监听的目录
+            throw new IllegalStateException("No class directory to watch for " + basePackage); // 快速失败
+        }
+        requireOpen("watch class directories"); // 关闭后不再重载
+        final java.util.List<String> packagePaths = new java.util.ArrayList<>(); // 各基础包的目录路径
+        for (String pkg : scope.packages()) { // 逐个基础包
+            packagePaths.add(pkg.replace('.', '/')); // 包名 -> 相对路径
+        }
+        final ClassDirectoryWatcher watcher = new ClassDirectoryWatcher(this, roots, packagePaths,
+                options.getReloadQuietPeriod(), listener, log); // 开始监听
+        watchers.add(watcher); // 关闭容器时一并停止
+        return watcher; // 返回监听器
+    }
+
+    /**
+     * 增量重载：只读取变化的类文件，比较组件集合，只重新创建受影响的单例，其余单例保留原实例。
+     * <p>
+     * 步骤：
+     * <ol>
+     *   <li>把变化的 .class 文件归并到顶层类（嵌套类与计时子类随顶层类），按字节码判定是否为组件，
+     *       与已登记的组件比较得出新增、删除与修改；</li>
+     *   <li>用新一代类加载器（见 {@link ReloadingClassLoader}）加载新版本，重建可赋值索引与名称索引；</li>
+     *   <li>计算受影响的类型：变化的类型、注入点解析结果改变的类型（例如接口多了一个实现类），以及直接或间接注入了它们的类型
+     *       （含持有者、代理与对象池注入）；其中位于类目录下的类一并重新加载，因为它们按具体类型引用了旧版本；</li>
+     *   <li>丢弃受影响的单例、对象池与线程作用域实例，按逆依赖顺序调用被丢弃单例的停止回调（见 {@link #stop()}），
+     *       再按新版本重新创建其中原来已创建的单例与新增的非延迟单例，并执行它们的 {@link InvokeOnStart} 回调。</li>
+     * </ol>
+     * 接口、工具类等非组件类变化时无法从注入点得知谁引用了它们，它们所在类目录下的全部单例都视为受影响。
+     * 新版本无法加载或组件名称冲突时在丢弃任何实例之前抛出异常，容器保持原状。
+     * <p>
+     * 只有根容器可以重载，冻结后不能重载。之前创建的子容器、容器之外保存的引用，以及重载期间其他线程并发获取到的实例
+     * 仍指向旧版本。被重新加载的组件的 {@code @Timed} 计数从零开始。
+     *
+     * @param changedFiles 新增、修改或删除的 .class 文件；不在基础包类目录下的文件被忽略
+     * @return 重载结果（含耗时）
+     * @throws IllegalStateException 容器尚未启动或已冻结、新版本无法加载，或新的组件集合存在名称冲突
+     */
+    public ReloadReport reload(java.util.Collection<java.nio.file.Path> changedFiles) { // 增量重载
+        Objects.requireNonNull(changedFiles, "changedFiles must not be null"); // 非空校验
+        requireRoot("reload classes"); // 子容器共享父容器的组件
+        if (!started) { // 需要启动时的组件集合作为比较基准
+            throw new IllegalStateException("Container has not been started: " + basePackage); // 快速失败
+        }
+        if (frozen != null) { // 冻结后的注册表不可变
+            throw new IllegalStateException("Container is frozen; cannot reload classes: " + basePackage); // 快速失败
+        }
+        requireOpen("reload classes"); // 关闭后不再重建单例
+        synchronized (reloadLock) { // 同一时间只有一次重载
+            final ReloadReport report = reloadChanged(changedFiles); // 执行重载
+            if (!report.isEmpty() && log.isEnabled(LogSink.Level.INFO)) { // 有变化且级别开启时才拼接消息
+                log.log(LogSink.Level.INFO, String.valueOf(report)); // 打印一行汇总（含耗时）
+            }
+            return report; // 返回结果
+        }
+    }
+
+    private ReloadReport reloadChanged(java.util.Collection<java.nio.file.Path> changedFiles) { // 重载主体（调用方持有 reloadLock）
+        final long begin = System.nanoTime(); // 计时起点
+        final ClassLoader base = classLoader(); // 原来的类加载器
+        final java.util.List<java.nio.file.Path> roots = ClassDirectoryWatcher.directoryRoots(scope.packages(), base); // 基础包所在的类目录
+
+        final Map<String, java.nio.file.Path> changed = new java.util.TreeMap<>(); // 变化的顶层类 -> 类目录（按类名排序）
+        for (java.nio.file.Path file : changedFiles) { // 文件 -> 顶层类
+            for (java.nio.file.Path root : roots) { // 所在的类目录
+                final String name = ClassDirectoryWatcher.classNameOf(root, file); // 类名
+                if (name != null) { // 位于该目录下
+                    if (scope.contains(name)) { // 只处理基础包内的类
+                        changed.put(ReloadingClassLoader.topLevelName(name), root); // 归并到顶层类
+                    }
+                    break; // 下一个文件
+                }
+            }
+        }
+        final Map<String, Class<?>> known = new HashMap<>(); // 类名 -> 当前版本（已登记的组件与已创建的单例）
+        for (Class<?> type : registered) { // 组件
+            known.put(type.getName(), type); // 登记
+        }
+        for (Class<?> type : singletons.keySet()) { // 组件依赖到的非组件单例
+            known.putIfAbsent(type.getName(), type); // 登记
+        }
+
+        final java.util.List<String> added = new java.util.ArrayList<>(); // 新增组件
+        final java.util.List<String> removed = new java.util.ArrayList<>(); // 删除组件
+        final java.util.List<String> modified = new java.util.ArrayList<>(); // 修改组件
+        final java.util.List<String> other = new java.util.ArrayList<>(); // 其他类
+        final Set<Class<?>> stale = new HashSet<>(); // 被取代或删除的旧版本
+        final Map<String, java.nio.file.Path> owned = new ConcurrentHashMap<>(); // 新一代加载器负责的顶层类 -> 类目录
+        final Set<java.nio.file.Path> widened = new HashSet<>(); // 有非组件类变化的类目录
+        for (Map.Entry<String, java.nio.file.Path> e : changed.entrySet()) { // 逐个顶层类
+            final String top = e.getKey(); // 类名
+            final java.nio.file.Path file = ReloadingClassLoader.classFile(e.getValue(), top); // 类文件
+            final boolean exists = java.nio.file.Files.isRegularFile(file); // 新增/修改，或已删除
+            final boolean component = exists && scope.accepts(top) && isComponentFile(file); // 先按类名过滤，再做字节码判定，不加载类
+            final Class<?> old = known.get(top); // 当前版本
+            if (exists) { // 需要加载新版本
+                owned.put(top, e.getValue()); // 由新一代负责
+            }
+            if (old != null) { // 已知的类
+                stale.add(old); // 旧版本作废
+                if (registered.contains(old)) { // 原来是组件
+                    (component ? modified : removed).add(top); // 修改，或删除/去掉了注解
+                } else { // 原来是非组件单例
+                    (component ? added : modified).add(top); // 新标注了注解，或普通修改
+                }
+            } else if (component) { // 新组件
+                added.add(top); // 新增
+            } else { // 接口、工具类等
+                other.add(top); // 无法从注入点得知引用方
+                widened.add(e.getValue()); // 该目录下的全部单例都受影响
+            }
+        }
+        for (Class<?> type : known.values()) { // 受非组件类变化波及的类型
+            for (java.nio.file.Path root : widened) { // 逐个目录
+                if (java.nio.file.Files.isRegularFile(ReloadingClassLoader.classFile(root, type.getName()))) { // 位于该目录下
+                    stale.add(type); // 旧版本作废
+                    owned.put(ReloadingClassLoader.topLevelName(type.getName()), root); // 一并重新加载
+                }
+            }
+        }
+
+        final ReloadingClassLoader loader = new ReloadingClassLoader(base, owned, new HashMap<>(reloadedBy)); // 新一代加载器
+        final Map<String, Class<?>> fresh = new HashMap<>(); // 类名 -> 新版本
+        Set<Class<?>> affected; // 受影响的旧类型
+        Set<Class<?>> components; // 新的组件集合
+        TypeIndex index; // 新的可赋值索引
+        NameTable<Class<?>> names; // 新的名称索引
+        while (true) { // 依赖方被一并重新加载后，索引与受影响集合需要重新计算
+            loadFresh(loader, owned.keySet(), stale, fresh); // 加载新版本
+            components = new java.util.LinkedHashSet<>(); // 新的组件集合
+            for (Class<?> type : registered) { // 保留的组件
+                if (!stale.contains(type)) { // 未被取代
+                    components.add(type); // 保留
+                }
+            }
+            for (Class<?> type : fresh.values()) { // 新版本中的组件
+                if (type.isAnnotationPresent(Component.class)) { // 仍是组件
+                    components.add(type); // 登记
+                }
+            }
+            index = TypeIndex.build(components); // 可赋值索引
+            names = NameTable.of(namesOf(components)); // 名称索引（名称冲突时在修改任何状态之前失败）
+            affected = affectedBy(known.values(), stale, index, names); // 受影响的类型
+            boolean grown = false; // 本轮是否有新的类需要重新加载
+            for (Class<?> type : affected) { // 受影响且位于类目录下的类
+                if (stale.contains(type)) { // 已经在重新加载
+                    continue; // 跳过
+                }
+                for (java.nio.file.Path root : roots) { // 查找所在目录
+                    if (java.nio.file.Files.isRegularFile(ReloadingClassLoader.classFile(root, type.getName()))) { // 位于该目录下
+                        owned.put(ReloadingClassLoader.topLevelName(type.getName()), root); // 一并重新加载
+                        stale.add(type); // 旧版本作废
+                        grown = true; // 需要再算一轮
+                        break; // 下一个类型
+                    }
+                }
+            }
+            if (!grown) { // 受影响集合已稳定
+                break; // 结束
+            }
+        }
+        final long scanned = System.nanoTime(); // 读取与比较结束
+
+        final Set<Class<?>> live = new HashSet<>(); // 原来已创建的受影响单例
+        final Map<Class<?>, Object> retired = new HashMap<>(); // 被丢弃的单例实例（重新创建之前先停止）
+        final int before = singletons.size(); // 重载前的单例数
+        synchronized (registrationLock) { // 与单例写入互斥
+            for (Class<?> type : affected) { // 丢弃受影响的实例
+                final Object bean = singletons.remove(type); // 单例
+                if (bean != null) { // 原来已创建
+                    live.add(type); // 记录
+                    retired.put(type, bean); // 待停止
+                    final String name = beanNameOf(type); // 声明的名称
+                    if (name != null) { // 命名组件
+                        namedBeans.remove(name, bean); // 只移除指向旧实例的名称
+                    }
+                }
+                callbacksClaimed.remove(type); // 新实例重新执行回调
+                threadScoped.remove(type); // 线程作用域实例
+            }
+            final Set<Class<?>> dropped = affected; // lambda 需要不变的引用
+            pools.entrySet().removeIf(e -> dropped.contains(e.getKey()) || dropped.contains(e.getValue().getType())); // 对象池（含按接口登记的条目）
+            for (Class<?> type : stale) { // 旧版本的附属状态
+                metadata.remove(type); // 注入元数据
+                timers.remove(type); // @Timed 记录器
+            }
+            registered.removeAll(stale); // 移除旧版本
+            registered.addAll(components); // 登记新版本
+            typeIndex = index; // 发布可赋值索引
+            componentNames = names; // 发布名称索引
+            beansOfType = new ConcurrentHashMap<>(); // 列表缓存作废
+        }
+        for (String top : owned.keySet()) { // 记录最新版本所在的加载器
+            reloadedBy.put(top, loader); // 之后的代委托给本代
+        }
+        metrics.components(registered.size()); // 更新组件数
+        stopBeans(retired); // 旧实例释放资源（端口、文件、线程池）之后再创建新实例
+
+        final Set<Class<?>> targets = new java.util.TreeSet<>(java.util.Comparator.comparing(Class::getName)); // 需要重新创建的单例（按类名排序）
+        for (Class<?> type : live) { // 原来已创建的
+            final Class<?> now = stale.contains(type) ? fresh.get(type.getName()) : type; // 新版本
+            if (now != null && registered.contains(now) && InjectionPlan.isConcrete(now)
+                    && InjectionPlan.scopeOf(now) == Scope.SINGLETON) { // 仍是单例组件（非组件单例由依赖方按需创建）
+                targets.add(now); // 重新创建
+            }
+        }
+        final Set<Class<?>> reloadedComponents = new java.util.LinkedHashSet<>(); // 新版本中的组件
+        for (Class<?> type : fresh.values()) { // 逐个新版本
+            if (registered.contains(type)) { // 组件
+                reloadedComponents.add(type); // 记录
+            }
+        }
+        for (String name : added) { // 新增组件
+            final Class<?> type = fresh.get(name); // 新版本
+            if (type != null && registered.contains(type) && InjectionPlan.isConcrete(type) && isEager(type)) { // 非延迟单例
+                targets.add(type); // 立即创建
+            }
+        }
+        reportUnresolvedDependencies(reloadedComponents); // 报告新版本中无法解析的依赖
+        reportUninstrumented(reloadedComponents); // 报告没有计时子类的 @Timed 组件
+
+        final java.util.List<Class<?>> recreated = new java.util.ArrayList<>(); // 重新创建成功的单例
+        final java.util.List<String> failures = new java.util.ArrayList<>(); // 失败的单例
+        for (Class<?> type : targets) { // 依赖由 getBean 递归创建
+            try { // 失败只记录，不影响其他单例
+                getBean(type); // 创建（启动之后创建的单例立即执行自己的回调）
+                recreated.add(type); // 成功
+            } catch (RuntimeException ex) { // 创建失败
+                failures.add(type.getName() + " -> " + ex.getMessage()); // 记录原因
+                if (log.isEnabled(LogSink.Level.ERROR)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.ERROR, "failed to init component: " + type.getName() + " -> " + ex.getMessage()); // 与启动时相同的错误
+                }
+            }
+        }
+        final long end = System.nanoTime(); // 重新装配结束
+        return new ReloadReport(added, removed, modified, other, recreated, failures,
+                before - live.size(), scanned - begin, end - scanned); // 组装结果
+    }
+
+    private boolean isComponentFile(java.nio.file.Path file) { // 变化文件的字节码判定
+        try { // 文件可能正在被写入
+            return ComponentScanner.isComponentFile(file); // 解析类级注解
+        } catch (java.io.IOException e) { // 读取失败
+            if (log.isEnabled(LogSink.Level.DEBUG)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.DEBUG, "bytecode probe failed: " + file + " -> " + e.getMessage()); // 调试输出
+            }
+            return true; // 保守地按组件处理，加载后再按注解判定
+        }
+    }
+
+    private static void loadFresh(ClassLoader loader,
+                                  Set<String> tops,
+                                  Set<Class<?>> stale,
+                                  Map<String, Class<?>> fresh) { // 加载新版本（已加载的跳过）
+        final Set<String> wanted = new java.util.TreeSet<>(tops); // 顶层类
+        for (Class<?> type : stale) { // 旧版本中的嵌套组件同样需要新版本
+            if (tops.contains(ReloadingClassLoader.topLevelName(type.getName()))) { // 所属顶层类被重新加载
+                wanted.add(type.getName()); // 加载同名新版本
+            }
+        }
+        for (String name : wanted) { // 逐个加载
+            if (fresh.containsKey(name)) { // 上一轮已加载
+                continue; // 跳过
+            }
+            try { // 新版本可能无法加载（例如依赖的类已被删除）
+                fresh.put(name, Class.forName(name, false, loader)); // 不初始化，与扫描一致
+            } catch (ClassNotFoundException | LinkageError e) { // 加载失败：放弃本次重载
+                throw new IllegalStateException("Cannot load reloaded class " + name + ": " + e, e); // 容器保持原状
+            }
+        }
+    }
+
+    /**
+     * 计算受影响的类型：旧版本作废的类型、注入点在新索引下解析到不同类型的类型，以及直接或间接注入了它们的类型。
+     *
+     * @param nodes 当前全部组件与已创建的单例
+     * @param stale 旧版本作废的类型
+     * @param index 新的可赋值索引
+     * @param names 新的名称索引
+     * @return 受影响的类型（旧版本）
+     */
+    private Set<Class<?>> affectedBy(java.util.Collection<Class<?>> nodes,
+                                     Set<Class<?>> stale,
+                                     TypeIndex index,
+                                     NameTable<Class<?>> names) { // 受影响集合
+        final Map<Class<?>, java.util.List<Class<?>>> dependents = new HashMap<>(); // 注入目标 -> 注入了它的类型
+        final Set<Class<?>> affected = new HashSet<>(stale); // 结果
+        final java.util.ArrayDeque<Class<?>> queue = new java.util.ArrayDeque<>(stale); // 待传播
+        for (Class<?> node : nodes) { // 逐个类型
+            final InjectionPlan plan; // 注入计划
+            try { // 计划可能无法计算（由创建时报告）
+                plan = planFor(node); // 取出注入计划
+            } catch (RuntimeException e) { // 配置错误
+                continue; // 没有可追踪的注入点
+            }
+            final boolean rewired = addDependents(dependents, node, plan.constructorDependencies, plan.constructorNames, index, names)
+                    | addDependents(dependents, node, plan.fieldDependencies, plan.fieldNames, index, names); // 登记反向边（两组都要登记）
+            if (rewired && affected.add(node)) { // 注入点解析结果改变
+                queue.add(node); // 继续传播
+            }
+        }
+        while (!queue.isEmpty()) { // 沿反向边传播
+            final java.util.List<Class<?>> users = dependents.get(queue.poll()); // 注入了它的类型
+            if (users != null) { // 有使用方
+                for (Class<?> user : users) { // 逐个使用方
+                    if (affected.add(user)) { // 首次受影响
+                        queue.add(user); // 继续传播
+                    }
+                }
+            }
+        }
+        return affected; // 返回结果
+    }
+
+    private boolean addDependents(Map<Class<?>, java.util.List<Class<?>>> dependents,
+                                  Class<?> node,
+                                  Class<?>[] deps,
+                                  String[] depNames,
+                                  TypeIndex index,
+                                  NameTable<Class<?>> names) { // 登记一组注入点的反向边；返回是否有注入点解析结果改变
+        boolean rewired = false; // 是否改变
+        for (int i = 0; i < deps.length; i++) { // 逐个注入点
+            final Class<?> before = wiredTarget(deps[i], depNames[i], typeIndex, componentNames); // 当前索引下的目标
+            final Class<?> after = wiredTarget(deps[i], depNames[i], index, names); // 新索引下的目标
+            if (before != after) { // 解析结果改变（新增或删除了实现类、名称换了组件）
+                rewired = true; // 需要重新注入
+            }
+            if (before != null) { // 登记反向边
+                dependents.computeIfAbsent(before, k -> new java.util.ArrayList<>()).add(node); // 目标 -> 使用方
+            }
+        }
+        return rewired; // 返回结果
+    }
+
+    private static Class<?> wiredTarget(Class<?> dep, String name, TypeIndex index, NameTable<Class<?>> names) { // 注入点在指定索引下的目标类型
+        if (name != null) { // 按名称注入
+            return names.get(name); // 名称对应的组件（没有时为 null）
+        }
+        if (InjectionPlan.isConcrete(dep) || dep.isPrimitive() || dep.isArray()) { // 具体类型
+            return dep; // 即自身
+        }
+        try { // 接口或抽象类
+            return index.implementationOf(dep); // 唯一实现类
+        } catch (IllegalStateException e) { // 没有或有多个实现类
+            return null; // 无法解析
+        }
+    }
+
+    /**
+     * 根据类型获取（或创建）Bean 实例。
+     * <p>
+     * 逻辑：
+     * 1) 命中单例缓存直接返回（{@link ConcurrentHashMap} 读取，不加锁）；
+     * 2) 未命中则调用 {@link #createInstance(Class)} 创建并缓存；多个线程同时请求同一类型时，
+     *    只有一个线程负责创建，其余线程等待并拿到同一个实例；
+     * 3) 接口或抽象类按 {@link #start()} 登记的组件解析为唯一的实现类；
+     * 4) 延迟组件（{@link Lazy}）在这里首次创建；若容器已经启动，其 {@link InvokeOnStart} 回调随即执行；
+     * 5) 原型组件每次调用都按注入计划创建新实例，线程作用域组件返回当前线程的实例（首次在该线程创建），
+     *    池化组件不能通过本方法获取（见 {@link #getPool(Class)}）。冻结后原型与线程作用域组件仍可获取。
+     * 6) 租户组件每个容器一个实例；子容器（见 {@link #createChild()}）只创建租户与非单例组件，其余委托父容器。
+     * <p>
+     * 本方法可被多个线程并发调用。循环依赖按线程各自的创建链检测；若两个线程互相等待对方正在创建的类型
+     * （即跨线程的循环依赖），后发起等待的线程会收到同样的循环依赖错误，而不是死锁。
+     *
+     * @param type 需要获取的 Bean 类型
+     * @param <T>  类型参数，表示返回的具体泛型类型
+     * @return 对应类型的单例实例
+     */
+    @SuppressWarnings("unchecked") // 抑制泛型转换告警：Map 按类型保存，读取时需要强转
+    public <T> T getBean(Class<T> type) { // 基于类型的 Bean 获取入口
+        if (type == null) { // 防御式编程，避免 NPE
+            throw new IllegalArgumentException("type must not be null"); // 抛出非法参数异常
+        }
+        if (parent != null) { // 子容器：只持有租户与非单例组件的实例
+            return childBean(type); // 其余委托父容器
+        }
+
+        final FrozenRegistry registry = frozen; // 冻结后的只读注册表
+        if (registry != null) { // 已冻结：只查注册表
+            final Object bean = registry.get(type); // 一次 ClassValue 查找
+            if (bean != null) { // 命中
+                return (T) bean; // 直接强转返回
+            }
+            final Class<?> scoped = scopedImplementationOf(type); // 原型/线程组件不在注册表中
+            if (scoped == null) { // 未登记的单例：冻结后不允许再创建
+                throw frozenMiss(type); // 快速失败
+            }
+            return type.cast(scopedInstance(scoped)); // 按作用域获取
+        }
+
+        final Object cached = singletons.get(type); // 从单例 Map 中按类型查找（无锁）
+        if (cached != null) { // 如果已存在实例
+            return (T) cached; // 直接强转返回
+        }
+
+        if (!InjectionPlan.isConcrete(type)) { // 接口或抽象类
+            return type.cast(getBean(implementationOf(type))); // 按唯一实现类获取（实现类的缓存即共享的单例）
+        }
+        if (InjectionPlan.scopeOf(type) != Scope.SINGLETON) { // 原型/池化/线程组件
+            return type.cast(scopedInstance(type)); // 按作用域获取
+        }
+        return (T) createSingleton(type); // 未命中：进入“每个类型只创建一次”的慢路径
+    }
+
+    @SuppressWarnings("unchecked") // 子容器缓存按类型保存
+    private <T> T childBean(Class<T> type) { // 子容器的类型查找
+        final Object cached = singletons.get(type); // 本容器的租户实例（无锁）
+        if (cached != null) { // 命中
+            return (T) cached; // 直接返回
+        }
+        final Class<?> scoped = scopedImplementationOf(type); // 租户/原型/池化/线程组件由本容器创建
+        if (scoped == null) { // 单例、非组件类型或无法解析的接口
+            return parent.getBean(type); // 委托父容器（错误同样由父容器报告）
+        }
+        return type.cast(scopedInstance(scoped)); // 按作用域获取
+    }
+
+    /**
+     * 按名称获取 Bean（{@code @Component("name")} 声明的名称）。
+     * <p>
+     * 名称先在 {@link #start()} 构建的名称索引（完美哈希，见 {@link NameTable}）中解析为组件类型，
+     * 再走 {@link #getBean(Class)}：命中时一次哈希加一次缓存读取，延迟组件在此首次创建。
+     * 扫描范围之外、通过 {@link #getBean(Class)} 创建的命名组件同样可以按名称获取。
+     * 冻结后直接查冻结注册表中的名称表。
+     *
+     * @param name Bean 名称（区分大小写，不做首尾空白处理）
+     * @return Bean 实例
+     * @throws IllegalStateException 没有该名称的 Bean
+     */
+    public Object getBean(String name) { // 基于名称的 Bean 获取入口
+        if (name == null || name.isEmpty()) { // 防御式编程
+            throw new IllegalArgumentException("name must not be blank"); // 抛出非法参数异常
+        }
+        final FrozenRegistry registry = frozen; // 冻结后的只读注册表
+        if (registry != null) { // 已冻结：只查注册表
+            final Object bean = registry.named(name); // 一次完美哈希查找
+            final Class<?> type = bean == null ? componentNames.get(name) : null; // 未命中时可能是原型/线程组件
+            if (type != null && InjectionPlan.scopeOf(type) != Scope.SINGLETON) { // 非单例组件
+                return getBean(type); // 按作用域获取
+            }
+            if (bean == null) { // 未登记：冻结后不允许再创建
+                throw new IllegalStateException("Container is frozen; no singleton named '" + name + "'"); // 快速失败
+            }
+            return bean; // 直接返回
+        }
+        final Class<?> type = componentNames.get(name); // 名称索引
+        if (type != null) { // 已登记的组件
+            return getBean(type); // 按类型获取（可能触发创建）
+        }
+        final Object bean = namedBeans.get(name); // 扫描范围之外创建的命名组件
+        if (bean != null) { // 找到
+            return bean; // 直接返回
+        }
+        if (parent != null) { // 子容器：父容器可能创建过同名的非组件 Bean
+            return parent.getBean(name); // 委托父容器（错误同样由父容器报告）
+        }
+        throw new IllegalStateException("No bean named '" + name + "'"); // 没有该名称
     }
 
     /**
-     * 启动容器的入口方法。
-     * <p>
-     * 目标（后续轮次实现）：
-     * 1) 扫描组件类型集合；
-     * 2) 实例化并完成依赖注入；
-     * 3) 执行 {@link InvokeOnStart} 标注的无参方法。
-     */
-    public void start() { // 容器启动入口：扫描组件 → 实例化单例 → 执行启动回调
-        final Set<Class<?>> components = scanComponents(this.basePackage); // 第一步：扫描基础包，找出所有带 @Component 的类型
-        System.out.println("[info] components discovered: " + components.size()); // 可选调试：打印扫描到的组件总数
-
-        for (Class<?> type : components) { // 第二步：实例化所有组件（这一步会填充 singletons）
-            try { // 尝试通过 getBean 触发创建或获取单例
-                Object bean = getBean(type); // 通过 getBean 触发：命中缓存则返回，否则创建并放入缓存（含依赖注入）
-                System.out.println("[init] singleton ready: " + type.getName()); // 可选调试：打印完成实例化的类名
-            } catch (RuntimeException ex) { // 捕获实例化过程中的运行时异常
-                System.out.println("[ERROR] failed to init component: " + type.getName() + " -> " + ex.getMessage()); // 打印错误但不中断后续流程（简化容错）
-            } // try-catch 结束
-        } // 组件实例化循环结束
-
-        invokeStartCallbacks(); // 第三步：执行所有带 @InvokeOnStart 的无参方法
-    } // start 方法结束
-
-    /**
-     * 遍历已创建的单例实例，反射调用所有被 @InvokeOnStart 标注且“无参”的方法。
-     * 对于带参数的方法将跳过并打印警告，避免运行期出错。
-     * 任意一个回调抛出异常时，只打印错误并继续调用其他回调（简单容错策略）。
-     */
-    private void invokeStartCallbacks() { // 启动回调的集中执行逻辑
-        final java.util.Collection<Object> beans = new java.util.ArrayList<>(singletons.values()); // 将当前单例快照出来，避免遍历过程中结构变动（按本项目语义，变动概率很低）
-        for (Object bean : beans) { // 遍历每个单例
-            final Class<?> clazz = bean.getClass(); // 获取运行时类型
-            final java.lang.reflect.Method[] methods = clazz.getDeclaredMethods(); // 列出声明方法
-            for (java.lang.reflect.Method m : methods) { // 遍历方法
-                if (m.isAnnotationPresent(InvokeOnStart.class)) { // 仅处理标注了 @InvokeOnStart 的方法
-                    if (m.getParameterCount() != 0) { // 若方法带参数
-                        System.out.println("[WARN] @InvokeOnStart must be no-arg: "
-                                + clazz.getName() + "#" + m.getName()); // 打印警告并跳过：容器约定只调用无参方法
-                        continue; // 跳过本方法
-                    } // 参数数量检查结束
-                    final boolean old = m.isAccessible(); // 记录旧访问性
-                    if (!old) { // 若为私有方法
-                        m.setAccessible(true); // 打开访问权限
-                    } // 访问权限调整结束
-                    try { // 包裹反射调用，确保异常被捕获
-                        long t0 = System.nanoTime(); // 可选：统计耗时（基础计时）
-                        m.invoke(bean); // 反射调用回调方法
-                        long t1 = System.nanoTime(); // 记录结束时间
-                        System.out.println("[start] invoked: "
-                                + clazz.getName() + "#" + m.getName()
-                                + " (" + (t1 - t0) + " ns)"); // 简要打印调用信息与耗时
-                    } catch (Exception e) { // 捕获调用中的异常
-                        System.out.println("[ERROR] @InvokeOnStart failed on "
-                                + clazz.getName() + "#" + m.getName()
-                                + " -> " + e.getClass().getSimpleName() + ": " + e.getMessage()); // 打印错误但不中断其他回调
-                    } finally { // 无论调用成功与否都执行的收尾逻辑
-                        if (!old) { // 若之前调整过访问权限
-                            m.setAccessible(false); // 恢复访问权限
-                        } // 恢复访问权限结束
-                    } // try-catch-finally 结束
-                } // @InvokeOnStart 判定结束
-            } // 方法遍历结束
-        } // 单例遍历结束
-    } // invokeStartCallbacks 方法结束
+     * 按名称获取 Bean，并检查其类型。
+     *
+     * @param name Bean 名称
+     * @param type 期望的类型（接口、超类或具体类）
+     * @param <T>  类型参数
+     * @return Bean 实例
+     * @throws IllegalStateException 没有该名称的 Bean，或 Bean 不能赋值给 type
+     */
+    public <T> T getBean(String name, Class<T> type) { // 基于名称与类型的 Bean 获取入口
+        if (type == null) { // 防御式编程，避免 NPE
+            throw new IllegalArgumentException("type must not be null"); // 抛出非法参数异常
+        }
+        final Object bean = getBean(name); // 按名称获取
+        if (!type.isInstance(bean)) { // 类型不符
+            throw new IllegalStateException("Bean named '" + name + "' is of type " + bean.getClass().getName()
+                    + ", not assignable to " + type.getName()); // 报告实际类型
+        }
+        return type.cast(bean); // 安全转换
+    }
 
     /**
-     * 扫描基础包下所有被 {@link Component} 标注的类型。
+     * 获取池化组件（{@code @Component(scope = Scope.POOLED)}）的对象池；每个组件一个池，首次调用时创建。
+     * <p>
+     * 热路径上应保存返回的池（或注入 {@code BeanPool<Foo>}），之后只调用 {@link BeanPool#acquire()} 与
+     * {@link BeanPool#release(Object)}，不再经过容器查找。池容量取 {@link Component#poolSize()}，未指定时为处理器数的两倍。
      *
-     * @param basePackage 基础包名，形如 "com.example"
-     * @return 扫描到并经 {@link Component} 过滤的类型集合
+     * @param type 池化组件类型，或其唯一实现类是池化组件的接口/抽象类
+     * @param <T>  类型参数
+     * @return 对象池
+     * @throws IllegalStateException 类型不是池化组件
      */
-    public Set<Class<?>> scanComponents(String basePackage) { // 扫描基础包下的 @Component 类型
-        Objects.requireNonNull(basePackage, "basePackage must not be null"); // 允许外部直接调用时做保护
-        final String trimmedBasePackage = basePackage.trim(); // 去掉首尾空白，避免构造路径时出现多余分隔符
-        if (trimmedBasePackage.isEmpty()) { // 空字符串没有扫描意义
-            throw new IllegalArgumentException("basePackage must not be blank");
+    @SuppressWarnings("unchecked") // 池按实现类创建，实例均可赋值给 T
+    public <T> BeanPool<T> getPool(Class<T> type) { // 对象池获取入口
+        if (type == null) { // 防御式编程，避免 NPE
+            throw new IllegalArgumentException("type must not be null"); // 抛出非法参数异常
         }
+        final BeanPool<?> existing = pools.get(type); // 一次哈希查找
+        if (existing != null) { // 已创建
+            return (BeanPool<T>) existing; // 直接返回
+        }
+        final Class<?> impl = implementationOf(type); // 接口解析为实现类
+        if (InjectionPlan.scopeOf(impl) != Scope.POOLED) { // 不是池化组件
+            throw new IllegalStateException("Not a pooled component: " + impl.getName()); // 快速失败
+        }
+        final BeanPool<?> pool = pools.computeIfAbsent(impl, this::newPool); // 每个实现类只创建一个池
+        pools.putIfAbsent(type, pool); // 接口也登记同一个池
+        return (BeanPool<T>) pool; // 返回池
+    }
 
-        final Set<Class<?>> components = new HashSet<>(); // 使用 HashSet 去重并保持 O(1) 查找
+    @SuppressWarnings("unchecked") // Class<?> 转为 Class<Object>，池只按该类型检查归还的实例
+    private BeanPool<?> newPool(Class<?> type) { // 创建对象池
+        final Component comp = type.getAnnotation(Component.class); // 组件注解
+        final int capacity = comp != null && comp.poolSize() > 0
+                ? comp.poolSize() : Runtime.getRuntime().availableProcessors() * 2; // 容量
+        final InjectionPlan plan = planFor(type); // 注入计划（创建与重置共用）
+        final java.util.function.Consumer<Object> reset = plan.resetMethods.length == 0
+                ? null : instance -> resetPooled(plan, instance); // 重置动作
+        return new BeanPool<>((Class<Object>) type, capacity, () -> createInstance(type), reset); // 构造池
+    }
 
-        final String path = trimmedBasePackage.replace('.', '/'); // 类路径资源使用斜杠分隔
+    private void resetPooled(InjectionPlan plan, Object instance) { // 调用 @OnRelease 方法
+        final MemberLinker.Invoker[] resetters = factoriesOf(plan).resetters; // 与 resetMethods 一一对应
+        for (int i = 0; i < resetters.length; i++) { // 按声明顺序调用
+            try { // 重置方法可能抛出异常
+                resetters[i].invoke(instance); // 调用
+            } catch (java.lang.reflect.InvocationTargetException e) { // 反射调用的异常包装
+                throw new IllegalStateException("@OnRelease failed on " + plan.type.getName() + "#"
+                        + plan.resetMethods[i].getName() + ", instance discarded", e.getCause()); // 保留原始原因
+            } catch (ReflectiveOperationException | RuntimeException e) { // 链接调用直接抛出的异常
+                throw new IllegalStateException("@OnRelease failed on " + plan.type.getName() + "#"
+                        + plan.resetMethods[i].getName() + ", instance discarded", e); // 保留原始原因
+            }
+        }
+    }
 
-        try { // 包裹整体扫描逻辑以捕获异常
-            ClassLoader cl = Thread.currentThread().getContextClassLoader(); // 优先使用上下文类加载器
-            if (cl == null) { // 某些运行时（例如早期的单元测试）可能返回 null
-                cl = Container.class.getClassLoader(); // 回落到容器类自身的类加载器
+    /**
+     * 按作用域获取非单例组件的实例：租户组件每个容器一个，原型每次新建，线程作用域取当前线程的实例。
+     *
+     * @param type 组件类型（具体类）
+     * @return 实例
+     * @throws IllegalStateException 池化组件（必须通过对象池借出）
+     */
+    private Object scopedInstance(Class<?> type) { // 非单例组件的获取
+        final Scope scope = InjectionPlan.scopeOf(type); // 作用域
+        if (scope == Scope.TENANT) { // 租户组件：本容器内唯一
+            return createSingleton(type); // 与单例相同的“只创建一次”路径，实例保存在本容器
+        }
+        if (scope == Scope.PROTOTYPE) { // 原型
+            return createInstance(type); // 按缓存的注入计划新建
+        }
+        if (scope == Scope.THREAD) { // 线程作用域
+            ThreadLocal<Object> local = threadScoped.get(type); // 该类型的线程本地槽位
+            if (local == null) { // 首次使用
+                local = threadScoped.computeIfAbsent(type, k -> new ThreadLocal<>()); // 每个类型一个
             }
-            if (cl == null) { // 仍然为 null 时无法继续扫描
-                throw new IllegalStateException("No ClassLoader available for component scanning");
+            Object bean = local.get(); // 当前线程的实例
+            if (bean == null) { // 当前线程首次获取
+                bean = createInstance(type); // 新建
+                local.set(bean); // 保存
             }
-            final java.util.Enumeration<java.net.URL> resources = cl.getResources(path); // 列举所有同名资源
+            return bean; // 返回实例
+        }
+        final String simple = type.getSimpleName(); // 用于提示
+        throw new IllegalStateException("Pooled component " + type.getName() + " must be borrowed through getPool("
+                + simple + ".class) or an injected BeanPool<" + simple + ">"); // 池化组件
+    }
 
-            while (resources.hasMoreElements()) { // 逐个资源处理
-                final java.net.URL url = resources.nextElement(); // 取出一个资源 URL
-                final String protocol = url.getProtocol(); // 协议可能是 "file" 或 "jar"
+    private Class<?> scopedImplementationOf(Class<?> type) { // 类型（或其唯一实现类）是非单例组件时返回实现类
+        final Class<?> impl; // 实现类
+        try { // 接口可能无法解析
+            impl = implementationOf(type); // 具体类返回自身
+        } catch (IllegalStateException e) { // 无法解析
+            return null; // 按未登记处理
+        }
+        return InjectionPlan.scopeOf(impl) != Scope.SINGLETON ? impl : null; // 只返回非单例组件
+    }
 
-                if ("file".equals(protocol)) { // 文件系统场景
-                    final String filePath = java.net.URLDecoder.decode(url.getFile(), "UTF-8"); // 解码后得到实际文件路径
-                    final java.io.File dir = new java.io.File(filePath); // 将路径包装成 File
-                    scanDirectory(trimmedBasePackage, dir, components, cl); // 委托目录扫描方法
-                } else if ("jar".equals(protocol)) { // JAR 包场景
-                    scanJarEntries(path, components, cl, url); // 委托 JAR 扫描方法
-                } else { // 其他协议
-                    // 保持容器健壮性：不因未知协议而失败
-                } // 协议分支结束
-            } // 资源遍历结束
-        } catch (Exception e) { // 捕获并汇总所有扫描过程的异常
-            System.out.println("[WARN] scanComponents failed: " + e.getMessage()); // 打印异常摘要
-        } // try-catch 结束
+    /**
+     * 冻结后查找失败时的异常：说明类型为何不在注册表中。
+     *
+     * @param type 查找的类型
+     * @return 异常
+     */
+    private IllegalStateException frozenMiss(Class<?> type) { // 构造冻结后的查找异常
+        String reason = InjectionPlan.isConcrete(type) ? null : typeIndex.problemOf(type); // 接口/抽象类可能本身无法唯一解析
+        if (reason == null) { // 类型可以解析，只是没有实例
+            reason = "no singleton was created before freeze for type: " + type.getName(); // 冻结前未创建
+        }
+        return new IllegalStateException("Container is frozen; " + reason); // 统一前缀
+    }
 
-        return components; // 返回收集到的组件类型集合
-    } // scanComponents 方法结束
+    /**
+     * 获取全部可赋值给 type 的单例组件实例（含 type 自身，若它是组件；原型、池化、线程组件不包含在内）。
+     * <p>
+     * 实现类列表来自 {@link #start()} 时构建的可赋值索引；实例列表在首次查询时创建（延迟组件也会在此时创建），
+     * 之后同一类型的查询直接返回缓存的只读列表。
+     *
+     * @param type 超类型、接口或具体类
+     * @param <T>  类型参数
+     * @return 只读实例列表（按实现类名排序）；没有实现类时为空列表
+     * @throws IllegalStateException 某个实现类无法创建时抛出（不缓存，下次查询会重试）
+     */
+    @SuppressWarnings("unchecked") // 列表中的实例均可赋值给 T
+    public <T> java.util.List<T> getBeansOfType(Class<T> type) { // 按超类型获取全部 Bean
+        if (type == null) { // 防御式编程，避免 NPE
+            throw new IllegalArgumentException("type must not be null"); // 抛出非法参数异常
+        }
+        if (parent != null) { // 子容器：单例都在父容器中
+            return parent.getBeansOfType(type); // 委托父容器
+        }
+        final Map<Class<?>, java.util.List<?>> cache = beansOfType; // 读取当前缓存
+        final java.util.List<?> cached = cache.get(type); // 一次哈希查找
+        if (cached != null) { // 命中
+            return (java.util.List<T>) cached; // 直接返回只读列表
+        }
+        final java.util.List<Class<?>> impls = typeIndex.implementationsOf(type); // 预先计算的实现类
+        final java.util.List<Object> beans = new java.util.ArrayList<>(impls.size()); // 实例列表
+        for (Class<?> impl : impls) { // 逐个获取
+            if (InjectionPlan.scopeOf(impl) == Scope.SINGLETON) { // 只包含单例（非单例组件的实例不能缓存在列表中）
+                beans.add(getBean(impl)); // 未创建的实现类在此创建
+            }
+        }
+        final java.util.List<T> result = (java.util.List<T>) java.util.Collections.unmodifiableList(beans); // 只读包装
+        cache.putIfAbsent(type, result); // 发布（并发时保留先到者，结果等价）
+        return result; // 返回列表
+    }
 
     /**
-     * 递归扫描目录，查找以 .class 结尾的文件，并尝试按包名推导加载为 Class。
-     *
-     * @param basePackage 基础包名（如 "com.example"）
-     * @param dir         起始目录（与 basePackage 对应的物理路径）
-     * @param out         扫描结果输出集合
-     * @param cl          用于加载类的类加载器
-     */
-    private void scanDirectory(String basePackage,
-                               java.io.File dir,
-                               Set<Class<?>> out,
-                               ClassLoader cl) { // 遍历文件系统目录
-        if (dir == null || !dir.exists()) { // 若目录不存在，直接返回
-            return; // 安全兜底
-        } // 目录存在性检查结束
-        final java.io.File[] files = dir.listFiles(); // 列出目录下的所有文件与子目录
-        if (files == null) { // I/O 异常或无权限时可能返回 null
-            return; // 安全兜底
-        } // 文件列表获取结束
-        for (java.io.File f : files) { // 逐项遍历
-            if (f.isDirectory()) { // 子目录
-                final String subPackage = basePackage + "." + f.getName(); // 拼接子包名
-                scanDirectory(subPackage, f, out, cl); // 深度优先遍历
-            } else if (f.getName().endsWith(".class")) { // 命中字节码文件
-                final String simpleClassName = f.getName().substring(0, f.getName().length() - 6); // 6 为 ".class" 长度
-                final String fqcn = basePackage + "." + simpleClassName; // 生成 FQCN
-                maybeAddComponentClass(fqcn, out, cl); // 委托统一的类加载与判定方法
-            } // 文件类型分支结束
-        } // for 循环结束
-    } // scanDirectory 方法结束
-
-    /**
-     * 扫描 JAR 包条目，筛选匹配 path 的 .class 并尝试加载为 Class。
-     *
-     * @param resourcePath 包路径形式（如 "com/example"）
-     * @param out          扫描结果输出集合
-     * @param cl           用于加载类的类加载器
-     * @param url          指向 JAR 资源的 URL
-     */
-    private void scanJarEntries(String resourcePath,
-                                Set<Class<?>> out,
-                                ClassLoader cl,
-                                java.net.URL url) { // 遍历 JAR 中的条目
-        try { // 捕获 JAR 访问异常
-            final java.net.JarURLConnection conn = (java.net.JarURLConnection) url.openConnection(); // 打开连接
-            try (java.util.jar.JarFile jar = conn.getJarFile()) { // 使用 try-with-resources 确保资源关闭
-                final java.util.Enumeration<java.util.jar.JarEntry> entries = jar.entries(); // 遍历 JAR 内所有条目
-                while (entries.hasMoreElements()) { // 逐条处理
-                    final java.util.jar.JarEntry entry = entries.nextElement(); // 取出一个条目
-                    final String name = entry.getName(); // 形如 "com/example/Foo.class"
-
-                    if (name.startsWith(resourcePath) && name.endsWith(".class") && !entry.isDirectory()) { // 过滤条件
-                        final String fqcn = name
-                                .substring(0, name.length() - 6) // 去掉 ".class"
-                                .replace('/', '.'); // 将路径分隔符替换为包名分隔符
-                        maybeAddComponentClass(fqcn, out, cl); // 统一处理
-                    } // 条目过滤结束
-                } // JAR 条目遍历结束
-            }
-        } catch (Exception e) { // 捕获连接与遍历过程中的异常
-            System.out.println("[WARN] scanJarEntries failed: " + e.getMessage()); // 输出异常信息
-        } // try-catch 结束
-    } // scanJarEntries 方法结束
+     * 将接口或抽象类解析为唯一的已登记组件（可赋值索引中的一次哈希查找）。
+     *
+     * @param type 类型
+     * @return 具体类原样返回；否则为唯一可赋值给 type 的已登记组件
+     * @throws IllegalStateException 没有或存在多个实现类时抛出
+     */
+    private Class<?> implementationOf(Class<?> type) { // 接口 -> 实现类
+        if (InjectionPlan.isConcrete(type)) { // 具体类
+            return type; // 无需解析
+        }
+        return typeIndex.implementationOf(type); // 唯一实现类与错误信息均已预先计算
+    }
 
     /**
-     * 根据 FQCN 尝试加载类；若带有 @Component 注解，则加入结果集合。
+     * 收集组件的 {@code @Component} 名称，并在扫描阶段发现重复名称。
      *
-     * @param fqcn 完全限定类名（Fully Qualified Class Name）
-     * @param out  扫描结果输出集合
-     * @param cl   用于加载类的类加载器
+     * @param components 已登记的组件
+     * @return 名称 -> 组件类型
+     * @throws IllegalStateException 两个组件声明了同一个名称
      */
-    private void maybeAddComponentClass(String fqcn,
-                                        Set<Class<?>> out,
-                                        ClassLoader cl) { // 统一的类加载与注解判定
-        try { // 捕获类加载异常
-            final Class<?> clazz = Class.forName(fqcn, false, cl); // 使用 doInitialize=false 降低副作用
-            if (clazz.isAnnotationPresent(Component.class)) { // 仅收集带注解的类型
-                out.add(clazz); // 放入输出集合
-            } // 注解判定结束
-        } catch (Throwable ex) { // 捕获所有可能的错误与异常
-            System.out.println("[DEBUG] skip class load: " + fqcn + " -> " + ex.getClass().getSimpleName()); // 调试输出
-        } // try-catch 结束
-    } // maybeAddComponentClass 方法结束
+    private static Map<String, Class<?>> namesOf(Set<Class<?>> components) { // 名称收集与查重
+        final Map<String, Class<?>> names = new java.util.HashMap<>(); // 名称 -> 类型
+        for (Class<?> type : components) { // 遍历组件
+            final String name = beanNameOf(type); // 声明的名称
+            if (name == null) { // 未命名
+                continue; // 跳过
+            }
+            final Class<?> previous = names.putIfAbsent(name, type); // 登记
+            if (previous != null && previous != type) { // 同名的另一个组件
+                throw new IllegalStateException("Duplicate bean name '" + name + "': "
+                        + previous.getName() + ", " + type.getName()); // 快速失败
+            }
+        }
+        return names; // 返回名称表
+    }
 
     /**
-     * 根据类型获取（或创建）Bean 实例。
-     * <p>
-     * 逻辑（后续实现）：
-     * 1) 命中单例缓存直接返回；
-     * 2) 未命中则调用 {@link #createInstance(Class)} 创建并缓存；
-     * 3) 支持按类型解析与（可选）按名称解析。
+     * 读取组件声明的名称（{@code @Component("name")}，去掉首尾空白）。
      *
-     * @param type 需要获取的 Bean 类型
-     * @param <T>  类型参数，表示返回的具体泛型类型
-     * @return 对应类型的单例实例；本轮返回 null 作为占位
+     * @param type 类型
+     * @return 名称；未标注或未命名时返回 null
      */
-    @SuppressWarnings("unchecked") // 抑制泛型转换告警：Map 按类型保存，读取时需要强转
-    public <T> T getBean(Class<T> type) { // 基于类型的 Bean 获取入口
-        if (type == null) { // 防御式编程，避免 NPE
-            throw new IllegalArgumentException("type must not be null"); // 抛出非法参数异常
+    private static String beanNameOf(Class<?> type) { // 组件名称
+        final Component comp = type.getAnnotation(Component.class); // 获取 @Component 注解（若有）
+        if (comp == null) { // 非组件
+            return null; // 无名称
         }
+        final String name = comp.value().trim(); // 去掉首尾空白
+        return name.isEmpty() ? null : name; // 空字符串表示未命名
+    }
 
-        final Object cached = singletons.get(type); // 从单例 Map 中按类型查找
-        if (cached != null) { // 如果已存在实例
-            return (T) cached; // 直接强转返回
+    /**
+     * 启动时检查全部组件的注入点：接口或抽象类型的依赖没有实现类、或存在多个实现类时打印警告，
+     * 而不是等到创建（或首次使用延迟引用）时才发现。
+     *
+     * @param components 组件类型
+     */
+    private void reportUnresolvedDependencies(Set<Class<?>> components) { // 启动期歧义报告
+        for (Class<?> type : components) { // 遍历组件
+            final InjectionPlan plan; // 注入计划
+            try { // 计划可能无法计算（由实例化阶段报告）
+                plan = planFor(type); // 取出注入计划
+            } catch (RuntimeException e) { // 配置错误
+                continue; // 留给实例化阶段
+            }
+            final Set<String> problems = new java.util.LinkedHashSet<>(); // 去重后的问题
+            addProblems(problems, plan.constructorDependencies, plan.constructorNames); // 构造器参数
+            addProblems(problems, plan.fieldDependencies, plan.fieldNames); // 注入字段
+            for (String problem : problems) { // 逐个报告
+                if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.WARN, "unresolved dependency in " + type.getName() + " -> " + problem); // 启动时报告
+                }
+            }
+        }
+    }
+
+    /**
+     * 启动时报告声明了 {@code @Timed} 却没有生成计时子类的组件：这些组件只有接口类型的注入点会计时。
+     *
+     * @param components 组件类型
+     */
+    private void reportUninstrumented(Set<Class<?>> components) { // 计时子类缺失报告
+        for (Class<?> type : components) { // 遍历组件
+            if (TimedMethods.isTimed(type) && TimedMethods.subclassOf(type) == null) { // 有计时方法但没有子类
+                if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.WARN, "no timed subclass for " + type.getName()
+                            + " (final class, or compiled without TimedSubclassProcessor); only interface injection points are timed"); // 提示启用处理器
+                }
+            }
         }
+    }
 
-        final T instance = createInstance(type); // 委托实例化方法（Round 6 再扩展 DI）
-        if (instance == null) { // 安全兜底：应当不会为 null
-            throw new IllegalStateException("createInstance returned null for type: " + type.getName()); // 失败即报错
+    private void addProblems(Set<String> out, Class<?>[] deps, String[] names) { // 检查一组注入点
+        for (int i = 0; i < deps.length; i++) { // 逐个检查
+            final Class<?> dep = deps[i]; // 依赖类型
+            if (names[i] != null) { // 按名称注入：名称必须存在且类型可赋值
+                final Class<?> named = componentNames.get(names[i]); // 名称索引
+                if (named == null) { // 没有该名称
+                    out.add("No component named '" + names[i] + "'"); // 缺失
+                } else if (!dep.isAssignableFrom(named)) { // 类型不符
+                    out.add("Component named '" + names[i] + "' (" + named.getName() + ") is not assignable to " + dep.getName()); // 类型不符
+                }
+            } else if (!InjectionPlan.isConcrete(dep) && !dep.isPrimitive() && !dep.isArray()) { // 需要通过索引解析的类型
+                final String problem = typeIndex.problemOf(dep); // 预先计算的诊断
+                if (problem != null) { // 无法唯一解析
+                    out.add(problem); // 记录
+                }
+            }
         }
+    }
 
-        putSingleton(type, instance); // 统一入口，负责写 singletons 与 namedBeans
+    /**
+     * 判断组件是否延迟创建：容器开启了 {@link ContainerOptions#lazyInitEnabled(boolean)}，或类型标注了 {@link Lazy}。
+     *
+     * @param type 组件类型
+     * @return 延迟创建返回 true
+     */
+    private boolean isLazy(Class<?> type) { // 延迟判定
+        return options.isLazyInitEnabled() || type.isAnnotationPresent(Lazy.class); // 容器级或类型级
+    }
 
+    /**
+     * 单例创建的慢路径：抢到创建权的线程负责创建，其余线程等待同一份结果。
+     *
+     * @param type 需要创建的 Bean 类型
+     * @return 单例实例
+     */
+    private Object createSingleton(Class<?> type) { // 每个类型只创建一次
+        final Creation mine = new Creation(); // 本线程的创建记录
+        final Creation existing = creations.putIfAbsent(type, mine); // 尝试抢占创建权
+        if (existing != null) { // 其他线程（或本线程更早的调用）正在创建
+            return awaitCreation(type, existing); // 等待其结果
+        }
+        try { // 本线程负责创建
+            final Object cached = singletons.get(type); // 二次检查：上一个创建者可能刚刚完成并移除了记录
+            if (cached != null) { // 已经创建完成
+                mine.succeed(cached); // 让可能的等待者直接拿到结果
+                return cached; // 直接返回
+            }
+            final Object event = events.beginBean(); // 单例创建事件
+            final long begin = System.nanoTime(); // 创建开始时间
+            final long[] timing = new long[2]; // 构造器耗时、字段赋值耗时
+            try { // 记录成功或失败
+                final Object instance = createInstance(type, timing); // 委托实例化方法（含依赖注入）
+                if (instance == null) { // 安全兜底：应当不会为 null
+                    throw new IllegalStateException("createInstance returned null for type: " + type.getName()); // 失败即报错
+                }
+                putSingleton(type, instance); // 统一入口，负责写 singletons 与 namedBeans（先写缓存，再移除创建记录）
+                recordBean(event, type, begin, timing[0], timing[1], null); // 记录创建指标
+                mine.succeed(instance); // 唤醒等待者
+            } catch (RuntimeException | Error e) { // 创建失败：记录原因后交给外层
+                recordBean(event, type, begin, timing[0], timing[1], MetricsRecorder.describe(e)); // 记录失败原因
+                throw e; // 原样抛出
+            }
+        } catch (RuntimeException | Error e) { // 创建失败
+            mine.fail(e); // 等待者同样失败；下一次 getBean 会重新尝试创建
+            throw e; // 原样抛给本线程的调用方
+        } finally { // 无论成功与否都释放创建权
+            creations.remove(type, mine); // 仅移除自己的记录
+        }
+        final Object instance = singletons.get(type); // 刚写入的单例
+        invokeLateCallbacks(type, instance); // 启动之后才创建的 Bean：执行自己的回调
         return instance; // 返回单例
     }
 
+    /**
+     * 启动回调阶段开始之后才创建的 Bean（通常是延迟组件）：在创建线程中立即执行其 {@link InvokeOnStart} 回调。
+     * 失败只打印错误，不影响本次 getBean 的结果。
+     *
+     * @param type     Bean 类型
+     * @param instance Bean 实例
+     */
+    private void invokeLateCallbacks(Class<?> type, Object instance) { // 延迟 Bean 的启动回调
+        if (!started || !callbacksClaimed.add(type)) { // 尚未启动，或回调已由启动阶段认领
+            return; // 无需执行
+        }
+        final InjectionPlan plan = planFor(type); // 取出注入计划
+        final InjectionPlan.Factories factories = factoriesOf(plan); // 取出调用工厂
+        for (int i = 0; i < plan.startMethods.length; i++) { // 按声明顺序
+            try { // 回调可能抛出异常
+                factories.invokers[i].invoke(instance); // 调用回调
+            } catch (ReflectiveOperationException e) { // 回调失败
+                final Throwable cause = e.getCause() != null ? e.getCause() : e; // 去掉包装
+                if (log.isEnabled(LogSink.Level.ERROR)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.ERROR, "@InvokeOnStart failed on "
+                            + type.getName() + "#" + plan.startMethods[i].getName()
+                            + " -> " + cause.getClass().getSimpleName() + ": " + cause.getMessage()); // 打印错误
+                }
+            }
+        }
+    }
+
+    /**
+     * 等待其他线程完成某个类型的创建；若等待会形成环（对方直接或间接在等待本线程），则按循环依赖报错。
+     *
+     * @param type    正在创建的类型
+     * @param pending 对应的创建记录
+     * @return 创建完成的单例
+     */
+    private Object awaitCreation(Class<?> type, Creation pending) { // 等待其他线程的创建结果
+        final Thread self = Thread.currentThread(); // 当前线程
+        synchronized (waiting) { // “检查是否成环 + 登记等待”必须是原子的，否则两个线程可能同时漏判
+            for (Creation c = pending; c != null && !c.isDone(); c = waiting.get(c.owner)) { // 沿“创建者正在等待谁”向前追溯
+                if (c.owner == self) { // 追溯回到了本线程：同线程重入或跨线程互相等待
+                    throw new IllegalStateException("Circular dependency detected while creating: " + type.getName()); // 与单线程时相同的错误
+                }
+            }
+            waiting.put(self, pending); // 登记本线程正在等待的记录
+        }
+        final Object span = tracer.begin(StartupTrace.Kind.WAIT, type, null); // 等待时间片（从使用方的自身耗时中扣除）
+        try { // 阻塞等待
+            return pending.await(type); // 返回创建者的结果
+        } finally { // 无论结果如何都撤销登记
+            tracer.end(span); // 结束时间片
+            synchronized (waiting) { // 与检查使用同一把锁
+                waiting.remove(self); // 撤销等待关系
+            }
+        }
+    }
+
     /**
      * 创建指定类型的实例，并完成依赖注入。
      * <p>
-     * 逻辑（后续实现）：
+     * 逻辑：
      * 1) 构造器注入：优先选择带 {@link Inject} 的构造器；无则尝试无参构造器；
      * 2) 字段注入：为带 {@link Inject} 的字段赋值（含私有字段可访问性处理）；
      * 3) 循环依赖：本项目不支持直接的 A↔B 循环，需在实现中检测并报错。
+     * <p>
+     * 构造器与字段的选择结果缓存在 {@link InjectionPlan} 中，同一类型只反射解析一次。
      *
      * @param type 目标类型
      * @param <T>  返回泛型
-     * @return 新创建的实例；本轮返回 null 作为占位
+     * @return 新创建的实例
      */
-    @SuppressWarnings("unchecked") // 反射创建后需要强转到目标类型
     public <T> T createInstance(Class<T> type) { // 依赖注入版实例创建：构造器优先 + 字段注入
-        if (inCreation.contains(type)) { // 循环依赖检测：若 type 已在创建链中，说明出现了 A↔B 或更长环路
+        return createInstance(type, null); // 不计时
+    }
+
+    private <T> T createInstance(Class<T> type, long[] timing) { // timing 非空时累加构造器耗时 [0] 与字段赋值耗时 [1]
+        final Set<Class<?>> chain = inCreation.get(); // 当前线程的创建链（线程之间互不影响）
+        if (chain.contains(type)) { // 循环依赖检测：若 type 已在创建链中，说明出现了 A↔B 或更长环路
             throw new IllegalStateException("Circular dependency detected while creating: " + type.getName()); // 抛出清晰错误
         } // 循环依赖判定结束
-        inCreation.add(type); // 将当前类型加入“正在创建”集合
+        chain.add(type); // 将当前类型加入“正在创建”集合
+        final Object span = tracer.begin(StartupTrace.Kind.BEAN, type, null); // 追踪令牌（未开启时为 null；递归创建的依赖嵌套在内）
         try { // 捕获整个创建流程中的反射异常
-            final java.lang.reflect.Constructor<T> ctor = findInjectConstructor(type); // 查找注入构造器（允许为 null）
-            final T instance; // 预先声明实例变量
-            if (ctor != null) { // 找到了唯一的 @Inject 构造器
-                final Object[] args = resolveConstructorArgs(ctor); // 解析构造器参数（递归 getBean）
-                if (!ctor.isAccessible()) { // 确保可访问
-                    ctor.setAccessible(true); // 打开访问权限
-                } // 可访问性处理结束
-                instance = ctor.newInstance(args); // 使用注入构造器创建实例
-            } else { // 没有 @Inject 构造器，退回到无参构造器策略
-                final java.lang.reflect.Constructor<T> noArg = type.getDeclaredConstructor(); // 获取无参构造器
-                if (!noArg.isAccessible()) { // 私有构造器也允许
-                    noArg.setAccessible(true); // 打开访问权限
-                } // 可访问性处理结束
-                instance = noArg.newInstance(); // 通过无参构造器创建实例
-            } // 构造器分支结束
-            performFieldInjection(instance); // 字段注入：为所有带 @Inject 的字段赋值（私有字段允许）
+            final InjectionPlan plan = planFor(type); // 取出（或首次计算）注入计划
+            final Object[] args = resolveConstructorArgs(plan); // 解析构造器参数（递归 getBean）
+            final long t0 = timing == null ? 0L : System.nanoTime(); // 构造开始时间（只在计时时读取时钟）
+            final Object constructSpan = tracer.begin(StartupTrace.Kind.CONSTRUCT, type, "constructor"); // 构造器时间片
+            final T instance; // 新实例
+            try { // 构造器可能抛出
+                instance = type.cast(factoriesOf(plan).instantiator.newInstance(args)); // 使用计划选定的构造器创建实例
+            } finally { // 无论成败都结束时间片
+                tracer.end(constructSpan); // 结束
+            }
+            if (timing != null) { // 需要计时
+                timing[0] += System.nanoTime() - t0; // 构造耗时（不含参数解析）
+            }
+            bindTimers(plan, instance); // 计时子类绑定记录器
+            final Object injectSpan = tracer.begin(StartupTrace.Kind.INJECT, type, "inject"); // 字段注入时间片
+            try { // 字段注入可能失败
+                performFieldInjection(instance, plan, timing); // 字段注入：为所有带 @Inject 的字段赋值（私有字段允许）
+            } finally { // 无论成败都结束时间片
+                tracer.end(injectSpan); // 结束
+            }
             return instance; // 返回完成注入的实例（注意：放入单例缓存在 getBean 中统一处理）
-        } catch (NoSuchMethodException e) { // 不存在无参构造器且也没有 @Inject 构造器
-            throw new IllegalStateException("No suitable constructor for type: " + type.getName()
-                    + ". Provide an @Inject constructor or a no-arg constructor.", e); // 指引修复方式
-        } catch (ReflectiveOperationException e) { // 反射期间出现的其余异常
+        } catch (ReflectiveOperationException e) { // 反射期间出现的异常
             throw new IllegalStateException("Failed to instantiate type: " + type.getName(), e); // 包装为运行时异常
         } finally { // 确保无论成功或失败都移除标记
-            inCreation.remove(type); // 创建结束：务必从“正在创建”集合中移除，避免误判
+            tracer.end(span); // 结束时间片
+            chain.remove(type); // 创建结束：务必从“正在创建”集合中移除，避免误判
+            if (chain.isEmpty()) { // 整条创建链已结束
+                inCreation.remove(); // 释放线程本地集合，避免线程池中的长寿命线程持有
+            }
         } // finally 结束
     } // createInstance 方法结束
 
     /**
-     * 查找标注了 @Inject 的唯一构造器。
-     * 若不存在返回 null；若存在多个，抛出异常提示开发者修正。
+     * 实例是生成的计时子类时，为其绑定本容器中各方法的记录器（在字段注入之前，实例尚未发布）。
+     *
+     * @param plan     实例类型的注入计划
+     * @param instance 刚构造的实例
+     */
+    private void bindTimers(InjectionPlan plan, Object instance) { // 绑定记录器
+        if (instance instanceof Instrumented) { // 只有计时子类需要绑定
+            ((Instrumented) instance).bindTimers(method -> timerFor(plan.type, method)); // 按签名取得记录器
+        }
+    }
+
+    /**
+     * 取得（或首次创建）某个组件方法的记录器。
+     *
+     * @param type   组件类型（声明 {@code @Timed} 的类）
+     * @param method 方法签名
+     * @return 记录器
+     */
+    private MethodTimer timerFor(Class<?> type, String method) { // 记录器查找
+        return timers.computeIfAbsent(type, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, m -> new MethodTimer(type, m, TimedMethods.sampleEvery(type, m))); // 每个方法一个
+    }
+
+    /**
+     * 没有计时子类的 {@code @Timed} 组件注入到接口类型的注入点时，包装为计时代理；其余情况原样返回。
+     *
+     * @param type 注入点的接口类型
+     * @param bean 注入值
+     * @return 计时代理或原注入值
+     */
+    private Object timedView(Class<?> type, Object bean) { // 计时代理
+        if (bean instanceof Instrumented || !TimedMethods.isTimed(bean.getClass())) { // 已由子类计时，或不需要计时
+            return bean; // 原样返回
+        }
+        final Class<?> impl = bean.getClass(); // 实现类
+        return TimedMethods.proxy(type, bean, method -> timerFor(impl, method)); // 接口代理
+    }
+
+    /**
+     * 获取类型的注入计划；扫描缓存提供了元数据时按名称精确定位成员。
+     *
+     * @param type 目标类型
+     * @return 注入计划（全局缓存，跨容器复用；关闭计划缓存时每次新算）
+     */
+    private InjectionPlan planFor(Class<?> type) { // 注入计划的统一入口
+        if (!options.isInjectionPlanCacheEnabled()) { // 基准对照：缓存之前的反射路径
+            return InjectionPlan.uncached(type, log); // 重新反射
+        }
+        return InjectionPlan.forType(type, metadata.get(type), log); // 委托全局计划缓存
+    } // planFor 方法结束
+
+    /**
+     * 按配置选择调用工厂：链接后的工厂（默认）或普通反射；关闭计划缓存时总是普通反射。
+     *
+     * @param plan 注入计划
+     * @return 调用工厂
      */
-    private <T> java.lang.reflect.Constructor<T> findInjectConstructor(Class<T> type) { // 选择注入构造器
-        java.lang.reflect.Constructor<?>[] ctors = type.getDeclaredConstructors(); // 获取所有构造器
-        java.lang.reflect.Constructor<T> found = null; // 记录唯一的注入构造器
-        for (java.lang.reflect.Constructor<?> c : ctors) { // 遍历构造器
-            if (c.isAnnotationPresent(Inject.class)) { // 该构造器带有 @Inject
-                if (found != null) { // 已经找到过一个，再遇到第二个则冲突
-                    throw new IllegalStateException("Multiple @Inject constructors in: " + type.getName()); // 报错
-                } // 冲突判定结束
-                @SuppressWarnings("unchecked") // 向下转型到目标类型构造器
-                java.lang.reflect.Constructor<T> cast = (java.lang.reflect.Constructor<T>) c; // 安全转换
-                found = cast; // 记录该构造器
-            } // 注解判定结束
-        } // 构造器遍历结束
-        return found; // 可能为 null（表示无 @Inject 构造器）
-    } // findInjectConstructor 方法结束
+    private InjectionPlan.Factories factoriesOf(InjectionPlan plan) { // 工厂选择
+        return options.isLinkedFactoriesEnabled() && options.isInjectionPlanCacheEnabled()
+                ? plan.linked(log) : plan.reflective(); // 两种工厂都缓存在计划上
+    } // factoriesOf 方法结束
 
     /**
      * 解析构造器参数：对每个参数类型递归获取 Bean。
      *
-     * @param ctor 目标构造器（已选定）
+     * @param plan 目标类型的注入计划
      * @return 参数实例数组，与构造器参数顺序一致
      */
-    private Object[] resolveConstructorArgs(java.lang.reflect.Constructor<?> ctor) { // 解析构造器参数
-        final Class<?>[] paramTypes = ctor.getParameterTypes(); // 获取参数类型数组
+    private Object[] resolveConstructorArgs(InjectionPlan plan) { // 解析构造器参数
+        final Class<?>[] paramTypes = plan.constructorDependencies; // 计划中预先提取的参数类型
         final Object[] args = new Object[paramTypes.length]; // 准备承载参数实例的数组
         for (int i = 0; i < paramTypes.length; i++) { // 顺序解析
-            args[i] = getBean(paramTypes[i]); // 递归获取对应类型的 Bean（可能触发进一步实例化）
+            args[i] = resolveDependency(paramTypes[i], plan.constructorKinds[i], plan.constructorNames[i]); // 递归获取对应类型的 Bean（可能触发进一步实例化）
         } // 参数解析循环结束
         return args; // 返回已解析的参数实例数组
     } // resolveConstructorArgs 方法结束
 
     /**
-     * 对实例执行字段注入：为所有带 @Inject 的字段赋值。
+     * 解析单个注入点的值。
+     * <p>
+     * {@link Deferred} 注入点得到持有者，{@link Provider} 注入点得到提供者，{@link BeanPool} 注入点得到对象池；实现类是线程作用域组件的接口依赖
+     * 得到按当前线程转发的代理；接口类型的依赖在注入点标注 {@link Lazy}、容器处于延迟模式、
+     * 或其实现类是延迟组件时得到延迟代理；其余情况立即获取（原型组件每个注入点一个新实例）。
+     * 实现类声明了 {@code @Timed} 却没有计时子类时，接口注入点得到计时代理。
+     * 带名称限定的注入点按 {@link #getBean(String, Class)} 获取。
+     *
+     * @param type 依赖类型（Deferred/Provider/BeanPool 注入点为其类型参数）
+     * @param kind 注入方式（见 {@link InjectionPlan#DIRECT} 等常量）
+     * @param name 名称限定；未限定为 null
+     * @return 注入值
+     */
+    private Object resolveDependency(Class<?> type, byte kind, String name) { // 注入值解析
+        if (kind == InjectionPlan.POOL) { // 对象池注入
+            final Class<?> pooled = name == null ? type : componentNamed(name); // 按类型或名称定位池化组件
+            return getPool(pooled); // 池本身立即注入
+        }
+        if (kind == InjectionPlan.DEFERRED) { // 持有者注入
+            return LazyReferences.deferred(() -> lookup(type, name)); // 首次 get 时创建
+        }
+        if (kind == InjectionPlan.PROVIDER) { // 提供者注入
+            return LazyReferences.provider(() -> providerSource(type, name),
+                    () -> type.isInterface() ? timedView(type, lookup(type, name)) : lookup(type, name)); // 首次 get 时绑定
+        }
+        if (type.isInterface()) { // 接口依赖
+            final Class<?> scoped = name == null ? scopedImplementationOf(type) : componentNames.get(name); // 不抛出：无法解析时留给获取时报告
+            if (scoped != null && InjectionPlan.scopeOf(scoped) == Scope.THREAD) { // 线程作用域
+                return LazyReferences.routing(type, () -> lookup(type, name)); // 每次调用都转发到当前线程的实例
+            }
+            if (isDeferredInterface(type, kind, name)) { // 延迟注入
+                return LazyReferences.proxy(type, () -> timedView(type, lookup(type, name))); // 首次调用方法时创建
+            }
+            return timedView(type, lookup(type, name)); // 立即获取（没有计时子类的 @Timed 组件包装为计时代理）
+        }
+        return lookup(type, name); // 立即获取
+    }
+
+    /**
+     * 提供者首次 {@code get()} 时的绑定：解析一次实现类，按其作用域决定之后的获取方式。
+     *
+     * @param type 依赖类型（Provider 的类型参数）
+     * @param name 名称限定；未限定为 null
+     * @return 原型与线程作用域组件返回直接按实现类获取的动作；单例、租户与非组件类型返回 null（由提供者缓存实例）
+     * @throws IllegalStateException 类型无法解析，或是池化组件
+     */
+    private java.util.function.Supplier<Object> providerSource(Class<?> type, String name) { // 提供者绑定
+        final Class<?> impl = name == null ? implementationOf(type) : componentNamed(name); // 只解析一次
+        final Scope scope = InjectionPlan.scopeOf(impl); // 实现类的作用域
+        if (scope == Scope.POOLED) { // 池化组件
+            final String simple = impl.getSimpleName(); // 用于提示
+            throw new IllegalStateException("Pooled component " + impl.getName() + " cannot be injected as Provider<"
+                    + type.getSimpleName() + ">, inject BeanPool<" + simple + "> instead"); // 提示改用对象池
+        }
+        if (scope != Scope.PROTOTYPE && scope != Scope.THREAD) { // 单例、租户或非组件类型
+            return null; // 由提供者缓存
+        }
+        if (name != null && !type.isAssignableFrom(impl)) { // 名称对应的组件类型不符
+            throw new IllegalStateException("Bean named '" + name + "' is of type " + impl.getName()
+                    + ", not assignable to " + type.getName()); // 与 getBean(String, Class) 的错误一致
+        }
+        if (type.isInterface()) { // 接口注入点：没有计时子类的 @Timed 组件包装为计时代理
+            return () -> timedView(type, scopedInstance(impl)); // 每次按作用域获取
+        }
+        return () -> scopedInstance(impl); // 每次按作用域获取（跳过单例表与接口解析）
+    }
+
+    private Object lookup(Class<?> type, String name) { // 按类型或名称获取
+        return name == null ? getBean(type) : getBean(name, type); // 有名称限定时按名称
+    }
+
+    private boolean isDeferredInterface(Class<?> type, byte kind, String name) { // 接口依赖是否注入代理
+        return kind == InjectionPlan.LAZY // 注入点标注 @Lazy
+                || options.isLazyInitEnabled() // 容器处于延迟模式
+                || isLazy(name == null ? implementationOf(type) : componentNamed(name)); // 实现类是延迟组件（无法解析时抛出与获取时相同的错误）
+    }
+
+    private Class<?> componentNamed(String name) { // 名称 -> 已登记的组件类型
+        final Class<?> type = componentNames.get(name); // 名称索引
+        if (type == null) { // 没有该名称的组件
+            throw new IllegalStateException("No component named '" + name + "'"); // 与 getBean(String) 的错误一致
+        }
+        return type; // 组件类型
+    }
+
+    /**
+     * 启动时必须先于 type 创建的依赖（用于依赖图）：不含 {@link Deferred}、{@link Provider} 与注入代理的依赖，接口解析为实现类。
+     *
+     * @param type 类型
+     * @return 依赖类型集合
+     */
+    private java.util.Collection<Class<?>> hardDependencies(Class<?> type) { // 依赖图的边
+        final InjectionPlan plan = planFor(type); // 取出注入计划
+        final java.util.List<Class<?>> result = new java.util.ArrayList<>(); // 依赖类型
+        addHardDependencies(result, plan.constructorDependencies, plan.constructorKinds, plan.constructorNames); // 构造器参数
+        addHardDependencies(result, plan.fieldDependencies, plan.fieldKinds, plan.fieldNames); // 注入字段
+        return result; // 返回依赖
+    }
+
+    private void addHardDependencies(java.util.List<Class<?>> out,
+                                     Class<?>[] types,
+                                     byte[] kinds,
+                                     String[] names) { // 过滤延迟依赖
+        for (int i = 0; i < types.length; i++) { // 逐个判定
+            final Class<?> target = hardTarget(types[i], kinds[i], names[i]); // 启动依赖（或 null）
+            if (target != null) { // 构成启动依赖
+                out.add(target); // 记录依赖
+            }
+        }
+    }
+
+    /**
+     * 单个注入点在依赖图中对应的节点：接口与抽象类解析为实现类，按名称注入解析为该名称的组件。
+     *
+     * @param dep  依赖类型
+     * @param kind 注入方式
+     * @param name 名称限定；未限定为 null
+     * @return 必须先于使用方创建的单例类型；持有者、对象池、代理与非单例依赖返回 null；
+     *         无法解析的接口原样返回（创建时报告原错误）
+     */
+    private Class<?> hardTarget(Class<?> dep, byte kind, String name) { // 注入点 -> 依赖图节点
+        if (kind == InjectionPlan.DEFERRED || kind == InjectionPlan.PROVIDER || kind == InjectionPlan.POOL) { // 持有者、提供者或对象池注入
+            return null; // 不构成启动依赖
+        }
+        if (name != null) { // 按名称注入：以该名称的组件作为节点
+            final Class<?> named = componentNames.get(name); // 名称索引
+            if (named != null && InjectionPlan.scopeOf(named) == Scope.SINGLETON
+                    && !(dep.isInterface() && isDeferredInterface(dep, kind, name))) { // 已登记的单例且不是代理
+                return named; // 记录依赖
+            }
+            return null; // 名称不存在时不建边，创建时报告原错误
+        }
+        if (dep.isInterface()) { // 接口依赖
+            try { // 接口可能无法解析
+                if (isDeferredInterface(dep, kind, null)) { // 注入代理
+                    return null; // 不构成启动依赖
+                }
+                dep = implementationOf(dep); // 以实现类作为节点
+            } catch (IllegalStateException e) { // 无实现或有歧义：保留接口节点，创建时报告原错误
+                return dep; // 保留接口
+            }
+        } else if (!InjectionPlan.isConcrete(dep)) { // 抽象类
+            try { // 可能无法解析
+                dep = implementationOf(dep); // 以实现类作为节点
+            } catch (IllegalStateException e) { // 保留原类型，创建时报告原错误
+                // 保持 dep 不变
+            }
+        }
+        if (InjectionPlan.scopeOf(dep) != Scope.SINGLETON) { // 原型/池化/线程组件在注入时才创建
+            return null; // 不构成启动依赖
+        }
+        return dep; // 记录依赖
+    }
+
+    /**
+     * 对实例执行字段注入：为计划中的所有 @Inject 字段赋值。
      *
      * @param instance 已构造的对象实例
+     * @param plan     实例类型的注入计划
+     * @param timing   非空时把字段赋值耗时（不含依赖解析）累加到 {@code timing[1]}
      */
-    private void performFieldInjection(Object instance) { // 字段注入实现
-        final Class<?> clazz = instance.getClass(); // 获取运行时类型
-        final java.lang.reflect.Field[] fields = clazz.getDeclaredFields(); // 获取声明字段列表
-        for (java.lang.reflect.Field f : fields) { // 遍历每个字段
-            if (f.isAnnotationPresent(Inject.class)) { // 仅处理带 @Inject 的字段
-                final Class<?> depType = f.getType(); // 读取字段类型
-                final Object dep = getBean(depType); // 递归获取依赖实例
-                final boolean old = f.isAccessible(); // 记录旧的可访问状态
-                if (!old) { // 若为私有字段
-                    f.setAccessible(true); // 打开访问权限
-                } // 可访问性处理结束
-                try { // 赋值过程可能抛出异常
-                    f.set(instance, dep); // 赋值依赖
-                } catch (IllegalAccessException e) { // 不太可能（已开启可访问）
-                    throw new IllegalStateException("Failed to inject field: " + f.getName()
-                            + " of " + clazz.getName(), e); // 抛出清晰错误
-                } finally { // 可选：恢复原访问性
-                    if (!old) { // 如果之前是不可访问
-                        f.setAccessible(false); // 恢复
-                    } // 恢复访问性结束
-                } // try-finally 结束
-            } // 注解判定结束
+    private void performFieldInjection(Object instance, InjectionPlan plan, long[] timing) { // 字段注入实现
+        final java.lang.reflect.Field[] fields = plan.fields; // 计划中的注入字段（已可访问）
+        final MemberLinker.Injector[] injectors = factoriesOf(plan).injectors; // 与字段一一对应的注入器
+        for (int i = 0; i < fields.length; i++) { // 遍历每个字段
+            final Object dep = resolveDependency(plan.fieldDependencies[i], plan.fieldKinds[i], plan.fieldNames[i]); // 递归获取依赖实例（或延迟引用）
+            final long t0 = timing == null ? 0L : System.nanoTime(); // 赋值开始时间
+            try { // 赋值过程可能抛出异常
+                injectors[i].inject(instance, dep); // 赋值依赖
+                if (timing != null) { // 需要计时
+                    timing[1] += System.nanoTime() - t0; // 累加赋值耗时
+                }
+            } catch (ReflectiveOperationException e) { // 不太可能（类型已由计划保证）
+                throw new IllegalStateException("Failed to inject field: " + fields[i].getName()
+                        + " of " + plan.type.getName(), e); // 抛出清晰错误
+            } // try-catch 结束
         } // 字段遍历结束
     } // performFieldInjection 方法结束
 
@@ -395,35 +2179,150 @@ public class Container { // 定义容器核心类
      *
      * @param type     Bean 的类型键（Class）
      * @param instance Bean 实例
-     * @param <T>      实例的泛型类型
      */
-    private <T> void putSingleton(Class<T> type, T instance) { // 统一写入 singletons 与 namedBeans
-        singletons.put(type, instance); // 将类型 -> 实例 写入单例 Map
+    private void putSingleton(Class<?> type, Object instance) { // 统一写入 singletons 与 namedBeans
+        synchronized (registrationLock) { // 与 freeze 互斥（只在创建单例时进入，不影响查找）
+            if (frozen != null) { // 冻结之后不允许登记
+                throw new IllegalStateException("Container is frozen; cannot register singleton: " + type.getName()); // 快速失败
+            }
+            if (closed) { // 关闭之后创建的单例不会再被停止
+                throw new IllegalStateException("Container is closed; cannot register singleton: " + type.getName()); // 快速失败
+            }
+            final String name = beanNameOf(type); // @Component 声明的名称（若有）
+            if (name != null) { // 命名组件：名称不能与其他类型冲突
+                final Class<?> owner = componentNames.get(name); // 已登记组件中的同名类型
+                final Object previous = namedBeans.get(name); // 已创建的同名 Bean
+                if ((owner != null && owner != type) || (previous != null && TimedMethods.userClass(previous.getClass()) != type)) { // 冲突（计时子类按其组件类比较）
+                    throw new IllegalStateException("Duplicate bean name '" + name + "': "
+                            + (owner != null && owner != type ? owner : TimedMethods.userClass(previous.getClass())).getName() + ", " + type.getName()); // 快速失败
+                }
+            }
+            singletons.put(type, instance); // 将类型 -> 实例 写入单例 Map
+            if (name != null) { // 非空名称才写入
+                namedBeans.put(name, instance); // 将 名称 -> 实例 放入命名 Bean Map
+            }
+        }
+    }
+
+    /**
+     * 单例的一次创建过程：记录创建者线程，完成后保存结果或失败原因并唤醒等待者。
+     */
+    private static final class Creation { // 创建记录
+        final Thread owner = Thread.currentThread(); // 负责创建的线程（创建记录总是由创建者构造）
+        private final CountDownLatch done = new CountDownLatch(1); // 完成信号
+        private volatile Object instance; // 创建成功时的实例
+        private volatile Throwable failure; // 创建失败时的原因
 
-        final Component comp = type.getAnnotation(Component.class); // 获取 @Component 注解（若有）
-        if (comp != null) { // 只有在类型被标注了 @Component 时才考虑命名
-            final String name = comp.value(); // 读取 value() 作为 Bean 名称
-            if (name != null && !name.trim().isEmpty()) { // 非空名称才写入
-                namedBeans.put(name.trim(), instance); // 将 名称 -> 实例 放入命名 Bean Map
+        void succeed(Object value) { // 标记成功
+            instance = value; // 先写结果
+            done.countDown(); // 再唤醒等待者
+        }
+
+        void fail(Throwable cause) { // 标记失败
+            failure = cause; // 先写原因
+            done.countDown(); // 再唤醒等待者
+        }
+
+        boolean isDone() { // 是否已完成
+            return done.getCount() == 0; // 计数归零即完成
+        }
+
+        Object await(Class<?> type) { // 等待结果
+            try { // 可能被中断
+                done.await(); // 阻塞直到创建者完成
+            } catch (InterruptedException e) { // 等待被中断
+                Thread.currentThread().interrupt(); // 恢复中断标记
+                throw new IllegalStateException("Interrupted while waiting for singleton: " + type.getName(), e); // 转为运行时异常
             }
+            if (failure != null) { // 创建者失败
+                throw new IllegalStateException("Failed to create singleton: " + type.getName()
+                        + " (in thread " + owner.getName() + ")", failure); // 保留原始原因
+            }
+            return instance; // 返回同一个实例
         }
     }
 
-    // === 可选：对外只读视图（便于调试/验证），本轮提供签名占位 ===
+    // === 对外只读视图（便于调试/验证） ===
 
     /**
      * 获取当前已缓存的单例实例数量（调试与验收用）。
      *
-     * @return 单例缓存的条目数；本轮返回 0
+     * @return 单例缓存的条目数（子容器只统计自己的租户实例）
      */
     public int singletonCount() { // 返回当前单例缓存的条目数
-        return singletons.size(); // 直接读取 Map 大小
+        final FrozenRegistry registry = frozen; // 冻结后读取注册表
+        return registry != null ? registry.size() : singletons.size(); // 数组长度或 Map 大小
+    }
+
+    /**
+     * 获取启动指标的只读快照：各阶段耗时、组件数、每个单例的创建耗时与失败原因（见 {@link StartupMetrics}）。
+     * <p>
+     * 可以在任何时候调用；启动之后才创建的延迟单例也会出现在之后的快照中。
+     * 子容器只记录自己创建的单例（租户组件），没有阶段耗时。
+     * 关闭 {@link ContainerOptions#startupMetricsEnabled(boolean)} 时返回数值全部为零的快照。
+     *
+     * @return 当前指标的快照
+     */
+    public StartupMetrics getStartupMetrics() { // 启动指标
+        return metrics.snapshot(); // 复制当前记录
+    }
+
+    /**
+     * 获取启动追踪（见 {@link StartupTrace}）：层级时间片、每个 Bean 的自身耗时与总耗时、沿依赖图的关键路径，
+     * 可导出为 Chrome Trace Event JSON。
+     * <p>
+     * 追踪从构造容器开始，到 {@link #start()} 返回为止；启动之后才创建的 Bean 不再记录。每次调用都重新分析一次。
+     *
+     * @return 追踪快照
+     * @throws IllegalStateException 没有开启 {@link ContainerOptions#startupTraceEnabled(boolean)}，或在子容器上调用
+     */
+    public StartupTrace getStartupTrace() { // 启动追踪
+        requireRoot("record a startup trace"); // 子容器没有启动过程
+        return tracer.snapshot(this::traceDependencies); // 未开启时由空实现抛出
+    }
+
+    private java.util.Collection<Class<?>> traceDependencies(Class<?> type) { // 关键路径使用的依赖边
+        try { // 非组件类型或配置错误的类型可能无法计算注入计划
+            return hardDependencies(type); // 与启动回调相同的依赖图
+        } catch (RuntimeException e) { // 无法计算
+            return java.util.Collections.emptyList(); // 只使用实际观察到的嵌套创建
+        }
+    }
+
+    /**
+     * 获取全部 {@code @Timed} 方法的耗时快照（见 {@link MethodMetrics}），按组件类名与方法签名排序。
+     * <p>
+     * 记录器在组件首次创建时登记，因此从未创建的组件不出现在结果中；子容器与父容器共享同一组记录器。
+     *
+     * @return 只读列表
+     */
+    public java.util.List<MethodMetrics> getMethodMetrics() { // 方法耗时
+        final java.util.List<MethodMetrics> result = new java.util.ArrayList<>(); // 快照列表
+        for (Map<String, MethodTimer> byMethod : timers.values()) { // 逐个组件
+            for (MethodTimer timer : byMethod.values()) { // 逐个方法
+                result.add(timer.snapshot()); // 复制计数
+            }
+        }
+        result.sort(java.util.Comparator.comparing((MethodMetrics m) -> m.getType().getName())
+                .thenComparing(MethodMetrics::getMethod)); // 稳定的输出顺序
+        return java.util.Collections.unmodifiableList(result); // 只读包装
+    }
+
+    /**
+     * 清零全部 {@code @Timed} 方法的计数（例如预热之后）；并发的调用可能部分计入清零前或清零后。
+     */
+    public void resetMethodMetrics() { // 清零方法耗时
+        for (Map<String, MethodTimer> byMethod : timers.values()) { // 逐个组件
+            for (MethodTimer timer : byMethod.values()) { // 逐个方法
+                timer.reset(); // 清零
+            }
+        }
     }
 
     /**
      * 获取基础扫描包名（只读）。
      *
-     * @return basePackage 的只读副本
+     * @return 规范化后的基础包：去除空白、去重、排序并合并嵌套的包，多个包用逗号分隔
      */
     public String getBasePackage() { // 提供基础包名的只读访问器
         return this.basePackage; // 直接返回字段值
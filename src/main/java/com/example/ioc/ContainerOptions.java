@@ -0,0 +1,722 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.nio.file.Path; // 引入 Path，表示扫描缓存文件位置
+import java.time.Duration; // 引入 Duration，表示启动回调的超时
+import java.util.ArrayList; // 引入 ArrayList，复制过滤模式
+import java.util.Collections; // 引入 Collections，返回只读的过滤模式
+import java.util.List; // 引入 List，作为过滤模式列表类型
+import java.util.Objects; // 引入 Objects，用于非空检查
+import java.util.concurrent.Executor; // 引入 Executor，承载并行任务
+import java.util.concurrent.ForkJoinPool; // 引入 ForkJoinPool，作为并行扫描的默认线程池
+
+/**
+ * 容器的可选配置项，通过 {@link Container#Container(String, ContainerOptions)} 传入。
+ * <p>
+ * 所有配置均有默认值，{@link #defaults()} 的行为与 {@code new Container(basePackage)} 完全一致。
+ * 容器在构造时会复制一份配置，之后再修改本对象不会影响已创建的容器。
+ */
+public final class ContainerOptions { // 容器配置：简单的可链式设置的值对象
+
+    private boolean componentIndexEnabled = true; // 是否优先读取编译期组件索引
+    private boolean bytecodeScanEnabled = true; // 扫描时是否先解析字节码判定注解，再决定是否加载类
+    private boolean parallelScanEnabled = false; // 是否并行扫描多个 JAR 与目录子树
+    private Executor scanExecutor; // 并行扫描使用的线程池；为 null 时使用 ForkJoinPool 公共池
+    private Path scanCacheFile; // 扫描结果缓存文件；为 null 时不使用缓存
+    private List<String> includePatterns = Collections.emptyList(); // 扫描的类名包含模式；为空时不限制
+    private List<String> excludePatterns = Collections.emptyList(); // 扫描的类名排除模式
+    private boolean injectionPlanCacheEnabled = true; // 是否复用按类型缓存的注入计划
+    private boolean linkedFactoriesEnabled = true; // 是否使用 MethodHandle/LambdaMetafactory 链接的工厂创建与注入 Bean
+    private boolean parallelStartEnabled = false; // 启动时是否按依赖图并行实例化单例
+    private Executor startExecutor; // 并行实例化使用的线程池；为 null 时由容器在实例化阶段自建
+    private int startThreads = Math.max(16, 4 * Runtime.getRuntime().availableProcessors()); // 自建实例化线程池的线程数上限
+    private boolean asyncCallbacksEnabled = false; // 启动回调是否异步并行执行
+    private Executor callbackExecutor; // 异步回调使用的线程池；为 null 时由容器在回调阶段自建
+    private boolean virtualThreadCallbacks = false; // 异步回调是否使用虚拟线程（JDK 21+，不可用时退回线程池）
+    private Duration callbackTimeout; // 单个回调的默认超时；为 null 时不限制
+    private Duration startTimeout; // 整个回调阶段的超时；为 null 时不限制
+    private Duration stopTimeout = Duration.ofSeconds(30); // 整个停止阶段的超时（关闭的截止时间）
+    private boolean parallelStopEnabled = true; // 互不依赖的 Bean 的停止回调是否并行执行
+    private boolean shutdownHookEnabled = false; // start() 时是否注册 JVM 关闭钩子
+    private boolean lazyInitEnabled = false; // 是否把所有组件都视为延迟组件
+    private boolean freezeAfterStartEnabled = false; // start() 结束时是否冻结单例注册表
+    private Path snapshotFile; // 装配计划快照文件；为 null 时每次都正常启动
+    private Duration reloadQuietPeriod = Duration.ofMillis(200); // 类目录监听的静默期：最后一个文件事件之后等待多久再重载
+    private boolean startupMetricsEnabled = true; // 是否记录启动指标并发布 JFR 事件
+    private boolean startupTraceEnabled = false; // 是否记录启动过程的层级追踪
+    private LogSink logSink = ConsoleLogSink.DEFAULT; // 日志输出目标（默认 System.out，INFO 及以上）
+
+    /**
+     * 创建一份默认配置。
+     *
+     * @return 新的默认配置对象
+     */
+    public static ContainerOptions defaults() { // 默认配置的工厂方法
+        return new ContainerOptions(); // 所有字段使用声明时的默认值
+    }
+
+    /**
+     * 设置是否读取 {@link ComponentIndex#LOCATION} 下的编译期组件索引。
+     * <p>
+     * 开启时（默认），带索引的类路径根直接按索引加载组件，不再遍历目录或 JAR；
+     * 关闭时所有根都走原有的扫描逻辑（便于对比或排查索引过期问题）。
+     *
+     * @param enabled 是否启用索引
+     * @return 当前配置对象，便于链式调用
+     */
+    public ContainerOptions componentIndexEnabled(boolean enabled) { // 设置索引开关
+        this.componentIndexEnabled = enabled; // 保存开关
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 是否启用编译期组件索引
+     */
+    public boolean isComponentIndexEnabled() { // 读取索引开关
+        return componentIndexEnabled; // 直接返回字段
+    }
+
+    /**
+     * 设置扫描时是否使用字节码级注解探测。
+     * <p>
+     * 开启时（默认），扫描器直接解析每个 .class 文件的常量池与 {@code RuntimeVisibleAnnotations} 属性，
+     * 只有确实标注了 {@code @Component} 的类才会交给 ClassLoader 加载；
+     * 关闭时退回到逐个 {@code Class.forName} 后再检查注解的旧方式。
+     *
+     * @param enabled 是否启用字节码探测
+     * @return 当前配置对象，便于链式调用
+     */
+    public ContainerOptions bytecodeScanEnabled(boolean enabled) { // 设置字节码探测开关
+        this.bytecodeScanEnabled = enabled; // 保存开关
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 扫描时是否使用字节码级注解探测
+     */
+    public boolean isBytecodeScanEnabled() { // 读取字节码探测开关
+        return bytecodeScanEnabled; // 直接返回字段
+    }
+
+    /**
+     * 设置是否并行扫描类路径。
+     * <p>
+     * 开启后，每个 JAR 与每个子目录都会作为独立任务提交到 {@link #getScanExecutor()}，
+     * 结果合并到并发集合中并在最后按类名排序，因此输出与顺序模式一致。
+     *
+     * @param enabled 是否启用并行扫描
+     * @return 当前配置对象，便于链式调用
+     */
+    public ContainerOptions parallelScanEnabled(boolean enabled) { // 设置并行扫描开关
+        this.parallelScanEnabled = enabled; // 保存开关
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 是否启用并行扫描
+     */
+    public boolean isParallelScanEnabled() { // 读取并行扫描开关
+        return parallelScanEnabled; // 直接返回字段
+    }
+
+    /**
+     * 指定并行扫描使用的线程池，并同时开启并行扫描。
+     * <p>
+     * 线程池由调用方管理生命周期，容器不会关闭它。
+     *
+     * @param executor 线程池（非空）
+     * @return 当前配置对象，便于链式调用
+     * @throws NullPointerException 如果 executor 为 null
+     */
+    public ContainerOptions scanExecutor(Executor executor) { // 设置扫描线程池
+        this.scanExecutor = Objects.requireNonNull(executor, "executor must not be null"); // 非空校验后保存
+        this.parallelScanEnabled = true; // 指定线程池即视为启用并行扫描
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 并行扫描使用的线程池；未指定时返回 {@link ForkJoinPool#commonPool()}
+     */
+    public Executor getScanExecutor() { // 读取扫描线程池
+        return scanExecutor != null ? scanExecutor : ForkJoinPool.commonPool(); // 未指定时使用公共池
+    }
+
+    /**
+     * 指定扫描结果缓存文件，开启跨进程的扫描缓存。
+     * <p>
+     * 缓存按“基础包 + 类路径根”记录组件类名与注入元数据，并附带根的指纹
+     * （JAR：大小、修改时间、中央目录 CRC；目录：子目录与类文件的修改时间）。
+     * 重启时指纹未变的根直接使用缓存，不再遍历；指纹变化的根单独重新扫描并更新缓存。
+     *
+     * @param file 缓存文件路径（非空；父目录不存在时会自动创建）
+     * @return 当前配置对象，便于链式调用
+     * @throws NullPointerException 如果 file 为 null
+     */
+    public ContainerOptions scanCacheFile(Path file) { // 设置扫描缓存文件
+        this.scanCacheFile = Objects.requireNonNull(file, "file must not be null"); // 非空校验后保存
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 扫描结果缓存文件；未启用缓存时返回 null
+     */
+    public Path getScanCacheFile() { // 读取扫描缓存文件
+        return scanCacheFile; // 直接返回字段
+    }
+
+    /**
+     * 只扫描类名匹配任一模式的类（模式语法见 {@link #excludePatterns(String...)}）。
+     * <p>
+     * 判定发生在读取类文件之前，不匹配的条目既不读取字节码也不加载类。默认不限制；再次调用会替换之前的模式。
+     *
+     * @param patterns 类名通配符，如 {@code "*Service"}、{@code "com.example.web.**"}
+     * @return 当前配置对象，便于链式调用
+     * @throws NullPointerException     如果 patterns 或其中某个元素为 null
+     * @throws IllegalArgumentException 如果某个模式为空字符串
+     */
+    public ContainerOptions includePatterns(String... patterns) { // 设置包含模式
+        this.includePatterns = patterns(patterns); // 校验后保存副本
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 类名包含模式（只读）；为空时不限制
+     */
+    public List<String> getIncludePatterns() { // 读取包含模式
+        return includePatterns; // 直接返回只读列表
+    }
+
+    /**
+     * 跳过类名匹配任一模式的类，例如测试类、内部包与生成的代码。
+     * <p>
+     * 模式语法：{@code **} 匹配任意字符（含包分隔符），{@code *} 匹配除 {@code .} 以外的任意字符，
+     * {@code ?} 匹配除 {@code .} 以外的单个字符；不含 {@code .} 的模式匹配简单类名（如 {@code "*Test"}、
+     * {@code "*$$*"}），其余匹配完全限定类名（如 {@code "**.internal.**"}）。模式只编译一次，
+     * 判定发生在读取类文件之前；以 {@code .**} 结尾的模式还会让目录遍历直接跳过整个子包。
+     * 默认不排除任何类；再次调用会替换之前的模式。
+     *
+     * @param patterns 类名通配符
+     * @return 当前配置对象，便于链式调用
+     * @throws NullPointerException     如果 patterns 或其中某个元素为 null
+     * @throws IllegalArgumentException 如果某个模式为空字符串
+     */
+    public ContainerOptions excludePatterns(String... patterns) { // 设置排除模式
+        this.excludePatterns = patterns(patterns); // 校验后保存副本
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 类名排除模式（只读）
+     */
+    public List<String> getExcludePatterns() { // 读取排除模式
+        return excludePatterns; // 直接返回只读列表
+    }
+
+    private static List<String> patterns(String[] patterns) { // 校验并复制模式
+        Objects.requireNonNull(patterns, "patterns must not be null"); // 非空校验
+        final List<String> copy = new ArrayList<>(patterns.length); // 副本
+        for (String p : patterns) { // 逐个校验
+            Objects.requireNonNull(p, "pattern must not be null"); // 非空校验
+            if (p.trim().isEmpty()) { // 空模式没有意义
+                throw new IllegalArgumentException("pattern must not be blank"); // 快速失败
+            }
+            copy.add(p.trim()); // 去除空白后保存
+        }
+        return Collections.unmodifiableList(copy); // 只读保存，复制配置时可直接共享
+    }
+
+    /**
+     * 设置是否复用按类型缓存的注入计划（默认开启）。
+     * <p>
+     * 关闭时每次创建实例都重新反射计算计划（{@code getDeclaredConstructors/Fields/Methods}），
+     * 并通过普通反射调用，与引入计划缓存之前的路径相同；链接工厂开关此时不起作用（每次重新链接没有意义）。
+     * 仅用于基准对照与排查，不建议在生产中关闭。
+     *
+     * @param enabled 是否复用注入计划
+     * @return 当前配置对象，便于链式调用
+     */
+    public ContainerOptions injectionPlanCacheEnabled(boolean enabled) { // 设置计划缓存开关
+        this.injectionPlanCacheEnabled = enabled; // 保存开关
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 是否复用按类型缓存的注入计划
+     */
+    public boolean isInjectionPlanCacheEnabled() { // 读取计划缓存开关
+        return injectionPlanCacheEnabled; // 直接返回字段
+    }
+
+    /**
+     * 设置是否使用链接后的工厂创建与注入 Bean。
+     * <p>
+     * 开启时（默认），每个类型的构造器、注入字段与启动回调只链接一次
+     * （公开无参成员使用 LambdaMetafactory，其余使用 MethodHandle），之后的创建与回调直接调用链接结果；
+     * 关闭时退回 {@code Constructor.newInstance}/{@code Field.set}/{@code Method.invoke}。
+     *
+     * @param enabled 是否启用链接工厂
+     * @return 当前配置对象，便于链式调用
+     */
+    public ContainerOptions linkedFactoriesEnabled(boolean enabled) { // 设置链接工厂开关
+        this.linkedFactoriesEnabled = enabled; // 保存开关
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 是否使用链接后的工厂
+     */
+    public boolean isLinkedFactoriesEnabled() { // 读取链接工厂开关
+        return linkedFactoriesEnabled; // 直接返回字段
+    }
+
+    /**
+     * 设置启动时是否按依赖图并行实例化单例。
+     * <p>
+     * 开启后，{@link Container#start()} 先根据构造器与字段上的 {@code @Inject} 建立依赖图，
+     * 在实例化任何组件之前检查循环依赖；随后每个类型在其全部依赖创建完成后立即提交到实例化线程池
+     * （{@link #startExecutor(Executor)} 指定的线程池，或容器自建、线程数见 {@link #startThreads(int)} 的守护线程池），
+     * 互不依赖的子树同时构建，启动耗时趋近于依赖图的关键路径。
+     *
+     * @param enabled 是否启用并行实例化
+     * @return 当前配置对象，便于链式调用
+     */
+    public ContainerOptions parallelStartEnabled(boolean enabled) { // 设置并行实例化开关
+        this.parallelStartEnabled = enabled; // 保存开关
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 是否启用并行实例化
+     */
+    public boolean isParallelStartEnabled() { // 读取并行实例化开关
+        return parallelStartEnabled; // 直接返回字段
+    }
+
+    /**
+     * 指定并行实例化使用的线程池，并同时开启并行实例化。
+     * <p>
+     * 线程池由调用方管理生命周期，容器不会关闭它。
+     *
+     * @param executor 线程池（非空）
+     * @return 当前配置对象，便于链式调用
+     * @throws NullPointerException 如果 executor 为 null
+     */
+    public ContainerOptions startExecutor(Executor executor) { // 设置实例化线程池
+        this.startExecutor = Objects.requireNonNull(executor, "executor must not be null"); // 非空校验后保存
+        this.parallelStartEnabled = true; // 指定线程池即视为启用并行实例化
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 并行实例化使用的线程池；未指定时返回 null，由容器在实例化阶段自建（见 {@link #startThreads(int)}）
+     */
+    public Executor getStartExecutor() { // 读取实例化线程池
+        return startExecutor; // 直接返回字段
+    }
+
+    /**
+     * 设置容器自建的实例化线程池的线程数上限（默认处理器数的 4 倍，至少 16）。
+     * <p>
+     * 未指定 {@link #startExecutor(Executor)} 时，并行实例化阶段使用容器自建的守护线程池，
+     * 线程数取该上限与依赖图最宽一层节点数中的较小值，阶段结束后关闭。
+     * 构造器耗时主要来自阻塞（I/O、等待远程服务）时，线程数可以远多于处理器数；
+     * 因此不使用 JVM 共享的 {@code ForkJoinPool} 公共池，既不受它按处理器数确定的并行度限制，也不占用它。
+     *
+     * @param threads 线程数上限（正数）
+     * @return 当前配置对象，便于链式调用
+     * @throws IllegalArgumentException 如果 threads 不是正数
+     */
+    public ContainerOptions startThreads(int threads) { // 设置实例化线程数上限
+        if (threads <= 0) { // 非法值
+            throw new IllegalArgumentException("threads must be positive: " + threads); // 非法参数
+        }
+        this.startThreads = threads; // 保存上限
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 自建实例化线程池的线程数上限
+     */
+    public int getStartThreads() { // 读取实例化线程数上限
+        return startThreads; // 直接返回字段
+    }
+
+    /**
+     * 设置启动回调是否异步并行执行。
+     * <p>
+     * 开启后，互不依赖的 Bean 的 {@code @InvokeOnStart} 回调并行执行（线程池见 {@link #callbackExecutor(Executor)}），
+     * 某个 Bean 的回调只会在它所依赖的 Bean 的回调全部结束（或超时）之后开始；
+     * 单个回调的超时从回调开始运行时计时，超时后不再等待它。关闭时（默认）回调按依赖顺序在启动线程中依次执行，
+     * 无法提前放弃：耗时超过超时的回调在结束后记为超时，全局超时到达后跳过尚未开始的回调。
+     *
+     * @param enabled 是否启用异步回调
+     * @return 当前配置对象，便于链式调用
+     */
+    public ContainerOptions asyncCallbacksEnabled(boolean enabled) { // 设置异步回调开关
+        this.asyncCallbacksEnabled = enabled; // 保存开关
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 是否启用异步回调
+     */
+    public boolean isAsyncCallbacksEnabled() { // 读取异步回调开关
+        return asyncCallbacksEnabled; // 直接返回字段
+    }
+
+    /**
+     * 指定异步回调使用的线程池，并同时开启异步回调（会取消 {@link #virtualThreadCallbacks(boolean)} 的设置）。
+     * <p>
+     * 线程池由调用方管理生命周期，容器不会关闭它。
+     *
+     * @param executor 线程池（非空）
+     * @return 当前配置对象，便于链式调用
+     * @throws NullPointerException 如果 executor 为 null
+     */
+    public ContainerOptions callbackExecutor(Executor executor) { // 设置回调线程池
+        this.callbackExecutor = Objects.requireNonNull(executor, "executor must not be null"); // 非空校验后保存
+        this.virtualThreadCallbacks = false; // 显式线程池优先
+        this.asyncCallbacksEnabled = true; // 指定线程池即视为启用异步回调
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 调用方指定的回调线程池；未指定时返回 null，此时容器在回调阶段自建一个按需扩容的守护线程池
+     *         （预热类回调通常会阻塞在 I/O 上，不适合放进 ForkJoinPool 公共池），阶段结束后关闭
+     */
+    public Executor getCallbackExecutor() { // 读取回调线程池
+        return callbackExecutor; // 直接返回字段
+    }
+
+    /**
+     * 设置异步回调是否使用虚拟线程（每个回调一个虚拟线程），开启时同时开启异步回调。
+     * <p>
+     * 虚拟线程执行器通过反射创建，因此本库仍可在 Java 8 上编译与运行；
+     * 运行时不支持虚拟线程（JDK 21 以下）时打印警告并退回容器自建的线程池。
+     * 虚拟线程执行器由容器创建，回调阶段结束后由容器关闭。
+     *
+     * @param enabled 是否使用虚拟线程
+     * @return 当前配置对象，便于链式调用
+     */
+    public ContainerOptions virtualThreadCallbacks(boolean enabled) { // 设置虚拟线程开关
+        this.virtualThreadCallbacks = enabled; // 保存开关
+        if (enabled) { // 开启时
+            this.callbackExecutor = null; // 取消显式线程池
+            this.asyncCallbacksEnabled = true; // 虚拟线程只用于异步回调
+        }
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 异步回调是否使用虚拟线程
+     */
+    public boolean isVirtualThreadCallbacks() { // 读取虚拟线程开关
+        return virtualThreadCallbacks; // 直接返回字段
+    }
+
+    /**
+     * 设置单个回调的默认超时；方法上的 {@code @InvokeOnStart(timeoutMillis = ...)} 优先。
+     * 从回调开始运行时计时，在线程池中排队的时间不计入。
+     *
+     * @param timeout 超时（非空）；零或负数表示不限制
+     * @return 当前配置对象，便于链式调用
+     * @throws NullPointerException 如果 timeout 为 null
+     */
+    public ContainerOptions callbackTimeout(Duration timeout) { // 设置单个回调超时
+        this.callbackTimeout = Objects.requireNonNull(timeout, "timeout must not be null"); // 非空校验后保存
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 单个回调的默认超时；未设置时返回 null
+     */
+    public Duration getCallbackTimeout() { // 读取单个回调超时
+        return callbackTimeout; // 直接返回字段
+    }
+
+    /**
+     * 设置整个回调阶段的超时：到达后尚未开始的回调被跳过，仍在运行的回调记为超时，{@link Container#start()} 随即返回。
+     *
+     * @param timeout 超时（非空）；零或负数表示不限制
+     * @return 当前配置对象，便于链式调用
+     * @throws NullPointerException 如果 timeout 为 null
+     */
+    public ContainerOptions startTimeout(Duration timeout) { // 设置全局超时
+        this.startTimeout = Objects.requireNonNull(timeout, "timeout must not be null"); // 非空校验后保存
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 整个回调阶段的超时；未设置时返回 null
+     */
+    public Duration getStartTimeout() { // 读取全局超时
+        return startTimeout; // 直接返回字段
+    }
+
+    /**
+     * 设置 {@link Container#close()} 的截止时间：到达后尚未开始的停止回调被跳过，仍在运行的记为超时，关闭随即返回。
+     * <p>
+     * 默认 30 秒，与常见编排系统的优雅终止期一致；方法上的 {@code @InvokeOnStop(timeoutMillis = ...)} 只能更短。
+     *
+     * @param timeout 超时（非空）；零或负数表示不限制
+     * @return 当前配置对象，便于链式调用
+     * @throws NullPointerException 如果 timeout 为 null
+     */
+    public ContainerOptions stopTimeout(Duration timeout) { // 设置关闭超时
+        this.stopTimeout = Objects.requireNonNull(timeout, "timeout must not be null"); // 非空校验后保存
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 关闭的截止时间（默认 30 秒）
+     */
+    public Duration getStopTimeout() { // 读取关闭超时
+        return stopTimeout; // 直接返回字段
+    }
+
+    /**
+     * 设置停止回调是否并行执行（默认开启）：开启时互不依赖的 Bean 同时停止，使用方总是先于其依赖停止；
+     * 关闭时在调用线程中按逆拓扑顺序依次执行。
+     *
+     * @param enabled 是否并行
+     * @return 当前配置对象，便于链式调用
+     */
+    public ContainerOptions parallelStopEnabled(boolean enabled) { // 设置并行停止开关
+        this.parallelStopEnabled = enabled; // 保存开关
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 停止回调是否并行执行
+     */
+    public boolean isParallelStopEnabled() { // 读取并行停止开关
+        return parallelStopEnabled; // 直接返回字段
+    }
+
+    /**
+     * 设置是否在 {@link Container#start()} 时注册 JVM 关闭钩子（默认关闭）：进程收到 SIGTERM 或正常退出时自动
+     * {@link Container#close()}。显式关闭时钩子随即注销。
+     *
+     * @param enabled 是否注册关闭钩子
+     * @return 当前配置对象，便于链式调用
+     */
+    public ContainerOptions shutdownHookEnabled(boolean enabled) { // 设置关闭钩子开关
+        this.shutdownHookEnabled = enabled; // 保存开关
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 是否注册 JVM 关闭钩子
+     */
+    public boolean isShutdownHookEnabled() { // 读取关闭钩子开关
+        return shutdownHookEnabled; // 直接返回字段
+    }
+
+    /**
+     * 设置是否记录启动指标并发布 JFR 事件（默认开启）。
+     * <p>
+     * 开启时每个阶段与每次单例创建都会写入 {@link Container#getStartupMetrics()} 的记录，
+     * 并在 JFR 录制启用对应事件时提交事件。关闭后这些记录点都是空调用：指标快照中的数值全部为零，
+     * 也不再发布任何 JFR 事件。用于衡量观测本身的开销，或在不需要这些数据的场景中省掉它。
+     * 不影响 {@link #startupTraceEnabled(boolean)}。
+     *
+     * @param enabled 是否记录
+     * @return 当前配置对象，便于链式调用
+     */
+    public ContainerOptions startupMetricsEnabled(boolean enabled) { // 设置启动指标开关
+        this.startupMetricsEnabled = enabled; // 保存开关
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 是否记录启动指标并发布 JFR 事件
+     */
+    public boolean isStartupMetricsEnabled() { // 读取启动指标开关
+        return startupMetricsEnabled; // 直接返回字段
+    }
+
+    /**
+     * 设置是否记录启动追踪（默认关闭）：从构造容器到 {@link Container#start()} 返回，记录扫描、类加载、
+     * 每次实例创建（含递归创建的依赖）、构造器调用、字段注入与启动回调的层级时间片，
+     * 通过 {@link Container#getStartupTrace()} 取得，可导出为 Chrome Trace Event JSON 并计算关键路径。
+     * <p>
+     * 关闭时每个记录点只是一次空方法调用；开启时每个时间片分配一个小对象，适合排查启动慢的问题，不建议常开。
+     *
+     * @param enabled 是否记录
+     * @return 当前配置对象，便于链式调用
+     */
+    public ContainerOptions startupTraceEnabled(boolean enabled) { // 设置启动追踪开关
+        this.startupTraceEnabled = enabled; // 保存开关
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 是否记录启动追踪
+     */
+    public boolean isStartupTraceEnabled() { // 读取启动追踪开关
+        return startupTraceEnabled; // 直接返回字段
+    }
+
+    /**
+     * 设置容器级延迟模式：所有组件都按 {@code @Lazy} 处理。
+     * <p>
+     * {@link Container#start()} 只登记组件，不创建实例；组件在首次 {@code getBean}、
+     * 或首次调用注入到其他 Bean 中的接口代理 / {@link Deferred} 时才创建，其启动回调在创建时执行。
+     * 具体类型的注入点（非 {@code Deferred}）无法代理，依赖会在使用方创建时一并创建。
+     *
+     * @param enabled 是否启用延迟模式
+     * @return 当前配置对象，便于链式调用
+     */
+    public ContainerOptions lazyInitEnabled(boolean enabled) { // 设置延迟模式
+        this.lazyInitEnabled = enabled; // 保存开关
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 是否启用容器级延迟模式
+     */
+    public boolean isLazyInitEnabled() { // 读取延迟模式
+        return lazyInitEnabled; // 直接返回字段
+    }
+
+    /**
+     * 设置 {@link Container#start()} 结束时是否自动调用 {@link Container#freeze()}。
+     * <p>
+     * 冻结后按类型 / 名称查找走只读的数组注册表，不再分配对象、不再竞争；
+     * 但此后不能再创建或登记任何单例（包括尚未创建的延迟组件），否则立即抛出 {@link IllegalStateException}。
+     *
+     * @param enabled 是否在启动后冻结
+     * @return 当前配置对象，便于链式调用
+     */
+    public ContainerOptions freezeAfterStartEnabled(boolean enabled) { // 设置启动后冻结
+        this.freezeAfterStartEnabled = enabled; // 保存开关
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 是否在启动后冻结单例注册表
+     */
+    public boolean isFreezeAfterStartEnabled() { // 读取启动后冻结开关
+        return freezeAfterStartEnabled; // 直接返回字段
+    }
+
+    /**
+     * 指定装配计划快照文件，开启快照启动。
+     * <p>
+     * 快照记录一次成功启动后的创建顺序、构造器参数与注入字段对应的单例、依赖边与启动回调。
+     * {@link Container#start()} 发现快照有效（基础包、延迟模式与全部类路径根的指纹都未变化）时直接回放：
+     * 不扫描类路径、不逐个选择构造器、不检查创建链；快照不存在或已失效时正常启动，成功后重写快照。
+     * 也可以在构建阶段启动一次容器并调用 {@link Container#writeSnapshot(Path)} 预先生成。
+     *
+     * @param file 快照文件路径（非空；父目录不存在时会自动创建）
+     * @return 当前配置对象，便于链式调用
+     * @throws NullPointerException 如果 file 为 null
+     */
+    public ContainerOptions snapshotFile(Path file) { // 设置快照文件
+        this.snapshotFile = Objects.requireNonNull(file, "file must not be null"); // 非空校验后保存
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 装配计划快照文件；未启用时返回 null
+     */
+    public Path getSnapshotFile() { // 读取快照文件
+        return snapshotFile; // 直接返回字段
+    }
+
+    /**
+     * 设置类目录监听（{@link Container#watch()}）的静默期：最后一个文件事件之后经过这段时间没有新事件，
+     * 才把累积的变化合并为一次 {@link Container#reload(java.util.Collection)}。
+     * <p>
+     * 编译器一次会写出多个类文件，静默期避免对同一次编译重载多次；默认 200 毫秒。
+     *
+     * @param quietPeriod 静默期（非空且为正）
+     * @return 当前配置对象，便于链式调用
+     * @throws NullPointerException     如果 quietPeriod 为 null
+     * @throws IllegalArgumentException 如果 quietPeriod 不是正数
+     */
+    public ContainerOptions reloadQuietPeriod(Duration quietPeriod) { // 设置静默期
+        Objects.requireNonNull(quietPeriod, "quietPeriod must not be null"); // 非空校验
+        if (quietPeriod.isNegative() || quietPeriod.isZero()) { // 必须为正
+            throw new IllegalArgumentException("quietPeriod must be positive: " + quietPeriod); // 非法参数
+        }
+        this.reloadQuietPeriod = quietPeriod; // 保存静默期
+        return this; // 支持链式调用
+    }
+
+    /**
+     * @return 类目录监听的静默期
+     */
+    public Duration getReloadQuietPeriod() { // 读取静默期
+        return reloadQuietPeriod; // 直接返回字段
+    }
+
+    /**
+     * 指定容器日志的输出目标（扫描、缓存、快照、单例创建与回调相关的全部日志）。
+     * <p>
+     * 默认是 {@code LogSink.console(Level.INFO)}：逐个 Bean 的细节（{@code [DEBUG]}）默认不输出，
+     * 需要时用 {@link #logLevel(LogSink.Level)} 调低级别。启动指标与 JFR 事件不受日志级别影响。
+     *
+     * @param sink 输出目标（非空）；{@link LogSink#silent()} 关闭全部日志
+     * @return 当前配置对象，便于链式调用
+     * @throws NullPointerException 如果 sink 为 null
+     */
+    public ContainerOptions logSink(LogSink sink) { // 设置日志输出目标
+        this.logSink = Objects.requireNonNull(sink, "sink must not be null"); // 非空校验后保存
+        return this; // 支持链式调用
+    }
+
+    /**
+     * 使用控制台输出并设置最低级别，等价于 {@code logSink(LogSink.console(level))}。
+     *
+     * @param level 最低输出级别（非空）
+     * @return 当前配置对象，便于链式调用
+     * @throws NullPointerException 如果 level 为 null
+     */
+    public ContainerOptions logLevel(LogSink.Level level) { // 设置控制台日志级别
+        return logSink(LogSink.console(level)); // 委托工厂方法
+    }
+
+    /**
+     * @return 日志输出目标（从不为 null）
+     */
+    public LogSink getLogSink() { // 读取日志输出目标
+        return logSink; // 直接返回字段
+    }
+
+    /**
+     * 复制当前配置（容器内部使用，避免外部修改影响已创建的容器）。
+     *
+     * @return 内容相同的新配置对象
+     */
+    ContainerOptions copy() { // 复制配置
+        final ContainerOptions copy = new ContainerOptions(); // 新建对象
+        copy.componentIndexEnabled = this.componentIndexEnabled; // 逐字段复制
+        copy.bytecodeScanEnabled = this.bytecodeScanEnabled; // 逐字段复制
+        copy.parallelScanEnabled = this.parallelScanEnabled; // 逐字段复制
+        copy.scanExecutor = this.scanExecutor; // 线程池为共享引用，不做深拷贝
+        copy.scanCacheFile = this.scanCacheFile; // Path 不可变，直接共享
+        copy.includePatterns = this.includePatterns; // 只读列表，直接共享
+        copy.excludePatterns = this.excludePatterns; // 只读列表，直接共享
+        copy.injectionPlanCacheEnabled = this.injectionPlanCacheEnabled; // 逐字段复制
+        copy.linkedFactoriesEnabled = this.linkedFactoriesEnabled; // 逐字段复制
+        copy.parallelStartEnabled = this.parallelStartEnabled; // 逐字段复制
+        copy.startExecutor = this.startExecutor; // 线程池为共享引用，不做深拷贝
+        copy.startThreads = this.startThreads; // 逐字段复制
+        copy.asyncCallbacksEnabled = this.asyncCallbacksEnabled; // 逐字段复制
+        copy.callbackExecutor = this.callbackExecutor; // 线程池为共享引用，不做深拷贝
+        copy.virtualThreadCallbacks = this.virtualThreadCallbacks; // 逐字段复制
+        copy.callbackTimeout = this.callbackTimeout; // Duration 不可变，直接共享
+        copy.startTimeout = this.startTimeout; // Duration 不可变，直接共享
+        copy.stopTimeout = this.stopTimeout; // Duration 不可变，直接共享
+        copy.parallelStopEnabled = this.parallelStopEnabled; // 逐字段复制
+        copy.shutdownHookEnabled = this.shutdownHookEnabled; // 逐字段复制
+        copy.lazyInitEnabled = this.lazyInitEnabled; // 逐字段复制
+        copy.freezeAfterStartEnabled = this.freezeAfterStartEnabled; // 逐字段复制
+        copy.snapshotFile = this.snapshotFile; // Path 不可变，直接共享
+        copy.reloadQuietPeriod = this.reloadQuietPeriod; // Duration 不可变，直接共享
+        copy.startupMetricsEnabled = this.startupMetricsEnabled; // 逐字段复制
+        copy.startupTraceEnabled = this.startupTraceEnabled; // 逐字段复制
+        copy.logSink = this.logSink; // 输出目标为共享引用
+        return copy; // 返回副本
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+/**
+ * 延迟获取的依赖：注入点声明为 {@code Deferred<Foo>} 时，容器注入一个持有者，
+ * 首次调用 {@link #get()} 时才通过 {@link Container#getBean(Class)} 创建（或取得）{@code Foo}，之后直接返回同一个实例。
+ * <p>
+ * 主要用于具体类：接口类型的依赖可以用 {@code @Lazy} 注入代理，而具体类无法在不生成字节码的前提下代理，
+ * 因此以持有者的形式推迟创建。{@code Deferred} 的依赖不计入启动时的依赖图，也不参与循环依赖检测，
+ * 可用来打破构造期的环。
+ *
+ * <pre>{@code
+ * @Component
+ * public class ReportJob {
+ *     @Inject
+ *     private Deferred<PdfRenderer> renderer; // 启动时不创建 PdfRenderer
+ *
+ *     public void run() {
+ *         renderer.get().render(); // 首次调用时才创建
+ *     }
+ * }
+ * }</pre>
+ *
+ * @param <T> 依赖类型（必须是具体的类型参数，不能是通配符或类型变量）
+ */
+public interface Deferred<T> { // 延迟依赖持有者
+
+    /**
+     * 获取依赖实例；首次调用时创建，之后返回同一个实例。
+     *
+     * @return 依赖实例
+     * @throws IllegalStateException 依赖无法创建时抛出（下次调用会重试）
+     */
+    T get(); // 获取实例
+}
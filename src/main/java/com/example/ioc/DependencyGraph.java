@@ -0,0 +1,344 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.util.ArrayDeque; // 引入 ArrayDeque，作为广度优先遍历与拓扑排序的队列
+import java.util.ArrayList; // 引入 ArrayList，收集节点与边
+import java.util.Arrays; // 引入 Arrays，初始化层级数组
+import java.util.Collection; // 引入 Collection，接收组件集合
+import java.util.HashMap; // 引入 HashMap，类型 -> 节点下标
+import java.util.LinkedHashSet; // 引入 LinkedHashSet，去重同时保持依赖声明顺序
+import java.util.List; // 引入 List，作为节点列表类型
+import java.util.Map; // 引入 Map，作为索引类型
+import java.util.concurrent.CompletableFuture; // 引入 CompletableFuture，等待全部节点执行完毕
+import java.util.concurrent.Executor; // 引入 Executor，承载并行实例化任务
+import java.util.concurrent.RejectedExecutionException; // 引入 RejectedExecutionException，线程池拒绝时退回当前线程
+import java.util.concurrent.atomic.AtomicInteger; // 引入 AtomicInteger，统计未完成节点数
+import java.util.concurrent.atomic.AtomicIntegerArray; // 引入 AtomicIntegerArray，记录每个节点尚未完成的依赖数
+import java.util.function.Consumer; // 引入 Consumer，表示对单个节点执行的动作
+import java.util.function.Function; // 引入 Function，按类型获取注入计划
+
+/**
+ * 组件之间的依赖图：节点是类型，边由注入计划中的构造器参数与 {@code @Inject} 字段决定（依赖 → 使用方）；
+ * 延迟注入（{@link Deferred}、{@link Provider} 与接口代理）不构成边。
+ * <p>
+ * 建图时从组件集合出发，沿依赖递归纳入所有可达类型（依赖本身不一定是组件，但同样会被 {@code getBean} 创建）。
+ * 随后用 Kahn 算法计算每个节点的层级（所有依赖的最大层级 + 1）；无法排序的节点位于环上或依赖了环，
+ * 在实例化之前就能报告，避免创建到一半才发现循环依赖。
+ * <p>
+ * {@link #execute(Executor, Consumer)} 不按“整层等待”推进，而是某个节点的全部依赖完成后立即提交，
+ * 因此总耗时取决于关键路径上的构造耗时之和，而不是每层最慢节点之和。
+ */
+final class DependencyGraph { // 依赖图（建好后不可变）
+
+    private final List<Class<?>> nodes; // 全部节点（按拓扑顺序排列，环上的节点排在最后）
+    private final Map<Class<?>, Integer> index; // 类型 -> 节点下标
+    private final int[][] dependencies; // 节点下标 -> 依赖节点下标
+    private final int[][] dependents; // 节点下标 -> 使用方节点下标
+    private final int[] level; // 节点层级（从 0 开始）；位于环上或依赖环的节点为 -1
+    private final int depth; // 层数（关键路径上的节点数）
+
+    private DependencyGraph(List<Class<?>> nodes,
+                            Map<Class<?>, Integer> index,
+                            int[][] dependencies,
+                            int[][] dependents,
+                            int[] level,
+                            int depth) { // 由 build 创建
+        this.nodes = nodes; // 保存节点
+        this.index = index; // 保存索引
+        this.dependencies = dependencies; // 保存依赖边
+        this.dependents = dependents; // 保存反向边
+        this.level = level; // 保存层级
+        this.depth = depth; // 保存层数
+    }
+
+    /**
+     * 从组件集合出发建立依赖图。
+     *
+     * @param roots        组件类型集合
+     * @param dependencies 按类型给出必须先于它创建的依赖（计算失败的类型视为没有依赖，实例化时会按原路径报错）
+     * @return 依赖图
+     */
+    static DependencyGraph build(Collection<Class<?>> roots,
+                                 Function<Class<?>, ? extends Collection<Class<?>>> dependencies) { // 建图入口
+        final List<Class<?>> discovered = new ArrayList<>(); // 按发现顺序记录节点
+        final Map<Class<?>, Integer> found = new HashMap<>(); // 类型 -> 发现顺序下标
+        final List<int[]> deps = new ArrayList<>(); // 与 discovered 对应的依赖下标
+        final ArrayDeque<Class<?>> queue = new ArrayDeque<>(); // 广度优先遍历队列
+        for (Class<?> root : roots) { // 先纳入全部组件
+            if (found.putIfAbsent(root, discovered.size()) == null) { // 去重
+                discovered.add(root); // 记录节点
+                queue.add(root); // 等待展开
+            }
+        }
+        while (!queue.isEmpty()) { // 逐个展开依赖
+            final Class<?> type = queue.poll(); // 当前类型
+            final LinkedHashSet<Class<?>> direct = new LinkedHashSet<>(); // 去重后的直接依赖
+            try { // 计划计算可能失败（如缺少合适的构造器）
+                direct.addAll(dependencies.apply(type)); // 构造器参数与注入字段
+            } catch (RuntimeException e) { // 配置错误留给实例化阶段报告
+                direct.clear(); // 视为没有依赖
+            }
+            final int[] edges = new int[direct.size()]; // 依赖下标
+            int i = 0; // 写入位置
+            for (Class<?> d : direct) { // 逐个登记依赖
+                Integer at = found.get(d); // 是否已发现
+                if (at == null) { // 新类型
+                    at = discovered.size(); // 分配下标
+                    found.put(d, at); // 登记
+                    discovered.add(d); // 记录节点
+                    queue.add(d); // 等待展开
+                }
+                edges[i++] = at; // 记录边
+            }
+            deps.add(edges); // 与 discovered 顺序一致（队列按发现顺序出队）
+        }
+        return sort(discovered, deps); // 拓扑排序并计算层级
+    }
+
+    private static DependencyGraph sort(List<Class<?>> discovered, List<int[]> deps) { // Kahn 算法
+        final int n = discovered.size(); // 节点数
+        final int[] remaining = new int[n]; // 每个节点尚未排序的依赖数
+        final int[] outDegree = new int[n]; // 每个节点的使用方数量
+        for (int v = 0; v < n; v++) { // 统计入度与出度
+            remaining[v] = deps.get(v).length; // 依赖数
+            for (int d : deps.get(v)) { // 每条依赖边
+                outDegree[d]++; // 依赖方多一个使用方
+            }
+        }
+        final int[][] users = new int[n][]; // 反向边
+        for (int v = 0; v < n; v++) { // 预分配
+            users[v] = new int[outDegree[v]]; // 按出度分配
+        }
+        final int[] fill = new int[n]; // 反向边写入位置
+        for (int v = 0; v < n; v++) { // 填充反向边
+            for (int d : deps.get(v)) { // 每条依赖边
+                users[d][fill[d]++] = v; // 依赖 d 的使用方是 v
+            }
+        }
+
+        final int[] lvl = new int[n]; // 层级
+        Arrays.fill(lvl, -1); // 默认无法排序
+        final int[] order = new int[n]; // 拓扑顺序（旧下标）
+        int head = 0; // 已出队位置
+        int tail = 0; // 已入队位置
+        for (int v = 0; v < n; v++) { // 没有依赖的节点位于第 0 层
+            if (remaining[v] == 0) { // 叶子节点
+                lvl[v] = 0; // 第 0 层
+                order[tail++] = v; // 入队
+            }
+        }
+        int depth = 0; // 最大层数
+        while (head < tail) { // 逐个出队
+            final int v = order[head++]; // 当前节点
+            depth = Math.max(depth, lvl[v] + 1); // 更新层数
+            for (int u : users[v]) { // 当前节点的使用方
+                lvl[u] = Math.max(lvl[u], lvl[v] + 1); // 层级取所有依赖的最大值 + 1
+                if (--remaining[u] == 0) { // 全部依赖已排序
+                    order[tail++] = u; // 入队
+                }
+            }
+        }
+        for (int v = 0; v < n; v++) { // 剩余节点位于环上或依赖环，排在最后
+            if (remaining[v] > 0) { // 未能排序
+                lvl[v] = -1; // 重置为无法排序（部分依赖可能已更新过层级）
+                order[tail++] = v; // 追加到末尾
+            }
+        }
+
+        final int[] position = new int[n]; // 旧下标 -> 新下标
+        final List<Class<?>> nodes = new ArrayList<>(n); // 按拓扑顺序排列的节点
+        final Map<Class<?>, Integer> index = new HashMap<>(n * 2); // 类型 -> 新下标
+        for (int i = 0; i < n; i++) { // 重新编号
+            position[order[i]] = i; // 记录映射
+            nodes.add(discovered.get(order[i])); // 按新顺序排列
+            index.put(discovered.get(order[i]), i); // 登记索引
+        }
+        final int[][] dependencies = new int[n][]; // 新下标下的依赖边
+        final int[][] dependents = new int[n][]; // 新下标下的反向边
+        final int[] level = new int[n]; // 新下标下的层级
+        for (int i = 0; i < n; i++) { // 逐个转换
+            final int old = order[i]; // 旧下标
+            dependencies[i] = remap(deps.get(old), position); // 转换依赖边
+            dependents[i] = remap(users[old], position); // 转换反向边
+            level[i] = lvl[old]; // 复制层级
+        }
+        return new DependencyGraph(nodes, index, dependencies, dependents, level, depth); // 构造依赖图
+    }
+
+    private static int[] remap(int[] edges, int[] position) { // 按新编号转换边
+        final int[] result = new int[edges.length]; // 结果数组
+        for (int i = 0; i < edges.length; i++) { // 逐条转换
+            result[i] = position[edges[i]]; // 新下标
+        }
+        return result; // 返回转换后的边
+    }
+
+    /**
+     * @return 节点总数（组件及其可达依赖）
+     */
+    int size() { // 节点数
+        return nodes.size(); // 直接返回
+    }
+
+    /**
+     * @return 层数，即关键路径上的节点数
+     */
+    int depth() { // 层数
+        return depth; // 直接返回
+    }
+
+    /**
+     * @return 宽度，即同一层上最多的节点数（并行执行时最多同时就绪的节点数的上界）
+     */
+    int width() { // 最宽一层的节点数
+        final int[] counts = new int[depth]; // 每层节点数
+        int width = 0; // 最大值
+        for (int l : level) { // 逐个节点
+            if (l >= 0) { // 只统计可排序的节点
+                width = Math.max(width, ++counts[l]); // 累加并更新最大值
+            }
+        }
+        return width; // 返回结果
+    }
+
+    /**
+     * @param i 节点下标（按拓扑顺序，依赖总是排在使用方之前；无法排序的节点排在最后）
+     * @return 节点类型
+     */
+    Class<?> typeAt(int i) { // 按下标取类型
+        return nodes.get(i); // 直接返回
+    }
+
+    /**
+     * @param i 节点下标
+     * @return 依赖节点下标（内部数组，调用方不得修改）
+     */
+    int[] dependenciesAt(int i) { // 按下标取依赖
+        return dependencies[i]; // 直接返回
+    }
+
+    /**
+     * @param i 节点下标
+     * @return 节点位于环上或依赖了环时返回 true
+     */
+    boolean isBlockedAt(int i) { // 按下标判断是否无法排序
+        return level[i] < 0; // 层级为 -1 表示无法排序
+    }
+
+    /**
+     * @param type 类型
+     * @return 类型位于环上或依赖了环时返回 true
+     */
+    boolean isBlocked(Class<?> type) { // 是否无法排序
+        final Integer i = index.get(type); // 查找节点
+        return i != null && level[i] < 0; // 层级为 -1 表示无法排序
+    }
+
+    /**
+     * 描述阻塞某个类型的环，例如 {@code "A -> B -> A"}。
+     *
+     * @param type 无法排序的类型
+     * @return 环路径；类型可以排序时返回 null
+     */
+    String cycleOf(Class<?> type) { // 找出阻塞该类型的环
+        if (!isBlocked(type)) { // 可以排序
+            return null; // 没有环
+        }
+        final List<Integer> path = new ArrayList<>(); // 沿无法排序的依赖前进的路径
+        final Map<Integer, Integer> seen = new HashMap<>(); // 节点 -> 在路径中的位置
+        int v = index.get(type); // 起点
+        while (!seen.containsKey(v)) { // 直到某个节点第二次出现
+            seen.put(v, path.size()); // 记录位置
+            path.add(v); // 加入路径
+            for (int d : dependencies[v]) { // 无法排序的节点至少有一个无法排序的依赖
+                if (level[d] < 0) { // 找到一个
+                    v = d; // 继续前进
+                    break; // 只需沿一条边
+                }
+            }
+        }
+        final StringBuilder sb = new StringBuilder(); // 拼接环路径
+        for (int i = seen.get(v); i < path.size(); i++) { // 从环的入口开始
+            sb.append(nodes.get(path.get(i)).getName()).append(" -> "); // 环上的节点
+        }
+        return sb.append(nodes.get(v).getName()).toString(); // 回到入口，闭合环
+    }
+
+    /**
+     * 并行执行全部可排序的节点：节点的全部依赖执行完毕后才会提交，调用方阻塞直到所有节点结束。
+     * <p>
+     * 动作抛出的异常会被吞掉（由调用方在动作内部自行处理与打印），不影响其他节点；
+     * 依赖失败的节点仍会执行，由动作自行决定如何处理。线程池拒绝任务时在当前线程执行。
+     *
+     * @param executor 线程池
+     * @param action   对单个类型执行的动作（例如 {@code getBean}）
+     */
+    void execute(Executor executor, Consumer<Class<?>> action) { // 按依赖关系并行执行
+        final AtomicIntegerArray waitingOn = new AtomicIntegerArray(nodes.size()); // 每个节点尚未完成的依赖数
+        final AtomicInteger pending = new AtomicInteger(1); // 未完成节点数（含调用方自身）
+        final CompletableFuture<Void> done = new CompletableFuture<>(); // 全部完成的信号
+        for (int i = 0; i < nodes.size(); i++) { // 初始化计数
+            if (level[i] >= 0) { // 只执行可排序的节点
+                waitingOn.set(i, dependencies[i].length); // 依赖数
+                pending.incrementAndGet(); // 登记节点
+            }
+        }
+        final Runner runner = new Runner(executor, action, waitingOn, pending, done); // 执行器
+        for (int i = 0; i < nodes.size() && level[i] == 0; i++) { // 拓扑顺序中第 0 层排在最前
+            runner.submit(i); // 提交没有依赖的节点
+        }
+        runner.release(); // 释放调用方自身占用的计数
+        done.join(); // 阻塞直到所有节点结束
+    }
+
+    /**
+     * 一次 {@link #execute(Executor, Consumer)} 的执行状态。
+     */
+    private final class Runner { // 执行状态
+        private final Executor executor; // 线程池
+        private final Consumer<Class<?>> action; // 节点动作
+        private final AtomicIntegerArray waitingOn; // 尚未完成的依赖数
+        private final AtomicInteger pending; // 未完成节点数
+        private final CompletableFuture<Void> done; // 完成信号
+
+        Runner(Executor executor,
+               Consumer<Class<?>> action,
+               AtomicIntegerArray waitingOn,
+               AtomicInteger pending,
+               CompletableFuture<Void> done) { // 保存状态
+            this.executor = executor; // 线程池
+            this.action = action; // 节点动作
+            this.waitingOn = waitingOn; // 依赖计数
+            this.pending = pending; // 节点计数
+            this.done = done; // 完成信号
+        }
+
+        void submit(int node) { // 提交一个已就绪的节点
+            try { // 线程池可能拒绝任务
+                executor.execute(() -> run(node)); // 交给线程池执行
+            } catch (RejectedExecutionException e) { // 线程池已满或已关闭
+                run(node); // 退回当前线程执行，保证所有节点都会执行
+            }
+        }
+
+        private void run(int node) { // 执行节点并推进使用方
+            try { // 动作异常不应导致等待方永远阻塞
+                action.accept(nodes.get(node)); // 执行动作
+            } catch (Throwable ignored) { // 调用方在动作内部处理错误
+                // 吞掉异常：使用方仍需执行，以便报告各自的错误
+            } finally { // 无论成功失败都要推进
+                for (int u : dependents[node]) { // 每个使用方
+                    if (level[u] >= 0 && waitingOn.decrementAndGet(u) == 0) { // 最后一个依赖完成
+                        submit(u); // 提交使用方
+                    }
+                }
+                release(); // 本节点结束
+            }
+        }
+
+        void release() { // 计数减一，归零即完成
+            if (pending.decrementAndGet() == 0) { // 所有节点均已结束
+                done.complete(null); // 唤醒等待方
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.util.ArrayList; // 引入 ArrayList，排序类型
+import java.util.Comparator; // 引入 Comparator，按类名排序
+import java.util.HashMap; // 引入 HashMap，构建时的类型 -> 下标映射
+import java.util.List; // 引入 List，作为排序中间结果
+import java.util.Map; // 引入 Map，接收单例与命名 Bean
+
+/**
+ * 冻结后的单例注册表：容器启动完成、Bean 集合不再变化时，由 {@link Container#freeze()} 一次性构建，之后只读。
+ * <p>
+ * 结构：
+ * <ul>
+ *   <li>实例压缩为按类型名排序的数组，构建时的类型 -> 下标映射只在每个类型首次查找时使用；</li>
+ *   <li>按类型查找走本注册表私有的 {@link ClassValue}：每个 Class 首次查找时解析一次（接口按可赋值索引解析为实现类的实例），
+ *       之后的查找不分配对象、不加锁、不再做哈希与强转前的空值判断；</li>
+ *   <li>按名称查找走 {@link NameTable}（构建时求得的完美哈希表）：每个名称只有一个候选槽位，再比较一次字符串。</li>
+ * </ul>
+ * 未登记的类型在 ClassValue 中记为“缺失”，由容器抛出异常（冻结后不允许再创建或登记 Bean）。
+ */
+final class FrozenRegistry { // 冻结注册表（不可变）
+
+    private static final Object MISSING = new Object(); // ClassValue 中“未登记”的哨兵
+
+    private final Object[] beans; // 已登记的实例（按类型名排序）
+    private final Map<Class<?>, Integer> positions; // 类型 -> 下标（只在 ClassValue 首次解析时使用）
+    private final TypeIndex typeIndex; // 可赋值索引（解析接口与抽象类）
+    private final NameTable<Object> names; // 名称 -> 实例的完美哈希表
+    private final ClassValue<Object> slots = new ClassValue<Object>() { // 每个类型一个槽位（本注册表私有）
+        @Override
+        protected Object computeValue(Class<?> type) { // 首次查找时解析
+            return resolve(type); // 解析结果（或缺失哨兵）
+        }
+    };
+
+    private FrozenRegistry(Object[] beans,
+                           Map<Class<?>, Integer> positions,
+                           TypeIndex typeIndex,
+                           NameTable<Object> names) { // 由 of 创建
+        this.beans = beans; // 保存实例
+        this.positions = positions; // 保存下标映射
+        this.typeIndex = typeIndex; // 保存可赋值索引
+        this.names = names; // 保存名称表
+    }
+
+    /**
+     * 根据当前单例与命名 Bean 构建注册表。
+     *
+     * @param singletons 类型 -> 实例（调用方保证构建期间不再变化）
+     * @param named      名称 -> 实例
+     * @param typeIndex  可赋值索引
+     * @return 注册表
+     */
+    static FrozenRegistry of(Map<Class<?>, Object> singletons, Map<String, Object> named, TypeIndex typeIndex) { // 构建入口
+        final List<Class<?>> sorted = new ArrayList<>(singletons.keySet()); // 全部类型
+        sorted.sort(Comparator.comparing(Class::getName)); // 按类名排序，保证遍历顺序确定
+        final Class<?>[] types = sorted.toArray(new Class<?>[0]); // 类型数组
+        final Object[] beans = new Object[types.length]; // 实例数组
+        final Map<Class<?>, Integer> positions = new HashMap<>(types.length * 2); // 类型 -> 下标
+        for (int i = 0; i < types.length; i++) { // 逐个填充
+            beans[i] = singletons.get(types[i]); // 实例
+            positions.put(types[i], i); // 下标
+        }
+        return new FrozenRegistry(beans, positions, typeIndex, NameTable.of(named)); // 构造注册表
+    }
+
+    /**
+     * 按类型查找实例。
+     *
+     * @param type 类型（具体类、接口或抽象类）
+     * @return 实例；未登记或无法唯一解析时返回 null
+     */
+    Object get(Class<?> type) { // 类型查找
+        final Object bean = slots.get(type); // ClassValue 查找（首次之后无分配、无锁）
+        return bean == MISSING ? null : bean; // 哨兵转换为 null
+    }
+
+    /**
+     * 按名称查找实例。
+     *
+     * @param name Bean 名称
+     * @return 实例；未登记时返回 null
+     */
+    Object named(String name) { // 名称查找
+        return names.get(name); // 完美哈希查找
+    }
+
+    /**
+     * @return 已登记的实例数量
+     */
+    int size() { // 数量
+        return beans.length; // 数组长度
+    }
+
+    private Object resolve(Class<?> type) { // ClassValue 首次解析
+        final Integer at = positions.get(type); // 精确匹配
+        if (at != null) { // 已登记
+            return beans[at]; // 对应实例
+        }
+        if (!InjectionPlan.isConcrete(type)) { // 接口或抽象类
+            try { // 可能没有或有多个实现类
+                final Integer impl = positions.get(typeIndex.implementationOf(type)); // 唯一实现类的下标
+                if (impl != null) { // 实现类已创建
+                    return beans[impl]; // 对应实例
+                }
+            } catch (IllegalStateException e) { // 无法唯一解析
+                // 记为缺失，由容器报告具体原因
+            }
+        }
+        return MISSING; // 缺失
+    }
+}
@@ -0,0 +1,466 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import com.example.ioc.annotations.Component; // 引入 @Component，读取组件作用域
+import com.example.ioc.annotations.Inject; // 引入 @Inject，识别注入构造器与注入字段
+import com.example.ioc.annotations.InvokeOnStart; // 引入 @InvokeOnStart，识别启动回调
+import com.example.ioc.annotations.InvokeOnStop; // 引入 @InvokeOnStop，识别停止回调
+import com.example.ioc.annotations.Lazy; // 引入 @Lazy，识别延迟注入点
+import com.example.ioc.annotations.OnRelease; // 引入 @OnRelease，识别池化组件的重置方法
+import com.example.ioc.annotations.Scope; // 引入 Scope，表示组件作用域
+
+import java.lang.reflect.Constructor; // 引入 Constructor，表示选定的构造器
+import java.lang.reflect.Field; // 引入 Field，表示注入字段
+import java.lang.reflect.Method; // 引入 Method，表示启动回调
+import java.lang.reflect.Modifier; // 引入 Modifier，判断依赖是否为具体类
+import java.lang.reflect.ParameterizedType; // 引入 ParameterizedType，解析 Deferred<T>/Provider<T> 的类型参数
+import java.lang.reflect.Type; // 引入 Type，表示注入点的泛型类型
+import java.util.ArrayList; // 引入 ArrayList，收集候选成员
+import java.util.List; // 引入 List，作为收集中间结果
+
+/**
+ * 单个类型的“注入计划”：选定的构造器、依赖类型、注入字段与启动回调，计算一次后不可变。
+ * <p>
+ * 计划缓存在全局 {@link ClassValue} 中（随类卸载自动释放），因此同一 JVM 内的所有容器、
+ * 以及对同一类型的重复 {@code createInstance} 调用都复用同一份计划，不再重复调用
+ * {@code getDeclaredConstructors/Fields/Methods}。计划中的成员在创建时统一 {@code setAccessible(true)}，
+ * 之后不再开关访问权限（这些成员对象是计划私有的副本，不会影响其他反射调用方）。
+ * <p>
+ * 实际调用通过 {@link Factories} 完成：{@link #linked(LogSink)} 把成员链接为 MethodHandle / LambdaMetafactory 工厂，
+ * {@link #reflective()} 保留普通反射调用；二者都在首次使用时创建并缓存在计划上。
+ * 声明了 {@code @Timed} 且存在生成的计时子类的类型，工厂实例化的是子类（见 {@link #instantiated}），依赖与注入点仍按原类计算。
+ */
+final class InjectionPlan { // 注入计划（不可变）
+
+    private static final ClassValue<Slot> SLOTS = new ClassValue<Slot>() { // 每个类型一个槽位
+        @Override
+        protected Slot computeValue(Class<?> type) { // 首次访问时创建空槽位
+            return new Slot(); // 计划本身延迟到第一次 forType 时计算
+        }
+    };
+
+    private static final ClassValue<Scope> SCOPES = new ClassValue<Scope>() { // 每个类型的作用域（读取一次注解）
+        @Override
+        protected Scope computeValue(Class<?> type) { // 首次访问时读取
+            final Component comp = type.getAnnotation(Component.class); // 组件注解
+            return comp != null ? comp.scope() : Scope.SINGLETON; // 非组件类型按单例处理（与 getBean 的既有行为一致）
+        }
+    };
+
+    private static final Class<?>[] NO_TYPES = new Class<?>[0]; // 共享的空类型数组
+    private static final byte[] NO_KINDS = new byte[0]; // 共享的空注入方式数组
+    private static final String[] NO_NAMES = new String[0]; // 共享的空名称数组
+    private static final Method[] NO_METHODS = new Method[0]; // 共享的空方法数组
+
+    /** 注入方式：立即通过 getBean 获取依赖。 */
+    static final byte DIRECT = 0; // 直接注入
+    /** 注入方式：注入点类型为 {@link Deferred}，注入持有者，依赖类型取自类型参数。 */
+    static final byte DEFERRED = 1; // 持有者注入
+    /** 注入方式：注入点标注了 {@link Lazy}，接口类型注入代理（具体类无法代理，按直接注入处理）。 */
+    static final byte LAZY = 2; // 代理注入
+    /** 注入方式：注入点类型为 {@link BeanPool}，注入池化组件的对象池，依赖类型取自类型参数。 */
+    static final byte POOL = 3; // 对象池注入
+    /** 注入方式：注入点类型为 {@link Provider}，注入提供者，依赖类型取自类型参数。 */
+    static final byte PROVIDER = 4; // 提供者注入
+
+    final Class<?> type; // 计划所属类型
+    final Constructor<?> constructor; // 选定的构造器（@Inject 构造器或无参构造器，已可访问）
+    final Constructor<?> instantiated; // 实际调用的构造器：@Timed 组件为生成的计时子类中参数相同的构造器，其余即 constructor
+    final Class<?>[] constructorDependencies; // 构造器参数对应的依赖类型（Deferred<T>/Provider<T> 取 T），顺序与参数一致
+    final byte[] constructorKinds; // 构造器参数的注入方式，顺序与参数一致
+    final String[] constructorNames; // 构造器参数的名称限定（@Inject("name")），未限定为 null，顺序与参数一致
+    final Field[] fields; // @Inject 字段（已可访问）
+    final Class<?>[] fieldDependencies; // 字段对应的依赖类型（Deferred<T>/Provider<T> 取 T），顺序与 fields 一致
+    final byte[] fieldKinds; // 字段的注入方式，顺序与 fields 一致
+    final String[] fieldNames; // 字段的名称限定（@Inject("name")），未限定为 null，顺序与 fields 一致
+    final Method[] startMethods; // 无参 @InvokeOnStart 方法（已可访问）
+    final Method[] resetMethods; // 池化组件的无参 @OnRelease 方法（已可访问）；其他作用域为空数组
+
+    private volatile Method[] stopMethods; // 停止回调（已可访问；首次关闭时计算，不影响启动路径）
+    private volatile Factories linked; // 链接后的工厂（首次使用时创建）
+    private volatile Factories reflective; // 反射工厂（首次使用时创建）
+
+    private InjectionPlan(Class<?> type,
+                          Constructor<?> constructor,
+                          Constructor<?> instantiated,
+                          Field[] fields,
+                          Method[] startMethods,
+                          Method[] resetMethods,
+                          LogSink log) { // 由 build 创建
+        this.type = type; // 保存类型
+        this.constructor = constructor; // 保存构造器
+        this.instantiated = instantiated; // 保存实际调用的构造器
+        final int params = constructor.getParameterCount(); // 参数个数
+        this.constructorDependencies = params == 0 ? NO_TYPES : constructor.getParameterTypes(); // 参数类型（Deferred 参数稍后替换）
+        this.constructorKinds = params == 0 ? NO_KINDS : new byte[params]; // 参数注入方式
+        this.constructorNames = params == 0 ? NO_NAMES : new String[params]; // 参数名称限定
+        final Type[] generic = constructor.getGenericParameterTypes(); // 泛型参数类型
+        final java.lang.annotation.Annotation[][] annotations = constructor.getParameterAnnotations(); // 参数注解
+        if (generic.length == params && annotations.length == params) { // 内部类构造器的隐含参数会导致长度不一致，此时全部按直接注入处理
+            for (int i = 0; i < params; i++) { // 逐个判定
+                constructorKinds[i] = kindOf(constructorDependencies[i], hasLazy(annotations[i]), log); // 注入方式
+                constructorDependencies[i] = dependencyOf(constructorDependencies[i], generic[i]); // 依赖类型
+                constructorNames[i] = qualifierOf(annotations[i]); // 名称限定
+            }
+        }
+        this.fields = fields; // 保存字段
+        this.fieldDependencies = new Class<?>[fields.length]; // 字段类型数组
+        this.fieldKinds = fields.length == 0 ? NO_KINDS : new byte[fields.length]; // 字段注入方式
+        this.fieldNames = fields.length == 0 ? NO_NAMES : new String[fields.length]; // 字段名称限定
+        for (int i = 0; i < fields.length; i++) { // 逐个提取
+            fieldKinds[i] = kindOf(fields[i].getType(), fields[i].isAnnotationPresent(Lazy.class), log); // 注入方式
+            fieldDependencies[i] = dependencyOf(fields[i].getType(), fields[i].getGenericType()); // 字段类型即依赖键（Deferred/Provider 取类型参数）
+            fieldNames[i] = qualifierOf(fields[i].getAnnotation(Inject.class)); // 名称限定
+        }
+        this.startMethods = startMethods; // 保存回调
+        this.resetMethods = resetMethods; // 保存重置方法
+    }
+
+    private byte kindOf(Class<?> raw, boolean lazy, LogSink log) { // 判定注入方式
+        if (raw == Deferred.class) { // 持有者注入
+            return DEFERRED; // 无论是否标注 @Lazy
+        }
+        if (raw == Provider.class) { // 提供者注入
+            return PROVIDER; // 无论是否标注 @Lazy
+        }
+        if (raw == BeanPool.class) { // 对象池注入
+            return POOL; // 池本身总是立即注入
+        }
+        if (lazy) { // 标注了 @Lazy
+            if (raw.isInterface()) { // 接口可以代理
+                return LAZY; // 代理注入
+            }
+            if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.WARN, "@Lazy has no effect on concrete type " + raw.getName() + " in "
+                        + type.getName() + ", inject Deferred<" + raw.getSimpleName() + "> instead"); // 提示改用 Deferred
+            }
+        }
+        return DIRECT; // 直接注入
+    }
+
+    private Class<?> dependencyOf(Class<?> raw, Type generic) { // 解析依赖类型
+        if (raw != Deferred.class && raw != Provider.class && raw != BeanPool.class) { // 普通注入点
+            return raw; // 原始类型即依赖键
+        }
+        if (generic instanceof ParameterizedType) { // Deferred<T> / Provider<T> / BeanPool<T>
+            final Type arg = ((ParameterizedType) generic).getActualTypeArguments()[0]; // 类型参数
+            if (arg instanceof Class) { // Deferred<Foo>
+                return (Class<?>) arg; // 依赖类型
+            }
+            if (arg instanceof ParameterizedType && ((ParameterizedType) arg).getRawType() instanceof Class) { // Deferred<Foo<Bar>>
+                return (Class<?>) ((ParameterizedType) arg).getRawType(); // 按原始类型解析
+            }
+        }
+        throw new IllegalStateException(raw.getSimpleName() + " injection point in " + type.getName()
+                + " must declare a concrete type argument, e.g. " + raw.getSimpleName() + "<Foo>"); // 通配符、类型变量或原始类型
+    }
+
+    private static String qualifierOf(java.lang.annotation.Annotation[] annotations) { // 参数上的 @Inject("name")
+        for (java.lang.annotation.Annotation a : annotations) { // 遍历参数注解
+            if (a.annotationType() == Inject.class) { // 找到 @Inject
+                return qualifierOf((Inject) a); // 读取名称
+            }
+        }
+        return null; // 未限定
+    }
+
+    private static String qualifierOf(Inject inject) { // @Inject 的名称限定
+        if (inject == null) { // 没有注解（扫描缓存定位的字段总带 @Inject，这里只是防御）
+            return null; // 未限定
+        }
+        final String name = inject.value().trim(); // 去掉首尾空白，与 @Component 名称的处理一致
+        return name.isEmpty() ? null : name; // 空字符串表示按类型注入
+    }
+
+    private static boolean hasLazy(java.lang.annotation.Annotation[] annotations) { // 参数是否标注 @Lazy
+        for (java.lang.annotation.Annotation a : annotations) { // 遍历参数注解
+            if (a.annotationType() == Lazy.class) { // 找到 @Lazy
+                return true; // 命中
+            }
+        }
+        return false; // 未标注
+    }
+
+    /**
+     * 读取类型的作用域（{@link Component#scope()}），结果缓存在全局 {@link ClassValue} 中。
+     *
+     * @param type 类型
+     * @return 作用域；非组件类型为 {@link Scope#SINGLETON}
+     */
+    static Scope scopeOf(Class<?> type) { // 作用域查询
+        return SCOPES.get(type); // 一次 ClassValue 查找
+    }
+
+    /**
+     * 判断类型能否直接实例化（非接口、非抽象类）。
+     *
+     * @param type 类型
+     * @return 具体类返回 true
+     */
+    static boolean isConcrete(Class<?> type) { // 具体类判定
+        return !type.isInterface() && !Modifier.isAbstract(type.getModifiers()) && !type.isPrimitive() && !type.isArray(); // 接口、抽象类、基本类型与数组都无法由容器创建
+    }
+
+    /**
+     * 计划对应的调用工厂：实例化器、字段注入器（与 {@link #fields} 一一对应）、回调调用器（与 {@link #startMethods} 一一对应）。
+     */
+    static final class Factories { // 调用工厂（不可变）
+        final MemberLinker.Instantiator instantiator; // 构造器工厂
+        final MemberLinker.Injector[] injectors; // 字段注入器
+        final MemberLinker.Invoker[] invokers; // 回调调用器
+        final MemberLinker.Invoker[] resetters; // 重置方法调用器（与 {@link #resetMethods} 一一对应）
+
+        private Factories(MemberLinker.Instantiator instantiator,
+                          MemberLinker.Injector[] injectors,
+                          MemberLinker.Invoker[] invokers,
+                          MemberLinker.Invoker[] resetters) { // 由计划创建
+            this.instantiator = instantiator; // 保存实例化器
+            this.injectors = injectors; // 保存注入器
+            this.invokers = invokers; // 保存调用器
+            this.resetters = resetters; // 保存重置调用器
+        }
+    }
+
+    /**
+     * 获取链接后的工厂（MethodHandle / LambdaMetafactory），首次调用时链接。
+     *
+     * @param log 链接失败（退回反射）时的调试日志输出目标
+     * @return 链接后的工厂
+     */
+    Factories linked(LogSink log) { // 链接工厂
+        Factories f = linked; // 读取缓存
+        if (f == null) { // 尚未链接
+            final MemberLinker.Injector[] injectors = new MemberLinker.Injector[fields.length]; // 注入器数组
+            for (int i = 0; i < fields.length; i++) { // 逐个链接字段
+                injectors[i] = MemberLinker.injector(fields[i], log); // 链接字段写入
+            }
+            final MemberLinker.Invoker[] invokers = new MemberLinker.Invoker[startMethods.length]; // 调用器数组
+            for (int i = 0; i < startMethods.length; i++) { // 逐个链接回调
+                invokers[i] = MemberLinker.invoker(startMethods[i], log); // 链接方法调用
+            }
+            final MemberLinker.Invoker[] resetters = new MemberLinker.Invoker[resetMethods.length]; // 重置调用器数组
+            for (int i = 0; i < resetMethods.length; i++) { // 逐个链接重置方法
+                resetters[i] = MemberLinker.invoker(resetMethods[i], log); // 链接方法调用
+            }
+            f = new Factories(MemberLinker.instantiator(instantiated, log), injectors, invokers, resetters); // 组装工厂
+            linked = f; // 发布（并发时可能重复链接，但结果等价）
+        }
+        return f; // 返回工厂
+    }
+
+    /**
+     * 获取基于普通反射的工厂（用于关闭链接时或作为基线对比），首次调用时创建。
+     *
+     * @return 反射工厂
+     */
+    Factories reflective() { // 反射工厂
+        Factories f = reflective; // 读取缓存
+        if (f == null) { // 尚未创建
+            final MemberLinker.Injector[] injectors = new MemberLinker.Injector[fields.length]; // 注入器数组
+            for (int i = 0; i < fields.length; i++) { // 逐个包装字段
+                injectors[i] = MemberLinker.reflective(fields[i]); // Field.set
+            }
+            final MemberLinker.Invoker[] invokers = new MemberLinker.Invoker[startMethods.length]; // 调用器数组
+            for (int i = 0; i < startMethods.length; i++) { // 逐个包装回调
+                invokers[i] = MemberLinker.reflective(startMethods[i]); // Method.invoke
+            }
+            final MemberLinker.Invoker[] resetters = new MemberLinker.Invoker[resetMethods.length]; // 重置调用器数组
+            for (int i = 0; i < resetMethods.length; i++) { // 逐个包装重置方法
+                resetters[i] = MemberLinker.reflective(resetMethods[i]); // Method.invoke
+            }
+            f = new Factories(MemberLinker.reflective(instantiated), injectors, invokers, resetters); // 组装工厂
+            reflective = f; // 发布
+        }
+        return f; // 返回工厂
+    }
+
+    /**
+     * 获取类型的注入计划；首次调用时计算并缓存。
+     *
+     * @param type 目标类型
+     * @param meta 扫描缓存提供的元数据（可为 null）；存在时按名称精确定位成员
+     * @param log  计算计划时的警告输出目标（计划全局缓存，只有首次计算的容器会输出）
+     * @return 注入计划
+     * @throws IllegalStateException 存在多个 {@code @Inject} 构造器，或既无注入构造器也无无参构造器
+     */
+    static InjectionPlan forType(Class<?> type, ComponentMetadata meta, LogSink log) { // 计划获取入口
+        final Slot slot = SLOTS.get(type); // 取出槽位
+        InjectionPlan plan = slot.plan; // 读取已缓存的计划
+        if (plan == null) { // 尚未计算
+            plan = build(type, meta, log); // 计算计划（并发时可能重复计算，但结果等价）
+            slot.plan = plan; // 发布计划（volatile 写）
+        }
+        return plan; // 返回计划
+    }
+
+    /**
+     * 不经缓存重新计算类型的注入计划（{@link ContainerOptions#injectionPlanCacheEnabled(boolean)} 关闭时使用）。
+     *
+     * @param type 目标类型
+     * @param log  计算计划时的警告输出目标
+     * @return 新计算的注入计划
+     * @throws IllegalStateException 与 {@link #forType} 相同
+     */
+    static InjectionPlan uncached(Class<?> type, LogSink log) { // 每次重新反射
+        return build(type, null, log); // 不使用扫描元数据，与缓存之前的路径一致
+    }
+
+    private static InjectionPlan build(Class<?> type, ComponentMetadata meta, LogSink log) { // 计算计划
+        if (meta != null) { // 有扫描缓存元数据
+            try { // 成员可能已与缓存不一致
+                final Constructor<?> injectCtor = meta.injectConstructor(type); // 精确定位注入构造器
+                final Constructor<?> ctor = injectCtor != null ? injectCtor : type.getDeclaredConstructor(); // 无注入构造器时使用无参构造器
+                return accessible(type, ctor, meta.injectFields(type), meta.startMethods(type), log); // 组装计划
+            } catch (ReflectiveOperationException e) { // 缓存陈旧
+                if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.WARN, "stale scan metadata for " + type.getName() + ", falling back to reflection"); // 提示后回退
+                }
+            }
+        }
+        final Constructor<?> ctor = selectConstructor(type); // 选择构造器
+        final List<Field> fields = new ArrayList<>(); // 注入字段
+        for (Field f : type.getDeclaredFields()) { // 遍历声明字段
+            if (f.isAnnotationPresent(Inject.class)) { // 仅处理带 @Inject 的字段
+                fields.add(f); // 收集
+            }
+        }
+        final List<Method> starts = new ArrayList<>(); // 启动回调
+        for (Method m : type.getDeclaredMethods()) { // 遍历声明方法
+            if (m.isAnnotationPresent(InvokeOnStart.class)) { // 仅处理带 @InvokeOnStart 的方法
+                if (m.getParameterCount() != 0) { // 若方法带参数
+                    if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                        log.log(LogSink.Level.WARN, "@InvokeOnStart must be no-arg: "
+                                + type.getName() + "#" + m.getName()); // 打印警告并跳过：容器约定只调用无参方法
+                    }
+                    continue; // 跳过本方法
+                }
+                starts.add(m); // 收集
+            }
+        }
+        return accessible(type, ctor, fields.toArray(new Field[0]), starts.toArray(new Method[0]), log); // 组装计划
+    }
+
+    private static Constructor<?> selectConstructor(Class<?> type) { // 构造器优先：唯一的 @Inject 构造器，否则无参构造器
+        Constructor<?> found = null; // 记录唯一的注入构造器
+        for (Constructor<?> c : type.getDeclaredConstructors()) { // 遍历构造器
+            if (c.isAnnotationPresent(Inject.class)) { // 该构造器带有 @Inject
+                if (found != null) { // 已经找到过一个，再遇到第二个则冲突
+                    throw new IllegalStateException("Multiple @Inject constructors in: " + type.getName()); // 报错
+                }
+                found = c; // 记录该构造器
+            }
+        }
+        if (found != null) { // 找到了注入构造器
+            return found; // 直接返回
+        }
+        try { // 退回到无参构造器策略
+            return type.getDeclaredConstructor(); // 获取无参构造器
+        } catch (NoSuchMethodException e) { // 不存在无参构造器且也没有 @Inject 构造器
+            throw new IllegalStateException("No suitable constructor for type: " + type.getName()
+                    + ". Provide an @Inject constructor or a no-arg constructor.", e); // 指引修复方式
+        }
+    }
+
+    private static InjectionPlan accessible(Class<?> type,
+                                            Constructor<?> ctor,
+                                            Field[] fields,
+                                            Method[] starts,
+                                            LogSink log) { // 一次性打开访问权限并组装计划
+        ctor.setAccessible(true); // 私有构造器也允许
+        for (Field f : fields) { // 私有字段也允许
+            f.setAccessible(true); // 打开访问权限
+        }
+        for (Method m : starts) { // 私有回调也允许
+            m.setAccessible(true); // 打开访问权限
+        }
+        final Method[] resets = scopeOf(type) == Scope.POOLED ? resetMethods(type, log) : NO_METHODS; // 只有池化组件需要重置方法
+        return new InjectionPlan(type, ctor, timedConstructor(type, ctor, log), fields, starts, resets, log); // 构造计划
+    }
+
+    private static Constructor<?> timedConstructor(Class<?> type, Constructor<?> ctor, LogSink log) { // 计时子类中与 ctor 参数相同的构造器
+        final Class<?> sub = TimedMethods.subclassOf(type); // 编译期生成的计时子类
+        if (sub == null) { // 没有计时方法或没有子类
+            return ctor; // 直接使用原构造器
+        }
+        try { // 子类可能已陈旧
+            final Constructor<?> c = sub.getDeclaredConstructor(ctor.getParameterTypes()); // 处理器为每个非私有构造器生成同参构造器
+            c.setAccessible(true); // 与原构造器一样打开访问权限
+            return c; // 使用子类构造器
+        } catch (NoSuchMethodException e) { // 选定的是私有构造器，或子类与原类不一致
+            if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.WARN, "timed subclass " + sub.getName() + " has no constructor matching "
+                        + ctor + ", @Timed methods are not instrumented"); // 提示重新编译
+            }
+            return ctor; // 退回原构造器
+        }
+    }
+
+    /**
+     * 停止回调：无参的 {@code @InvokeOnStop} 方法；没有时，实现了 {@link AutoCloseable} 的类型取其公开的 {@code close()}。
+     * 首次调用时反射计算（扫描缓存不记录，启动时不需要）。
+     *
+     * @param log 带参数方法的警告输出目标
+     * @return 停止回调（按声明顺序，可能为空数组）
+     */
+    Method[] stopMethods(LogSink log) { // 停止回调
+        Method[] m = stopMethods; // 读取缓存
+        if (m == null) { // 尚未计算
+            m = findStopMethods(type, log); // 反射一次
+            stopMethods = m; // 发布（并发时可能重复计算，但结果等价）
+        }
+        return m; // 返回数组
+    }
+
+    private static Method[] findStopMethods(Class<?> type, LogSink log) { // 收集 @InvokeOnStop 方法
+        final List<Method> stops = new ArrayList<>(); // 停止回调
+        for (Method m : type.getDeclaredMethods()) { // 遍历声明方法
+            if (m.isAnnotationPresent(InvokeOnStop.class)) { // 仅处理带 @InvokeOnStop 的方法
+                if (m.getParameterCount() != 0) { // 若方法带参数
+                    if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                        log.log(LogSink.Level.WARN, "@InvokeOnStop must be no-arg: "
+                                + type.getName() + "#" + m.getName()); // 打印警告并跳过
+                    }
+                    continue; // 跳过本方法
+                }
+                m.setAccessible(true); // 私有方法也允许
+                stops.add(m); // 收集
+            }
+        }
+        if (stops.isEmpty() && AutoCloseable.class.isAssignableFrom(type)) { // 没有显式回调的可关闭资源
+            try { // close() 总是存在（接口方法），这里取最具体的实现
+                final Method close = type.getMethod("close"); // 公开的 close()
+                close.setAccessible(true); // 非公开类的公开方法同样需要
+                stops.add(close); // 作为停止回调
+            } catch (NoSuchMethodException | RuntimeException e) { // 访问受限（例如模块封装）
+                if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.WARN, "close() of " + type.getName() + " is not accessible, not closed on stop"); // 提示
+                }
+            }
+        }
+        return stops.isEmpty() ? NO_METHODS : stops.toArray(new Method[0]); // 返回数组
+    }
+
+    private static Method[] resetMethods(Class<?> type, LogSink log) { // 收集 @OnRelease 方法（扫描缓存不记录，池化组件首次创建时反射一次）
+        final List<Method> resets = new ArrayList<>(); // 重置方法
+        for (Method m : type.getDeclaredMethods()) { // 遍历声明方法
+            if (m.isAnnotationPresent(OnRelease.class)) { // 仅处理带 @OnRelease 的方法
+                if (m.getParameterCount() != 0) { // 若方法带参数
+                    if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                        log.log(LogSink.Level.WARN, "@OnRelease must be no-arg: "
+                                + type.getName() + "#" + m.getName()); // 打印警告并跳过
+                    }
+                    continue; // 跳过本方法
+                }
+                m.setAccessible(true); // 私有方法也允许
+                resets.add(m); // 收集
+            }
+        }
+        return resets.isEmpty() ? NO_METHODS : resets.toArray(new Method[0]); // 返回数组
+    }
+
+    /**
+     * ClassValue 中的槽位：计划延迟计算，失败（配置错误）时不缓存，下次调用仍会抛出同样的异常。
+     */
+    private static final class Slot { // 计划槽位
+        volatile InjectionPlan plan; // 已计算的计划
+    }
+}
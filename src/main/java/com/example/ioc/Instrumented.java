@@ -0,0 +1,19 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.util.function.Function; // 引入 Function，按方法签名取得记录器
+
+/**
+ * 由 {@code TimedSubclassProcessor} 生成的计时子类实现的接口：容器实例化子类后立即调用
+ * {@link #bindTimers(Function)}，子类按方法签名取得各自的 {@link MethodTimer} 并保存在字段中。
+ * <p>
+ * 只供生成代码使用，应用代码不需要实现或调用。绑定之前（例如父类构造器中）调用的方法不计时。
+ */
+public interface Instrumented { // 计时子类的绑定入口
+
+    /**
+     * 绑定记录器。
+     *
+     * @param timers 方法签名（如 {@code find(long)}）-> 本容器中该方法的记录器
+     */
+    void bindTimers(Function<String, MethodTimer> timers); // 绑定记录器
+}
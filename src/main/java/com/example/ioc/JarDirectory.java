@@ -0,0 +1,669 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.io.BufferedInputStream; // 引入 BufferedInputStream，为解压流加缓冲
+import java.io.EOFException; // 引入 EOFException，压缩数据提前结束
+import java.io.File; // 引入 File，与其他根的路径解码方式一致
+import java.io.IOException; // 引入 IOException，读取或格式错误
+import java.io.InputStream; // 引入 InputStream，条目内容
+import java.net.URL; // 引入 URL，类路径根
+import java.net.URLDecoder; // 引入 URLDecoder，解码 URL 中的路径
+import java.nio.Buffer; // 引入 Buffer，兼容 Java 8 的 position/limit 调用
+import java.nio.ByteBuffer; // 引入 ByteBuffer，映射的归档内容
+import java.nio.ByteOrder; // 引入 ByteOrder，ZIP 结构为小端序
+import java.nio.channels.FileChannel; // 引入 FileChannel，映射文件
+import java.nio.charset.StandardCharsets; // 引入 StandardCharsets，条目名按 UTF-8 编码
+import java.nio.file.StandardOpenOption; // 引入 StandardOpenOption，只读打开
+import java.util.ArrayList; // 引入 ArrayList，收集条目名与路径段
+import java.util.List; // 引入 List，返回条目名
+import java.util.Map; // 引入 Map，扫描期间共享已打开的归档
+import java.util.zip.Inflater; // 引入 Inflater，解压 DEFLATED 条目
+import java.util.zip.InflaterInputStream; // 引入 InflaterInputStream，按流解压
+
+/**
+ * 只读的 JAR（ZIP）中央目录索引：不经过 {@link java.util.jar.JarFile}，扫描时按包前缀直接定位条目。
+ * <p>
+ * 外层 JAR 整体映射到内存（{@link FileChannel#map}），只把末尾的中央目录一次复制到堆数组中解析：每个条目记下记录的偏移，
+ * 按条目名的字节序排序后，{@link #names(String)} 用二分查找定位基础包前缀，只为前缀范围内的条目创建字符串；
+ * 条目内容直接从映射区读取（STORED 为切片，DEFLATED 边读边解压），只有被访问的页才会读入。
+ * <p>
+ * 嵌套 JAR（fat jar 的 {@code BOOT-INF/lib/*.jar}）不解压到磁盘：STORED 的嵌套 JAR 是外层映射区的切片，
+ * DEFLATED 的在内存中解压一次。{@link #locate(URL, Map)} 解析
+ * {@code jar:file:/app.jar!/BOOT-INF/lib/a.jar!/com/example}、{@code jar:file:/app.jar!/BOOT-INF/classes!/com/example}
+ * 与 {@code jar:nested:/app.jar/!BOOT-INF/classes/!/com/example} 等形式的包资源 URL。
+ * <p>
+ * 支持 ZIP64 与带前置脚本的可执行 JAR（偏移按中央目录的实际位置校正）；单个归档不能超过 2GB。实例不可变，可被多个扫描线程共享。
+ */
+final class JarDirectory { // JAR 中央目录索引
+
+    private static final int LOC_SIG = 0x04034b50; // 本地文件头签名 "PK\3\4"
+    private static final int CEN_SIG = 0x02014b50; // 中央目录记录签名 "PK\1\2"
+    private static final int END_SIG = 0x06054b50; // 中央目录结束记录签名 "PK\5\6"
+    private static final int ZIP64_END_SIG = 0x06064b50; // ZIP64 中央目录结束记录签名 "PK\6\6"
+    private static final int ZIP64_LOCATOR_SIG = 0x07064b50; // ZIP64 定位记录签名 "PK\6\7"
+    private static final int END_HEADER = 22; // 中央目录结束记录的固定长度
+    private static final int CEN_HEADER = 46; // 中央目录记录的固定长度
+    private static final int LOC_HEADER = 30; // 本地文件头的固定长度
+    private static final int STORED = 0; // 不压缩
+    private static final int DEFLATED = 8; // DEFLATE 压缩
+    private static final String NESTED_PROTOCOL = "nested:"; // Spring Boot 3.2+ 的嵌套 JAR 协议
+
+    private final String name; // 归档名称（用于错误信息）
+    private final ByteBuffer zip; // 归档内容（映射区或其切片，小端序，只做绝对读取）
+    private final int base; // 前置数据长度（可执行 JAR 的启动脚本）
+    private final byte[] dir; // 中央目录的堆副本（解析、排序与查找只做数组访问，首次扫描时解释执行也很快）
+    private final int[] entries; // 中央目录记录在 dir 中的偏移，按条目名排序
+
+    private JarDirectory(String name, ByteBuffer zip) throws IOException { // 解析中央目录
+        this.name = name; // 保存名称
+        this.zip = zip.order(ByteOrder.LITTLE_ENDIAN); // ZIP 结构为小端序
+        final Bounds bounds = Bounds.of(this.zip, name); // 中央目录的位置
+        this.base = bounds.base; // 前置数据长度（普通 JAR 为 0）
+        this.dir = new byte[bounds.end - bounds.start]; // 中央目录副本
+        final ByteBuffer region = this.zip.duplicate(); // 独立位置
+        ((Buffer) region).position(bounds.start); // 中央目录起点（经 Buffer 调用，兼容 Java 8）
+        region.get(dir); // 一次批量复制
+        this.entries = readEntries(bounds.count); // 读取并排序条目
+    }
+
+    /**
+     * 只读取磁盘上 JAR 的中央目录（扫描缓存的指纹使用）：与 {@link #open(File)} 相同地映射文件并定位中央目录
+     * （含 ZIP64 与前置脚本的校正），但不解析、不排序条目。
+     *
+     * @param file JAR 文件
+     * @return 中央目录字节（映射区的只读切片）
+     * @throws IOException 读取失败、不是 ZIP 格式或超过 2GB
+     */
+    static ByteBuffer centralDirectory(File file) throws IOException { // 中央目录字节
+        final ByteBuffer zip = map(file).order(ByteOrder.LITTLE_ENDIAN); // 映射整个文件，只有尾部的页会被读入
+        final Bounds bounds = Bounds.of(zip, file.getPath()); // 中央目录的位置
+        final ByteBuffer region = zip.duplicate(); // 独立位置
+        ((Buffer) region).position(bounds.start); // 起点
+        ((Buffer) region).limit(bounds.end); // 终点
+        return region.slice().asReadOnlyBuffer(); // 只读切片
+    }
+
+    /**
+     * 映射并解析磁盘上的 JAR。映射区在实例被回收后释放（文件通道在返回前已关闭）。
+     *
+     * @param file JAR 文件
+     * @return 中央目录索引
+     * @throws IOException 读取失败、不是 ZIP 格式或超过 2GB
+     */
+    static JarDirectory open(File file) throws IOException { // 映射磁盘上的 JAR
+        return new JarDirectory(file.getPath(), map(file)); // 映射整个文件，按需分页
+    }
+
+    private static ByteBuffer map(File file) throws IOException { // 只读映射整个文件
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) { // 只读打开
+            final long size = channel.size(); // 文件大小
+            if (size > Integer.MAX_VALUE) { // ByteBuffer 以 int 寻址
+                throw new IOException("Archive larger than 2 GB: " + file); // 不支持
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size); // 映射区在通道关闭后仍然有效
+        }
+    }
+
+    /**
+     * 解析嵌套在本归档中的 JAR：STORED 时直接使用映射区的切片，DEFLATED 时在内存中解压一次。
+     *
+     * @param entryName 嵌套 JAR 的条目名（如 {@code BOOT-INF/lib/a.jar}）
+     * @return 嵌套 JAR 的中央目录索引
+     * @throws IOException 条目不存在、压缩方式不支持或格式错误
+     */
+    JarDirectory nested(String entryName) throws IOException { // 打开嵌套 JAR
+        final int cen = find(entryName); // 中央目录记录
+        if (cen < 0) { // 不存在
+            throw new IOException("No entry " + entryName + " in " + name); // 快速失败
+        }
+        final String nestedName = name + "!/" + entryName; // 错误信息中的名称
+        final int method = d16(cen + 10); // 压缩方式
+        if (method == STORED) { // 未压缩：零拷贝切片
+            return new JarDirectory(nestedName, slice(dataOffset(cen), entrySize(cen, 24))); // 切片即嵌套归档
+        }
+        final long size = entrySize(cen, 24); // 解压后大小
+        if (size > Integer.MAX_VALUE) { // 无法放进一个数组
+            throw new IOException("Nested archive larger than 2 GB: " + nestedName); // 不支持
+        }
+        final byte[] bytes = new byte[(int) size]; // 解压缓冲区
+        try (InputStream in = open(cen)) { // 解压流
+            int read = 0; // 已读字节数
+            while (read < bytes.length) { // 读满为止
+                final int n = in.read(bytes, read, bytes.length - read); // 读取一段
+                if (n < 0) { // 提前结束
+                    throw new EOFException("Truncated entry " + nestedName); // 格式错误
+                }
+                read += n; // 累加
+            }
+        }
+        return new JarDirectory(nestedName, ByteBuffer.wrap(bytes)); // 内存中的嵌套归档
+    }
+
+    /**
+     * @return 条目数
+     */
+    int size() { // 条目数
+        return entries.length; // 数组长度
+    }
+
+    /**
+     * 二分查找以指定前缀开头的条目，只为命中的条目解码名称。
+     *
+     * @param prefix 条目名前缀（如 {@code com/example/}）
+     * @return 按字节序排列的条目名（含目录条目）
+     */
+    List<String> names(String prefix) { // 按前缀列出条目
+        final byte[] key = prefix.getBytes(StandardCharsets.UTF_8); // 前缀字节
+        final List<String> out = new ArrayList<>(); // 结果
+        for (int i = lowerBound(key); i < entries.length && startsWith(entries[i], key); i++) { // 前缀范围内的条目连续排列
+            out.add(nameOf(entries[i])); // 解码名称
+        }
+        return out; // 返回结果
+    }
+
+    /**
+     * @param entryName 条目名
+     * @return 存在且不是目录条目时返回 true
+     */
+    boolean isFile(String entryName) { // 是否为文件条目
+        return !entryName.endsWith("/") && find(entryName) >= 0; // 目录条目以斜杠结尾
+    }
+
+    /**
+     * 打开条目内容：STORED 直接读取映射区，DEFLATED 边读边解压（已带缓冲）。
+     *
+     * @param entryName 条目名
+     * @return 条目内容（调用方负责关闭）
+     * @throws IOException 条目不存在、压缩方式不支持或格式错误
+     */
+    InputStream open(String entryName) throws IOException { // 打开条目
+        final int cen = find(entryName); // 中央目录记录
+        if (cen < 0) { // 不存在
+            throw new IOException("No entry " + entryName + " in " + name); // 快速失败
+        }
+        return open(cen); // 打开内容
+    }
+
+    private InputStream open(int cen) throws IOException { // 按中央目录记录打开内容
+        final int method = d16(cen + 10); // 压缩方式
+        final ByteBuffer data = slice(dataOffset(cen), entrySize(cen, 20)); // 压缩后的数据
+        if (method == STORED) { // 未压缩
+            return new BufferInput(data); // 直接读取
+        }
+        if (method == DEFLATED) { // DEFLATE
+            return new BufferedInputStream(new EntryInflaterInput(new BufferInput(data))); // 边读边解压（带缓冲，逐字节读取不再逐次解压）
+        }
+        throw new IOException("Unsupported compression method " + method + " for " + nameOf(cen) + " in " + name); // 其他压缩方式
+    }
+
+    @Override
+    public String toString() { // 便于日志输出
+        return "JarDirectory[" + name + ", " + entries.length + " entries]"; // 名称与条目数
+    }
+
+    /**
+     * 把类路径根 URL 解析为（可能嵌套的）归档与条目前缀，已打开的归档在一次扫描内共享。
+     *
+     * @param url    {@code ClassLoader.getResources(path)} 返回的包资源 URL（{@code jar:}/{@code wsjar:}/{@code zip:}）
+     * @param opened 本次扫描已打开的归档（键为外层文件与嵌套路径），并发安全
+     * @return 包资源所在的归档与条目前缀
+     * @throws IOException 协议不支持、文件或嵌套条目不存在、格式错误
+     */
+    static Location locate(URL url, Map<String, JarDirectory> opened) throws IOException { // 解析根 URL
+        final List<String> segments = new ArrayList<>(); // 外层文件之后的路径段
+        final File file = parse(url, segments); // 外层文件
+        String key = file.getPath(); // 缓存键
+        JarDirectory jar = cached(key, opened, null, file); // 外层归档
+        String prefix = ""; // 当前归档内的目录前缀
+        for (String segment : segments) { // 逐段深入
+            final String entry = prefix + (segment.endsWith("/") ? segment.substring(0, segment.length() - 1) : segment); // 条目名
+            if (jar.isFile(entry)) { // 嵌套 JAR
+                key = key + "!/" + entry; // 缓存键
+                jar = cached(key, opened, jar, null); // 打开嵌套归档
+                prefix = ""; // 在新归档的根
+            } else { // 目录（如 BOOT-INF/classes）
+                prefix = entry + "/"; // 之后的条目都带该前缀
+            }
+        }
+        return new Location(jar, prefix); // 返回结果
+    }
+
+    /**
+     * @param url 包资源 URL
+     * @return 外层归档文件（嵌套 JAR 的指纹按外层文件计算）
+     * @throws IOException 协议不支持
+     */
+    static File outerFile(URL url) throws IOException { // 外层文件
+        return parse(url, new ArrayList<String>()); // 忽略路径段
+    }
+
+    /**
+     * @param url 包资源 URL
+     * @return URL 指向归档内部（{@code jar:}、{@code wsjar:} 或 {@code zip:}）时返回 true
+     */
+    static boolean isArchive(URL url) { // 是否为归档根
+        final String protocol = url.getProtocol(); // 协议
+        return "jar".equals(protocol) || "wsjar".equals(protocol) || "zip".equals(protocol); // 标准 JAR 与应用服务器的变体
+    }
+
+    private static JarDirectory cached(String key, Map<String, JarDirectory> opened, JarDirectory outer, File file) throws IOException { // 共享已打开的归档
+        final JarDirectory existing = opened.get(key); // 已打开
+        if (existing != null) { // 命中
+            return existing; // 直接复用
+        }
+        final JarDirectory created = outer == null ? open(file) : outer.nested(key.substring(key.lastIndexOf("!/") + 2)); // 打开
+        final JarDirectory raced = opened.putIfAbsent(key, created); // 并行扫描时可能重复打开，保留先登记的
+        return raced != null ? raced : created; // 返回共享实例
+    }
+
+    private static File parse(URL url, List<String> segments) throws IOException { // 拆分 URL：外层文件 + 路径段
+        if (!isArchive(url)) { // 不是归档
+            throw new IOException("Not an archive URL: " + url); // 快速失败
+        }
+        final String spec = url.toExternalForm(); // 完整 URL
+        final String[] parts = spec.substring(spec.indexOf(':') + 1).split("!/", -1); // 去掉协议后按 "!/" 拆分
+        String outer = parts[0]; // 外层文件（file:/... 或 nested:/...，zip: 协议直接是路径）
+        if (outer.startsWith(NESTED_PROTOCOL)) { // nested:/app.jar/!BOOT-INF/classes/
+            outer = outer.substring(NESTED_PROTOCOL.length()); // 去掉协议
+            final int bang = outer.indexOf("/!"); // 文件与条目的分隔
+            if (bang >= 0) { // 带嵌套条目
+                segments.add(decode(outer.substring(bang + 2))); // 第一段
+                outer = outer.substring(0, bang); // 文件路径
+            }
+        } else if (outer.startsWith("file:")) { // file:/app.jar
+            outer = outer.substring("file:".length()); // 去掉协议
+        } else if (outer.indexOf(':') > 1) { // 其他协议（如 http:）：无法映射
+            throw new IOException("Unsupported archive location: " + url); // 快速失败
+        }
+        for (int i = 1; i < parts.length - 1; i++) { // 中间各段（最后一段是包路径）
+            segments.add(decode(parts[i])); // 嵌套 JAR 或目录
+        }
+        return new File(decode(outer)); // 外层文件
+    }
+
+    private static String decode(String s) throws IOException { // URL 解码
+        return URLDecoder.decode(s, "UTF-8"); // 与目录根的解码方式一致
+    }
+
+    private int[] readEntries(long count) throws IOException { // 读取全部中央目录记录
+        final List<Integer> unknown = count < 0 ? new ArrayList<Integer>() : null; // 条目数未知时按边界遍历
+        final int[] offsets = new int[count < 0 ? 0 : checkedOffset(count)]; // 记录偏移
+        int pos = 0; // 当前记录
+        for (int i = 0; count < 0 ? pos < dir.length : i < offsets.length; i++) { // 逐条读取
+            if (pos + CEN_HEADER > dir.length || d32(pos) != CEN_SIG) { // 越界或签名不符
+                throw new IOException("Malformed central directory at " + pos + ": " + name); // 格式错误
+            }
+            if (unknown != null) { // 条目数未知
+                unknown.add(pos); // 暂存
+            } else { // 条目数已知
+                offsets[i] = pos; // 记录偏移
+            }
+            pos += CEN_HEADER + d16(pos + 28) + d16(pos + 30) + d16(pos + 32); // 名称、扩展字段与注释
+        }
+        int[] sorted = offsets; // 结果
+        if (unknown != null) { // 转成数组
+            sorted = new int[unknown.size()]; // 数组
+            for (int i = 0; i < sorted.length; i++) { // 逐个复制
+                sorted[i] = unknown.get(i); // 拆箱
+            }
+        }
+        final int n = sorted.length; // 条目数
+        final long[] keys = new long[2 * n]; // 每条两个键：名称的第 1~8 与第 9~16 字节（大端、无符号比较即字节序）
+        for (int i = 0; i < n; i++) { // 逐条计算
+            keys[2 * i] = prefixKey(sorted[i], 0); // 第一键
+            keys[2 * i + 1] = prefixKey(sorted[i], 8); // 第二键
+        }
+        if (!isSorted(sorted, keys)) { // 打包工具常按目录顺序写出，已有序时跳过排序
+            mergeSort(sorted, keys, sorted.clone(), keys.clone(), 0, n); // 按名称排序
+        }
+        return sorted; // 返回结果
+    }
+
+    private long prefixKey(int cen, int from) { // 名称从 from 起的 8 字节拼成的大端整数（不足补 0）
+        final int len = d16(cen + 28); // 名称长度
+        long key = 0; // 结果
+        for (int i = from; i < from + 8; i++) { // 固定 8 字节
+            key = key << 8 | (i < len ? dir[cen + CEN_HEADER + i] & 0xFF : 0); // 高位在前
+        }
+        return key; // 返回键
+    }
+
+    private boolean isSorted(int[] a, long[] keys) { // 是否已按名称排序
+        for (int i = 1; i < a.length; i++) { // 相邻比较
+            if (compare(a, keys, i - 1, a, keys, i) > 0) { // 逆序
+                return false; // 需要排序
+            }
+        }
+        return true; // 已有序
+    }
+
+    private void mergeSort(int[] a, long[] ka, int[] tmp, long[] ktmp, int from, int to) { // 按名称归并排序（结果写回 a/ka）
+        if (to - from <= 16) { // 短区间：插入排序
+            for (int i = from + 1; i < to; i++) { // 逐个插入
+                final int off = a[i]; // 待插入的记录
+                final long k0 = ka[2 * i]; // 第一键
+                final long k1 = ka[2 * i + 1]; // 第二键
+                int j = i - 1; // 向前比较
+                while (j >= from && compare(a[j], ka[2 * j], ka[2 * j + 1], off, k0, k1) > 0) { // 前者更大
+                    a[j + 1] = a[j]; // 后移
+                    ka[2 * j + 2] = ka[2 * j]; // 后移第一键
+                    ka[2 * j + 3] = ka[2 * j + 1]; // 后移第二键
+                    j--; // 继续向前
+                }
+                a[j + 1] = off; // 放入
+                ka[2 * j + 2] = k0; // 第一键
+                ka[2 * j + 3] = k1; // 第二键
+            }
+            return; // 区间有序
+        }
+        final int mid = (from + to) >>> 1; // 中点
+        mergeSort(tmp, ktmp, a, ka, from, mid); // 左半部分排序到 tmp
+        mergeSort(tmp, ktmp, a, ka, mid, to); // 右半部分排序到 tmp
+        for (int i = from, l = from, r = mid; i < to; i++) { // 合并回 a
+            final boolean left = r >= to || l < mid && compare(tmp, ktmp, l, tmp, ktmp, r) <= 0; // 稳定合并
+            final int j = left ? l++ : r++; // 取出的下标
+            a[i] = tmp[j]; // 记录偏移
+            ka[2 * i] = ktmp[2 * j]; // 第一键
+            ka[2 * i + 1] = ktmp[2 * j + 1]; // 第二键
+        }
+    }
+
+    private int compare(int[] a, long[] ka, int i, int[] b, long[] kb, int j) { // 比较两个数组中的两条记录
+        return compare(a[i], ka[2 * i], ka[2 * i + 1], b[j], kb[2 * j], kb[2 * j + 1]); // 取出键后比较
+    }
+
+    private int compare(int a, long a0, long a1, int b, long b0, long b1) { // 按 UTF-8 字节序比较两条记录的名称（与码点顺序一致）
+        int c = Long.compareUnsigned(a0, b0); // 先比较前 8 字节
+        if (c == 0) { // 相同
+            c = Long.compareUnsigned(a1, b1); // 再比较第 9~16 字节
+        }
+        if (c != 0) { // 前 16 字节不同
+            return c; // 无需读取映射区
+        }
+        final int la = d16(a + 28); // 名称长度
+        final int lb = d16(b + 28); // 名称长度
+        for (int i = 16, n = Math.min(la, lb); i < n; i++) { // 从第 17 字节起逐字节比较
+            final int d = (dir[a + CEN_HEADER + i] & 0xFF) - (dir[b + CEN_HEADER + i] & 0xFF); // 无符号差
+            if (d != 0) { // 不同
+                return d; // 返回顺序
+            }
+        }
+        return la - lb; // 前缀相同时短者在前
+    }
+
+    private int compareTo(int cen, byte[] key) { // 记录名称与给定字节比较
+        final int len = d16(cen + 28); // 名称长度
+        for (int i = 0, n = Math.min(len, key.length); i < n; i++) { // 逐字节
+            final int d = (dir[cen + CEN_HEADER + i] & 0xFF) - (key[i] & 0xFF); // 无符号差
+            if (d != 0) { // 不同
+                return d; // 返回顺序
+            }
+        }
+        return len - key.length; // 前缀相同时短者在前
+    }
+
+    private int lowerBound(byte[] key) { // 第一个名称不小于 key 的下标
+        int lo = 0; // 下界
+        int hi = entries.length; // 上界（不含）
+        while (lo < hi) { // 二分
+            final int mid = (lo + hi) >>> 1; // 中点
+            if (compareTo(entries[mid], key) < 0) { // 小于 key
+                lo = mid + 1; // 向右
+            } else { // 不小于 key
+                hi = mid; // 向左
+            }
+        }
+        return lo; // 返回下标
+    }
+
+    private boolean startsWith(int cen, byte[] key) { // 名称是否以 key 开头
+        if (d16(cen + 28) < key.length) { // 名称更短
+            return false; // 不可能
+        }
+        for (int i = 0; i < key.length; i++) { // 逐字节
+            if (dir[cen + CEN_HEADER + i] != key[i]) { // 不同
+                return false; // 不匹配
+            }
+        }
+        return true; // 匹配
+    }
+
+    private int find(String entryName) { // 精确查找，返回中央目录记录偏移或 -1
+        final byte[] key = entryName.getBytes(StandardCharsets.UTF_8); // 名称字节
+        final int i = lowerBound(key); // 二分定位
+        return i < entries.length && compareTo(entries[i], key) == 0 ? entries[i] : -1; // 相等才命中
+    }
+
+    private String nameOf(int cen) { // 解码条目名
+        final byte[] bytes = new byte[d16(cen + 28)]; // 名称字节
+        for (int i = 0; i < bytes.length; i++) { // 逐字节复制（绝对读取，线程安全）
+            bytes[i] = dir[cen + CEN_HEADER + i]; // 复制
+        }
+        return new String(bytes, StandardCharsets.UTF_8); // JAR 条目名为 UTF-8
+    }
+
+    private int dataOffset(int cen) throws IOException { // 条目数据在归档中的位置
+        final int loc = checkedOffset(base + zip64Field(cen, 42, 2)); // 本地文件头
+        if (zip.getInt(loc) != LOC_SIG) { // 签名不符
+            throw new IOException("Malformed local header for " + nameOf(cen) + " in " + name); // 格式错误
+        }
+        return checkedOffset((long) loc + LOC_HEADER + u16(loc + 26) + u16(loc + 28)); // 跳过本地文件头（其扩展字段可能与中央目录不同）
+    }
+
+    private long entrySize(int cen, int field) throws IOException { // 压缩后（20）或解压后（24）的大小
+        return zip64Field(cen, field, field == 24 ? 0 : 1); // ZIP64 扩展字段中：解压后大小、压缩后大小、偏移依次出现
+    }
+
+    private long zip64Field(int cen, int field, int index) throws IOException { // 读取可能放在 ZIP64 扩展字段中的 32 位字段
+        final long value = d32(cen + field); // 中央目录中的值
+        if (value != 0xFFFFFFFFL) { // 没有溢出
+            return value; // 直接返回
+        }
+        final int nameLength = d16(cen + 28); // 名称长度
+        int pos = cen + CEN_HEADER + nameLength; // 扩展字段起点
+        final int end = pos + d16(cen + 30); // 扩展字段终点
+        while (pos + 4 <= end) { // 逐个扩展块
+            final int id = d16(pos); // 块标识
+            final int size = d16(pos + 2); // 块大小
+            if (id == 0x0001) { // ZIP64 扩展块
+                int slot = pos + 4; // 第一个值
+                final int[] fields = {24, 20, 42}; // 扩展块中依次出现的字段（只包含溢出的那些）
+                for (int i = 0; i < fields.length; i++) { // 按顺序跳过未溢出的字段
+                    if (d32(cen + fields[i]) != 0xFFFFFFFFL) { // 未溢出：不在扩展块中
+                        continue; // 跳过
+                    }
+                    if (i == index) { // 目标字段
+                        return d64(slot); // 读取 64 位值
+                    }
+                    slot += 8; // 下一个值
+                }
+            }
+            pos += 4 + size; // 下一个块
+        }
+        throw new IOException("Missing ZIP64 extra field for " + nameOf(cen) + " in " + name); // 格式错误
+    }
+
+    private ByteBuffer slice(int offset, long length) throws IOException { // 映射区的一段（独立的位置与界限）
+        final int end = checkedOffset(offset + length); // 终点
+        final ByteBuffer copy = zip.duplicate(); // 共享内容、独立位置
+        ((Buffer) copy).limit(end); // 先设界限（经 Buffer 调用，兼容 Java 8）
+        ((Buffer) copy).position(offset); // 再设位置
+        return copy.slice(); // 切片
+    }
+
+    private int checkedOffset(long value) throws IOException { // 校验偏移在归档范围内
+        return checkedOffset(zip, name, value); // 按本归档的大小校验
+    }
+
+    private static int checkedOffset(ByteBuffer zip, String name, long value) throws IOException { // 校验偏移在归档范围内
+        if (value < 0 || value > zip.capacity()) { // 越界
+            throw new IOException("Offset " + value + " out of range in " + name); // 格式错误
+        }
+        return (int) value; // 安全转换
+    }
+
+    private int u16(int pos) { // 小端 16 位无符号整数
+        return zip.getShort(pos) & 0xFFFF; // 去符号
+    }
+
+    private int d16(int pos) { // 中央目录副本中的小端 16 位无符号整数
+        return dir[pos] & 0xFF | (dir[pos + 1] & 0xFF) << 8; // 低位在前
+    }
+
+    private long d32(int pos) { // 中央目录副本中的小端 32 位无符号整数
+        return d16(pos) | (long) d16(pos + 2) << 16; // 低位在前
+    }
+
+    private long d64(int pos) { // 中央目录副本中的小端 64 位整数
+        return d32(pos) | d32(pos + 4) << 32; // 低位在前
+    }
+
+    /**
+     * 中央目录在归档中的位置：从中央目录结束记录（必要时经 ZIP64 定位记录与 ZIP64 结束记录）读出大小与偏移，
+     * 再按结束记录的实际位置校正前置数据（可执行 JAR 的启动脚本）造成的偏移。
+     */
+    private static final class Bounds { // 中央目录的位置
+        final int base; // 前置数据长度
+        final int start; // 中央目录起点
+        final int end; // 中央目录终点（不含）
+        final long count; // 条目总数；-1 表示未知（按中央目录大小遍历）
+
+        private Bounds(int base, int start, int end, long count) { // 由 of 创建
+            this.base = base; // 保存前置数据长度
+            this.start = start; // 保存起点
+            this.end = end; // 保存终点
+            this.count = count; // 保存条目数
+        }
+
+        static Bounds of(ByteBuffer zip, String name) throws IOException { // 定位中央目录（zip 须为小端序）
+            final int end = findEnd(zip, name); // 中央目录结束记录
+            long count = zip.getShort(end + 10) & 0xFFFF; // 条目总数
+            long size = zip.getInt(end + 12) & 0xFFFFFFFFL; // 中央目录大小
+            long offset = zip.getInt(end + 16) & 0xFFFFFFFFL; // 中央目录偏移
+            int cenEnd = end; // 中央目录的结束位置（ZIP64 时为 ZIP64 结束记录）
+            if (count == 0xFFFF || size == 0xFFFFFFFFL || offset == 0xFFFFFFFFL) { // ZIP64
+                final int locator = end - 20; // 定位记录紧邻结束记录之前
+                if (locator < 0 || zip.getInt(locator) != ZIP64_LOCATOR_SIG) { // 没有定位记录：字段只是恰好取到上限
+                    if (count == 0xFFFF && size != 0xFFFFFFFFL && offset != 0xFFFFFFFFL) { // 恰好 65535 个条目
+                        count = -1; // 按中央目录大小遍历
+                    } else { // 无法定位
+                        throw new IOException("Malformed ZIP64 archive: " + name); // 格式错误
+                    }
+                } else { // 读取 ZIP64 结束记录
+                    int zip64End = locator - 56; // 通常紧邻定位记录之前（前置数据不影响相对位置）
+                    if (zip64End < 0 || zip.getInt(zip64End) != ZIP64_END_SIG) { // 带扩展数据：按记录的偏移
+                        zip64End = checkedOffset(zip, name, zip.getLong(locator + 8)); // 记录的偏移
+                    }
+                    if (zip64End + 56 > zip.capacity() || zip.getInt(zip64End) != ZIP64_END_SIG) { // 签名不符
+                        throw new IOException("Malformed ZIP64 end record: " + name); // 格式错误
+                    }
+                    count = zip.getLong(zip64End + 32); // 条目总数
+                    size = zip.getLong(zip64End + 40); // 中央目录大小
+                    offset = zip.getLong(zip64End + 48); // 中央目录偏移
+                    cenEnd = zip64End; // 中央目录在 ZIP64 结束记录之前结束
+                }
+            }
+            final int base = checkedOffset(zip, name, cenEnd - size - offset); // 前置数据长度（普通 JAR 为 0）
+            final int start = checkedOffset(zip, name, base + offset); // 中央目录在归档中的位置
+            if (start > cenEnd) { // 大小与偏移不一致
+                throw new IOException("Malformed central directory: " + name); // 格式错误
+            }
+            return new Bounds(base, start, cenEnd, count); // 返回位置
+        }
+
+        private static int findEnd(ByteBuffer zip, String name) throws IOException { // 从末尾向前查找中央目录结束记录
+            final int limit = Math.max(0, zip.capacity() - END_HEADER - 0xFFFF); // 注释最长 64KB
+            for (int i = zip.capacity() - END_HEADER; i >= limit; i--) { // 从后向前
+                if (zip.getInt(i) == END_SIG) { // 签名
+                    return i; // 找到
+                }
+            }
+            throw new IOException("Not a ZIP archive (end of central directory not found): " + name); // 格式错误
+        }
+    }
+
+    /**
+     * 包资源在归档中的位置：归档本身与其中的目录前缀（如 fat jar 的 {@code BOOT-INF/classes/}）。
+     */
+    static final class Location { // 归档 + 前缀
+        final JarDirectory jar; // 归档
+        final String prefix; // 条目名前缀（根目录为空串）
+
+        Location(JarDirectory jar, String prefix) { // 由 locate 创建
+            this.jar = jar; // 保存归档
+            this.prefix = prefix; // 保存前缀
+        }
+    }
+
+    /**
+     * 读取 {@link ByteBuffer} 剩余内容的输入流（每个流持有独立的切片）。
+     */
+    private static final class BufferInput extends InputStream { // 映射区输入流
+        private final ByteBuffer buffer; // 独立切片
+
+        BufferInput(ByteBuffer buffer) { // 包装切片
+            this.buffer = buffer; // 保存切片
+        }
+
+        @Override
+        public int read() { // 单字节读取
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1; // 读完返回 -1
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) { // 批量读取
+            if (len == 0) { // 空读取
+                return 0; // 与 InputStream 约定一致
+            }
+            if (!buffer.hasRemaining()) { // 已读完
+                return -1; // 结束
+            }
+            final int n = Math.min(len, buffer.remaining()); // 本次读取量
+            buffer.get(b, off, n); // 复制
+            return n; // 返回读取量
+        }
+
+        @Override
+        public long skip(long n) { // 跳过
+            final int k = (int) Math.max(0, Math.min(n, buffer.remaining())); // 实际跳过量
+            ((Buffer) buffer).position(buffer.position() + k); // 前移（经 Buffer 调用，兼容 Java 8）
+            return k; // 返回跳过量
+        }
+
+        @Override
+        public int available() { // 剩余字节
+            return buffer.remaining(); // 切片剩余
+        }
+    }
+
+    /**
+     * 解压 ZIP 条目（无 zlib 头的原始 DEFLATE 数据）：输入结束时补一个哑字节（见 {@link Inflater} 的 nowrap 说明），
+     * 关闭时释放本地内存。
+     */
+    private static final class EntryInflaterInput extends InflaterInputStream { // 条目解压流
+        private boolean eof; // 输入是否已结束
+
+        EntryInflaterInput(InputStream in) { // 包装压缩数据
+            super(in, new Inflater(true), 4096); // 原始 DEFLATE
+        }
+
+        @Override
+        protected void fill() throws IOException { // 补充输入
+            if (eof) { // 哑字节也已用完
+                throw new EOFException("Unexpected end of ZLIB input stream"); // 数据不完整
+            }
+            len = in.read(buf, 0, buf.length); // 读取压缩数据
+            if (len == -1) { // 输入结束
+                buf[0] = 0; // 哑字节
+                len = 1; // 长度
+                eof = true; // 标记
+            }
+            inf.setInput(buf, 0, len); // 交给解压器
+        }
+
+        @Override
+        public void close() throws IOException { // 关闭
+            super.close(); // 关闭输入
+            inf.end(); // 自带的解压器需要手动释放
+        }
+    }
+}
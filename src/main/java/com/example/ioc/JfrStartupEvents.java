@@ -0,0 +1,150 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import jdk.jfr.Category; // 引入 @Category，事件在 JMC 中的分组
+import jdk.jfr.Description; // 引入 @Description，事件说明
+import jdk.jfr.Event; // 引入 Event，JFR 事件基类
+import jdk.jfr.EventType; // 引入 EventType，查询事件是否被录制启用
+import jdk.jfr.Label; // 引入 @Label，事件与字段的显示名
+import jdk.jfr.Name; // 引入 @Name，事件的稳定名称
+import jdk.jfr.Timespan; // 引入 @Timespan，把纳秒字段显示为时长
+
+/**
+ * 基于 JFR 的 {@link StartupEvents}：阶段、单例创建与启动回调各是一个持续时间事件，
+ * 可以用 {@code -XX:StartFlightRecording} 或 JMC 录制，用 {@code jfr print --events com.example.ioc.*} 查看。
+ * <p>
+ * 只通过 {@link StartupEvents#CURRENT} 反射加载；事件是否启用按类型缓存在 {@link EventType} 上，
+ * 未启用时 begin 返回 null，不创建事件对象。
+ */
+final class JfrStartupEvents extends StartupEvents { // JFR 实现
+
+    private final EventType phaseType = EventType.getEventType(PhaseEvent.class); // 阶段事件类型（首次访问时注册）
+    private final EventType beanType = EventType.getEventType(BeanEvent.class); // 单例事件类型
+    private final EventType callbackType = EventType.getEventType(CallbackEvent.class); // 回调事件类型
+
+    @Override
+    Object beginPhase() { // 阶段开始
+        if (!phaseType.isEnabled()) { // 未被录制启用
+            return null; // 不创建事件
+        }
+        final PhaseEvent e = new PhaseEvent(); // 新建事件
+        e.begin(); // 记录开始时间
+        return e; // 作为令牌返回
+    }
+
+    @Override
+    void endPhase(Object token, String basePackage, StartupMetrics.Phase phase, int count) { // 阶段结束
+        if (token == null) { // 开始时未启用
+            return; // 无需提交
+        }
+        final PhaseEvent e = (PhaseEvent) token; // 取回事件
+        e.end(); // 记录结束时间
+        if (e.shouldCommit()) { // 满足阈值等录制设置
+            e.basePackage = basePackage; // 基础包
+            e.phase = phase.name(); // 阶段
+            e.count = count; // 阶段处理的数量
+            e.commit(); // 提交
+        }
+    }
+
+    @Override
+    Object beginBean() { // 单例创建开始
+        if (!beanType.isEnabled()) { // 未被录制启用
+            return null; // 不创建事件
+        }
+        final BeanEvent e = new BeanEvent(); // 新建事件
+        e.begin(); // 记录开始时间
+        return e; // 作为令牌返回
+    }
+
+    @Override
+    void endBean(Object token, Class<?> type, long constructorNanos, long injectionNanos, String failure) { // 单例创建结束
+        if (token == null) { // 开始时未启用
+            return; // 无需提交
+        }
+        final BeanEvent e = (BeanEvent) token; // 取回事件
+        e.end(); // 记录结束时间
+        if (e.shouldCommit()) { // 满足阈值等录制设置
+            e.beanType = type; // Bean 类型
+            e.constructorDuration = constructorNanos; // 构造器耗时
+            e.injectionDuration = injectionNanos; // 字段赋值耗时
+            e.failure = failure; // 失败原因
+            e.commit(); // 提交
+        }
+    }
+
+    @Override
+    Object beginCallback() { // 启动回调开始
+        if (!callbackType.isEnabled()) { // 未被录制启用
+            return null; // 不创建事件
+        }
+        final CallbackEvent e = new CallbackEvent(); // 新建事件
+        e.begin(); // 记录开始时间
+        return e; // 作为令牌返回
+    }
+
+    @Override
+    void endCallback(Object token, Class<?> type, String method, StartReport.Status status) { // 启动回调结束
+        if (token == null) { // 开始时未启用
+            return; // 无需提交
+        }
+        final CallbackEvent e = (CallbackEvent) token; // 取回事件
+        e.end(); // 记录结束时间
+        if (e.shouldCommit()) { // 满足阈值等录制设置
+            e.beanType = type; // Bean 类型
+            e.method = method; // 方法名
+            e.status = status.name(); // 结果
+            e.commit(); // 提交
+        }
+    }
+
+    @Name("com.example.ioc.ContainerPhase")
+    @Label("Container Phase")
+    @Category({"Mini IoC"})
+    @Description("One startup phase of a container (scan, instantiate, start callbacks)")
+    static final class PhaseEvent extends Event { // 阶段事件
+        @Label("Base Package")
+        String basePackage; // 基础包
+
+        @Label("Phase")
+        String phase; // 阶段名
+
+        @Label("Count")
+        @Description("Components discovered, singletons created or callbacks invoked")
+        int count; // 阶段处理的数量
+    }
+
+    @Name("com.example.ioc.BeanCreation")
+    @Label("Bean Creation")
+    @Category({"Mini IoC"})
+    @Description("Creation of one singleton, including its dependencies")
+    static final class BeanEvent extends Event { // 单例创建事件
+        @Label("Bean Type")
+        Class<?> beanType; // Bean 类型
+
+        @Label("Constructor Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long constructorDuration; // 构造器耗时
+
+        @Label("Injection Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long injectionDuration; // 字段赋值耗时
+
+        @Label("Failure")
+        String failure; // 失败原因
+    }
+
+    @Name("com.example.ioc.StartCallback")
+    @Label("Start Callback")
+    @Category({"Mini IoC"})
+    @Description("One @InvokeOnStart callback")
+    static final class CallbackEvent extends Event { // 启动回调事件
+        @Label("Bean Type")
+        Class<?> beanType; // Bean 类型
+
+        @Label("Method")
+        String method; // 方法名
+
+        @Label("Status")
+        String status; // 结果
+    }
+}
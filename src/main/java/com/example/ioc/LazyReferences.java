@@ -0,0 +1,227 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.lang.reflect.InvocationHandler; // 引入 InvocationHandler，代理方法的统一入口
+import java.lang.reflect.InvocationTargetException; // 引入 InvocationTargetException，解开目标方法的异常包装
+import java.lang.reflect.Method; // 引入 Method，表示被代理的接口方法
+import java.lang.reflect.Modifier; // 引入 Modifier，判断接口是否公开
+import java.lang.reflect.Proxy; // 引入 Proxy，为接口生成轻量代理
+import java.util.function.Supplier; // 引入 Supplier，表示“首次使用时创建”的动作
+
+/**
+ * 延迟引用的两种实现：接口类型使用 {@link Proxy} 代理，具体类使用 {@link Deferred} 持有者。
+ * <p>
+ * 二者都在首次使用时调用一次给定的 {@link Supplier}（通常是 {@code getBean}），成功后缓存结果；
+ * 创建失败不缓存，下一次使用会重试，与 {@code getBean} 的行为一致。
+ * <p>
+ * 另有不缓存目标的转发代理（{@link #routing(Class, Supplier)}），每次调用都重新取得目标，用于线程作用域的组件；
+ * 以及 {@link Provider} 的实现（{@link #provider(Supplier, Supplier)}），首次调用时按目标的作用域决定缓存实例还是每次重新获取。
+ */
+final class LazyReferences { // 延迟引用工厂（仅含静态方法）
+
+    private LazyReferences() { // 工具类不允许实例化
+    }
+
+    /**
+     * 为接口创建延迟代理：{@code equals}/{@code hashCode} 按代理自身的身份计算，
+     * {@code toString} 在目标尚未创建时不会触发创建，其余方法首次调用时创建目标并转发。
+     *
+     * @param type   接口类型
+     * @param target 创建目标的动作
+     * @return 代理实例
+     */
+    static Object proxy(Class<?> type, Supplier<Object> target) { // 创建接口代理
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new Handler(type, target)); // 生成代理
+    }
+
+    /**
+     * 为接口创建转发代理：每次调用接口方法都通过 target 重新取得目标（例如当前线程的实例），不缓存。
+     * {@code equals}/{@code hashCode}/{@code toString} 按代理自身处理，不取目标。
+     *
+     * @param type   接口类型
+     * @param target 取得目标的动作
+     * @return 代理实例
+     */
+    static Object routing(Class<?> type, Supplier<Object> target) { // 创建转发代理
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new Router(type, target)); // 生成代理
+    }
+
+    /**
+     * 创建延迟持有者。
+     *
+     * @param target 创建目标的动作
+     * @param <T>    目标类型
+     * @return 持有者
+     */
+    static <T> Deferred<T> deferred(Supplier<T> target) { // 创建持有者
+        return new Holder<>(target); // 首次 get 时创建
+    }
+
+    /**
+     * 创建提供者：首次 {@code get()} 时调用 binder 绑定目标。binder 返回 null 表示目标是共享实例（单例、租户），
+     * 随即通过 lookup 取得并缓存，之后的调用只读取槽位；返回非 null 时，之后每次调用都直接转发给返回的动作
+     * （原型新建、线程作用域取当前线程的实例），不再经过 binder。绑定失败不缓存，下一次调用会重试。
+     *
+     * @param binder 绑定动作（只成功执行一次）
+     * @param lookup 取得共享实例的动作
+     * @param <T>    目标类型
+     * @return 提供者
+     */
+    static <T> Provider<T> provider(Supplier<Supplier<T>> binder, Supplier<T> lookup) { // 创建提供者
+        return new Binding<>(binder, lookup); // 首次 get 时绑定
+    }
+
+    /**
+     * 首次使用时创建、之后复用的目标槽位（双重检查）。
+     */
+    private static class Slot<T> { // 目标槽位
+        private final Supplier<T> target; // 创建动作
+        private volatile T value; // 已创建的目标
+
+        Slot(Supplier<T> target) { // 保存创建动作
+            this.target = target; // 保存
+        }
+
+        final T resolve() { // 取得目标
+            T v = value; // 读取缓存
+            if (v == null) { // 尚未创建
+                synchronized (this) { // 同一引用只创建一次（getBean 本身也保证单例只创建一次）
+                    v = value; // 再次检查
+                    if (v == null) { // 仍未创建
+                        v = target.get(); // 创建（失败时抛出，不缓存）
+                        value = v; // 发布
+                    }
+                }
+            }
+            return v; // 返回目标
+        }
+
+        final boolean isResolved() { // 是否已创建
+            return value != null; // 非空即已创建
+        }
+    }
+
+    private static final class Holder<T> extends Slot<T> implements Deferred<T> { // Deferred 实现
+        Holder(Supplier<T> target) { // 保存创建动作
+            super(target); // 交给槽位
+        }
+
+        @Override
+        public T get() { // 首次调用时创建
+            return resolve(); // 委托槽位
+        }
+
+        @Override
+        public String toString() { // 不触发创建
+            return isResolved() ? "Deferred[" + resolve() + "]" : "Deferred[unresolved]"; // 简要描述
+        }
+    }
+
+    private static final class Binding<T> implements Provider<T> { // Provider 实现
+        private final Supplier<Supplier<T>> binder; // 绑定动作
+        private final Supplier<T> lookup; // 取得共享实例的动作
+        private volatile T value; // 已缓存的共享实例
+        private volatile Supplier<T> source; // 非共享目标的获取动作
+
+        Binding(Supplier<Supplier<T>> binder, Supplier<T> lookup) { // 保存动作
+            this.binder = binder; // 保存绑定动作
+            this.lookup = lookup; // 保存取得动作
+        }
+
+        @Override
+        public T get() { // 获取实例
+            final T v = value; // 共享实例：一次字段读取
+            if (v != null) { // 已缓存
+                return v; // 直接返回
+            }
+            final Supplier<T> s = source; // 非共享目标
+            if (s != null) { // 已绑定
+                return s.get(); // 每次重新获取
+            }
+            return bind(); // 首次调用
+        }
+
+        private synchronized T bind() { // 绑定目标（同一提供者只成功绑定一次）
+            final T v = value; // 再次检查共享实例
+            if (v != null) { // 其他线程已绑定
+                return v; // 直接返回
+            }
+            Supplier<T> s = source; // 再次检查非共享目标
+            if (s == null) { // 尚未绑定
+                s = binder.get(); // 解析目标（失败时抛出，不缓存）
+                if (s == null) { // 共享实例
+                    final T created = lookup.get(); // 取得（失败时抛出，不缓存）
+                    value = created; // 发布
+                    return created; // 返回实例
+                }
+                source = s; // 发布获取动作
+            }
+            return s.get(); // 取得本次的实例
+        }
+
+        @Override
+        public String toString() { // 不触发解析
+            final T v = value; // 共享实例
+            return v != null ? "Provider[" + v + "]" : source != null ? "Provider[scoped]" : "Provider[unresolved]"; // 简要描述
+        }
+    }
+
+    private static final class Handler extends Slot<Object> implements InvocationHandler { // 代理处理器
+        private final Class<?> type; // 被代理的接口
+        private final boolean open; // 接口是否公开（非公开接口的方法需要打开访问权限）
+
+        Handler(Class<?> type, Supplier<Object> target) { // 保存接口与创建动作
+            super(target); // 交给槽位
+            this.type = type; // 保存接口
+            this.open = Modifier.isPublic(type.getModifiers()); // 预先判断一次
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable { // 代理方法入口
+            if (method.getDeclaringClass() == Object.class) { // Object 的方法不触发创建
+                switch (method.getName()) { // 按方法名处理
+                    case "equals": return proxy == args[0]; // 身份比较
+                    case "hashCode": return System.identityHashCode(proxy); // 身份哈希
+                    case "toString": return isResolved() ? resolve().toString() : "LazyProxy[" + type.getName() + "]"; // 未创建时不触发创建
+                    default: break; // 其他方法（不会出现）按普通方法处理
+                }
+            }
+            return forward(resolve(), method, args, open); // 首次调用时创建目标，之后复用
+        }
+    }
+
+    private static final class Router implements InvocationHandler { // 转发代理处理器（不缓存目标）
+        private final Class<?> type; // 被代理的接口
+        private final Supplier<Object> target; // 取得目标的动作
+        private final boolean open; // 接口是否公开
+
+        Router(Class<?> type, Supplier<Object> target) { // 保存接口与取得动作
+            this.type = type; // 保存接口
+            this.target = target; // 保存动作
+            this.open = Modifier.isPublic(type.getModifiers()); // 预先判断一次
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable { // 代理方法入口
+            if (method.getDeclaringClass() == Object.class) { // Object 的方法按代理自身处理
+                switch (method.getName()) { // 按方法名处理
+                    case "equals": return proxy == args[0]; // 身份比较
+                    case "hashCode": return System.identityHashCode(proxy); // 身份哈希
+                    case "toString": return "RoutingProxy[" + type.getName() + "]"; // 不取目标
+                    default: break; // 其他方法（不会出现）按普通方法处理
+                }
+            }
+            return forward(target.get(), method, args, open); // 每次调用都重新取得目标
+        }
+    }
+
+    static Object forward(Object target, Method method, Object[] args, boolean open) throws Throwable { // 转发到目标（计时代理同样使用）
+        if (!open) { // 非公开接口
+            method.setAccessible(true); // 代理类缓存同一个 Method 对象，设置一次即可
+        }
+        try { // 转发调用
+            return method.invoke(target, args); // 调用目标方法
+        } catch (InvocationTargetException e) { // 目标方法抛出的异常
+            throw e.getCause(); // 原样抛出，调用方看到的异常与直接调用一致
+        }
+    }
+}
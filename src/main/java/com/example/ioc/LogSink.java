@@ -0,0 +1,58 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+/**
+ * 容器日志的输出目标，通过 {@link ContainerOptions#logSink(LogSink)} 指定。
+ * <p>
+ * 容器在拼接消息之前先调用 {@link #isEnabled(Level)}：被关闭的级别既不输出，也不产生字符串拼接的开销。
+ * 默认实现是 {@link #console(Level)}（{@code System.out}，INFO 及以上）；接入日志框架时实现本接口即可，
+ * 实现必须线程安全（并行扫描、并行启动与异步回调会从多个线程写日志）。
+ */
+public interface LogSink { // 日志输出目标
+
+    /**
+     * 日志级别（从低到高）。
+     */
+    enum Level { // 日志级别
+        /** 逐个类/逐个 Bean 的细节（跳过的类、链接失败、单例就绪等），启动大量组件时输出量最大。 */
+        DEBUG,
+        /** 阶段汇总（发现的组件数、依赖图规模、回调汇总、快照与冻结）。 */
+        INFO,
+        /** 配置问题与降级（缓存失效、注解用法错误、依赖歧义）。 */
+        WARN,
+        /** Bean 创建或回调失败。 */
+        ERROR
+    }
+
+    /**
+     * 判断某个级别是否需要输出。
+     *
+     * @param level 级别
+     * @return 需要输出时返回 true
+     */
+    boolean isEnabled(Level level); // 级别判定
+
+    /**
+     * 输出一条日志（调用方已确认级别开启；实现仍可再次过滤）。
+     *
+     * @param level   级别
+     * @param message 消息（不含级别前缀）
+     */
+    void log(Level level, String message); // 输出
+
+    /**
+     * 输出到 {@code System.out} 的实现，格式与早期版本相同（{@code [info] ...}、{@code [WARN] ...}）。
+     *
+     * @param threshold 最低输出级别（非空）
+     * @return 控制台输出目标
+     */
+    static LogSink console(Level threshold) { // 控制台输出
+        return new ConsoleLogSink(java.util.Objects.requireNonNull(threshold, "threshold must not be null")); // 非空校验后创建
+    }
+
+    /**
+     * @return 不输出任何内容的实现（指标与 JFR 事件不受影响）
+     */
+    static LogSink silent() { // 静默
+        return ConsoleLogSink.SILENT; // 共享实例
+    }
+}
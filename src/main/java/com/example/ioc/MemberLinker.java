@@ -0,0 +1,215 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.lang.invoke.CallSite; // 引入 CallSite，承载 LambdaMetafactory 生成的工厂
+import java.lang.invoke.LambdaMetafactory; // 引入 LambdaMetafactory，为公开成员生成真正的函数式接口实现类
+import java.lang.invoke.MethodHandle; // 引入 MethodHandle，链接构造器、字段写入与方法调用
+import java.lang.invoke.MethodHandles; // 引入 MethodHandles，提供 Lookup
+import java.lang.invoke.MethodType; // 引入 MethodType，描述方法签名
+import java.lang.reflect.Constructor; // 引入 Constructor，链接目标
+import java.lang.reflect.Field; // 引入 Field，链接目标
+import java.lang.reflect.InvocationTargetException; // 引入 InvocationTargetException，保持与反射一致的异常包装
+import java.lang.reflect.Method; // 引入 Method，链接目标
+import java.lang.reflect.Modifier; // 引入 Modifier，判断成员是否公开
+import java.util.function.Consumer; // 引入 Consumer，启动回调的函数式接口
+import java.util.function.Supplier; // 引入 Supplier，无参构造器的函数式接口
+
+/**
+ * 将构造器、注入字段与启动回调一次性“链接”为可直接调用的工厂，替代每次的
+ * {@code Constructor.newInstance}/{@code Field.set}/{@code Method.invoke}。
+ * <p>
+ * 链接策略（按优先级）：
+ * <ol>
+ *   <li>公开类的公开无参构造器 / 公开无参方法：用 {@link LambdaMetafactory} 生成 {@link Supplier}/{@link Consumer}
+ *       实现类，调用路径与手写 {@code new Foo()}、{@code foo.start()} 相同，JIT 可完全内联；</li>
+ *   <li>其余成员（含私有成员）：{@code unreflect*} 得到 {@link MethodHandle}，统一适配为 Object 签名后调用；</li>
+ *   <li>链接失败（例如安全限制）：退回到普通反射。</li>
+ * </ol>
+ * 目标成员抛出的异常统一包装为 {@link InvocationTargetException}，与反射调用的行为保持一致。
+ */
+final class MemberLinker { // 成员链接器（仅含静态方法）
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup(); // 容器自身的 Lookup
+    private static final MethodType INSTANTIATOR_TYPE = MethodType.methodType(Object.class, Object[].class); // (Object[])Object
+    private static final MethodType INJECTOR_TYPE = MethodType.methodType(void.class, Object.class, Object.class); // (Object,Object)void
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class); // (Object)void
+
+    private MemberLinker() { // 工具类不允许实例化
+    }
+
+    /** 实例化器：按参数数组创建实例。 */
+    interface Instantiator { // 构造器工厂
+        Object newInstance(Object[] args) throws ReflectiveOperationException; // 创建实例
+    }
+
+    /** 字段注入器：为目标对象的某个字段赋值。 */
+    interface Injector { // 字段写入器
+        void inject(Object target, Object value) throws ReflectiveOperationException; // 写入字段
+    }
+
+    /** 回调调用器：调用目标对象的某个无参方法。 */
+    interface Invoker { // 方法调用器
+        void invoke(Object target) throws ReflectiveOperationException; // 调用方法
+    }
+
+    /**
+     * 链接构造器。
+     *
+     * @param ctor 已可访问的构造器
+     * @param log  链接失败时的调试日志输出目标
+     * @return 实例化器
+     */
+    static Instantiator instantiator(Constructor<?> ctor, LogSink log) { // 链接构造器
+        try { // 链接可能失败
+            if (ctor.getParameterCount() == 0 && canSpin(ctor.getDeclaringClass(), ctor.getModifiers())) { // 公开无参构造器
+                @SuppressWarnings("unchecked") // LambdaMetafactory 返回原始类型
+                final Supplier<Object> supplier = (Supplier<Object>) spin(Supplier.class, "get",
+                        MethodType.methodType(Object.class),
+                        LOOKUP.findConstructor(ctor.getDeclaringClass(), MethodType.methodType(void.class)),
+                        MethodType.methodType(ctor.getDeclaringClass())); // 生成 Supplier 实现类
+                return args -> { // 适配为统一接口
+                    try { // 包装目标异常
+                        return supplier.get(); // 等价于 new T()
+                    } catch (Throwable t) { // 构造器内部抛出的异常
+                        throw new InvocationTargetException(t); // 与反射行为一致
+                    }
+                };
+            }
+            final MethodHandle mh = LOOKUP.unreflectConstructor(ctor) // 直接方法句柄
+                    .asSpreader(Object[].class, ctor.getParameterCount()) // 参数数组展开为逐个参数
+                    .asType(INSTANTIATOR_TYPE); // 统一为 (Object[])Object
+            return args -> { // 适配为统一接口
+                try { // 包装目标异常
+                    return (Object) mh.invokeExact(args); // 精确调用，避免 asType 的运行期适配
+                } catch (Throwable t) { // 构造器内部抛出的异常
+                    throw new InvocationTargetException(t); // 与反射行为一致
+                }
+            };
+        } catch (Throwable e) { // 链接失败
+            if (log.isEnabled(LogSink.Level.DEBUG)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.DEBUG, "link constructor failed, using reflection: " + ctor + " -> " + e); // 调试输出
+            }
+            return reflective(ctor); // 退回反射
+        }
+    }
+
+    /**
+     * 链接字段写入。
+     *
+     * @param field 已可访问的字段
+     * @param log   链接失败时的调试日志输出目标
+     * @return 字段注入器
+     */
+    static Injector injector(Field field, LogSink log) { // 链接字段写入
+        try { // 链接可能失败（例如 static final 字段）
+            final MethodHandle mh = LOOKUP.unreflectSetter(field).asType(INJECTOR_TYPE); // 统一为 (Object,Object)void
+            return (target, value) -> { // 适配为统一接口
+                try { // 包装异常
+                    mh.invokeExact(target, value); // 精确调用
+                } catch (Throwable t) { // 类型不匹配等
+                    throw new InvocationTargetException(t); // 交给调用方统一处理
+                }
+            };
+        } catch (Throwable e) { // 链接失败
+            if (log.isEnabled(LogSink.Level.DEBUG)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.DEBUG, "link field failed, using reflection: " + field + " -> " + e); // 调试输出
+            }
+            return reflective(field); // 退回反射
+        }
+    }
+
+    /**
+     * 链接无参方法调用。
+     *
+     * @param method 已可访问的无参方法
+     * @param log    链接失败时的调试日志输出目标
+     * @return 回调调用器
+     */
+    static Invoker invoker(Method method, LogSink log) { // 链接方法调用
+        try { // 链接可能失败
+            if (canSpin(method.getDeclaringClass(), method.getModifiers()) && !Modifier.isStatic(method.getModifiers())) { // 公开实例方法
+                @SuppressWarnings("unchecked") // LambdaMetafactory 返回原始类型
+                final Consumer<Object> consumer = (Consumer<Object>) spin(Consumer.class, "accept",
+                        MethodType.methodType(void.class, Object.class),
+                        LOOKUP.unreflect(method),
+                        MethodType.methodType(void.class, method.getDeclaringClass())); // 生成 Consumer 实现类（返回值被丢弃）
+                return target -> { // 适配为统一接口
+                    try { // 包装目标异常
+                        consumer.accept(target); // 等价于 target.method()
+                    } catch (Throwable t) { // 方法内部抛出的异常
+                        throw new InvocationTargetException(t); // 与反射行为一致
+                    }
+                };
+            }
+            final MethodHandle raw = LOOKUP.unreflect(method); // 直接方法句柄
+            final MethodHandle mh = (Modifier.isStatic(method.getModifiers())
+                    ? MethodHandles.dropArguments(raw, 0, Object.class) // 静态方法忽略目标对象
+                    : raw).asType(INVOKER_TYPE); // 统一为 (Object)void，返回值被丢弃
+            return target -> { // 适配为统一接口
+                try { // 包装目标异常
+                    mh.invokeExact(target); // 精确调用
+                } catch (Throwable t) { // 方法内部抛出的异常
+                    throw new InvocationTargetException(t); // 与反射行为一致
+                }
+            };
+        } catch (Throwable e) { // 链接失败
+            if (log.isEnabled(LogSink.Level.DEBUG)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.DEBUG, "link method failed, using reflection: " + method + " -> " + e); // 调试输出
+            }
+            return reflective(method); // 退回反射
+        }
+    }
+
+    /**
+     * 基于普通反射的实例化器（不做任何链接）。
+     *
+     * @param ctor 已可访问的构造器
+     * @return 实例化器
+     */
+    static Instantiator reflective(Constructor<?> ctor) { // 反射实例化
+        return ctor::newInstance; // 直接委托 Constructor.newInstance
+    }
+
+    /**
+     * 基于普通反射的字段注入器。
+     *
+     * @param field 已可访问的字段
+     * @return 字段注入器
+     */
+    static Injector reflective(Field field) { // 反射写字段
+        return field::set; // 直接委托 Field.set
+    }
+
+    /**
+     * 基于普通反射的回调调用器。
+     *
+     * @param method 已可访问的无参方法
+     * @return 回调调用器
+     */
+    static Invoker reflective(Method method) { // 反射调用
+        return target -> method.invoke(target); // 直接委托 Method.invoke
+    }
+
+    private static boolean canSpin(Class<?> owner, int memberModifiers) { // 判断能否使用 LambdaMetafactory
+        if (!Modifier.isPublic(owner.getModifiers()) || !Modifier.isPublic(memberModifiers)) { // 仅限公开类的公开成员
+            return false; // 私有成员只能走 MethodHandle
+        }
+        if (owner.getEnclosingClass() != null && !Modifier.isStatic(owner.getModifiers())) { // 内部类的构造器隐含外部实例参数
+            return false; // 交给 MethodHandle 处理
+        }
+        try { // 生成的实现类由容器的类加载器解析，必须能看到目标类
+            return Class.forName(owner.getName(), false, MemberLinker.class.getClassLoader()) == owner; // 同一个类才可链接
+        } catch (ClassNotFoundException | LinkageError e) { // 目标类位于容器不可见的类加载器
+            return false; // 退回 MethodHandle
+        }
+    }
+
+    private static Object spin(Class<?> samType,
+                               String samName,
+                               MethodType samSignature,
+                               MethodHandle impl,
+                               MethodType instantiated) throws Throwable { // 调用 LambdaMetafactory 生成函数式对象
+        final CallSite site = LambdaMetafactory.metafactory(LOOKUP, samName,
+                MethodType.methodType(samType), samSignature, impl, instantiated); // 生成实现类
+        return site.getTarget().invoke(); // 无捕获参数，直接创建实例
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，格式化耗时
+
+/**
+ * 单个 {@code @Timed} 方法的耗时快照，由 {@link Container#getMethodMetrics()} 返回。
+ * <p>
+ * 直方图按 2 的幂分桶（见 {@link #getBucketCounts()}），分位数取所在桶的上界，误差不超过一倍；
+ * 需要精确分布时用 JMH 或采样分析器。总耗时与平均值是精确值。
+ * <p>
+ * 采样计时（{@code @Timed(sampleEvery = N)}）时，{@link #getCount()} 是全部调用次数，
+ * 总耗时、平均值、直方图与分位数只来自被计时的 {@link #getSampledCount()} 次调用。
+ */
+public final class MethodMetrics { // 方法耗时快照（不可变）
+
+    private final Class<?> type; // 组件类型
+    private final String method; // 方法签名
+    private final long totalNanos; // 总耗时
+    private final long count; // 调用次数（含未计时的调用）
+    private final long sampled; // 计时的调用次数
+    private final long[] buckets; // 分桶计数
+
+    MethodMetrics(Class<?> type, String method, long totalNanos, long[] buckets, long skipped) { // 由记录器创建
+        this.type = type; // 保存类型
+        this.method = method; // 保存签名
+        this.totalNanos = totalNanos; // 保存总耗时
+        this.buckets = buckets; // 保存分桶（记录器已复制）
+        long sum = 0L; // 计时的调用次数
+        for (long b : buckets) { // 各桶之和
+            sum += b; // 累加
+        }
+        this.sampled = sum; // 保存计时次数
+        this.count = sum + skipped; // 加上未计时的调用
+    }
+
+    /**
+     * @return 组件类型（声明 {@code @Timed} 的类，不是生成的子类）
+     */
+    public Class<?> getType() { // 读取类型
+        return type; // 直接返回
+    }
+
+    /**
+     * @return 方法签名，参数为简单类名，例如 {@code find(long)}
+     */
+    public String getMethod() { // 读取签名
+        return method; // 直接返回
+    }
+
+    /**
+     * @return 调用次数（含抛出异常的调用与采样时未计时的调用）
+     */
+    public long getCount() { // 读取次数
+        return count; // 直接返回
+    }
+
+    /**
+     * @return 计时的调用次数；不采样时等于 {@link #getCount()}
+     */
+    public long getSampledCount() { // 读取计时次数
+        return sampled; // 直接返回
+    }
+
+    /**
+     * @return 计时调用的总耗时（纳秒）；采样时全部调用的总耗时约为 {@code getMeanNanos() * getCount()}
+     */
+    public long getTotalNanos() { // 读取总耗时
+        return totalNanos; // 直接返回
+    }
+
+    /**
+     * @return 计时调用的平均耗时（纳秒）；没有计时调用时为 0
+     */
+    public long getMeanNanos() { // 平均耗时
+        return sampled == 0L ? 0L : totalNanos / sampled; // 整数除法
+    }
+
+    /**
+     * @return 分桶计数的副本：下标 {@code i}（{@code i >= 1}）对应 {@code [2^i, 2^(i+1))} 纳秒，下标 0 对应 {@code [0, 2)}，
+     *         最后一个桶包含全部更长的调用
+     */
+    public long[] getBucketCounts() { // 读取分桶
+        return buckets.clone(); // 返回副本
+    }
+
+    /**
+     * 估算分位数：返回计时调用中第 {@code ceil(p * getSampledCount())} 次调用所在桶的上界。
+     *
+     * @param p 分位（0 到 1 之间，例如 0.99）
+     * @return 耗时上界（纳秒）；没有计时调用时为 0；落在最后一个桶时为 {@link Long#MAX_VALUE}
+     * @throws IllegalArgumentException p 不在 [0, 1] 之间
+     */
+    public long getPercentileNanos(double p) { // 分位数估算
+        if (!(p >= 0.0 && p <= 1.0)) { // 参数校验（含 NaN）
+            throw new IllegalArgumentException("percentile must be within [0, 1]: " + p); // 非法参数
+        }
+        if (sampled == 0L) { // 没有计时调用
+            return 0L; // 无数据
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(p * sampled)); // 目标次序（从 1 开始）
+        long seen = 0L; // 已累计的次数
+        for (int i = 0; i < buckets.length; i++) { // 从短到长累计
+            seen += buckets[i]; // 累加
+            if (seen >= rank) { // 落在本桶
+                return i == buckets.length - 1 ? Long.MAX_VALUE : (2L << i) - 1L; // 桶的上界
+            }
+        }
+        return Long.MAX_VALUE; // 并发读取导致次数不一致时的兜底
+    }
+
+    @Override
+    public String toString() { // 单行汇总
+        return type.getSimpleName() + "#" + method + " count=" + count
+                + (sampled == count ? "" : " sampled=" + sampled)
+                + " mean=" + format(getMeanNanos())
+                + " p50<=" + format(getPercentileNanos(0.5))
+                + " p99<=" + format(getPercentileNanos(0.99))
+                + " total=" + format(totalNanos); // 便于日志输出
+    }
+
+    private static String format(long nanos) { // 按量级选择单位
+        if (nanos == Long.MAX_VALUE) { // 最后一个桶
+            return "inf"; // 无上界
+        }
+        if (nanos < 10_000L) { // 10 微秒以内
+            return nanos + "ns"; // 纳秒
+        }
+        if (nanos < 10_000_000L) { // 10 毫秒以内
+            return TimeUnit.NANOSECONDS.toMicros(nanos) + "us"; // 微秒
+        }
+        return TimeUnit.NANOSECONDS.toMillis(nanos) + "ms"; // 毫秒
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.lang.ref.WeakReference; // 引入 WeakReference，分段不阻止线程被回收
+import java.util.Iterator; // 引入 Iterator，清理已结束线程的分段
+import java.util.Queue; // 引入 Queue，作为分段集合类型
+import java.util.concurrent.ConcurrentLinkedQueue; // 引入 ConcurrentLinkedQueue，登记各线程的分段
+import java.util.concurrent.atomic.AtomicInteger; // 引入 AtomicInteger，统计分段登记次数
+import java.util.concurrent.atomic.AtomicLongArray; // 引入 AtomicLongArray，单写者的计数槽位
+
+/**
+ * 单个 {@code @Timed} 方法的耗时记录器：调用次数与总耗时，以及按 2 的幂分桶的直方图。
+ * <p>
+ * 计数按线程分段：每个线程首次记录时登记自己的分段（一个 {@link AtomicLongArray}），之后只有该线程写它，
+ * 写入是“读 + {@code lazySet}”，不需要 CAS 或锁，也不分配对象；读取方把全部分段相加。
+ * 已结束线程的分段在登记新分段时定期并入汇总值，内存只随活跃线程数增长。
+ * <p>
+ * 桶 {@code i}（{@code i >= 1}）覆盖 {@code [2^i, 2^(i+1))} 纳秒，桶 0 覆盖 {@code [0, 2)}，
+ * 最后一个桶包含全部更长的调用（约 9 分钟以上）。计时的调用次数是各桶之和，不单独计数。
+ * <p>
+ * {@code @Timed(sampleEvery = N)}（N &gt; 1）时每个线程每 N 次调用只计时一次（{@link #sample()}），
+ * 其余调用只在分段中加一次计数，不读时钟。
+ * <p>
+ * 由容器创建并交给生成的计时子类或计时代理；应用代码只通过 {@link MethodMetrics} 读取结果。
+ */
+public final class MethodTimer { // 方法耗时记录器
+
+    /** 直方图的桶数。 */
+    static final int BUCKETS = 40; // 覆盖到 2^40 纳秒
+    private static final int TOTAL = BUCKETS; // 分段中保存总耗时的槽位
+    private static final int SKIPPED = BUCKETS + 1; // 分段中保存未计时调用次数的槽位
+    private static final int SLOTS = BUCKETS + 2; // 分段的槽位数
+    private static final int SWEEP_INTERVAL = 64; // 每登记多少个分段清理一次已结束的线程
+
+    private final Class<?> type; // 组件类型
+    private final String method; // 方法签名（如 {@code ping()}、{@code find(long)}）
+    private final int sampleEvery; // 每多少次调用计时一次（1 表示每次）
+    private final ThreadLocal<Cell> local = ThreadLocal.withInitial(this::register); // 当前线程的分段
+    private final Queue<Cell> cells = new ConcurrentLinkedQueue<>(); // 全部线程的分段
+    private final AtomicInteger registrations = new AtomicInteger(); // 分段登记次数
+    private final long[] retired = new long[SLOTS]; // 已结束线程的汇总值（由 this 保护）
+    private long[] baseline = new long[SLOTS]; // 上次清零时的读数（由 this 保护）
+
+    MethodTimer(Class<?> type, String method, int sampleEvery) { // 由容器创建
+        this.type = type; // 保存类型
+        this.method = method; // 保存签名
+        this.sampleEvery = sampleEvery; // 保存采样间隔（TimedMethods 已校验为正数）
+    }
+
+    /**
+     * 决定本次调用是否计时（由生成的计时子类与计时代理在读取时钟之前调用）；不计时的调用在此计数。
+     *
+     * @return 需要计时（随后调用 {@link #record(long)}）时为 true
+     */
+    public boolean sample() { // 采样判断
+        if (sampleEvery == 1) { // 每次都计时：不查分段
+            return true; // 计时
+        }
+        final Cell cell = local.get(); // 当前线程的分段（只有本线程写入）
+        if (--cell.skip >= 0) { // 还没轮到
+            cell.counts.lazySet(SKIPPED, cell.counts.get(SKIPPED) + 1L); // 只计数
+            return false; // 不计时
+        }
+        cell.skip = sampleEvery - 1; // 之后跳过 N - 1 次
+        return true; // 计时（每个线程的第一次调用总是计时）
+    }
+
+    /**
+     * 记录一次调用的耗时（由生成的计时子类与计时代理调用）。
+     *
+     * @param nanos 耗时（纳秒）；负数（时钟回拨）按 0 记录
+     */
+    public void record(long nanos) { // 记录一次调用
+        final long n = nanos < 0L ? 0L : nanos; // 防御时钟回拨
+        final AtomicLongArray counts = local.get().counts; // 当前线程的分段（只有本线程写入）
+        final int bucket = bucketOf(n); // 所在的桶
+        counts.lazySet(bucket, counts.get(bucket) + 1L); // 单写者：无需 CAS
+        counts.lazySet(TOTAL, counts.get(TOTAL) + n); // 累加耗时
+    }
+
+    /**
+     * 计算耗时所在的桶。
+     *
+     * @param nanos 非负耗时
+     * @return 桶下标
+     */
+    static int bucketOf(long nanos) { // 耗时 -> 桶
+        final int log2 = 63 - Long.numberOfLeadingZeros(nanos | 1L); // floor(log2)，0 与 1 都落在桶 0
+        return log2 < BUCKETS ? log2 : BUCKETS - 1; // 超出范围的并入最后一个桶
+    }
+
+    /**
+     * @return 当前计数的快照（读取期间的并发记录可能部分计入）
+     */
+    synchronized MethodMetrics snapshot() { // 复制当前计数
+        final long[] sum = sum(); // 全部分段之和
+        final long[] counts = new long[BUCKETS]; // 分桶计数
+        for (int i = 0; i < BUCKETS; i++) { // 扣除清零时的读数
+            counts[i] = sum[i] - baseline[i]; // 本周期的计数
+        }
+        return new MethodMetrics(type, method, sum[TOTAL] - baseline[TOTAL], counts, sum[SKIPPED] - baseline[SKIPPED]); // 组装快照
+    }
+
+    /**
+     * 清零：分段只允许各自的线程写入，因此记下当前读数，之后的快照从该读数起算。
+     */
+    synchronized void reset() { // 清零
+        baseline = sum(); // 当前读数
+    }
+
+    private long[] sum() { // 汇总值 + 全部活跃分段（调用方持有 this）
+        final long[] sum = retired.clone(); // 从已结束线程的汇总值开始
+        for (Cell cell : cells) { // 逐个分段
+            for (int i = 0; i < SLOTS; i++) { // 逐个槽位
+                sum[i] += cell.counts.get(i); // 累加
+            }
+        }
+        return sum; // 返回读数
+    }
+
+    private Cell register() { // 当前线程首次记录：登记新分段
+        final Cell cell = new Cell(Thread.currentThread()); // 新分段
+        cells.add(cell); // 登记
+        if (registrations.incrementAndGet() % SWEEP_INTERVAL == 0) { // 定期清理
+            sweep(); // 并入已结束线程的分段
+        }
+        return cell; // 返回分段
+    }
+
+    private synchronized void sweep() { // 已结束线程的分段并入汇总值
+        for (Iterator<Cell> it = cells.iterator(); it.hasNext(); ) { // 遍历分段
+            final Cell cell = it.next(); // 当前分段
+            final Thread owner = cell.owner.get(); // 所属线程
+            if (owner == null || !owner.isAlive()) { // 线程已结束：不会再写入，且其写入对本线程可见
+                for (int i = 0; i < SLOTS; i++) { // 逐个槽位
+                    retired[i] += cell.counts.get(i); // 并入汇总值
+                }
+                it.remove(); // 移除分段
+            }
+        }
+    }
+
+    @Override
+    public String toString() { // 便于日志输出
+        return "MethodTimer[" + type.getName() + "#" + method + "]"; // 简要描述
+    }
+
+    /**
+     * 单个线程的分段。
+     */
+    private static final class Cell { // 线程分段
+        final WeakReference<Thread> owner; // 所属线程（不阻止回收）
+        final AtomicLongArray counts = new AtomicLongArray(SLOTS); // 分桶计数 + 总耗时 + 未计时次数
+        int skip; // 采样时还要跳过的调用次数（只有所属线程读写）
+
+        Cell(Thread owner) { // 由所属线程创建
+            this.owner = new WeakReference<>(owner); // 弱引用
+        }
+    }
+}
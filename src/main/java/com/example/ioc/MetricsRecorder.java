@@ -0,0 +1,95 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.util.ArrayList; // 引入 ArrayList，生成快照
+import java.util.Comparator; // 引入 Comparator，按类名排序
+import java.util.List; // 引入 List，作为快照条目类型
+import java.util.Map; // 引入 Map，作为 Bean 指标表类型
+import java.util.concurrent.ConcurrentHashMap; // 引入 ConcurrentHashMap，并行创建时并发写入
+import java.util.concurrent.atomic.AtomicLongArray; // 引入 AtomicLongArray，按阶段累加耗时
+
+/**
+ * 容器内部的指标记录器：每个容器一个，线程安全，只做计数与累加；{@link #snapshot()} 生成只读的 {@link StartupMetrics}。
+ * 关闭启动指标时容器使用 {@link #DISABLED}：所有记录方法都是空调用，快照中的数值全部为零。
+ */
+class MetricsRecorder { // 指标记录器
+
+    /** 不记录任何内容的共享实例。 */
+    static final MetricsRecorder DISABLED = new Disabled(); // 空实现
+
+    private final AtomicLongArray phases = new AtomicLongArray(StartupMetrics.Phase.values().length); // 按阶段累加的耗时
+    private final Map<Class<?>, StartupMetrics.BeanMetrics> beans = new ConcurrentHashMap<>(); // 类型 -> 最近一次创建的指标
+    private volatile int componentCount; // 登记的组件数
+    private volatile int failedCallbacks; // 失败或超时的启动回调数
+
+    /**
+     * 按配置选择实现。
+     *
+     * @param enabled 是否记录
+     * @return 记录器；未开启时为 {@link #DISABLED}
+     */
+    static MetricsRecorder create(boolean enabled) { // 工厂方法
+        return enabled ? new MetricsRecorder() : DISABLED; // 每个容器一个记录器
+    }
+
+    void addPhase(StartupMetrics.Phase phase, long nanos) { // 累加阶段耗时
+        phases.addAndGet(phase.ordinal(), nanos); // 原子累加
+    }
+
+    void components(int count) { // 记录组件数
+        componentCount = count; // 覆盖
+    }
+
+    void failedCallbacks(int count) { // 记录回调失败数
+        failedCallbacks = count; // 覆盖
+    }
+
+    void bean(Class<?> type, long creationNanos, long constructorNanos, long injectionNanos, String failure) { // 记录一次单例创建
+        beans.put(type, new StartupMetrics.BeanMetrics(type, creationNanos, constructorNanos, injectionNanos, failure)); // 失败后重试成功时覆盖
+        addPhase(StartupMetrics.Phase.FIELD_INJECT, injectionNanos); // 累加字段赋值时间
+    }
+
+    StartupMetrics snapshot() { // 生成只读快照
+        final long[] copy = new long[phases.length()]; // 阶段耗时副本
+        for (int i = 0; i < copy.length; i++) { // 逐个读取
+            copy[i] = phases.get(i); // 原子读取
+        }
+        final List<StartupMetrics.BeanMetrics> list = new ArrayList<>(beans.values()); // 条目副本
+        list.sort(Comparator.comparing(b -> b.getType().getName())); // 按类名排序，输出确定
+        return new StartupMetrics(copy, componentCount, list, failedCallbacks); // 构造快照
+    }
+
+    static String describe(Throwable e) { // 失败原因：异常类型与消息，附带根因
+        Throwable root = e; // 根因
+        while (root.getCause() != null && root.getCause() != root) { // 沿 cause 链向下
+            root = root.getCause(); // 下一层
+        }
+        final String head = e.getClass().getSimpleName() + ": " + e.getMessage(); // 外层异常
+        return root == e ? head : head + " <- " + root.getClass().getSimpleName() + ": " + root.getMessage(); // 附带根因
+    }
+
+    /**
+     * 关闭启动指标时的实现：丢弃所有记录，快照始终为空。
+     */
+    private static final class Disabled extends MetricsRecorder { // 空实现
+
+        @Override
+        void addPhase(StartupMetrics.Phase phase, long nanos) { // 不累加
+            // 空实现
+        }
+
+        @Override
+        void components(int count) { // 不记录
+            // 空实现
+        }
+
+        @Override
+        void failedCallbacks(int count) { // 不记录
+            // 空实现
+        }
+
+        @Override
+        void bean(Class<?> type, long creationNanos, long constructorNanos, long injectionNanos, String failure) { // 不记录
+            // 空实现
+        }
+    }
+}
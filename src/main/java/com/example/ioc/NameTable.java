@@ -0,0 +1,149 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.util.ArrayList; // 引入 ArrayList，按桶收集名称
+import java.util.Collections; // 引入 Collections，构建空表
+import java.util.List; // 引入 List，作为桶类型
+import java.util.Map; // 引入 Map，接收名称 -> 值
+
+/**
+ * 名称 -> 值的完美哈希表（hash-and-displace），构建后只读。
+ * <p>
+ * 名称先按 {@link String#hashCode()}（字符串自身缓存）分到若干桶，构建时为每个桶寻找一个种子，
+ * 使桶内全部名称用该种子逐字符二次哈希后落在尚未占用的槽位上。查找时读取桶的种子、计算槽位、比较一次字符串，
+ * 不分配对象、不加锁，也没有探测链。
+ * <p>
+ * 槽位数为不小于名称数两倍的 2 的幂，桶数为不小于名称数的 2 的幂；桶按大小降序处理，
+ * 数千个名称的构建在毫秒级完成。
+ *
+ * @param <V> 值类型
+ */
+final class NameTable<V> { // 完美哈希表（不可变）
+
+    private static final int MAX_SEED = 1 << 20; // 单个桶的种子上限（装载率 1/2 下实际只需个位数次尝试）
+
+    private final int[] seeds; // 桶 -> 种子
+    private final String[] keys; // 槽位 -> 名称（空槽为 null）
+    private final Object[] values; // 槽位 -> 值
+    private final int bucketMask; // 桶数 - 1
+    private final int slotMask; // 槽位数 - 1
+    private final int size; // 名称数量
+
+    private NameTable(int[] seeds, String[] keys, Object[] values, int size) { // 由 of 创建
+        this.seeds = seeds; // 保存种子
+        this.keys = keys; // 保存名称
+        this.values = values; // 保存值
+        this.bucketMask = seeds.length - 1; // 桶掩码
+        this.slotMask = keys.length - 1; // 槽位掩码
+        this.size = size; // 保存数量
+    }
+
+    /**
+     * @param <V> 值类型
+     * @return 空表
+     */
+    static <V> NameTable<V> empty() { // 空表
+        return of(Collections.<String, V>emptyMap()); // 一个桶、两个槽位
+    }
+
+    /**
+     * 构建完美哈希表。
+     *
+     * @param named 名称 -> 值（值不能为 null）
+     * @param <V>   值类型
+     * @return 只读表
+     */
+    static <V> NameTable<V> of(Map<String, ? extends V> named) { // 构建入口
+        final int buckets = powerOfTwoAtLeast(named.size()); // 桶数
+        final int size = powerOfTwoAtLeast(named.size() * 2); // 槽位数（装载率不超过 1/2）
+        final List<List<String>> byBucket = new ArrayList<>(buckets); // 桶 -> 名称
+        for (int b = 0; b < buckets; b++) { // 初始化全部桶
+            byBucket.add(new ArrayList<>()); // 空桶
+        }
+        for (String name : named.keySet()) { // 一次哈希分桶
+            byBucket.get(name.hashCode() & (buckets - 1)).add(name); // 直接用字符串哈希的低位
+        }
+        final List<Integer> order = new ArrayList<>(buckets); // 桶的处理顺序
+        for (int b = 0; b < buckets; b++) { // 收集桶号
+            order.add(b); // 桶号
+        }
+        order.sort((x, y) -> byBucket.get(y).size() - byBucket.get(x).size()); // 大桶先放，冲突最少
+
+        final int[] seeds = new int[buckets]; // 桶 -> 种子
+        final String[] keys = new String[size]; // 槽位 -> 名称
+        final int[] placed = new int[size]; // 当前桶试放的槽位（避免桶内互相冲突）
+        for (int b : order) { // 逐桶寻找种子
+            final List<String> names = byBucket.get(b); // 桶内名称
+            if (names.isEmpty()) { // 空桶（已排到最后）
+                break; // 之后都是空桶
+            }
+            for (int seed = 1; ; seed++) { // 依次尝试种子（装载率 1/2 下很快成功）
+                if (seed > MAX_SEED) { // 理论上不会发生；避免死循环
+                    throw new IllegalStateException("Failed to build name table for: " + names); // 快速失败
+                }
+                int n = 0; // 已试放的数量
+                for (String name : names) { // 逐个试放
+                    final int slot = slot(name, seed, size - 1); // 二次哈希
+                    if (keys[slot] != null || contains(placed, n, slot)) { // 与已放置或桶内其他名称冲突
+                        break; // 换下一个种子
+                    }
+                    placed[n++] = slot; // 记录试放位置
+                }
+                if (n == names.size()) { // 全部放下
+                    for (int i = 0; i < n; i++) { // 正式占用
+                        keys[placed[i]] = names.get(i); // 写入名称
+                    }
+                    seeds[b] = seed; // 记录种子
+                    break; // 处理下一个桶
+                }
+            }
+        }
+        final Object[] values = new Object[size]; // 值槽位
+        for (int i = 0; i < size; i++) { // 逐个填充
+            if (keys[i] != null) { // 非空槽
+                values[i] = named.get(keys[i]); // 对应值
+            }
+        }
+        return new NameTable<>(seeds, keys, values, named.size()); // 构造表
+    }
+
+    /**
+     * 查找名称对应的值。
+     *
+     * @param name 名称
+     * @return 值；未登记时返回 null
+     */
+    @SuppressWarnings("unchecked") // values 只由 of 按 V 写入
+    V get(String name) { // 查找
+        final int slot = slot(name, seeds[name.hashCode() & bucketMask], slotMask); // 桶种子 -> 唯一候选槽位
+        return name.equals(keys[slot]) ? (V) values[slot] : null; // 比较一次字符串
+    }
+
+    /**
+     * @return 名称数量
+     */
+    int size() { // 数量
+        return size; // 直接返回
+    }
+
+    private static int slot(String name, int seed, int mask) { // 种子化的二次哈希（逐字符，hashCode 相同的名称也能分开）
+        int h = seed * 0x9E3779B9; // 以种子为初值
+        for (int i = 0; i < name.length(); i++) { // FNV-1a 风格逐字符混合（不分配对象）
+            h = (h ^ name.charAt(i)) * 0x01000193; // 混入一个字符
+        }
+        h ^= h >>> 15; // 高位参与
+        return h & mask; // 截取槽位
+    }
+
+    private static boolean contains(int[] slots, int n, int slot) { // 桶内是否已试放到同一槽位
+        for (int i = 0; i < n; i++) { // 桶通常只有一两个名称
+            if (slots[i] == slot) { // 冲突
+                return true; // 已占用
+            }
+        }
+        return false; // 未占用
+    }
+
+    private static int powerOfTwoAtLeast(int n) { // 不小于 n 的 2 的幂（至少为 1）
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1; // 向上取整
+    }
+}
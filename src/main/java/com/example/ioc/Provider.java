@@ -0,0 +1,38 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+/**
+ * 按需获取的依赖：注入点声明为 {@code Provider<Foo>} 时，容器注入一个提供者，
+ * 每次调用 {@link #get()} 都返回此刻 {@link Container#getBean(Class)} 会返回的实例。
+ * <p>
+ * 与 {@link Deferred} 的区别在于作用域：单例与租户组件在首次 {@code get()} 时解析一次并缓存在提供者的槽位中，
+ * 之后每次调用只是一次字段读取（不再查单例表、不再解析接口）；原型组件每次调用都创建新实例，
+ * 线程作用域组件返回当前线程的实例（实现类只解析一次）。池化组件不能通过提供者获取，请注入 {@code BeanPool<Foo>}。
+ * <p>
+ * 与 {@code Deferred} 相同，提供者的依赖不计入启动时的依赖图，也不参与循环依赖检测，
+ * 可用来打破构造期的环（环上的任一方注入 {@code Provider}，构造完成后再调用 {@code get()}），且不需要接口代理。
+ *
+ * <pre>{@code
+ * @Component
+ * public class RequestHandler {
+ *     @Inject
+ *     private Provider<RequestContext> contexts; // 原型组件：每次 get() 一个新实例
+ *
+ *     public void handle() {
+ *         final RequestContext ctx = contexts.get();
+ *         // ...
+ *     }
+ * }
+ * }</pre>
+ *
+ * @param <T> 依赖类型（必须是具体的类型参数，不能是通配符或类型变量）
+ */
+public interface Provider<T> { // 按需依赖提供者
+
+    /**
+     * 获取依赖实例：单例与租户组件首次调用时解析并缓存，原型组件每次新建，线程作用域组件取当前线程的实例。
+     *
+     * @return 依赖实例
+     * @throws IllegalStateException 依赖无法解析或创建时抛出（首次解析失败不缓存，下次调用会重试）
+     */
+    T get(); // 获取实例
+}
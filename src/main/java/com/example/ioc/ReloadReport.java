@@ -0,0 +1,133 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.util.Collections; // 引入 Collections，返回只读列表
+import java.util.List; // 引入 List，作为类名与类型列表类型
+
+/**
+ * 一次增量重载的结果，由 {@link Container#reload(java.util.Collection)} 返回（监听模式下交给监听器）。
+ * <p>
+ * 组件集合的变化按类名给出：新增、删除（文件删除或不再标注 {@code @Component}）与修改的组件；
+ * 其余变化的类（接口、工具类等）记入 {@link #getOtherClasses()}。
+ * 受影响的单例（变化的组件及直接或间接注入了它们的单例）被丢弃并重新创建，其余单例保留原实例。
+ * <p>
+ * 耗时分两段：读取变化的类文件、比较组件集合并计算受影响集合（{@link #getScanNanos()}），
+ * 重新加载类、重建索引并重新创建单例（{@link #getRewireNanos()}，含新单例的启动回调）。
+ */
+public final class ReloadReport { // 重载结果（不可变）
+
+    private final List<String> added; // 新增组件的类名
+    private final List<String> removed; // 删除组件的类名
+    private final List<String> modified; // 修改组件的类名
+    private final List<String> otherClasses; // 变化的其他类
+    private final List<Class<?>> recreated; // 重新创建成功的单例（新版本的类型）
+    private final List<String> failures; // 重新创建失败的单例与原因
+    private final int kept; // 保留原实例的单例数
+    private final long scanNanos; // 读取与比较耗时
+    private final long rewireNanos; // 重新装配耗时
+
+    ReloadReport(List<String> added,
+                 List<String> removed,
+                 List<String> modified,
+                 List<String> otherClasses,
+                 List<Class<?>> recreated,
+                 List<String> failures,
+                 int kept,
+                 long scanNanos,
+                 long rewireNanos) { // 由容器创建
+        this.added = Collections.unmodifiableList(added); // 只读保存
+        this.removed = Collections.unmodifiableList(removed); // 只读保存
+        this.modified = Collections.unmodifiableList(modified); // 只读保存
+        this.otherClasses = Collections.unmodifiableList(otherClasses); // 只读保存
+        this.recreated = Collections.unmodifiableList(recreated); // 只读保存
+        this.failures = Collections.unmodifiableList(failures); // 只读保存
+        this.kept = kept; // 保存保留数
+        this.scanNanos = scanNanos; // 保存读取耗时
+        this.rewireNanos = rewireNanos; // 保存装配耗时
+    }
+
+    /**
+     * @return 新增组件的类名（按类名排序）
+     */
+    public List<String> getAdded() { // 读取新增组件
+        return added; // 直接返回只读列表
+    }
+
+    /**
+     * @return 删除组件的类名（按类名排序）
+     */
+    public List<String> getRemoved() { // 读取删除组件
+        return removed; // 直接返回只读列表
+    }
+
+    /**
+     * @return 修改组件（以及被单例依赖的非组件类）的类名（按类名排序）
+     */
+    public List<String> getModified() { // 读取修改组件
+        return modified; // 直接返回只读列表
+    }
+
+    /**
+     * @return 变化的其他类（接口、工具类等）的类名；不为空时该类目录下的全部单例都视为受影响
+     */
+    public List<String> getOtherClasses() { // 读取其他变化
+        return otherClasses; // 直接返回只读列表
+    }
+
+    /**
+     * @return 重新创建成功的单例（新版本的类型，按类名排序）；延迟单例在下次获取时才创建，不在其中
+     */
+    public List<Class<?>> getRecreated() { // 读取重建单例
+        return recreated; // 直接返回只读列表
+    }
+
+    /**
+     * @return 重新创建失败的单例（{@code 类名 -> 原因}）
+     */
+    public List<String> getFailures() { // 读取失败条目
+        return failures; // 直接返回只读列表
+    }
+
+    /**
+     * @return 保留原实例的单例数
+     */
+    public int getKeptCount() { // 读取保留数
+        return kept; // 直接返回
+    }
+
+    /**
+     * @return 读取变化的类文件、比较组件集合并计算受影响集合的耗时（纳秒）
+     */
+    public long getScanNanos() { // 读取扫描耗时
+        return scanNanos; // 直接返回
+    }
+
+    /**
+     * @return 重新加载类、重建索引与重新创建单例的耗时（纳秒）
+     */
+    public long getRewireNanos() { // 读取装配耗时
+        return rewireNanos; // 直接返回
+    }
+
+    /**
+     * @return 从收到变化到重新装配完成的总耗时（纳秒）
+     */
+    public long getTotalNanos() { // 总耗时
+        return scanNanos + rewireNanos; // 两段之和
+    }
+
+    /**
+     * @return 没有任何组件或类发生变化时为 true
+     */
+    public boolean isEmpty() { // 是否为空
+        return added.isEmpty() && removed.isEmpty() && modified.isEmpty() && otherClasses.isEmpty(); // 四类变化都为空
+    }
+
+    @Override
+    public String toString() { // 单行摘要
+        return "reload: +" + added.size() + " -" + removed.size() + " ~" + modified.size() + " components"
+                + (otherClasses.isEmpty() ? "" : ", " + otherClasses.size() + " other classes")
+                + ", " + recreated.size() + " singletons recreated, " + failures.size() + " failed, " + kept + " kept in "
+                + String.format(java.util.Locale.ROOT, "%.2f ms (scan %.2f ms, re-wire %.2f ms)",
+                getTotalNanos() / 1e6, scanNanos / 1e6, rewireNanos / 1e6); // 毫秒（两位小数）
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.io.IOException; // 引入 IOException，读取 .class 文件可能抛出
+import java.nio.file.Files; // 引入 Files，读取类文件
+import java.nio.file.NoSuchFileException; // 引入 NoSuchFileException，类文件已被删除
+import java.nio.file.Path; // 引入 Path，表示类目录
+import java.util.Map; // 引入 Map，保存类名到类目录与旧加载器的映射
+
+/**
+ * 热重载的一“代”类加载器：只重新定义本代负责的类，其余类沿用已有的定义。
+ * <p>
+ * 同一个类加载器不能重新定义同名类，因此每次 {@link Container#reload(java.util.Collection)} 为需要重新加载的
+ * 顶层类（及其嵌套类、计时子类，即名称以 {@code 顶层类名 + "$"} 开头的类）新建一代加载器：
+ * <ul>
+ *   <li>本代负责的类：直接从类目录读取字节码定义（子优先），得到新的 {@link Class}；</li>
+ *   <li>更早某代重新加载过的类：委托给定义其最新版本的那一代；</li>
+ *   <li>其余类：委托给容器原来的类加载器（父优先），与启动时加载的是同一个 {@link Class}。</li>
+ * </ul>
+ * 每代只引用各类最新版本所在的加载器，不引用上一代本身：某一代的类全部被更新的版本取代后，它即可被回收。
+ */
+final class ReloadingClassLoader extends ClassLoader { // 热重载的一代类加载器
+
+    static { // 按类名加锁，允许并行加载
+        registerAsParallelCapable(); // 与 JDK 自带加载器一致
+    }
+
+    private final Map<String, Path> owned; // 本代负责的顶层类名 -> 所在类目录
+    private final Map<String, ClassLoader> previous; // 更早重新加载过的顶层类名 -> 定义其最新版本的加载器
+
+    /**
+     * @param parent   容器原来的类加载器
+     * @param owned    本代负责的顶层类名 -> 所在类目录（调用方不再修改）
+     * @param previous 更早重新加载过的顶层类名 -> 加载器（调用方不再修改）
+     */
+    ReloadingClassLoader(ClassLoader parent, Map<String, Path> owned, Map<String, ClassLoader> previous) { // 由容器创建
+        super(parent); // 其余类交给原来的加载器
+        this.owned = owned; // 保存本代的类
+        this.previous = previous; // 保存旧代映射
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException { // 子优先加载本代的类
+        final String top = topLevelName(name); // 所属的顶层类
+        final Path root = owned.get(top); // 本代负责时的类目录
+        if (root != null) { // 本代负责：重新定义
+            synchronized (getClassLoadingLock(name)) { // 同名类只定义一次
+                Class<?> c = findLoadedClass(name); // 已定义
+                if (c == null) { // 首次加载
+                    c = define(name, root); // 从类目录读取并定义
+                }
+                if (resolve) { // 调用方要求链接
+                    resolveClass(c); // 链接
+                }
+                return c; // 返回新版本
+            }
+        }
+        final ClassLoader older = previous.get(top); // 更早重新加载过
+        if (older != null) { // 委托给定义最新版本的那一代
+            return older.loadClass(name); // 同一个 Class
+        }
+        return super.loadClass(name, resolve); // 原来的加载器（父优先）
+    }
+
+    private Class<?> define(String name, Path root) throws ClassNotFoundException { // 读取字节码并定义
+        final Path file = classFile(root, name); // 类文件
+        final byte[] bytes; // 字节码
+        try { // 文件可能已被删除
+            bytes = Files.readAllBytes(file); // 一次读入
+        } catch (NoSuchFileException e) { // 不存在（例如计时子类未生成）
+            throw new ClassNotFoundException(name); // 与普通加载器一致
+        } catch (IOException e) { // 读取失败
+            throw new ClassNotFoundException(name + " (" + e.getMessage() + ")", e); // 保留原因
+        }
+        return defineClass(name, bytes, 0, bytes.length); // 定义新版本
+    }
+
+    @Override
+    public String toString() { // 便于日志输出
+        return "ReloadingClassLoader" + owned.keySet(); // 本代负责的类
+    }
+
+    /**
+     * @param root 类目录
+     * @param name 类名
+     * @return 类名在类目录下对应的 .class 文件
+     */
+    static Path classFile(Path root, String name) { // 类名 -> 文件
+        return root.resolve(name.replace('.', '/') + ".class"); // 包名转目录
+    }
+
+    /**
+     * 嵌套类、匿名类与生成的计时子类（{@code Foo$Bar}、{@code Foo$1}、{@code Foo$$Timed}）归属其顶层类 {@code Foo}，
+     * 与顶层类一起重新加载。
+     *
+     * @param name 类名
+     * @return 顶层类名
+     */
+    static String topLevelName(String name) { // 类名 -> 顶层类名
+        final int start = name.lastIndexOf('.') + 1; // 简单名起点
+        final int dollar = name.indexOf('$', start); // 简单名中的第一个 $
+        return dollar > start ? name.substring(0, dollar) : name; // 截断（以 $ 开头的简单名原样返回）
+    }
+}
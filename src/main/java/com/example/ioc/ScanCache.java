@@ -0,0 +1,239 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.io.BufferedInputStream; // 引入 BufferedInputStream，带缓冲读取缓存文件
+import java.io.BufferedOutputStream; // 引入 BufferedOutputStream，带缓冲写出缓存文件
+import java.io.DataInputStream; // 引入 DataInputStream，读取二进制缓存
+import java.io.DataOutputStream; // 引入 DataOutputStream，写出二进制缓存
+import java.io.File; // 引入 File，表示 JAR 文件
+import java.io.IOException; // 引入 IOException，读写可能抛出
+import java.net.URL; // 引入 URL，表示类路径根
+import java.net.URLDecoder; // 引入 URLDecoder，解码 file: URL 路径
+import java.nio.charset.StandardCharsets; // 引入 StandardCharsets，按 UTF-8 编码指纹明细
+import java.nio.file.FileVisitResult; // 引入 FileVisitResult，控制目录遍历
+import java.nio.file.Files; // 引入 Files，读写文件与遍历目录
+import java.nio.file.Path; // 引入 Path，表示缓存文件与目录
+import java.nio.file.Paths; // 引入 Paths，构造路径
+import java.nio.file.SimpleFileVisitor; // 引入 SimpleFileVisitor，遍历目录树
+import java.nio.file.StandardCopyOption; // 引入 StandardCopyOption，原子替换缓存文件
+import java.nio.file.attribute.BasicFileAttributes; // 引入 BasicFileAttributes，读取 mtime 与大小
+import java.util.ArrayList; // 引入 ArrayList，保存组件元数据列表
+import java.util.Collections; // 引入 Collections，返回只读列表
+import java.util.List; // 引入 List，作为组件列表类型
+import java.util.Map; // 引入 Map，保存缓存条目
+import java.util.concurrent.ConcurrentHashMap; // 引入 ConcurrentHashMap，允许并行扫描任务并发读写
+import java.util.zip.CRC32; // 引入 CRC32，计算指纹校验和
+
+/**
+ * 磁盘上的扫描结果缓存：按“基础包（含类名过滤模式）+ 类路径根”记录组件列表与注入元数据，并附带该根的指纹。
+ * <p>
+ * 指纹规则：
+ * <ul>
+ *   <li>JAR（嵌套 JAR 按外层文件）：文件大小、修改时间，以及中央目录（central directory）字节的 CRC32——
+ *       中央目录包含每个条目的 CRC，任一条目变化都会改变它，而读取它只需几 KB。中央目录按与扫描相同的规则定位
+ *       （{@link JarDirectory}：支持 ZIP64 与带前置启动脚本的可执行 JAR）；</li>
+ *   <li>目录：包路径下每个子目录与 .class 文件的相对路径、修改时间、大小合并后的 CRC32。
+ *       目录 mtime 能发现增删文件，文件 mtime/大小能发现原地重写（javac 覆盖输出时目录 mtime 不变）。</li>
+ * </ul>
+ * 某个根指纹变化时只有该根会被重新扫描，其余根继续命中缓存；根已不存在的条目在写回时移除。
+ */
+final class ScanCache { // 扫描结果缓存
+
+    private static final int MAGIC = 0x4D494F43; // 文件魔数 "MIOC"
+    private static final int VERSION = 1; // 文件格式版本，格式变化时递增
+
+    private final Path file; // 缓存文件位置
+    private final LogSink log; // 日志输出目标
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>(); // 键 -> 条目
+    private volatile boolean dirty; // 是否有条目更新，需要写回磁盘
+
+    private ScanCache(Path file, LogSink log) { // 通过 load 创建
+        this.file = file; // 保存文件位置
+        this.log = log; // 保存日志输出目标
+    }
+
+    /**
+     * 单个类路径根的缓存条目。
+     */
+    static final class Entry { // 缓存条目（不可变）
+        final String fingerprint; // 根指纹
+        final List<ComponentMetadata> components; // 该根下的组件元数据（按类名排序）
+
+        Entry(String fingerprint, List<ComponentMetadata> components) { // 构造条目
+            this.fingerprint = fingerprint; // 保存指纹
+            this.components = Collections.unmodifiableList(components); // 只读保存
+        }
+    }
+
+    /**
+     * 读取缓存文件；文件不存在、版本不符或内容损坏时返回空缓存。
+     *
+     * @param file 缓存文件路径
+     * @param log  日志输出目标（读取与写回失败时的警告）
+     * @return 缓存对象（从不为 null）
+     */
+    static ScanCache load(Path file, LogSink log) { // 加载缓存
+        final ScanCache cache = new ScanCache(file, log); // 新建缓存对象
+        if (!Files.isRegularFile(file)) { // 首次启动没有缓存文件
+            return cache; // 返回空缓存
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) { // 带缓冲读取
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) { // 魔数或版本不符
+                if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.WARN, "scan cache ignored (incompatible format): " + file); // 打印原因
+                }
+                return cache; // 视为空缓存，稍后整体重写
+            }
+            final int count = in.readInt(); // 条目数量
+            for (int i = 0; i < count; i++) { // 逐个读取条目
+                final String key = in.readUTF(); // 键
+                final String fingerprint = in.readUTF(); // 指纹
+                final int size = in.readInt(); // 组件数量
+                final List<ComponentMetadata> components = new ArrayList<>(size); // 预分配容量
+                for (int c = 0; c < size; c++) { // 逐个读取组件
+                    components.add(ComponentMetadata.readFrom(in)); // 反序列化元数据
+                }
+                cache.entries.put(key, new Entry(fingerprint, components)); // 登记条目
+            }
+        } catch (IOException e) { // 文件损坏或截断
+            if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.WARN, "scan cache ignored: " + e.getMessage()); // 打印原因
+            }
+            cache.entries.clear(); // 丢弃部分读取的内容
+        }
+        return cache; // 返回缓存
+    }
+
+    /**
+     * 查找与指纹一致的条目。
+     *
+     * @param key         缓存键（基础包 + 过滤模式 + 根 URL）
+     * @param fingerprint 当前指纹
+     * @return 指纹一致时返回条目，否则返回 null
+     */
+    Entry lookup(String key, String fingerprint) { // 查询缓存
+        final Entry entry = entries.get(key); // 按键查找
+        return entry != null && entry.fingerprint.equals(fingerprint) ? entry : null; // 指纹不一致视为未命中
+    }
+
+    /**
+     * 写入（或替换）某个根的条目。
+     *
+     * @param key   缓存键
+     * @param entry 新条目
+     */
+    void put(String key, Entry entry) { // 更新缓存
+        entries.put(key, entry); // 替换旧条目
+        dirty = true; // 标记需要写回
+    }
+
+    /**
+     * 若有更新则写回磁盘：先写临时文件再原子替换，避免并发启动读到半个文件。
+     * 写回前移除根已不存在的条目（JAR 被删除、类目录被清理），缓存文件不会随类路径的变化无限增长。
+     */
+    void saveIfDirty() { // 写回缓存
+        if (!dirty) { // 无更新
+            return; // 无需写盘
+        }
+        entries.keySet().removeIf(ScanCache::isAbsent); // 清理根已不存在的条目
+        try { // 写文件可能失败（例如只读文件系统）
+            final Path parent = file.toAbsolutePath().getParent(); // 缓存文件所在目录
+            if (parent != null) { // 存在父目录
+                Files.createDirectories(parent); // 确保目录存在
+            }
+            final Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp"); // 同目录临时文件，保证可原子移动
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) { // 带缓冲写出
+                out.writeInt(MAGIC); // 魔数
+                out.writeInt(VERSION); // 版本
+                out.writeInt(entries.size()); // 条目数量
+                for (Map.Entry<String, Entry> e : entries.entrySet()) { // 逐个写出条目
+                    out.writeUTF(e.getKey()); // 键
+                    out.writeUTF(e.getValue().fingerprint); // 指纹
+                    out.writeInt(e.getValue().components.size()); // 组件数量
+                    for (ComponentMetadata m : e.getValue().components) { // 逐个写出组件
+                        m.writeTo(out); // 序列化元数据
+                    }
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE); // 原子替换
+            dirty = false; // 写回成功
+        } catch (IOException e) { // 写入失败不影响本次启动
+            if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.WARN, "scan cache not saved: " + e.getMessage()); // 打印原因
+            }
+        }
+    }
+
+    /**
+     * 计算类路径根的指纹。
+     *
+     * @param url {@code ClassLoader.getResources(path)} 返回的包资源 URL
+     * @param log 读取失败时的调试日志输出目标
+     * @return 指纹字符串；协议不支持或读取失败时返回 null（表示该根不参与缓存）
+     */
+    static String fingerprint(URL url, LogSink log) { // 计算指纹
+        try { // 读取文件属性可能失败
+            if (JarDirectory.isArchive(url)) { // JAR 根（含嵌套 JAR：外层文件的中央目录包含嵌套 JAR 的 CRC）
+                return jarFingerprint(JarDirectory.outerFile(url)); // 计算外层 JAR 的指纹
+            } else if ("file".equals(url.getProtocol())) { // 目录根
+                return directoryFingerprint(directoryOf(url)); // 计算目录指纹
+            }
+        } catch (IOException | RuntimeException e) { // 读取失败时放弃缓存
+            if (log.isEnabled(LogSink.Level.DEBUG)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.DEBUG, "fingerprint unavailable: " + url + " -> " + e.getMessage()); // 调试输出
+            }
+        }
+        return null; // 其他协议不参与缓存
+    }
+
+    private static boolean isAbsent(String key) { // 缓存键中的根是否已不存在（无法判断时保留）
+        try { // 键或 URL 格式异常时保留条目
+            final URL url = new URL(key.substring(key.lastIndexOf('|') + 1)); // 键以 "|根 URL" 结尾（URL 中的 | 已被编码）
+            if (JarDirectory.isArchive(url)) { // JAR 根：按外层文件判断
+                return !JarDirectory.outerFile(url).isFile(); // 文件已删除
+            } else if ("file".equals(url.getProtocol())) { // 目录根
+                return !Files.isDirectory(directoryOf(url)); // 目录已删除
+            }
+        } catch (IOException | RuntimeException e) { // 无法解析
+            return false; // 保留
+        }
+        return false; // 其他协议不会写入缓存
+    }
+
+    private static Path directoryOf(URL url) throws IOException { // file: URL -> 目录路径
+        return Paths.get(URLDecoder.decode(url.getFile(), "UTF-8")); // 解码路径
+    }
+
+    private static String jarFingerprint(File jar) throws IOException { // JAR 指纹：大小 + mtime + 中央目录 CRC
+        final CRC32 crc = new CRC32(); // 中央目录校验和
+        crc.update(JarDirectory.centralDirectory(jar)); // 与扫描相同地定位中央目录（含 ZIP64 与前置脚本）
+        return "jar:" + jar.length() + ":" + jar.lastModified() + ":" + Long.toHexString(crc.getValue()); // 组合指纹
+    }
+
+    private static String directoryFingerprint(Path dir) throws IOException { // 目录指纹：子目录与 .class 文件的路径、mtime、大小
+        final CRC32 crc = new CRC32(); // 合并校验和
+        final long[] counts = new long[2]; // [目录数, 类文件数]
+        final List<String> lines = new ArrayList<>(); // 各项描述（排序后再计算，避免遍历顺序影响结果）
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() { // 遍历目录树（属性随遍历一起返回，无需额外 stat）
+            @Override
+            public FileVisitResult preVisitDirectory(Path d, BasicFileAttributes attrs) { // 访问目录
+                counts[0]++; // 计数
+                lines.add("d:" + dir.relativize(d) + ":" + attrs.lastModifiedTime().toMillis()); // 目录 mtime
+                return FileVisitResult.CONTINUE; // 继续遍历
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path f, BasicFileAttributes attrs) { // 访问文件
+                if (f.getFileName().toString().endsWith(".class")) { // 只关心字节码文件
+                    counts[1]++; // 计数
+                    lines.add("f:" + dir.relativize(f) + ":" + attrs.lastModifiedTime().toMillis() + ":" + attrs.size()); // 文件 mtime 与大小
+                }
+                return FileVisitResult.CONTINUE; // 继续遍历
+            }
+        });
+        Collections.sort(lines); // 排序，保证指纹与遍历顺序无关
+        for (String line : lines) { // 逐项累加
+            crc.update(line.getBytes(StandardCharsets.UTF_8)); // 计入校验和
+        }
+        return "dir:" + counts[0] + ":" + counts[1] + ":" + Long.toHexString(crc.getValue()); // 组合指纹
+    }
+}
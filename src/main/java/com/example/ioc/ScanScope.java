@@ -0,0 +1,231 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.util.ArrayList; // 引入 ArrayList，收集包名与模式
+import java.util.Collections; // 引入 Collections，返回只读列表
+import java.util.List; // 引入 List，作为包名与模式列表类型
+import java.util.TreeSet; // 引入 TreeSet，包名去重并排序
+import java.util.regex.Pattern; // 引入 Pattern，模式只编译一次
+
+/**
+ * 扫描范围：一个或多个基础包，加上按类名过滤的包含/排除模式。由容器在构造时创建一次，之后只读。
+ * <p>
+ * 基础包用逗号分隔（如 {@code "com.example.api, com.example.core"}），去除空白后去重并排序；
+ * 位于另一个基础包之内的包被合并掉，保证同一个目录或 JAR 前缀不会被遍历两次。
+ * <p>
+ * 模式是类名通配符，在读取任何类文件、加载任何类之前按条目名判定：
+ * <ul>
+ *   <li>{@code **} 匹配任意字符（含包分隔符），开头的 {@code **.} 也可以匹配空前缀；</li>
+ *   <li>{@code *} 匹配除 {@code .} 以外的任意字符，{@code ?} 匹配除 {@code .} 以外的单个字符；</li>
+ *   <li>不含 {@code .} 的模式匹配简单类名（如 {@code *Test}），其余匹配完全限定类名（如 {@code **.internal.**}）。</li>
+ * </ul>
+ * 配置了包含模式时，类名至少要匹配其中一个；命中任一排除模式的类被跳过。
+ * 以 {@code .**} 结尾的排除模式还用于整棵子目录的剪枝：目录对应的包匹配其前缀时不再进入。
+ */
+final class ScanScope { // 扫描范围（不可变）
+
+    private final List<String> packages; // 基础包（去重、排序，已合并嵌套的包）
+    private final String signature; // 过滤模式的签名；没有模式时为空字符串
+    private final Glob[] includes; // 包含模式
+    private final Glob[] excludes; // 排除模式
+    private final Pattern[] prunes; // 可剪枝的排除模式（去掉结尾 ".**" 后的包名模式）
+
+    private ScanScope(List<String> packages, List<String> includes, List<String> excludes) { // 由 of() 创建
+        this.packages = Collections.unmodifiableList(packages); // 只读保存
+        this.includes = compileAll(includes); // 编译包含模式
+        this.excludes = compileAll(excludes); // 编译排除模式
+        final List<Pattern> prunes = new ArrayList<>(); // 可剪枝的模式
+        for (String glob : excludes) { // 逐个排除模式
+            if (glob.endsWith(".**") && glob.length() > 3) { // 整棵子包都被排除
+                prunes.add(Pattern.compile(toRegex(glob.substring(0, glob.length() - 3)))); // 包名部分
+            }
+        }
+        this.prunes = prunes.toArray(new Pattern[0]); // 转为数组
+        final StringBuilder sb = new StringBuilder(); // 签名
+        for (String glob : includes) { // 包含模式
+            sb.append(sb.length() == 0 ? "[" : ",").append('+').append(glob); // 追加
+        }
+        for (String glob : excludes) { // 排除模式
+            sb.append(sb.length() == 0 ? "[" : ",").append('-').append(glob); // 追加
+        }
+        this.signature = sb.length() == 0 ? "" : sb.append(']').toString(); // 没有模式时为空
+    }
+
+    /**
+     * 解析基础包并编译过滤模式。
+     *
+     * @param basePackages 逗号分隔的基础包（非空）
+     * @param includes     包含模式（可为空列表）
+     * @param excludes     排除模式（可为空列表）
+     * @return 扫描范围
+     * @throws IllegalArgumentException 没有任何基础包，或某个包名不合法
+     */
+    static ScanScope of(String basePackages, List<String> includes, List<String> excludes) { // 工厂方法
+        final TreeSet<String> sorted = new TreeSet<>(); // 去重并排序
+        for (String part : basePackages.split(",")) { // 逐个包名
+            final String pkg = part.trim(); // 去除空白
+            if (pkg.isEmpty()) { // 多余的逗号
+                continue; // 忽略
+            }
+            if (pkg.startsWith(".") || pkg.endsWith(".") || pkg.contains("..") || pkg.contains("/")) { // 不是包名
+                throw new IllegalArgumentException("Invalid basePackage: '" + pkg + "'"); // 快速失败
+            }
+            sorted.add(pkg); // 收集
+        }
+        if (sorted.isEmpty()) { // 只有空白与逗号
+            throw new IllegalArgumentException("basePackage must not be blank"); // 快速失败
+        }
+        final List<String> packages = new ArrayList<>(); // 合并嵌套包之后的结果
+        for (String pkg : sorted) { // 排序后父包总在子包之前
+            final String last = packages.isEmpty() ? null : packages.get(packages.size() - 1); // 上一个保留的包
+            if (last == null || !pkg.startsWith(last + ".")) { // 不在上一个包之内
+                packages.add(pkg); // 保留
+            }
+        }
+        return new ScanScope(packages, includes, excludes); // 创建范围
+    }
+
+    /**
+     * @return 基础包（只读，已排序、已合并嵌套的包）
+     */
+    List<String> packages() { // 读取基础包
+        return packages; // 直接返回只读列表
+    }
+
+    /**
+     * @return 过滤模式的签名（用于扫描缓存键与快照校验）；没有配置模式时为空字符串
+     */
+    String signature() { // 读取签名
+        return signature; // 直接返回
+    }
+
+    /**
+     * @return 是否配置了任何过滤模式
+     */
+    boolean isFiltered() { // 是否过滤
+        return !signature.isEmpty(); // 有签名即有模式
+    }
+
+    /**
+     * 判断类是否位于某个基础包之内（含子包）。
+     *
+     * @param className 完全限定类名
+     * @return 位于某个基础包之内返回 true
+     */
+    boolean contains(String className) { // 包范围判定
+        for (String pkg : packages) { // 逐个基础包
+            if (className.startsWith(pkg) && className.length() > pkg.length() && className.charAt(pkg.length()) == '.') { // 前缀且紧跟分隔符
+                return true; // 命中
+            }
+        }
+        return false; // 不在范围内
+    }
+
+    /**
+     * 按过滤模式判定类名（不检查包范围）。
+     *
+     * @param className 完全限定类名
+     * @return 需要继续读取与加载时返回 true
+     */
+    boolean accepts(String className) { // 类名过滤
+        if (includes.length == 0 && excludes.length == 0) { // 未配置模式（常见情况）
+            return true; // 全部接受
+        }
+        final String simpleName = className.substring(className.lastIndexOf('.') + 1); // 简单类名
+        if (includes.length > 0 && !anyMatch(includes, className, simpleName)) { // 不匹配任何包含模式
+            return false; // 跳过
+        }
+        return !anyMatch(excludes, className, simpleName); // 命中排除模式即跳过
+    }
+
+    /**
+     * 判断整个包（含子包）是否都被排除，用于目录遍历时的剪枝。
+     *
+     * @param packageName 包名
+     * @return 该包下的任何类都会被排除时返回 true
+     */
+    boolean excludesPackage(String packageName) { // 包级剪枝
+        for (Pattern p : prunes) { // 逐个可剪枝的模式
+            if (p.matcher(packageName).matches()) { // 包名匹配前缀部分
+                return true; // 整棵子树都被排除
+            }
+        }
+        return false; // 需要进入
+    }
+
+    /**
+     * @return 基础包与过滤模式，如 {@code com.example.api,com.example.core[-**.internal.**]}
+     */
+    @Override
+    public String toString() { // 作为快照中的范围标识
+        return String.join(",", packages) + signature; // 包名 + 签名
+    }
+
+    private static boolean anyMatch(Glob[] matchers, String className, String simpleName) { // 任一模式匹配
+        for (Glob m : matchers) { // 逐个模式
+            if (m.pattern.matcher(m.simple ? simpleName : className).matches()) { // 按模式类型选择匹配对象
+                return true; // 命中
+            }
+        }
+        return false; // 均未命中
+    }
+
+    private static Glob[] compileAll(List<String> globs) { // 编译一组模式
+        final Glob[] out = new Glob[globs.size()]; // 结果
+        for (int i = 0; i < out.length; i++) { // 逐个编译
+            final String glob = globs.get(i); // 模式
+            out[i] = new Glob(Pattern.compile(toRegex(glob)), glob.indexOf('.') < 0); // 不含 '.' 时匹配简单类名
+        }
+        return out; // 返回
+    }
+
+    /**
+     * 把类名通配符转换为正则表达式（其余字符按字面量匹配）。
+     *
+     * @param glob 通配符模式
+     * @return 等价的正则表达式
+     */
+    static String toRegex(String glob) { // 通配符 -> 正则
+        final StringBuilder sb = new StringBuilder(glob.length() * 2); // 结果
+        int i = 0; // 当前位置
+        if (glob.startsWith("**.")) { // 开头的 "**." 同时匹配空前缀（顶层包）
+            sb.append("(?:.*\\.)?"); // 可选的任意前缀
+            i = 3; // 跳过
+        }
+        int literal = -1; // 尚未输出的字面量起点
+        for (; i < glob.length(); i++) { // 逐个字符
+            final char c = glob.charAt(i); // 当前字符
+            if (c != '*' && c != '?') { // 普通字符
+                if (literal < 0) { // 新的一段字面量
+                    literal = i; // 记录起点
+                }
+                continue; // 继续累积
+            }
+            if (literal >= 0) { // 输出之前的字面量
+                sb.append(Pattern.quote(glob.substring(literal, i))); // 转义
+                literal = -1; // 重置
+            }
+            if (c == '?') { // 单个字符
+                sb.append("[^.]"); // 不跨越包分隔符
+            } else if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') { // "**"
+                sb.append(".*"); // 任意字符
+                i++; // 跳过第二个 '*'
+            } else { // 单个 '*'
+                sb.append("[^.]*"); // 不跨越包分隔符
+            }
+        }
+        if (literal >= 0) { // 结尾的字面量
+            sb.append(Pattern.quote(glob.substring(literal))); // 转义
+        }
+        return sb.toString(); // 返回正则
+    }
+
+    private static final class Glob { // 编译后的模式
+        final Pattern pattern; // 正则
+        final boolean simple; // 是否匹配简单类名
+
+        Glob(Pattern pattern, boolean simple) { // 构造
+            this.pattern = pattern; // 保存正则
+            this.simple = simple; // 保存匹配对象
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.lang.reflect.InvocationTargetException; // 引入 InvocationTargetException，解开回调异常的包装
+import java.util.ArrayList; // 引入 ArrayList，收集报告条目
+import java.util.List; // 引入 List，作为报告条目类型
+import java.util.concurrent.CompletableFuture; // 引入 CompletableFuture，串联依赖与回调
+import java.util.concurrent.Executor; // 引入 Executor，承载异步回调
+import java.util.concurrent.ExecutorService; // 引入 ExecutorService，虚拟线程执行器与阶段线程池的类型
+import java.util.concurrent.Executors; // 引入 Executors，反射查找虚拟线程执行器并创建阶段线程池与计时线程
+import java.util.concurrent.RejectedExecutionException; // 引入 RejectedExecutionException，线程池拒绝时退回当前线程
+import java.util.concurrent.ScheduledExecutorService; // 引入 ScheduledExecutorService，触发超时
+import java.util.concurrent.ScheduledFuture; // 引入 ScheduledFuture，回调结束后取消超时任务
+import java.util.concurrent.ThreadFactory; // 引入 ThreadFactory，阶段线程池的守护线程
+import java.util.concurrent.TimeUnit; // 引入 TimeUnit，超时单位
+import java.util.concurrent.atomic.AtomicInteger; // 引入 AtomicInteger，为回调线程编号
+import java.util.concurrent.atomic.AtomicReference; // 引入 AtomicReference，“先到先得”地记录回调结果
+
+/**
+ * 启动回调阶段的执行器：按依赖图顺序调用 {@code @InvokeOnStart} 方法，并生成 {@link StartReport}。
+ * 关闭时以逆序（reverse）调用 {@code @InvokeOnStop} 方法：使用方的回调结束后才轮到它的依赖，结果再转换为 {@link StopReport}。
+ * <p>
+ * 两种模式：
+ * <ul>
+ *   <li>同步（executor 为 null）：在调用线程中按拓扑顺序依次调用；回调无法被提前放弃，
+ *       结束后耗时超过其有效超时的正常返回记为超时；全局超时到达后跳过其余回调。</li>
+ *   <li>异步：每个节点的回调链在其全部依赖的回调链结束后开始，回调提交到线程池执行；
+ *       单个回调的超时由一个守护计时线程触发，从回调开始运行时计时（在线程池中排队的时间不计入）；
+ *       全局截止时间从提交时即开始监视，到达时仍在排队的回调被跳过，正在运行的记为超时。
+ *       超时只影响报告与后续调度，不会中断仍在运行的回调。</li>
+ * </ul>
+ * 两种模式下单个回调的有效超时都是其自身超时与开始运行时剩余的全局时间中的较小值。
+ * 异步结果采用“先到先得”：回调结束与超时触发谁先发生就记录谁，另一方的结果被丢弃。
+ */
+final class StartCallbacks { // 启动回调阶段（仅含静态方法）
+
+    private static final int QUEUED = 0; // 异步回调：已提交，尚未开始
+    private static final int RUNNING = 1; // 异步回调：正在运行
+    private static final int ABANDONED = 2; // 异步回调：排队期间到达全局截止时间，不再运行
+
+    private StartCallbacks() { // 工具类不允许实例化
+    }
+
+    /**
+     * 单个待调用的回调。
+     */
+    static final class Callback { // 回调描述（不可变）
+        final Class<?> type; // Bean 类型
+        final Object bean; // Bean 实例
+        final String name; // 方法名
+        final MemberLinker.Invoker invoker; // 调用器
+        final long timeoutNanos; // 单个回调超时；0 表示不限制
+
+        Callback(Class<?> type, Object bean, String name, MemberLinker.Invoker invoker, long timeoutNanos) { // 由容器创建
+            this.type = type; // 保存类型
+            this.bean = bean; // 保存实例
+            this.name = name; // 保存方法名
+            this.invoker = invoker; // 保存调用器
+            this.timeoutNanos = timeoutNanos; // 保存超时
+        }
+    }
+
+    /**
+     * 执行全部回调。
+     *
+     * @param graph         依赖图（节点按拓扑顺序排列）
+     * @param callbacks     与图节点一一对应的回调数组（没有回调的节点为空数组）
+     * @param executor      异步模式的线程池；为 null 时同步执行
+     * @param timeoutNanos  全局超时；0 表示不限制
+     * @param reverse       为 true 时按逆序执行（停止回调），并且不发布启动回调的 JFR 事件
+     * @param tracer        启动追踪（每个回调一个时间片）；停止阶段为 {@link StartupTracer#DISABLED}
+     * @param events        JFR 事件（每个启动回调一个事件）；停止阶段为 {@link StartupEvents#DISABLED}
+     * @return 阶段报告（条目按实际执行顺序排列）
+     */
+    static StartReport run(DependencyGraph graph,
+                           Callback[][] callbacks,
+                           Executor executor,
+                           long timeoutNanos,
+                           boolean reverse,
+                           StartupTracer tracer,
+                           StartupEvents events) { // 回调阶段入口
+        final long begin = System.nanoTime(); // 阶段开始时间
+        final Deadline deadline = new Deadline(begin, timeoutNanos); // 全局截止时间
+        final List<AtomicReference<StartReport.Entry>> slots = new ArrayList<>(); // 与报告条目一一对应的结果槽位
+        if (executor == null) { // 同步模式
+            for (int n = 0; n < callbacks.length; n++) { // 按拓扑顺序（停止时逆序）
+                for (Callback cb : callbacks[reverse ? callbacks.length - 1 - n : n]) { // 按声明顺序
+                    final AtomicReference<StartReport.Entry> slot = new AtomicReference<>(); // 结果槽位
+                    slots.add(slot); // 保持顺序
+                    if (deadline.passed()) { // 全局超时已到
+                        slot.set(new StartReport.Entry(cb.type, cb.name, StartReport.Status.SKIPPED, 0L, null)); // 跳过
+                    } else { // 仍有时间
+                        slot.set(invoke(cb, reverse, tracer, events, deadline.limit(cb.timeoutNanos, System.nanoTime()))); // 直接调用，结束后按有效超时判定
+                    }
+                }
+            }
+        } else { // 异步模式
+            final ScheduledExecutorService timer = needsTimer(callbacks, timeoutNanos)
+                    ? newTimer(reverse ? "mini-ioc-stop-timeout" : "mini-ioc-start-timeout") : null; // 仅在存在超时时创建计时线程
+            try { // 确保计时线程被关闭
+                final int[][] waitFor = reverse ? dependentsOf(graph) : null; // 逆序时等待使用方，而不是依赖
+                final CompletableFuture<?>[] done = new CompletableFuture<?>[callbacks.length]; // 每个节点的回调链
+                for (int n = 0; n < callbacks.length; n++) { // 按拓扑顺序（停止时逆序），需要等待的回调链总是已经创建
+                    final int i = reverse ? callbacks.length - 1 - n : n; // 节点下标
+                    CompletableFuture<Void> chain = ready(graph, i, done, waitFor); // 依赖（停止时为使用方）全部结束后才开始
+                    for (Callback cb : callbacks[i]) { // 同一个 Bean 的回调依次执行
+                        final AtomicReference<StartReport.Entry> slot = new AtomicReference<>(); // 结果槽位
+                        slots.add(slot); // 保持顺序
+                        chain = chain.thenCompose(v -> submit(cb, slot, executor, timer, deadline, reverse, tracer, events)); // 串联
+                    }
+                    done[i] = chain; // 记录节点的回调链
+                }
+                CompletableFuture.allOf(done).join(); // 所有回调结束或超时（超时由计时线程保证）
+            } finally { // 回调阶段结束
+                if (timer != null) { // 存在计时线程
+                    timer.shutdownNow(); // 取消未触发的超时任务
+                }
+            }
+        }
+        final List<StartReport.Entry> entries = new ArrayList<>(slots.size()); // 报告条目
+        for (AtomicReference<StartReport.Entry> slot : slots) { // 按顺序收集
+            entries.add(slot.get()); // 每个槽位都已被填充
+        }
+        return new StartReport(entries, System.nanoTime() - begin); // 生成报告
+    }
+
+    /**
+     * 尝试创建虚拟线程执行器（{@code Executors.newVirtualThreadPerTaskExecutor()}，JDK 21+）。
+     *
+     * @return 执行器；运行时不支持虚拟线程时返回 null
+     */
+    static ExecutorService newVirtualThreadExecutor() { // 反射创建，保持 Java 8 可编译
+        try { // 方法可能不存在，或在预览版 JDK 上未启用
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null); // 反射调用
+        } catch (ReflectiveOperationException | RuntimeException e) { // 不支持虚拟线程
+            return null; // 交由调用方退回普通线程池
+        }
+    }
+
+    /**
+     * 创建回调阶段专用的线程池：按需扩容的守护线程，空闲 60 秒回收。
+     * <p>
+     * 回调通常是阻塞型预热（连接、缓存加载），每个就绪回调都能立即拿到线程，
+     * 不会像 ForkJoinPool 公共池那样在少核机器上排队。
+     *
+     * @return 线程池（由调用方在阶段结束后关闭）
+     */
+    static ExecutorService newPhaseExecutor() { // 回调阶段的默认线程池
+        return newPhaseExecutor("mini-ioc-start-"); // 启动回调线程
+    }
+
+    /**
+     * 创建指定线程名前缀的阶段线程池（停止回调使用 {@code mini-ioc-stop-}）。
+     *
+     * @param prefix 线程名前缀
+     * @return 线程池（由调用方在阶段结束后关闭）
+     */
+    static ExecutorService newPhaseExecutor(String prefix) { // 指定线程名的阶段线程池
+        return Executors.newCachedThreadPool(daemonThreads(prefix)); // 按需扩容
+    }
+
+    /**
+     * 创建线程数有上限的阶段线程池（并行实例化使用 {@code mini-ioc-init-}）：线程在提交任务时按需创建，最多 {@code threads} 个。
+     *
+     * @param prefix  线程名前缀
+     * @param threads 线程数上限（正数）
+     * @return 线程池（由调用方在阶段结束后关闭）
+     */
+    static ExecutorService newPhaseExecutor(String prefix, int threads) { // 有上限的阶段线程池
+        return Executors.newFixedThreadPool(threads, daemonThreads(prefix)); // 固定上限
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) { // 带编号的守护线程
+        final AtomicInteger seq = new AtomicInteger(); // 线程编号
+        return r -> { // 线程工厂
+            final Thread t = new Thread(r, prefix + seq.incrementAndGet()); // 便于排查的线程名
+            t.setDaemon(true); // 超时后仍在运行的任务不阻止 JVM 退出
+            return t; // 返回线程
+        };
+    }
+
+    private static int[][] dependentsOf(DependencyGraph graph) { // 反转依赖边：节点 -> 使用方
+        final int n = graph.size(); // 节点数
+        final int[] counts = new int[n]; // 每个节点的使用方个数
+        for (int i = 0; i < n; i++) { // 统计
+            for (int d : graph.dependenciesAt(i)) { // 逐条边
+                counts[d]++; // 计数
+            }
+        }
+        final int[][] dependents = new int[n][]; // 结果
+        for (int i = 0; i < n; i++) { // 分配
+            dependents[i] = new int[counts[i]]; // 按个数
+        }
+        for (int i = 0; i < n; i++) { // 填充
+            for (int d : graph.dependenciesAt(i)) { // 逐条边
+                dependents[d][--counts[d]] = i; // i 使用 d
+            }
+        }
+        return dependents; // 返回结果
+    }
+
+    private static CompletableFuture<Void> ready(DependencyGraph graph,
+                                                 int node,
+                                                 CompletableFuture<?>[] done,
+                                                 int[][] waitFor) { // 需要等待的回调链全部结束的信号
+        if (graph.isBlockedAt(node)) { // 位于环上的节点（通常不会有实例）：不等待
+            return CompletableFuture.completedFuture(null); // 立即开始
+        }
+        final int[] deps = waitFor != null ? waitFor[node] : graph.dependenciesAt(node); // 依赖节点（逆序时为使用方）
+        if (deps.length == 0) { // 没有依赖
+            return CompletableFuture.completedFuture(null); // 立即开始
+        }
+        final CompletableFuture<?>[] waits = new CompletableFuture<?>[deps.length]; // 依赖的回调链
+        for (int k = 0; k < deps.length; k++) { // 逐个取出
+            waits[k] = done[deps[k]]; // 可排序节点的依赖下标总是更小；使用方下标更大或位于末尾的环上
+        }
+        return CompletableFuture.allOf(waits); // 全部结束
+    }
+
+    private static CompletableFuture<Void> submit(Callback cb,
+                                                  AtomicReference<StartReport.Entry> slot,
+                                                  Executor executor,
+                                                  ScheduledExecutorService timer,
+                                                  Deadline deadline,
+                                                  boolean reverse,
+                                                  StartupTracer tracer,
+                                                  StartupEvents events) { // 异步执行单个回调
+        final CompletableFuture<Void> settled = new CompletableFuture<>(); // 回调结束或超时的信号
+        if (deadline.passed()) { // 全局超时已到
+            slot.set(new StartReport.Entry(cb.type, cb.name, StartReport.Status.SKIPPED, 0L, null)); // 跳过
+            settled.complete(null); // 立即结束
+            return settled; // 返回
+        }
+        final AtomicInteger state = new AtomicInteger(QUEUED); // 排队 -> 运行，或排队 -> 放弃
+        final long[] startedAt = new long[1]; // 开始运行的时间（在 state 变为 RUNNING 之前写入）
+        final Runnable task = () -> { // 实际调用
+            final long start = System.nanoTime(); // 开始运行时间：单个回调的超时从这里开始计时
+            startedAt[0] = start; // 先写时间，再通过 CAS 发布
+            if (!state.compareAndSet(QUEUED, RUNNING)) { // 排队期间已到全局截止时间
+                return; // 不再调用
+            }
+            final long limit = deadline.limit(cb.timeoutNanos, start); // 本回调的有效超时
+            if (limit > 0 && cb.timeoutNanos > 0) { // 单个回调超时（全局截止时间由提交时的计时任务负责）
+                final ScheduledFuture<?> alarm = timer.schedule(
+                        () -> expire(cb, slot, settled, start), cb.timeoutNanos, TimeUnit.NANOSECONDS); // 到期触发
+                settled.whenComplete((v, t) -> alarm.cancel(false)); // 回调先结束时取消超时任务
+            }
+            if (slot.compareAndSet(null, invoke(cb, reverse, tracer, events, limit))) { // 先于超时结束
+                settled.complete(null); // 推进后续回调
+            }
+        };
+        if (deadline.enabled) { // 全局截止时间：排队中的回调同样受限
+            final ScheduledFuture<?> alarm = timer.schedule(() -> { // 截止任务
+                if (state.compareAndSet(QUEUED, ABANDONED)) { // 仍在排队：放弃
+                    if (slot.compareAndSet(null, new StartReport.Entry(cb.type, cb.name,
+                            StartReport.Status.SKIPPED, 0L, null))) { // 从未开始
+                        settled.complete(null); // 推进后续回调
+                    }
+                } else { // 已经开始运行
+                    expire(cb, slot, settled, startedAt[0]); // 记为超时
+                }
+            }, deadline.limit(0L, System.nanoTime()), TimeUnit.NANOSECONDS); // 剩余的全局时间
+            settled.whenComplete((v, t) -> alarm.cancel(false)); // 回调先结束时取消截止任务
+        }
+        try { // 线程池可能拒绝任务
+            executor.execute(task); // 提交回调
+        } catch (RejectedExecutionException e) { // 线程池已满或已关闭
+            task.run(); // 退回当前线程执行，保证回调不丢失
+        }
+        return settled; // 返回信号
+    }
+
+    private static void expire(Callback cb,
+                               AtomicReference<StartReport.Entry> slot,
+                               CompletableFuture<Void> settled,
+                               long start) { // 运行中的回调超时
+        if (slot.compareAndSet(null, new StartReport.Entry(cb.type, cb.name,
+                StartReport.Status.TIMED_OUT, System.nanoTime() - start, null))) { // 先于回调结束
+            settled.complete(null); // 不再等待，推进后续回调
+        }
+    }
+
+    private static StartReport.Entry invoke(Callback cb, boolean reverse, StartupTracer tracer, StartupEvents events,
+                                            long limitNanos) { // 调用回调并生成结果（启动回调同时发布 JFR 事件与追踪时间片）
+        if (reverse) { // 停止回调没有对应的事件
+            return overrun(call(cb), limitNanos); // 直接调用
+        }
+        final Object event = events.beginCallback(); // 事件令牌（未录制时为 null）
+        final Object span = tracer.begin(StartupTrace.Kind.CALLBACK, cb.type, cb.name); // 追踪令牌（未开启时为 null）
+        final StartReport.Entry entry = overrun(call(cb), limitNanos); // 调用回调（不会抛出）
+        tracer.end(span); // 结束时间片
+        events.endCallback(event, cb.type, cb.name, entry.getStatus()); // 提交事件
+        return entry; // 返回结果
+    }
+
+    private static StartReport.Entry overrun(StartReport.Entry entry, long limitNanos) { // 正常返回但超过有效超时：记为超时
+        if (limitNanos > 0 && entry.getStatus() == StartReport.Status.SUCCEEDED && entry.getDurationNanos() > limitNanos) { // 超时
+            return new StartReport.Entry(entry.getBeanType(), entry.getMethodName(),
+                    StartReport.Status.TIMED_OUT, entry.getDurationNanos(), null); // 保留实际耗时
+        }
+        return entry; // 原样返回（抛出异常的回调仍记为失败）
+    }
+
+    private static StartReport.Entry call(Callback cb) { // 调用回调并生成结果
+        final long t0 = System.nanoTime(); // 开始时间
+        try { // 回调可能抛出异常
+            cb.invoker.invoke(cb.bean); // 通过调用器执行
+            return new StartReport.Entry(cb.type, cb.name, StartReport.Status.SUCCEEDED, System.nanoTime() - t0, null); // 成功
+        } catch (InvocationTargetException e) { // 回调内部抛出的异常
+            final Throwable cause = e.getCause() != null ? e.getCause() : e; // 去掉包装
+            return new StartReport.Entry(cb.type, cb.name, StartReport.Status.FAILED, System.nanoTime() - t0, cause); // 失败
+        } catch (Throwable e) { // 其他异常（例如访问失败）
+            return new StartReport.Entry(cb.type, cb.name, StartReport.Status.FAILED, System.nanoTime() - t0, e); // 失败
+        }
+    }
+
+    private static boolean needsTimer(Callback[][] callbacks, long timeoutNanos) { // 是否存在任何超时
+        if (timeoutNanos > 0) { // 全局超时
+            return true; // 需要计时
+        }
+        for (Callback[] node : callbacks) { // 单个回调超时
+            for (Callback cb : node) { // 逐个检查
+                if (cb.timeoutNanos > 0) { // 存在超时
+                    return true; // 需要计时
+                }
+            }
+        }
+        return false; // 无需计时
+    }
+
+    private static ScheduledExecutorService newTimer(String name) { // 创建守护计时线程
+        return Executors.newSingleThreadScheduledExecutor(r -> { // 单线程即可
+            final Thread t = new Thread(r, name); // 便于排查的线程名
+            t.setDaemon(true); // 不阻止 JVM 退出
+            return t; // 返回线程
+        });
+    }
+
+    /**
+     * 全局截止时间。
+     */
+    private static final class Deadline { // 截止时间（不可变）
+        final boolean enabled; // 是否存在全局超时
+        private final long at; // 截止时刻（nanoTime）
+
+        Deadline(long begin, long timeoutNanos) { // 根据开始时间与超时计算
+            this.enabled = timeoutNanos > 0; // 零或负数表示不限制
+            this.at = begin + timeoutNanos; // 截止时刻
+        }
+
+        boolean passed() { // 是否已过截止时间
+            return enabled && at - System.nanoTime() <= 0; // 使用差值比较，避免 nanoTime 溢出问题
+        }
+
+        long limit(long callbackTimeoutNanos, long now) { // 单个回调的有效超时：与剩余时间取较小值
+            if (!enabled) { // 没有全局超时
+                return callbackTimeoutNanos; // 只看单个回调超时
+            }
+            final long remaining = Math.max(1L, at - now); // 剩余时间（至少 1ns，保证会触发）
+            return callbackTimeoutNanos > 0 ? Math.min(callbackTimeoutNanos, remaining) : remaining; // 取较小值
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.util.Collections; // 引入 Collections，返回只读列表
+import java.util.List; // 引入 List，作为回调结果列表类型
+
+/**
+ * 启动回调阶段的结构化报告：每个 {@code @InvokeOnStart} 方法的执行结果与耗时，以及整个阶段的总耗时。
+ * <p>
+ * 条目按依赖顺序排列（依赖方的回调排在使用方之前），同一个 Bean 的多个回调按声明顺序排列。
+ * 由 {@link Container#start()} 返回。
+ */
+public final class StartReport { // 启动报告（不可变）
+
+    /**
+     * 单个回调的执行状态。
+     */
+    public enum Status { // 回调状态
+        /** 正常返回。 */
+        SUCCEEDED,
+        /** 抛出了异常，见 {@link Entry#getError()}。 */
+        FAILED,
+        /** 超过单个回调超时或全局超时仍未结束（回调线程不会被中断，可能仍在运行）；同步模式下为结束时已超过超时。 */
+        TIMED_OUT,
+        /** 全局超时到达时尚未开始，未被调用。 */
+        SKIPPED
+    }
+
+    /**
+     * 单个回调的执行结果。
+     */
+    public static final class Entry { // 回调结果（不可变）
+        private final Class<?> beanType; // 回调所属的 Bean 类型
+        private final String methodName; // 回调方法名
+        private final Status status; // 执行状态
+        private final long durationNanos; // 耗时（纳秒）；超时为从开始运行到判定超时的时长，跳过为 0
+        private final Throwable error; // 失败原因；非 FAILED 时为 null
+
+        Entry(Class<?> beanType, String methodName, Status status, long durationNanos, Throwable error) { // 由回调阶段创建
+            this.beanType = beanType; // 保存类型
+            this.methodName = methodName; // 保存方法名
+            this.status = status; // 保存状态
+            this.durationNanos = durationNanos; // 保存耗时
+            this.error = error; // 保存失败原因
+        }
+
+        /**
+         * @return 回调所属的 Bean 类型
+         */
+        public Class<?> getBeanType() { // 读取类型
+            return beanType; // 直接返回
+        }
+
+        /**
+         * @return 回调方法名
+         */
+        public String getMethodName() { // 读取方法名
+            return methodName; // 直接返回
+        }
+
+        /**
+         * @return 执行状态
+         */
+        public Status getStatus() { // 读取状态
+            return status; // 直接返回
+        }
+
+        /**
+         * @return 耗时（纳秒）；超时条目为从回调开始运行到判定超时的时长（同步模式为实际耗时），跳过的条目为 0
+         */
+        public long getDurationNanos() { // 读取耗时
+            return durationNanos; // 直接返回
+        }
+
+        /**
+         * @return 回调抛出的异常（已去掉反射/链接层的包装）；非 {@link Status#FAILED} 时为 null
+         */
+        public Throwable getError() { // 读取失败原因
+            return error; // 直接返回
+        }
+
+        @Override
+        public String toString() { // 便于日志输出
+            return beanType.getName() + "#" + methodName + " " + status + " (" + durationNanos + " ns)"
+                    + (error == null ? "" : " -> " + error.getClass().getSimpleName() + ": " + error.getMessage()); // 单行摘要
+        }
+    }
+
+    private final List<Entry> entries; // 全部回调结果
+    private final long totalNanos; // 整个回调阶段的耗时
+
+    StartReport(List<Entry> entries, long totalNanos) { // 由回调阶段创建
+        this.entries = Collections.unmodifiableList(entries); // 只读保存
+        this.totalNanos = totalNanos; // 保存总耗时
+    }
+
+    /**
+     * @return 全部回调结果（只读，按依赖顺序排列）
+     */
+    public List<Entry> getEntries() { // 读取条目
+        return entries; // 直接返回只读列表
+    }
+
+    /**
+     * @return 整个回调阶段的耗时（纳秒）
+     */
+    public long getTotalNanos() { // 读取总耗时
+        return totalNanos; // 直接返回
+    }
+
+    /**
+     * 统计某种状态的回调数量。
+     *
+     * @param status 状态
+     * @return 数量
+     */
+    public int count(Status status) { // 按状态计数
+        int n = 0; // 计数器
+        for (Entry e : entries) { // 遍历条目
+            if (e.status == status) { // 状态匹配
+                n++; // 计数
+            }
+        }
+        return n; // 返回数量
+    }
+
+    /**
+     * @return 全部回调都正常返回时为 true
+     */
+    public boolean isSuccessful() { // 是否全部成功
+        return count(Status.SUCCEEDED) == entries.size(); // 成功数等于总数
+    }
+
+    @Override
+    public String toString() { // 单行摘要
+        return "start callbacks: " + entries.size() + " total, "
+                + count(Status.SUCCEEDED) + " succeeded, "
+                + count(Status.FAILED) + " failed, "
+                + count(Status.TIMED_OUT) + " timed out, "
+                + count(Status.SKIPPED) + " skipped ("
+                + totalNanos / 1_000_000 + " ms)"; // 按状态汇总
+    }
+}
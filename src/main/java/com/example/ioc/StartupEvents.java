@@ -0,0 +1,53 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+/**
+ * 启动事件的发布入口（JFR）。本类本身是空实现；运行时存在 {@code jdk.jfr} 模块时，
+ * {@link #CURRENT} 是 {@code JfrStartupEvents}，否则保持空实现，容器不依赖 JFR 也能运行。
+ * <p>
+ * 调用方式固定为“begin 得到令牌、end 传回令牌”：事件类型未被录制启用时 begin 返回 null，end 直接返回，
+ * 热路径上只多一次 volatile 读。容器关闭启动指标时使用 {@link #DISABLED}，连这次读取也省掉。
+ */
+class StartupEvents { // 启动事件（空实现）
+
+    /** 当前进程使用的实现（加载一次）。 */
+    static final StartupEvents CURRENT = load(); // 全局实例
+
+    /** 不发布任何事件的共享实例（关闭启动指标的容器使用，不再读取事件的启用状态）。 */
+    static final StartupEvents DISABLED = new StartupEvents(); // 空实现
+
+    StartupEvents() { // 仅允许本包创建与继承
+    }
+
+    private static StartupEvents load() { // 按运行时能力选择实现
+        try { // jdk.jfr 可能不存在（精简运行时、Android 等）
+            return (StartupEvents) Class.forName("com.example.ioc.JfrStartupEvents")
+                    .getDeclaredConstructor().newInstance(); // 反射创建，避免本类直接引用 JFR 类型
+        } catch (Throwable e) { // 类不存在或初始化失败
+            return new StartupEvents(); // 退回空实现
+        }
+    }
+
+    Object beginPhase() { // 阶段开始
+        return null; // 空实现不记录
+    }
+
+    void endPhase(Object token, String basePackage, StartupMetrics.Phase phase, int count) { // 阶段结束
+        // 空实现
+    }
+
+    Object beginBean() { // 单例创建开始
+        return null; // 空实现不记录
+    }
+
+    void endBean(Object token, Class<?> type, long constructorNanos, long injectionNanos, String failure) { // 单例创建结束
+        // 空实现
+    }
+
+    Object beginCallback() { // 启动回调开始
+        return null; // 空实现不记录
+    }
+
+    void endCallback(Object token, Class<?> type, String method, StartReport.Status status) { // 启动回调结束
+        // 空实现
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.util.ArrayList; // 引入 ArrayList，筛选失败条目
+import java.util.Collections; // 引入 Collections，返回只读列表
+import java.util.List; // 引入 List，作为 Bean 指标列表类型
+
+/**
+ * 容器启动指标的只读快照，由 {@link Container#getStartupMetrics()} 返回。
+ * <p>
+ * 阶段耗时：{@link Phase#SCAN}、{@link Phase#INSTANTIATE}、{@link Phase#START_CALLBACKS} 是墙钟时间；
+ * {@link Phase#CLASS_LOAD} 是扫描期间 {@code Class.forName} 与类级注解读取的累计时间（包含在 SCAN 之内，并行扫描时为各线程之和）；
+ * {@link Phase#FIELD_INJECT} 是全部单例字段赋值的累计时间（包含在 INSTANTIATE 之内，启动之后才创建的延迟单例也计入）。
+ * <p>
+ * 每个单例一条 {@link BeanMetrics}：创建总耗时（含递归创建依赖的时间）、构造器本身与字段赋值本身的耗时、失败原因。
+ * 原型、池化与线程作用域组件的实例不逐个记录。同样的数据也以 JFR 事件输出（见 {@code com.example.ioc.*} 事件）。
+ */
+public final class StartupMetrics { // 启动指标（不可变）
+
+    /**
+     * 启动阶段。
+     */
+    public enum Phase { // 阶段
+        /** 扫描类路径（或读取装配计划快照），墙钟时间。 */
+        SCAN,
+        /** 加载组件类并读取类级注解，扫描期间的累计时间。 */
+        CLASS_LOAD,
+        /** 实例化全部非延迟单例（含依赖注入），墙钟时间。 */
+        INSTANTIATE,
+        /** 为 {@code @Inject} 字段赋值，累计时间。 */
+        FIELD_INJECT,
+        /** 执行 {@code @InvokeOnStart} 回调，墙钟时间。 */
+        START_CALLBACKS
+    }
+
+    /**
+     * 单个单例的创建指标。
+     */
+    public static final class BeanMetrics { // Bean 指标（不可变）
+        private final Class<?> type; // Bean 类型
+        private final long creationNanos; // 创建总耗时（含依赖）
+        private final long constructorNanos; // 构造器本身的耗时
+        private final long injectionNanos; // 字段赋值本身的耗时
+        private final String failure; // 失败原因；成功时为 null
+
+        BeanMetrics(Class<?> type, long creationNanos, long constructorNanos, long injectionNanos, String failure) { // 由记录器创建
+            this.type = type; // 保存类型
+            this.creationNanos = creationNanos; // 保存总耗时
+            this.constructorNanos = constructorNanos; // 保存构造耗时
+            this.injectionNanos = injectionNanos; // 保存注入耗时
+            this.failure = failure; // 保存失败原因
+        }
+
+        /**
+         * @return Bean 类型
+         */
+        public Class<?> getType() { // 读取类型
+            return type; // 直接返回
+        }
+
+        /**
+         * @return 创建总耗时（纳秒），包含递归创建其依赖的时间
+         */
+        public long getCreationNanos() { // 读取总耗时
+            return creationNanos; // 直接返回
+        }
+
+        /**
+         * @return 构造器本身的耗时（纳秒），不含解析构造器参数
+         */
+        public long getConstructorNanos() { // 读取构造耗时
+            return constructorNanos; // 直接返回
+        }
+
+        /**
+         * @return 字段赋值本身的耗时（纳秒），不含解析字段依赖
+         */
+        public long getInjectionNanos() { // 读取注入耗时
+            return injectionNanos; // 直接返回
+        }
+
+        /**
+         * @return 失败原因（异常类型与消息，含根因）；成功时为 null
+         */
+        public String getFailure() { // 读取失败原因
+            return failure; // 直接返回
+        }
+
+        /**
+         * @return 创建失败时为 true
+         */
+        public boolean isFailed() { // 是否失败
+            return failure != null; // 有失败原因即失败
+        }
+
+        @Override
+        public String toString() { // 便于日志输出
+            return type.getName() + " " + creationNanos + " ns (constructor " + constructorNanos
+                    + " ns, injection " + injectionNanos + " ns)" + (failure == null ? "" : " -> " + failure); // 单行摘要
+        }
+    }
+
+    private final long[] phaseNanos; // 按 Phase 序号保存的耗时
+    private final int componentCount; // 登记的组件数
+    private final List<BeanMetrics> beans; // 单例指标（按类名排序）
+    private final int failedCallbacks; // 失败或超时的启动回调数
+
+    StartupMetrics(long[] phaseNanos, int componentCount, List<BeanMetrics> beans, int failedCallbacks) { // 由记录器创建
+        this.phaseNanos = phaseNanos; // 保存阶段耗时（记录器已复制）
+        this.componentCount = componentCount; // 保存组件数
+        this.beans = Collections.unmodifiableList(beans); // 只读保存
+        this.failedCallbacks = failedCallbacks; // 保存回调失败数
+    }
+
+    /**
+     * @param phase 阶段
+     * @return 阶段耗时（纳秒）；尚未执行的阶段为 0
+     */
+    public long getPhaseNanos(Phase phase) { // 读取阶段耗时
+        return phaseNanos[phase.ordinal()]; // 按序号读取
+    }
+
+    /**
+     * @return 登记的组件数（含延迟与非单例组件）
+     */
+    public int getComponentCount() { // 读取组件数
+        return componentCount; // 直接返回
+    }
+
+    /**
+     * @return 全部单例的创建指标（只读，按类名排序）
+     */
+    public List<BeanMetrics> getBeans() { // 读取 Bean 指标
+        return beans; // 直接返回只读列表
+    }
+
+    /**
+     * @return 创建成功的单例数
+     */
+    public int getCreatedCount() { // 成功数
+        return beans.size() - getFailures().size(); // 总数减失败数
+    }
+
+    /**
+     * @return 创建失败的单例（按类名排序）
+     */
+    public List<BeanMetrics> getFailures() { // 失败条目
+        final List<BeanMetrics> failed = new ArrayList<>(); // 结果
+        for (BeanMetrics b : beans) { // 遍历条目
+            if (b.isFailed()) { // 失败
+                failed.add(b); // 收集
+            }
+        }
+        return failed; // 返回列表
+    }
+
+    /**
+     * @return 失败或超时的启动回调数
+     */
+    public int getFailedCallbackCount() { // 回调失败数
+        return failedCallbacks; // 直接返回
+    }
+
+    @Override
+    public String toString() { // 单行摘要
+        final StringBuilder sb = new StringBuilder("startup: ") // 前缀
+                .append(componentCount).append(" components, ")
+                .append(getCreatedCount()).append(" singletons, ")
+                .append(beans.size() - getCreatedCount()).append(" failed"); // 计数
+        for (Phase p : Phase.values()) { // 逐个阶段
+            sb.append(", ").append(p.name().toLowerCase(java.util.Locale.ROOT).replace('_', ' '))
+                    .append(' ').append(phaseNanos[p.ordinal()] / 1_000_000).append(" ms"); // 毫秒
+        }
+        return sb.toString(); // 返回摘要
+    }
+}
@@ -0,0 +1,455 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.io.IOException; // 引入 IOException，导出 JSON 时的写入失败
+import java.util.ArrayList; // 引入 ArrayList，生成分析结果
+import java.util.Collection; // 引入 Collection，依赖边的类型
+import java.util.Collections; // 引入 Collections，返回只读列表
+import java.util.HashMap; // 引入 HashMap，按类型汇总耗时
+import java.util.HashSet; // 引入 HashSet，记录正在访问的节点
+import java.util.LinkedHashMap; // 引入 LinkedHashMap，保持线程首次出现的顺序
+import java.util.LinkedHashSet; // 引入 LinkedHashSet，去重并保持依赖顺序
+import java.util.List; // 引入 List，作为时间片与结果列表类型
+import java.util.Map; // 引入 Map，作为汇总表类型
+import java.util.Set; // 引入 Set，作为依赖集合类型
+import java.util.function.Function; // 引入 Function，提供依赖边
+
+/**
+ * 启动过程的层级追踪，由 {@link Container#getStartupTrace()} 返回（需开启 {@link ContainerOptions#startupTraceEnabled(boolean)}）。
+ * <p>
+ * 包含三部分：
+ * 1) 时间片（{@link Span}）：扫描、类加载、实例化与回调阶段，每次实例创建（递归创建的依赖嵌套在使用方之内）、
+ *    构造器调用、字段注入、等待其他线程创建同一单例，以及每个启动回调；
+ * 2) 每个 Bean 类型的耗时（{@link BeanTime}）：包含依赖的总耗时与扣除嵌套创建和等待之后的自身耗时；
+ * 3) 关键路径：沿依赖图（注入计划中的启动依赖，加上实际观察到的嵌套创建）自身耗时之和最大的一条依赖链，
+ *    即依赖允许的前提下无论怎样并行都无法缩短的实例化时间。启动回调不计入关键路径。
+ * <p>
+ * {@link #writeChromeTrace(Appendable)} 输出 Chrome Trace Event JSON，可直接在 {@code chrome://tracing} 或 Perfetto 中打开。
+ */
+public final class StartupTrace { // 启动追踪（不可变）
+
+    /**
+     * 时间片类别。
+     */
+    public enum Kind { // 时间片类别
+        /** 启动阶段（扫描、实例化、启动回调），墙钟时间。 */
+        PHASE,
+        /** 扫描期间加载一个类并读取类级注解。 */
+        CLASS_LOAD,
+        /** 创建一个实例（含解析构造器参数、构造、字段注入；递归创建的依赖嵌套在内）。 */
+        BEAN,
+        /** 调用构造器本身（不含参数解析）。 */
+        CONSTRUCT,
+        /** 字段注入（含解析字段依赖，嵌套创建的依赖在内）。 */
+        INJECT,
+        /** 等待其他线程完成同一单例的创建。 */
+        WAIT,
+        /** 一个启动回调。 */
+        CALLBACK
+    }
+
+    /**
+     * 单个时间片。
+     */
+    public static final class Span { // 时间片（不可变）
+        private final Kind kind; // 类别
+        private final Class<?> beanType; // 相关的 Bean 类型（阶段与类加载为 null）
+        private final String name; // 显示名称
+        private final long threadId; // 线程 ID
+        private final String threadName; // 线程名
+        private final long startNanos; // 相对于追踪起点的开始时间
+        private final long durationNanos; // 持续时间
+        private final int parent; // 同一线程上外层时间片的下标；没有时为 -1
+
+        Span(Kind kind, Class<?> beanType, String name, long threadId, String threadName,
+             long startNanos, long durationNanos, int parent) { // 由记录器创建
+            this.kind = kind; // 保存类别
+            this.beanType = beanType; // 保存类型
+            this.name = name != null ? name : beanType != null ? beanType.getName() : kind.name(); // 未指定名称时取类型名
+            this.threadId = threadId; // 保存线程 ID
+            this.threadName = threadName; // 保存线程名
+            this.startNanos = startNanos; // 保存开始时间
+            this.durationNanos = durationNanos; // 保存持续时间
+            this.parent = parent; // 保存外层下标
+        }
+
+        /**
+         * @return 类别
+         */
+        public Kind getKind() { // 读取类别
+            return kind; // 直接返回
+        }
+
+        /**
+         * @return 相关的 Bean 类型；阶段与类加载时间片为 null
+         */
+        public Class<?> getBeanType() { // 读取类型
+            return beanType; // 直接返回
+        }
+
+        /**
+         * @return 显示名称：Bean 时间片为类名，回调为方法名，类加载为被加载的类名，阶段为阶段名
+         */
+        public String getName() { // 读取名称
+            return name; // 直接返回
+        }
+
+        /**
+         * @return 所在线程的 ID
+         */
+        public long getThreadId() { // 读取线程 ID
+            return threadId; // 直接返回
+        }
+
+        /**
+         * @return 所在线程的名称
+         */
+        public String getThreadName() { // 读取线程名
+            return threadName; // 直接返回
+        }
+
+        /**
+         * @return 相对于追踪起点（容器构造时）的开始时间（纳秒）
+         */
+        public long getStartNanos() { // 读取开始时间
+            return startNanos; // 直接返回
+        }
+
+        /**
+         * @return 持续时间（纳秒）；生成快照时尚未结束的时间片截止到快照时刻
+         */
+        public long getDurationNanos() { // 读取持续时间
+            return durationNanos; // 直接返回
+        }
+
+        /**
+         * 同一线程上直接包含本时间片的时间片在 {@link #getSpans()} 中的下标。
+         * 阶段时间片事后记录，不作为其他时间片的外层；并行创建与异步回调在各自线程上没有外层。
+         *
+         * @return 下标；没有外层时为 -1
+         */
+        public int getParent() { // 读取外层下标
+            return parent; // 直接返回
+        }
+
+        @Override
+        public String toString() { // 便于日志输出
+            return kind + " " + name + " @" + threadName + " +" + startNanos + " ns (" + durationNanos + " ns)"; // 单行摘要
+        }
+    }
+
+    /**
+     * 单个 Bean 类型的创建耗时汇总（原型组件的多个实例累加在一起）。
+     */
+    public static final class BeanTime { // Bean 耗时（不可变）
+        private final Class<?> type; // Bean 类型
+        private final int instances; // 创建次数
+        private final long inclusiveNanos; // 总耗时（含依赖）
+        private final long selfNanos; // 自身耗时
+
+        BeanTime(Class<?> type, int instances, long inclusiveNanos, long selfNanos) { // 由分析过程创建
+            this.type = type; // 保存类型
+            this.instances = instances; // 保存次数
+            this.inclusiveNanos = inclusiveNanos; // 保存总耗时
+            this.selfNanos = selfNanos; // 保存自身耗时
+        }
+
+        /**
+         * @return Bean 类型
+         */
+        public Class<?> getType() { // 读取类型
+            return type; // 直接返回
+        }
+
+        /**
+         * @return 追踪期间创建的实例数（单例为 1）
+         */
+        public int getInstances() { // 读取次数
+            return instances; // 直接返回
+        }
+
+        /**
+         * @return 总耗时（纳秒），包含在创建过程中递归创建依赖与等待其他线程的时间
+         */
+        public long getInclusiveNanos() { // 读取总耗时
+            return inclusiveNanos; // 直接返回
+        }
+
+        /**
+         * @return 自身耗时（纳秒）：总耗时减去嵌套创建的依赖与等待的时间，即解析注入点、构造与赋值本身的开销
+         */
+        public long getSelfNanos() { // 读取自身耗时
+            return selfNanos; // 直接返回
+        }
+
+        @Override
+        public String toString() { // 便于日志输出
+            return type.getName() + " self " + selfNanos + " ns, inclusive " + inclusiveNanos + " ns"
+                    + (instances == 1 ? "" : " (" + instances + " instances)"); // 单行摘要
+        }
+    }
+
+    private final List<Span> spans; // 全部时间片（按开始顺序）
+    private final int droppedSpans; // 超出上限未记录的时间片数
+    private final long[] self; // 与时间片一一对应的自身耗时（只对 Bean 时间片有意义）
+    private final List<BeanTime> beans; // 按自身耗时倒序的 Bean 耗时
+    private final List<BeanTime> criticalPath; // 关键路径（依赖在前）
+    private final long criticalPathNanos; // 关键路径上自身耗时之和
+
+    StartupTrace(List<Span> spans, int droppedSpans, Function<Class<?>, ? extends Collection<Class<?>>> dependencies) { // 由记录器创建
+        this.spans = Collections.unmodifiableList(spans); // 只读保存
+        this.droppedSpans = droppedSpans; // 保存丢弃数
+
+        final int n = spans.size(); // 时间片数
+        final long[] self = new long[n]; // 每个 Bean 时间片的自身耗时
+        this.self = self; // 导出 JSON 时复用
+        final Map<Class<?>, Set<Class<?>>> nested = new HashMap<>(); // 类型 -> 在其创建过程中嵌套创建的类型
+        for (int i = 0; i < n; i++) { // 初始为持续时间
+            self[i] = spans.get(i).durationNanos; // 之后扣除嵌套部分
+        }
+        for (int i = 0; i < n; i++) { // 子时间片总在外层之后
+            final Span s = spans.get(i); // 当前时间片
+            if (s.kind != Kind.BEAN && s.kind != Kind.WAIT) { // 只有嵌套创建与等待需要扣除
+                continue; // 下一个
+            }
+            final int owner = enclosingBean(i); // 最近的外层 Bean 时间片
+            if (owner >= 0) { // 存在外层 Bean
+                self[owner] -= s.durationNanos; // 扣除
+                if (s.kind == Kind.BEAN) { // 嵌套创建即实际发生的依赖
+                    nested.computeIfAbsent(spans.get(owner).beanType, k -> new LinkedHashSet<>()).add(s.beanType); // 记录边
+                }
+            }
+        }
+
+        final Map<Class<?>, long[]> totals = new LinkedHashMap<>(); // 类型 -> {次数, 总耗时, 自身耗时}
+        for (int i = 0; i < n; i++) { // 按类型汇总
+            final Span s = spans.get(i); // 当前时间片
+            if (s.kind == Kind.BEAN) { // 只汇总实例创建
+                final long[] t = totals.computeIfAbsent(s.beanType, k -> new long[3]); // 汇总槽位
+                t[0]++; // 次数
+                t[1] += s.durationNanos; // 总耗时
+                t[2] += Math.max(0L, self[i]); // 自身耗时（时钟精度可能导致微小的负数）
+            }
+        }
+        final Map<Class<?>, BeanTime> byType = new HashMap<>(); // 类型 -> 汇总
+        final List<BeanTime> list = new ArrayList<>(totals.size()); // 汇总列表
+        for (Map.Entry<Class<?>, long[]> e : totals.entrySet()) { // 逐个类型
+            final long[] t = e.getValue(); // 汇总值
+            final BeanTime bt = new BeanTime(e.getKey(), (int) t[0], t[1], t[2]); // 构造
+            byType.put(e.getKey(), bt); // 登记
+            list.add(bt); // 加入列表
+        }
+        list.sort((a, b) -> Long.compare(b.selfNanos, a.selfNanos)); // 按自身耗时倒序
+        this.beans = Collections.unmodifiableList(list); // 只读保存
+
+        final Map<Class<?>, Long> finish = new HashMap<>(); // 类型 -> 以它结尾的最长依赖链的耗时
+        final Map<Class<?>, Class<?>> next = new HashMap<>(); // 类型 -> 最长依赖链上它的依赖
+        Class<?> head = null; // 关键路径的末端（最后完成的使用方）
+        long best = -1L; // 最长耗时
+        for (BeanTime bt : list) { // 逐个类型
+            final long f = longest(bt.type, byType, nested, dependencies, finish, next, new HashSet<Class<?>>()); // 以它结尾的最长链
+            if (f > best) { // 更长
+                best = f; // 记录耗时
+                head = bt.type; // 记录末端
+            }
+        }
+        final List<BeanTime> path = new ArrayList<>(); // 关键路径
+        for (Class<?> t = head; t != null; t = next.get(t)) { // 从末端沿依赖走到起点
+            path.add(byType.get(t)); // 加入路径
+        }
+        Collections.reverse(path); // 依赖在前
+        this.criticalPath = Collections.unmodifiableList(path); // 只读保存
+        this.criticalPathNanos = Math.max(0L, best); // 没有 Bean 时为 0
+    }
+
+    private int enclosingBean(int index) { // 最近的外层 Bean 时间片
+        for (int p = spans.get(index).parent; p >= 0; p = spans.get(p).parent) { // 沿外层向上
+            if (spans.get(p).kind == Kind.BEAN) { // 找到
+                return p; // 返回下标
+            }
+        }
+        return -1; // 没有外层 Bean
+    }
+
+    private static long longest(Class<?> type,
+                                Map<Class<?>, BeanTime> byType,
+                                Map<Class<?>, Set<Class<?>>> nested,
+                                Function<Class<?>, ? extends Collection<Class<?>>> dependencies,
+                                Map<Class<?>, Long> finish,
+                                Map<Class<?>, Class<?>> next,
+                                Set<Class<?>> visiting) { // 以 type 结尾的最长依赖链（记忆化深度优先）
+        final Long known = finish.get(type); // 已计算
+        if (known != null) { // 命中
+            return known; // 直接返回
+        }
+        if (!visiting.add(type)) { // 依赖图中的环（环上的 Bean 本身创建失败，不会有完整的时间片）
+            return 0L; // 断开
+        }
+        final Set<Class<?>> deps = new LinkedHashSet<>(); // 依赖：注入计划中的启动依赖 + 实际嵌套创建
+        final Collection<Class<?>> planned = dependencies.apply(type); // 启动依赖
+        if (planned != null) { // 可能为 null
+            deps.addAll(planned); // 加入
+        }
+        final Set<Class<?>> observed = nested.get(type); // 嵌套创建
+        if (observed != null) { // 存在
+            deps.addAll(observed); // 加入
+        }
+        long longestDep = 0L; // 依赖中最长的链
+        Class<?> via = null; // 对应的依赖
+        for (Class<?> dep : deps) { // 逐个依赖
+            if (dep == type || !byType.containsKey(dep)) { // 自身，或追踪期间没有创建（已存在、非单例等）
+                continue; // 跳过
+            }
+            final long f = longest(dep, byType, nested, dependencies, finish, next, visiting); // 递归
+            if (f > longestDep) { // 更长
+                longestDep = f; // 记录
+                via = dep; // 记录依赖
+            }
+        }
+        visiting.remove(type); // 退出访问
+        final long total = byType.get(type).selfNanos + longestDep; // 自身 + 最长依赖链
+        finish.put(type, total); // 记忆化
+        if (via != null) { // 有依赖
+            next.put(type, via); // 记录路径
+        }
+        return total; // 返回耗时
+    }
+
+    /**
+     * @return 全部时间片（只读，按开始顺序排列；外层总在内层之前）
+     */
+    public List<Span> getSpans() { // 读取时间片
+        return spans; // 直接返回只读列表
+    }
+
+    /**
+     * @return 超出记录上限（约一百万个）而未记录的时间片数
+     */
+    public int getDroppedSpans() { // 读取丢弃数
+        return droppedSpans; // 直接返回
+    }
+
+    /**
+     * @return 每个 Bean 类型的耗时（只读，按自身耗时从长到短排列）
+     */
+    public List<BeanTime> getBeanTimes() { // 读取 Bean 耗时
+        return beans; // 直接返回只读列表
+    }
+
+    /**
+     * 关键路径：依赖图上自身耗时之和最大的依赖链，依赖在前、最后完成的使用方在后。
+     *
+     * @return 路径上的 Bean（只读）；没有记录到实例创建时为空列表
+     */
+    public List<BeanTime> getCriticalPath() { // 读取关键路径
+        return criticalPath; // 直接返回只读列表
+    }
+
+    /**
+     * @return 关键路径上各 Bean 自身耗时之和（纳秒）
+     */
+    public long getCriticalPathNanos() { // 读取关键路径耗时
+        return criticalPathNanos; // 直接返回
+    }
+
+    /**
+     * 以 Chrome Trace Event 格式（JSON 对象格式，{@code "X"} 完整事件，时间单位微秒）写出全部时间片，
+     * 每个线程一条轨道并附线程名；Bean 时间片的 {@code args} 带自身耗时，关键路径上的 Bean 带 {@code "critical": true}。
+     *
+     * @param out 输出目标（例如 {@link java.io.Writer}；调用方负责关闭）
+     * @throws IOException 写入失败
+     */
+    public void writeChromeTrace(Appendable out) throws IOException { // 导出 JSON
+        final Set<Class<?>> critical = new HashSet<>(); // 关键路径上的类型
+        for (BeanTime bt : criticalPath) { // 逐个登记
+            critical.add(bt.type); // 加入
+        }
+        final Map<Long, String> threads = new LinkedHashMap<>(); // 线程 ID -> 线程名
+        out.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["); // 开始
+        boolean first = true; // 是否第一个事件
+        for (int i = 0; i < spans.size(); i++) { // 逐个时间片
+            final Span s = spans.get(i); // 当前时间片
+            threads.putIfAbsent(s.threadId, s.threadName); // 登记线程
+            out.append(first ? "\n" : ",\n"); // 分隔
+            first = false; // 之后需要逗号
+            out.append("{\"name\":"); // 名称
+            quote(out, s.kind == Kind.CALLBACK && s.beanType != null ? s.beanType.getSimpleName() + "#" + s.name : s.name); // 回调带类名
+            out.append(",\"cat\":\"").append(s.kind.name().toLowerCase(java.util.Locale.ROOT)).append('"'); // 类别
+            out.append(",\"ph\":\"X\",\"pid\":1,\"tid\":").append(Long.toString(s.threadId)); // 完整事件
+            out.append(",\"ts\":"); // 开始时间
+            micros(out, s.startNanos); // 微秒
+            out.append(",\"dur\":"); // 持续时间
+            micros(out, s.durationNanos); // 微秒
+            if (s.beanType != null) { // 带类型的时间片
+                out.append(",\"args\":{\"type\":"); // 参数
+                quote(out, s.beanType.getName()); // 类型名
+                if (s.kind == Kind.BEAN) { // 实例创建
+                    out.append(",\"selfUs\":"); // 自身耗时
+                    micros(out, Math.max(0L, self[i])); // 微秒
+                    if (critical.contains(s.beanType)) { // 关键路径
+                        out.append(",\"critical\":true"); // 标记
+                    }
+                }
+                out.append('}'); // 参数结束
+            }
+            out.append('}'); // 事件结束
+        }
+        for (Map.Entry<Long, String> t : threads.entrySet()) { // 线程名元数据
+            out.append(first ? "\n" : ",\n"); // 分隔
+            first = false; // 之后需要逗号
+            out.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(Long.toString(t.getKey()))
+                    .append(",\"args\":{\"name\":"); // 元数据事件
+            quote(out, t.getValue()); // 线程名
+            out.append("}}"); // 事件结束
+        }
+        out.append("\n]}\n"); // 结束
+    }
+
+    /**
+     * @return Chrome Trace Event JSON（见 {@link #writeChromeTrace(Appendable)}）
+     */
+    public String toChromeTrace() { // 导出为字符串
+        final StringBuilder sb = new StringBuilder(spans.size() * 160 + 64); // 预估容量
+        try { // StringBuilder 不会抛出 IOException
+            writeChromeTrace(sb); // 写入
+        } catch (IOException e) { // 不会发生
+            throw new IllegalStateException(e); // 保守处理
+        }
+        return sb.toString(); // 返回 JSON
+    }
+
+    private static void micros(Appendable out, long nanos) throws IOException { // 纳秒 -> 带三位小数的微秒
+        out.append(Long.toString(nanos / 1000)).append('.'); // 整数部分
+        final long frac = nanos % 1000; // 小数部分
+        out.append(frac < 10 ? "00" : frac < 100 ? "0" : "").append(Long.toString(frac)); // 补足三位
+    }
+
+    private static void quote(Appendable out, String s) throws IOException { // JSON 字符串
+        out.append('"'); // 开始引号
+        for (int i = 0; i < s.length(); i++) { // 逐个字符
+            final char c = s.charAt(i); // 当前字符
+            if (c == '"' || c == '\\') { // 需要转义
+                out.append('\\').append(c); // 反斜杠转义
+            } else if (c < 0x20) { // 控制字符
+                out.append(String.format("\\u%04x", (int) c)); // Unicode 转义
+            } else { // 普通字符
+                out.append(c); // 原样输出
+            }
+        }
+        out.append('"'); // 结束引号
+    }
+
+    @Override
+    public String toString() { // 单行摘要
+        final StringBuilder sb = new StringBuilder("startup trace: ").append(spans.size()).append(" spans, ")
+                .append(beans.size()).append(" beans, critical path ").append(criticalPath.size()).append(" beans ")
+                .append(criticalPathNanos / 1_000_000).append(" ms"); // 概况
+        if (!criticalPath.isEmpty()) { // 附路径
+            sb.append(" ("); // 开始
+            for (int i = 0; i < criticalPath.size(); i++) { // 逐个 Bean
+                sb.append(i == 0 ? "" : " -> ").append(criticalPath.get(i).type.getSimpleName()); // 简单类名
+            }
+            sb.append(')'); // 结束
+        }
+        return sb.toString(); // 返回摘要
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.util.ArrayList; // 引入 ArrayList，生成时间片列表
+import java.util.IdentityHashMap; // 引入 IdentityHashMap，按对象身份查找父时间片的下标
+import java.util.List; // 引入 List，作为时间片列表类型
+import java.util.Map; // 引入 Map，作为下标表类型
+import java.util.concurrent.ConcurrentLinkedQueue; // 引入 ConcurrentLinkedQueue，多线程追加时间片
+import java.util.concurrent.atomic.AtomicInteger; // 引入 AtomicInteger，统计时间片数量
+import java.util.function.Function; // 引入 Function，提供依赖边
+
+/**
+ * 启动追踪的记录入口。本类本身是空实现（{@link #DISABLED}），未开启追踪时每个记录点只是一次空方法调用；
+ * 开启时使用 {@link Recording}，按线程维护当前时间片，嵌套的 begin/end 自动形成父子关系。
+ * <p>
+ * 调用方式与 {@link StartupEvents} 相同，固定为“begin 得到令牌、end 传回令牌”：未记录时 begin 返回 null，end 直接返回。
+ * 事后才知道起止时间的时间片（阶段、类加载）通过 {@link #complete} 一次记录。
+ */
+class StartupTracer { // 启动追踪（空实现）
+
+    /** 不记录任何内容的共享实例。 */
+    static final StartupTracer DISABLED = new StartupTracer(); // 空实现
+
+    StartupTracer() { // 仅允许本包创建与继承
+    }
+
+    /**
+     * 按配置选择实现。
+     *
+     * @param enabled 是否记录
+     * @return 记录器；未开启时为 {@link #DISABLED}
+     */
+    static StartupTracer create(boolean enabled) { // 工厂方法
+        return enabled ? new Recording() : DISABLED; // 每个容器一个记录器
+    }
+
+    Object begin(StartupTrace.Kind kind, Class<?> type, String name) { // 时间片开始
+        return null; // 空实现不记录
+    }
+
+    void end(Object token) { // 时间片结束
+        // 空实现
+    }
+
+    void complete(StartupTrace.Kind kind, Class<?> type, String name, long beginNanos, long endNanos) { // 记录已结束的时间片
+        // 空实现
+    }
+
+    void close() { // 停止记录
+        // 空实现
+    }
+
+    StartupTrace snapshot(Function<Class<?>, ? extends java.util.Collection<Class<?>>> dependencies) { // 生成快照
+        throw new IllegalStateException("Startup tracing is not enabled; use ContainerOptions.startupTraceEnabled(true)"); // 未开启
+    }
+
+    /**
+     * 实际记录的实现：时间片按开始顺序追加到无锁队列，每个线程保存自己当前所在的时间片。
+     * 时间片数量超过 {@link #MAX_SPANS} 后不再记录，只计数。
+     */
+    static final class Recording extends StartupTracer { // 记录实现
+
+        /** 最多记录的时间片数（防止原型组件在启动期间被大量创建时无限增长）。 */
+        static final int MAX_SPANS = 1 << 20; // 约一百万个
+
+        private final long origin = System.nanoTime(); // 追踪起点（时间片的时间都相对于它）
+        private final ConcurrentLinkedQueue<Open> spans = new ConcurrentLinkedQueue<>(); // 按开始顺序排列的时间片
+        private final ThreadLocal<Open> current = new ThreadLocal<>(); // 每个线程当前所在的时间片
+        private final AtomicInteger count = new AtomicInteger(); // 已记录的时间片数
+        private final AtomicInteger dropped = new AtomicInteger(); // 超出上限未记录的时间片数
+        private volatile boolean closed; // 是否已停止记录
+
+        @Override
+        Object begin(StartupTrace.Kind kind, Class<?> type, String name) { // 时间片开始
+            if (closed || !admit()) { // 已停止或超出上限
+                return null; // 不记录
+            }
+            final Open parent = current.get(); // 当前线程所在的时间片
+            final Open span = new Open(kind, type, name, Thread.currentThread(), parent, System.nanoTime()); // 新时间片
+            spans.add(span); // 父时间片总是先于子时间片入队
+            current.set(span); // 成为当前时间片
+            return span; // 令牌即时间片本身
+        }
+
+        @Override
+        void end(Object token) { // 时间片结束
+            if (token == null) { // 未记录
+                return; // 直接返回
+            }
+            final Open span = (Open) token; // 还原时间片
+            span.end = System.nanoTime(); // 结束时间
+            if (span.parent == null) { // 回到线程的顶层
+                current.remove(); // 释放线程本地槽位，避免线程池中的长寿命线程持有
+            } else { // 回到父时间片
+                current.set(span.parent); // 恢复
+            }
+        }
+
+        @Override
+        void complete(StartupTrace.Kind kind, Class<?> type, String name, long beginNanos, long endNanos) { // 记录已结束的时间片
+            if (closed || !admit()) { // 已停止或超出上限
+                return; // 不记录
+            }
+            final Open span = new Open(kind, type, name, Thread.currentThread(), current.get(), beginNanos); // 父时间片为当前时间片
+            span.end = endNanos; // 已知的结束时间
+            spans.add(span); // 入队
+        }
+
+        private boolean admit() { // 是否还能记录
+            if (count.incrementAndGet() <= MAX_SPANS) { // 未超出上限
+                return true; // 记录
+            }
+            dropped.incrementAndGet(); // 计数
+            return false; // 不记录
+        }
+
+        @Override
+        void close() { // 停止记录（已开始的时间片仍会正常结束）
+            closed = true; // 之后的 begin/complete 不再记录
+        }
+
+        @Override
+        StartupTrace snapshot(Function<Class<?>, ? extends java.util.Collection<Class<?>>> dependencies) { // 生成快照
+            final long now = System.nanoTime(); // 尚未结束的时间片截止到此刻
+            final Map<Open, Integer> indexes = new IdentityHashMap<>(); // 时间片 -> 下标
+            final List<StartupTrace.Span> out = new ArrayList<>(); // 快照中的时间片
+            for (Open span : spans) { // 按开始顺序
+                final Integer parent = span.parent == null ? null : indexes.get(span.parent); // 父时间片的下标（总是已经处理过）
+                final long end = span.end; // 读取一次
+                out.add(new StartupTrace.Span(span.kind, span.type, span.name, span.thread.getId(), span.thread.getName(),
+                        span.begin - origin, (end == 0L ? now : end) - span.begin, parent == null ? -1 : parent)); // 转换
+                indexes.put(span, out.size() - 1); // 登记下标
+            }
+            return new StartupTrace(out, dropped.get(), dependencies); // 构造快照（同时完成分析）
+        }
+    }
+
+    private static final class Open { // 记录中的时间片
+        final StartupTrace.Kind kind; // 类别
+        final Class<?> type; // 相关的 Bean 类型（可能为 null）
+        final String name; // 名称（可能为 null，此时取类型名）
+        final Thread thread; // 所在线程
+        final Open parent; // 同一线程上的外层时间片
+        final long begin; // 开始时间
+        volatile long end; // 结束时间；0 表示尚未结束
+
+        Open(StartupTrace.Kind kind, Class<?> type, String name, Thread thread, Open parent, long begin) { // 创建时间片
+            this.kind = kind; // 保存类别
+            this.type = type; // 保存类型
+            this.name = name; // 保存名称
+            this.thread = thread; // 保存线程
+            this.parent = parent; // 保存外层时间片
+            this.begin = begin; // 保存开始时间
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.util.ArrayList; // 引入 ArrayList，转换条目与排序最慢的回调
+import java.util.Collections; // 引入 Collections，返回只读列表
+import java.util.Comparator; // 引入 Comparator，按耗时排序
+import java.util.List; // 引入 List，作为回调结果列表类型
+
+/**
+ * 停止阶段的结构化报告：每个 {@code @InvokeOnStop}（或 {@link AutoCloseable#close()}）回调的执行结果与耗时，
+ * 以及整个阶段的总耗时。由 {@link Container#stop()} 返回。
+ * <p>
+ * 条目按逆依赖顺序排列（使用方的回调排在其依赖之前），同一个 Bean 的多个回调按声明顺序排列。
+ * {@link #getSlowest(int)} 列出耗时最长的回调，用于找出拖慢滚动发布的 Bean。
+ */
+public final class StopReport { // 停止报告（不可变）
+
+    /**
+     * 单个停止回调的执行状态。
+     */
+    public enum Status { // 回调状态
+        /** 正常返回。 */
+        SUCCEEDED,
+        /** 抛出了异常，见 {@link Entry#getError()}。 */
+        FAILED,
+        /** 超过单个回调超时或关闭截止时间仍未结束（回调线程不会被中断，可能仍在运行）。 */
+        TIMED_OUT,
+        /** 关闭截止时间到达时尚未开始，未被调用。 */
+        SKIPPED
+    }
+
+    /**
+     * 单个停止回调的执行结果。
+     */
+    public static final class Entry { // 回调结果（不可变）
+        private final Class<?> beanType; // 回调所属的 Bean 类型
+        private final String methodName; // 回调方法名
+        private final Status status; // 执行状态
+        private final long durationNanos; // 耗时（纳秒）；超时为等待时长，跳过为 0
+        private final Throwable error; // 失败原因；非 FAILED 时为 null
+
+        Entry(Class<?> beanType, String methodName, Status status, long durationNanos, Throwable error) { // 由停止阶段创建
+            this.beanType = beanType; // 保存类型
+            this.methodName = methodName; // 保存方法名
+            this.status = status; // 保存状态
+            this.durationNanos = durationNanos; // 保存耗时
+            this.error = error; // 保存失败原因
+        }
+
+        /**
+         * @return 回调所属的 Bean 类型
+         */
+        public Class<?> getBeanType() { // 读取类型
+            return beanType; // 直接返回
+        }
+
+        /**
+         * @return 回调方法名
+         */
+        public String getMethodName() { // 读取方法名
+            return methodName; // 直接返回
+        }
+
+        /**
+         * @return 执行状态
+         */
+        public Status getStatus() { // 读取状态
+            return status; // 直接返回
+        }
+
+        /**
+         * @return 耗时（纳秒）；超时条目为从开始等待到判定超时的时长，跳过的条目为 0
+         */
+        public long getDurationNanos() { // 读取耗时
+            return durationNanos; // 直接返回
+        }
+
+        /**
+         * @return 回调抛出的异常（已去掉反射层的包装）；非 {@link Status#FAILED} 时为 null
+         */
+        public Throwable getError() { // 读取失败原因
+            return error; // 直接返回
+        }
+
+        @Override
+        public String toString() { // 便于日志输出
+            return beanType.getName() + "#" + methodName + " " + status + " (" + durationNanos + " ns)"
+                    + (error == null ? "" : " -> " + error.getClass().getSimpleName() + ": " + error.getMessage()); // 单行摘要
+        }
+    }
+
+    /** 没有任何停止回调时的报告。 */
+    static final StopReport EMPTY = new StopReport(new ArrayList<Entry>(), 0L); // 共享的空报告
+
+    private final List<Entry> entries; // 全部回调结果
+    private final long totalNanos; // 整个停止阶段的耗时
+
+    StopReport(List<Entry> entries, long totalNanos) { // 由停止阶段创建
+        this.entries = Collections.unmodifiableList(entries); // 只读保存
+        this.totalNanos = totalNanos; // 保存总耗时
+    }
+
+    /**
+     * 把回调执行器的结果（与启动阶段共用同一套执行逻辑）转换为停止报告。
+     *
+     * @param phase 逆序执行得到的阶段报告
+     * @return 停止报告
+     */
+    static StopReport of(StartReport phase) { // 转换
+        final List<Entry> entries = new ArrayList<>(phase.getEntries().size()); // 条目
+        for (StartReport.Entry e : phase.getEntries()) { // 逐个转换
+            entries.add(new Entry(e.getBeanType(), e.getMethodName(), Status.valueOf(e.getStatus().name()),
+                    e.getDurationNanos(), e.getError())); // 状态一一对应
+        }
+        return new StopReport(entries, phase.getTotalNanos()); // 总耗时不变
+    }
+
+    /**
+     * @return 全部回调结果（只读，按逆依赖顺序排列）
+     */
+    public List<Entry> getEntries() { // 读取条目
+        return entries; // 直接返回只读列表
+    }
+
+    /**
+     * @return 整个停止阶段的耗时（纳秒）
+     */
+    public long getTotalNanos() { // 读取总耗时
+        return totalNanos; // 直接返回
+    }
+
+    /**
+     * 统计某种状态的回调数量。
+     *
+     * @param status 状态
+     * @return 数量
+     */
+    public int count(Status status) { // 按状态计数
+        int n = 0; // 计数器
+        for (Entry e : entries) { // 遍历条目
+            if (e.status == status) { // 状态匹配
+                n++; // 计数
+            }
+        }
+        return n; // 返回数量
+    }
+
+    /**
+     * @return 全部回调都正常返回时为 true
+     */
+    public boolean isSuccessful() { // 是否全部成功
+        return count(Status.SUCCEEDED) == entries.size(); // 成功数等于总数
+    }
+
+    /**
+     * 耗时最长的回调（含超时的回调，超时条目的耗时即等待时长）。
+     *
+     * @param limit 最多返回的条目数
+     * @return 按耗时从长到短排列的条目（只读）
+     * @throws IllegalArgumentException 如果 limit 为负数
+     */
+    public List<Entry> getSlowest(int limit) { // 最慢的回调
+        if (limit < 0) { // 非法参数
+            throw new IllegalArgumentException("limit must not be negative: " + limit); // 快速失败
+        }
+        final List<Entry> sorted = new ArrayList<>(entries); // 副本
+        sorted.sort(Comparator.comparingLong(Entry::getDurationNanos).reversed()); // 按耗时倒序
+        return Collections.unmodifiableList(sorted.subList(0, Math.min(limit, sorted.size()))); // 截取
+    }
+
+    @Override
+    public String toString() { // 单行摘要
+        final List<Entry> slowest = getSlowest(1); // 最慢的回调
+        return "stop callbacks: " + entries.size() + " total, "
+                + count(Status.SUCCEEDED) + " succeeded, "
+                + count(Status.FAILED) + " failed, "
+                + count(Status.TIMED_OUT) + " timed out, "
+                + count(Status.SKIPPED) + " skipped ("
+                + totalNanos / 1_000_000 + " ms"
+                + (slowest.isEmpty() ? "" : ", slowest " + slowest.get(0).getBeanType().getName() + "#"
+                + slowest.get(0).getMethodName() + " " + slowest.get(0).getDurationNanos() / 1_000_000 + " ms")
+                + ")"; // 按状态汇总，附最慢的回调
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import com.example.ioc.annotations.Timed; // 引入 @Timed，识别计时方法
+
+import java.lang.reflect.InvocationHandler; // 引入 InvocationHandler，计时代理的统一入口
+import java.lang.reflect.Method; // 引入 Method，表示计时方法
+import java.lang.reflect.Modifier; // 引入 Modifier，筛选可计时的方法
+import java.lang.reflect.Proxy; // 引入 Proxy，没有计时子类时为接口注入点生成代理
+import java.util.Collections; // 引入 Collections，空集合
+import java.util.HashMap; // 引入 HashMap，代理方法 -> 记录器
+import java.util.Map; // 引入 Map，作为映射类型
+import java.util.function.Function; // 引入 Function，按签名取得记录器
+
+/**
+ * {@code @Timed} 组件的类型信息：计时方法的签名、采样间隔与编译期生成的计时子类，按类型缓存在全局 {@link ClassValue} 中。
+ * <p>
+ * 计时子类（{@code Foo$$Timed}，由 {@code TimedSubclassProcessor} 生成）是主要路径：容器实例化子类代替原类，
+ * 所有调用方都经过计时，额外开销是两次 {@link System#nanoTime()} 与一次 {@link MethodTimer#record(long)}；
+ * 采样计时时未轮到的调用只有一次 {@link MethodTimer#sample()}。
+ * 没有子类时（final 类、编译时未启用处理器）退回 {@link Proxy}：只有接口类型的注入点得到计时代理。
+ */
+final class TimedMethods { // 计时信息（仅含静态方法）
+
+    /** 生成的计时子类的类名后缀。 */
+    static final String SUBCLASS_SUFFIX = "$$Timed"; // 与处理器一致
+
+    private static final Info NONE = new Info(Collections.<String, Integer>emptyMap(), null); // 没有计时方法的类型共享
+
+    private static final ClassValue<Info> INFOS = new ClassValue<Info>() { // 每个类型一份信息
+        @Override
+        protected Info computeValue(Class<?> type) { // 首次访问时计算
+            return compute(type); // 读取注解并查找子类
+        }
+    };
+
+    private TimedMethods() { // 工具类不允许实例化
+    }
+
+    /**
+     * @param type 组件类型
+     * @return 声明了 {@code @Timed}（类或方法）时为 true
+     */
+    static boolean isTimed(Class<?> type) { // 是否计时
+        return INFOS.get(type) != NONE; // 一次 ClassValue 查找
+    }
+
+    /**
+     * @param type 组件类型
+     * @return 编译期生成的计时子类；没有时为 null
+     */
+    static Class<?> subclassOf(Class<?> type) { // 查找计时子类
+        return INFOS.get(type).subclass; // 一次 ClassValue 查找
+    }
+
+    /**
+     * @param type   组件类型（声明 {@code @Timed} 的类）
+     * @param method 方法签名
+     * @return 方法的采样间隔：方法级标注优先，否则取类级标注；不是计时方法时为 1
+     */
+    static int sampleEvery(Class<?> type, String method) { // 采样间隔
+        final Integer every = INFOS.get(type).methods.get(method); // 一次 ClassValue 查找
+        return every == null ? 1 : every; // 默认每次计时
+    }
+
+    /**
+     * 实例对应的组件类型：计时子类返回其父类（声明 {@code @Timed} 的类），其余类型原样返回。
+     *
+     * @param type 实例的运行期类型
+     * @return 组件类型
+     */
+    static Class<?> userClass(Class<?> type) { // 去掉计时子类
+        return Instrumented.class.isAssignableFrom(type) && type.getSuperclass() != null
+                ? type.getSuperclass() : type; // 生成的子类直接继承组件类
+    }
+
+    /**
+     * 方法签名：方法名加参数的简单类名，例如 {@code find(long)}、{@code put(String[])}；与处理器生成的键一致。
+     *
+     * @param m 方法
+     * @return 签名
+     */
+    static String signature(Method m) { // 方法签名
+        final StringBuilder sb = new StringBuilder(m.getName()).append('('); // 方法名
+        final Class<?>[] params = m.getParameterTypes(); // 参数类型
+        for (int i = 0; i < params.length; i++) { // 逐个拼接
+            if (i > 0) { // 分隔符
+                sb.append(','); // 逗号
+            }
+            sb.append(params[i].getSimpleName()); // 简单类名（数组带 []）
+        }
+        return sb.append(')').toString(); // 返回签名
+    }
+
+    /**
+     * 为没有计时子类的 {@code @Timed} 组件创建接口代理：接口方法对应的实现方法标注了 {@code @Timed} 时计时，其余直接转发。
+     *
+     * @param type   注入点的接口类型
+     * @param target 组件实例
+     * @param timers 方法签名 -> 记录器
+     * @return 代理；接口中没有计时方法时返回 target 本身
+     */
+    static Object proxy(Class<?> type, Object target, Function<String, MethodTimer> timers) { // 创建计时代理
+        final Map<String, Integer> timed = INFOS.get(target.getClass()).methods; // 实现类的计时方法
+        final Map<Method, MethodTimer> byMethod = new HashMap<>(); // 接口方法 -> 记录器
+        for (Method m : type.getMethods()) { // 接口的全部公开方法
+            final String sig = signature(m); // 签名
+            if (timed.containsKey(sig)) { // 实现方法需要计时
+                byMethod.put(m, timers.apply(sig)); // 预先取得记录器
+            }
+        }
+        if (byMethod.isEmpty()) { // 接口中没有计时方法
+            return target; // 无需代理
+        }
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new Handler(target, byMethod, Modifier.isPublic(type.getModifiers()))); // 生成代理
+    }
+
+    private static Info compute(Class<?> type) { // 读取注解并查找子类
+        final Timed all = type.getAnnotation(Timed.class); // 类级标注：全部公开实例方法
+        final Map<String, Integer> methods = new HashMap<>(); // 计时方法签名 -> 采样间隔
+        for (Method m : type.getDeclaredMethods()) { // 只看本类声明的方法
+            final int mod = m.getModifiers(); // 修饰符
+            if (Modifier.isStatic(mod) || Modifier.isPrivate(mod) || m.isSynthetic() || m.isBridge()) { // 无法计时
+                continue; // 跳过
+            }
+            final Timed timed = m.getAnnotation(Timed.class); // 方法级标注
+            if (timed != null || (all != null && Modifier.isPublic(mod))) { // 方法级标注或类级标注
+                final int every = (timed != null ? timed : all).sampleEvery(); // 方法级标注优先
+                if (every < 1) { // 采样间隔必须为正数
+                    throw new IllegalStateException("@Timed(sampleEvery = " + every + ") must be positive: "
+                            + type.getName() + "#" + signature(m)); // 快速失败
+                }
+                methods.put(signature(m), every); // 记录签名与采样间隔
+            }
+        }
+        if (methods.isEmpty()) { // 没有计时方法
+            return NONE; // 共享实例
+        }
+        return new Info(methods, findSubclass(type)); // 组装信息
+    }
+
+    private static Class<?> findSubclass(Class<?> type) { // 查找生成的计时子类
+        final ClassLoader cl = type.getClassLoader(); // 与组件同一个加载器
+        if (cl == null) { // 引导类加载器中的类型不会是组件
+            return null; // 没有子类
+        }
+        try { // 子类可能不存在
+            final Class<?> sub = Class.forName(type.getName() + SUBCLASS_SUFFIX, false, cl); // 约定的类名
+            return type.isAssignableFrom(sub) && Instrumented.class.isAssignableFrom(sub) ? sub : null; // 必须是本类型的计时子类
+        } catch (ClassNotFoundException | LinkageError e) { // 编译时未启用处理器，或子类已陈旧
+            return null; // 退回代理
+        }
+    }
+
+    /**
+     * 类型的计时信息。
+     */
+    private static final class Info { // 计时信息（不可变）
+        final Map<String, Integer> methods; // 计时方法签名 -> 采样间隔
+        final Class<?> subclass; // 计时子类；没有时为 null
+
+        Info(Map<String, Integer> methods, Class<?> subclass) { // 由 compute 创建
+            this.methods = methods; // 保存签名
+            this.subclass = subclass; // 保存子类
+        }
+    }
+
+    private static final class Handler implements InvocationHandler { // 计时代理处理器
+        private final Object target; // 组件实例
+        private final Map<Method, MethodTimer> timers; // 接口方法 -> 记录器
+        private final boolean open; // 接口是否公开
+
+        Handler(Object target, Map<Method, MethodTimer> timers, boolean open) { // 保存目标与记录器
+            this.target = target; // 保存目标
+            this.timers = timers; // 保存记录器
+            this.open = open; // 保存可见性
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable { // 代理方法入口
+            if (method.getDeclaringClass() == Object.class) { // Object 的方法
+                switch (method.getName()) { // 按方法名处理
+                    case "equals": return proxy == args[0]; // 身份比较
+                    case "hashCode": return System.identityHashCode(proxy); // 身份哈希
+                    case "toString": return target.toString(); // 目标的描述
+                    default: break; // 其他方法（不会出现）按普通方法处理
+                }
+            }
+            final MethodTimer timer = timers.get(method); // 该方法的记录器
+            if (timer == null || !timer.sample()) { // 不计时，或采样时未轮到
+                return LazyReferences.forward(target, method, args, open); // 直接转发
+            }
+            final long start = System.nanoTime(); // 开始时间
+            try { // 异常同样计时
+                return LazyReferences.forward(target, method, args, open); // 转发
+            } finally { // 记录耗时
+                timer.record(System.nanoTime() - start); // 记录
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.util.ArrayList; // 引入 ArrayList，收集实现类
+import java.util.Collection; // 引入 Collection，接收组件集合
+import java.util.Collections; // 引入 Collections，返回只读列表
+import java.util.Comparator; // 引入 Comparator，按类名排序
+import java.util.HashMap; // 引入 HashMap，超类型 -> 实现类
+import java.util.HashSet; // 引入 HashSet，记录单个组件已登记的超类型
+import java.util.List; // 引入 List，作为实现类列表类型
+import java.util.Map; // 引入 Map，作为索引类型
+import java.util.Set; // 引入 Set，作为已登记超类型集合
+
+/**
+ * 可赋值索引：把每个组件的全部超类（不含 {@link Object}）与全部接口（含继承的接口）映射到具体组件列表。
+ * <p>
+ * 在 {@link Container#start()} 登记组件时构建一次，之后只读：
+ * {@link #implementationOf(Class)} 与 {@link #implementationsOf(Class)} 都是一次哈希查找，
+ * 唯一实现类与歧义错误信息在构建时就已计算好，查找路径上不再遍历组件或比较类型。
+ */
+final class TypeIndex { // 可赋值索引（不可变）
+
+    /** 空索引（容器尚未启动时使用）。 */
+    static final TypeIndex EMPTY = new TypeIndex(Collections.<Class<?>, Entry>emptyMap()); // 没有任何组件
+
+    private final Map<Class<?>, Entry> entries; // 超类型 -> 条目
+
+    private TypeIndex(Map<Class<?>, Entry> entries) { // 由 build 创建
+        this.entries = entries; // 保存索引
+    }
+
+    /**
+     * 单个超类型的实现类信息。
+     */
+    private static final class Entry { // 索引条目（不可变）
+        final List<Class<?>> implementations; // 全部具体组件（按类名排序，只读）
+        final Class<?> unique; // 唯一实现类；存在歧义时为 null
+
+        Entry(List<Class<?>> implementations) { // 根据实现类列表计算
+            this.implementations = Collections.unmodifiableList(implementations); // 只读保存
+            this.unique = implementations.size() == 1 ? implementations.get(0) : null; // 只有一个时才唯一
+        }
+    }
+
+    /**
+     * 构建索引。
+     *
+     * @param components 已登记的组件（接口与抽象类会被忽略）
+     * @return 索引
+     */
+    static TypeIndex build(Collection<Class<?>> components) { // 构建入口
+        final Map<Class<?>, List<Class<?>>> raw = new HashMap<>(); // 超类型 -> 实现类（未排序）
+        for (Class<?> c : components) { // 遍历组件
+            if (!InjectionPlan.isConcrete(c)) { // 无法实例化的组件不作为实现类
+                continue; // 跳过
+            }
+            final Set<Class<?>> seen = new HashSet<>(); // 本组件已登记的超类型（菱形继承时同一接口会出现多次）
+            for (Class<?> t = c; t != null && t != Object.class; t = t.getSuperclass()) { // 自身与全部超类
+                raw.computeIfAbsent(t, k -> new ArrayList<>()).add(c); // 登记
+                addInterfaces(raw, seen, t, c); // 该类直接实现的接口及其父接口
+            }
+        }
+        final Map<Class<?>, Entry> entries = new HashMap<>(raw.size() * 2); // 最终索引
+        for (Map.Entry<Class<?>, List<Class<?>>> e : raw.entrySet()) { // 逐个冻结
+            final List<Class<?>> impls = e.getValue(); // 实现类
+            impls.sort(Comparator.comparing(Class::getName)); // 排序，保证结果确定
+            entries.put(e.getKey(), new Entry(impls)); // 计算唯一实现类
+        }
+        return new TypeIndex(entries); // 构造索引
+    }
+
+    private static void addInterfaces(Map<Class<?>, List<Class<?>>> raw,
+                                      Set<Class<?>> seen,
+                                      Class<?> type,
+                                      Class<?> component) { // 递归登记接口
+        for (Class<?> i : type.getInterfaces()) { // 直接实现/继承的接口
+            if (seen.add(i)) { // 每个接口对同一组件只登记一次
+                raw.computeIfAbsent(i, k -> new ArrayList<>()).add(component); // 登记
+                addInterfaces(raw, seen, i, component); // 父接口
+            }
+        }
+    }
+
+    /**
+     * 查找唯一实现类。
+     *
+     * @param type 超类型或接口
+     * @return 唯一的具体组件
+     * @throws IllegalStateException 没有或存在多个实现类时抛出
+     */
+    Class<?> implementationOf(Class<?> type) { // 唯一实现类
+        final Entry e = entries.get(type); // 一次哈希查找
+        if (e != null && e.unique != null) { // 唯一
+            return e.unique; // 直接返回
+        }
+        throw new IllegalStateException(problemOf(type)); // 没有或存在歧义
+    }
+
+    /**
+     * 查找全部实现类（含 type 自身，若它是组件）。
+     *
+     * @param type 任意类型
+     * @return 只读列表（按类名排序）；没有实现类时为空列表
+     */
+    List<Class<?>> implementationsOf(Class<?> type) { // 全部实现类
+        final Entry e = entries.get(type); // 一次哈希查找
+        return e != null ? e.implementations : Collections.<Class<?>>emptyList(); // 预先计算的只读列表
+    }
+
+    /**
+     * 描述类型无法唯一解析的原因。
+     *
+     * @param type 超类型或接口
+     * @return 错误信息；可以唯一解析时返回 null
+     */
+    String problemOf(Class<?> type) { // 解析问题描述
+        final Entry e = entries.get(type); // 查找条目
+        if (e == null || e.implementations.isEmpty()) { // 没有实现类
+            return "No component found for type: " + type.getName(); // 缺失
+        }
+        if (e.unique != null) { // 唯一
+            return null; // 没有问题
+        }
+        final StringBuilder sb = new StringBuilder("Multiple components found for type: ").append(type.getName()).append(" ("); // 歧义
+        for (int i = 0; i < e.implementations.size(); i++) { // 列出全部候选
+            sb.append(i == 0 ? "" : ", ").append(e.implementations.get(i).getName()); // 候选类名
+        }
+        return sb.append(')').toString(); // 完整信息
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.ioc; // 声明包路径，与容器核心类放在一起
+
+import java.io.BufferedInputStream; // 引入 BufferedInputStream，带缓冲读取快照文件
+import java.io.BufferedOutputStream; // 引入 BufferedOutputStream，带缓冲写出快照文件
+import java.io.DataInputStream; // 引入 DataInputStream，读取二进制快照
+import java.io.DataOutputStream; // 引入 DataOutputStream，写出二进制快照
+import java.io.IOException; // 引入 IOException，读写可能抛出
+import java.net.URL; // 引入 URL，表示类路径根
+import java.nio.file.Files; // 引入 Files，读写文件
+import java.nio.file.Path; // 引入 Path，表示快照文件
+import java.nio.file.StandardCopyOption; // 引入 StandardCopyOption，原子替换快照文件
+import java.util.ArrayList; // 引入 ArrayList，保存节点与指纹
+import java.util.Collections; // 引入 Collections，返回只读列表
+import java.util.Enumeration; // 引入 Enumeration，遍历类路径资源
+import java.util.List; // 引入 List，作为节点与指纹列表类型
+
+/**
+ * 已解析的装配计划快照：一次正常启动（或构建期的一次启动）得到的创建顺序、构造器参数槽位、
+ * 注入字段槽位、依赖边与启动回调，写成紧凑的二进制文件；之后的启动直接回放，
+ * 不再扫描类路径、不再枚举声明成员选择构造器、不再做依赖解析与创建链上的循环检查。
+ * <p>
+ * 文件格式（{@link DataOutputStream}）：
+ * <pre>
+ * MAGIC VERSION 扫描范围 lazyInit
+ * 根数量 { 根 URL, 根指纹 }*
+ * 节点数量 { 节点标记, ComponentMetadata, 构造器槽位[], 字段槽位[], 依赖[] }*
+ * </pre>
+ * 节点按拓扑顺序排列（依赖在前），槽位与依赖都是节点下标；槽位为 -1 表示该注入点回放时仍走普通解析
+ * （{@link Deferred}、{@link Provider}、对象池、代理、非单例依赖等）。成员只按名称记录（与扫描缓存相同的 {@link ComponentMetadata}），
+ * 回放时用 {@code getDeclaredConstructor/Field/Method} 精确定位。
+ * <p>
+ * 根指纹沿用 {@link ScanCache#fingerprint(URL, LogSink)}：任一类路径根变化、扫描范围（基础包与类名过滤模式）或延迟模式不同时快照作废，容器退回正常启动并重写快照。
+ */
+final class WiringSnapshot { // 装配计划快照（不可变）
+
+    private static final int MAGIC = 0x4D494F57; // 文件魔数 "MIOW"
+    private static final int VERSION = 1; // 文件格式版本，格式变化时递增
+
+    /** 节点标记：扫描到的组件（否则是组件依赖到的非组件类型）。 */
+    static final int COMPONENT = 1; // 组件
+    /** 节点标记：启动时创建（否则只登记，例如延迟组件与非单例组件）。 */
+    static final int EAGER = 2; // 立即创建
+
+    final String basePackage; // 扫描范围（{@link ScanScope#toString()}：基础包与类名过滤模式）
+    final boolean lazyInit; // 生成快照时是否处于容器级延迟模式
+    final List<String> roots; // 类路径根 URL（与 fingerprints 一一对应）
+    final List<String> fingerprints; // 类路径根指纹
+    final List<Node> nodes; // 节点（拓扑顺序）
+
+    /**
+     * 单个类型的装配信息。
+     */
+    static final class Node { // 快照节点（不可变）
+        final int flags; // 节点标记（COMPONENT / EAGER）
+        final ComponentMetadata metadata; // 成员名称（构造器参数类型、注入字段、启动回调）
+        final int[] constructorSlots; // 构造器参数 -> 节点下标（-1 表示回放时普通解析）
+        final int[] fieldSlots; // 注入字段 -> 节点下标（-1 表示回放时普通解析）
+        final int[] dependencies; // 启动依赖 -> 节点下标（用于回放时的并行实例化与回调顺序）
+
+        Node(int flags, ComponentMetadata metadata, int[] constructorSlots, int[] fieldSlots, int[] dependencies) { // 全字段构造器
+            this.flags = flags; // 保存标记
+            this.metadata = metadata; // 保存元数据
+            this.constructorSlots = constructorSlots; // 保存构造器槽位
+            this.fieldSlots = fieldSlots; // 保存字段槽位
+            this.dependencies = dependencies; // 保存依赖
+        }
+
+        boolean is(int flag) { // 判断标记
+            return (flags & flag) != 0; // 按位判断
+        }
+    }
+
+    WiringSnapshot(String basePackage,
+                   boolean lazyInit,
+                   List<String> roots,
+                   List<String> fingerprints,
+                   List<Node> nodes) { // 全字段构造器
+        this.basePackage = basePackage; // 保存基础包
+        this.lazyInit = lazyInit; // 保存延迟模式
+        this.roots = Collections.unmodifiableList(roots); // 只读保存
+        this.fingerprints = Collections.unmodifiableList(fingerprints); // 只读保存
+        this.nodes = Collections.unmodifiableList(nodes); // 只读保存
+    }
+
+    /**
+     * 读取快照文件。
+     *
+     * @param file 快照文件
+     * @param log  格式不符或读取失败时的警告输出目标
+     * @return 快照；文件不存在、版本不符或内容损坏时返回 null
+     */
+    static WiringSnapshot load(Path file, LogSink log) { // 加载快照
+        if (!Files.isRegularFile(file)) { // 首次启动没有快照
+            return null; // 由调用方正常启动
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) { // 带缓冲读取
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) { // 魔数或版本不符
+                if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                    log.log(LogSink.Level.WARN, "wiring snapshot ignored (incompatible format): " + file); // 打印原因
+                }
+                return null; // 视为没有快照
+            }
+            final String basePackage = in.readUTF(); // 基础包
+            final boolean lazyInit = in.readBoolean(); // 延迟模式
+            final int rootCount = in.readInt(); // 根数量
+            final List<String> roots = new ArrayList<>(rootCount); // 根 URL
+            final List<String> fingerprints = new ArrayList<>(rootCount); // 根指纹
+            for (int i = 0; i < rootCount; i++) { // 逐个读取
+                roots.add(in.readUTF()); // URL
+                fingerprints.add(in.readUTF()); // 指纹
+            }
+            final int count = in.readInt(); // 节点数量
+            final List<Node> nodes = new ArrayList<>(count); // 预分配容量
+            for (int i = 0; i < count; i++) { // 逐个读取节点
+                final int flags = in.readByte(); // 标记
+                final ComponentMetadata metadata = ComponentMetadata.readFrom(in); // 成员名称
+                nodes.add(new Node(flags, metadata, readInts(in), readInts(in), readInts(in))); // 槽位与依赖
+            }
+            return new WiringSnapshot(basePackage, lazyInit, roots, fingerprints, nodes); // 构造快照
+        } catch (IOException e) { // 文件损坏或截断
+            if (log.isEnabled(LogSink.Level.WARN)) { // 级别开启时才拼接消息
+                log.log(LogSink.Level.WARN, "wiring snapshot ignored: " + e.getMessage()); // 打印原因
+            }
+            return null; // 视为没有快照
+        }
+    }
+
+    /**
+     * 写出快照：先写临时文件再原子替换，避免并发启动读到半个文件。
+     *
+     * @param file 快照文件
+     * @throws IOException 写入失败
+     */
+    void save(Path file) throws IOException { // 写出快照
+        final Path parent = file.toAbsolutePath().getParent(); // 快照文件所在目录
+        if (parent != null) { // 存在父目录
+            Files.createDirectories(parent); // 确保目录存在
+        }
+        final Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp"); // 同目录临时文件，保证可原子移动
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) { // 带缓冲写出
+            out.writeInt(MAGIC); // 魔数
+            out.writeInt(VERSION); // 版本
+            out.writeUTF(basePackage); // 基础包
+            out.writeBoolean(lazyInit); // 延迟模式
+            out.writeInt(roots.size()); // 根数量
+            for (int i = 0; i < roots.size(); i++) { // 逐个写出
+                out.writeUTF(roots.get(i)); // URL
+                out.writeUTF(fingerprints.get(i)); // 指纹
+            }
+            out.writeInt(nodes.size()); // 节点数量
+            for (Node n : nodes) { // 逐个写出节点
+                out.writeByte(n.flags); // 标记
+                n.metadata.writeTo(out); // 成员名称
+                writeInts(out, n.constructorSlots); // 构造器槽位
+                writeInts(out, n.fieldSlots); // 字段槽位
+                writeInts(out, n.dependencies); // 依赖
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE); // 原子替换
+    }
+
+    /**
+     * 判断快照是否适用于当前启动：扫描范围、延迟模式与全部类路径根的指纹都必须一致。
+     *
+     * @param basePackage 扫描范围（{@link ScanScope#toString()}）
+     * @param lazyInit    当前是否处于容器级延迟模式
+     * @param current     当前的根与指纹（见 {@link #fingerprintRoots(List, ClassLoader, LogSink)}）
+     * @return 适用返回 true
+     */
+    boolean matches(String basePackage, boolean lazyInit, List<String[]> current) { // 快照校验
+        if (!this.basePackage.equals(basePackage) || this.lazyInit != lazyInit || current == null
+                || current.size() != roots.size()) { // 配置或根数量不同
+            return false; // 不适用
+        }
+        for (int i = 0; i < roots.size(); i++) { // 逐个比较（两边都按类加载器返回的顺序）
+            if (!roots.get(i).equals(current.get(i)[0]) || !fingerprints.get(i).equals(current.get(i)[1])) { // 根或指纹不同
+                return false; // 不适用
+            }
+        }
+        return true; // 全部一致
+    }
+
+    /**
+     * 计算各基础包所在全部类路径根的指纹（只读取 JAR 中央目录与目录元数据，不加载任何类）。
+     *
+     * @param packages 基础包（按 {@link ScanScope#packages()} 的顺序）
+     * @param cl       类加载器
+     * @param log      指纹不可用时的调试日志输出目标
+     * @return 每个根一项 {URL, 指纹}；任一根无法计算指纹时返回 null（此时不能使用快照）
+     */
+    static List<String[]> fingerprintRoots(List<String> packages, ClassLoader cl, LogSink log) { // 根指纹
+        final List<String[]> result = new ArrayList<>(); // 结果
+        try { // 列举资源可能失败
+            for (String basePackage : packages) { // 逐个基础包
+                final Enumeration<URL> resources = cl.getResources(basePackage.replace('.', '/')); // 基础包所在的全部根
+                while (resources.hasMoreElements()) { // 逐个计算
+                    final URL url = resources.nextElement(); // 资源 URL
+                    final String fingerprint = ScanCache.fingerprint(url, log); // 与扫描缓存相同的指纹规则
+                    if (fingerprint == null) { // 不支持的协议或读取失败
+                        return null; // 无法校验
+                    }
+                    result.add(new String[]{url.toExternalForm(), fingerprint}); // 记录
+                }
+            }
+        } catch (IOException e) { // 列举失败
+            return null; // 无法校验
+        }
+        return result; // 返回指纹
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException { // 写出整数数组
+        out.writeInt(values.length); // 长度
+        for (int v : values) { // 逐个写出
+            out.writeInt(v); // 值
+        }
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException { // 读取整数数组
+        final int[] values = new int[in.readInt()]; // 按长度分配
+        for (int i = 0; i < values.length; i++) { // 逐个读取
+            values[i] = in.readInt(); // 值
+        }
+        return values; // 返回数组
+    }
+}
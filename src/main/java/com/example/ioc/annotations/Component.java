@@ -13,10 +13,15 @@ import java.lang.annotation.ElementType; // 引入 ElementType 枚举，表示
  * 1) 仅用于“类型级别”（类、接口、枚举），因此 @Target(ElementType.TYPE)。
  * 2) 需要在运行时通过反射读取，因此 @Retention(RetentionPolicy.RUNTIME)。
  * 3) 提供可选的 value() 作为 Bean 名称；若未指定，容器可使用类名或约定规则。
+ * 4) scope() 指定作用域（默认单例）；poolSize() 只对 {@link Scope#POOLED} 生效，表示池中最多保留的空闲实例数。
  */
 @Documented // 指示该注解会出现在 Javadoc 中，便于文档化
 @Retention(RetentionPolicy.RUNTIME) // 指定注解在运行时依然保留，便于反射机制读取
 @Target(ElementType.TYPE) // 指定该注解只能放在“类型”（类/接口/枚举）上
 public @interface Component { // 定义一个名为 Component 的注解，用于标注可被容器识别的组件
     String value() default ""; // 可选的 Bean 名称，默认为空字符串，表示未显式命名
+
+    Scope scope() default Scope.SINGLETON; // 作用域，默认单例
+
+    int poolSize() default 0; // 池化组件的空闲实例上限；0 表示使用默认值（处理器数的两倍）
 }
@@ -12,11 +12,12 @@ import java.lang.annotation.ElementType; // 引入 ElementType 枚举常量集
  * 设计说明：
  * 1) 同时支持“字段注入”和“构造器注入”，因此 @Target 选择 FIELD 与 CONSTRUCTOR。
  * 2) 需要在运行时通过反射识别注入点，因此 @Retention(RetentionPolicy.RUNTIME)。
- * 3) 不包含任何属性，仅作为“标记注解”使用。
+ * 3) 可选的 value() 按名称限定依赖：字段上写 {@code @Inject("primary")}，构造器参数上同样写 {@code @Inject("primary")}
+ *    （因此 @Target 还包含 PARAMETER）；容器按 {@code @Component("primary")} 的名称注入，而不是按类型解析。
  */
 @Documented // 该注解会出现在 Javadoc 中
 @Retention(RetentionPolicy.RUNTIME) // 运行时可见，容器可通过反射读取注入点信息
-@Target({ElementType.FIELD, ElementType.CONSTRUCTOR}) // 允许标注在字段与构造器上
+@Target({ElementType.FIELD, ElementType.CONSTRUCTOR, ElementType.PARAMETER}) // 允许标注在字段、构造器与构造器参数上
 public @interface Inject { // 定义 Inject 注解，表示依赖注入点
-    // 无属性的标记注解；是否必填由容器逻辑在运行时决定
+    String value() default ""; // 可选的 Bean 名称限定；为空表示按类型注入（构造器上的 value 不生效）
 }
@@ -13,10 +13,22 @@ import java.lang.annotation.ElementType; // 引入 ElementType 枚举常量集
  * 1) 仅用于方法级别，因此 @Target(ElementType.METHOD)。
  * 2) 需要在运行时通过反射检测与调用，因此 @Retention(RetentionPolicy.RUNTIME)。
  * 3) 约定被标注的方法必须“无参数”；该约束无法由编译器强制，容器应在运行时校验。
+ * 4) {@link #timeoutMillis()} 可为单个回调指定超时：异步模式下到期即不再等待，同步模式下在回调结束后判定。
  */
 @Documented // 让注解信息进入 Javadoc
 @Retention(RetentionPolicy.RUNTIME) // 运行时可见，容器可通过反射在启动阶段调用
 @Target(ElementType.METHOD) // 仅能作用于方法
 public @interface InvokeOnStart { // 定义 InvokeOnStart 注解，用于标注启动时回调的方法
-    // 该注解不携带属性；方法签名需为“无参”，由容器的运行时逻辑进行校验与调用
+    // 方法签名需为“无参”，由容器的运行时逻辑进行校验与调用
+
+    /**
+     * 单个回调的超时时间（毫秒）。
+     * <p>
+     * 0（默认）表示沿用容器配置的回调超时；从回调开始运行时计时。超时的回调在启动报告中记为超时，
+     * 依赖它的 Bean 的回调随后照常执行（回调线程本身不会被中断）。
+     * 同步回调模式下容器无法提前放弃回调，只在它正常返回后、耗时超过限制时记为超时。
+     *
+     * @return 超时毫秒数；0 表示使用容器默认值
+     */
+    long timeoutMillis() default 0; // 单个回调的超时
 }
@@ -0,0 +1,32 @@
+package com.example.ioc.annotations; // 声明包路径
+
+import java.lang.annotation.Documented; // 引入 @Documented 以便生成到 Javadoc
+import java.lang.annotation.Retention; // 引入 @Retention 指定注解保留策略
+import java.lang.annotation.RetentionPolicy; // 引入 RetentionPolicy 设置为 RUNTIME
+import java.lang.annotation.Target; // 引入 @Target 限定注解的使用位置
+import java.lang.annotation.ElementType; // 引入 ElementType 枚举常量集合
+
+/**
+ * 标记容器关闭时需要调用的方法，用于释放连接池、文件通道、线程池等资源。
+ * <p>
+ * 设计说明：
+ * 1) 只对容器创建的单例（以及子容器中的租户组件）生效，方法必须无参；
+ * 2) 使用方的停止回调总是先于其依赖执行，互不依赖的 Bean 默认并行停止；
+ * 3) 没有标注本注解、但实现了 {@link AutoCloseable} 的 Bean，关闭时调用其 {@code close()}；
+ * 4) 需要在运行时通过反射读取，因此 @Retention(RetentionPolicy.RUNTIME)。
+ */
+@Documented // 让注解信息进入 Javadoc
+@Retention(RetentionPolicy.RUNTIME) // 运行时可见，容器可通过反射在关闭阶段调用
+@Target(ElementType.METHOD) // 仅能作用于方法
+public @interface InvokeOnStop { // 定义 InvokeOnStop 注解，用于标注关闭时回调的方法
+
+    /**
+     * 单个停止回调的超时时间（毫秒）。
+     * <p>
+     * 0（默认）表示只受容器的关闭截止时间限制；超时的回调在关闭报告中记为超时，
+     * 它的依赖随后照常停止（回调线程本身不会被中断）。
+     *
+     * @return 超时毫秒数；0 表示只受关闭截止时间限制
+     */
+    long timeoutMillis() default 0; // 单个回调的超时
+}
@@ -0,0 +1,23 @@
+package com.example.ioc.annotations; // 声明包路径
+
+import java.lang.annotation.Documented; // 引入 @Documented 以便生成到 Javadoc
+import java.lang.annotation.Retention; // 引入 @Retention 指定注解保留策略
+import java.lang.annotation.RetentionPolicy; // 引入 RetentionPolicy 设置为 RUNTIME
+import java.lang.annotation.Target; // 引入 @Target 限定注解的使用位置
+import java.lang.annotation.ElementType; // 引入 ElementType 枚举常量集合
+
+/**
+ * 标记“延迟创建”的组件或注入点。
+ * <p>
+ * 设计说明：
+ * 1) 标注在组件类上：容器启动时只登记该组件，不创建实例；首次 {@code getBean} 或首次使用注入的依赖时才创建。
+ * 2) 标注在字段或构造器参数上：该注入点注入延迟引用，而不是立即创建依赖。
+ * 3) 延迟引用只能覆盖接口类型（注入轻量代理）；具体类请使用 {@code Deferred<T>} 注入点，首次 {@code get()} 时才创建。
+ * 4) 需要在运行时通过反射读取，因此 @Retention(RetentionPolicy.RUNTIME)。
+ */
+@Documented // 让注解信息进入 Javadoc
+@Retention(RetentionPolicy.RUNTIME) // 运行时可见，容器可通过反射判断是否延迟创建
+@Target({ElementType.TYPE, ElementType.FIELD, ElementType.PARAMETER}) // 组件类与注入点
+public @interface Lazy { // 定义 Lazy 注解
+    // 无属性的标记注解
+}
@@ -0,0 +1,22 @@
+package com.example.ioc.annotations; // 声明包路径
+
+import java.lang.annotation.Documented; // 引入 @Documented 以便生成到 Javadoc
+import java.lang.annotation.Retention; // 引入 @Retention 指定注解保留策略
+import java.lang.annotation.RetentionPolicy; // 引入 RetentionPolicy 设置为 RUNTIME
+import java.lang.annotation.Target; // 引入 @Target 限定注解的使用位置
+import java.lang.annotation.ElementType; // 引入 ElementType 枚举常量集合
+
+/**
+ * 标记池化组件的“重置”方法：实例归还对象池时调用，用于清空缓冲区、复位解析状态等。
+ * <p>
+ * 设计说明：
+ * 1) 只对 {@code @Component(scope = Scope.POOLED)} 的组件生效，方法必须无参；
+ * 2) 方法抛出异常时该实例被丢弃（不回到池中），异常交给归还方；
+ * 3) 需要在运行时通过反射读取，因此 @Retention(RetentionPolicy.RUNTIME)。
+ */
+@Documented // 让注解信息进入 Javadoc
+@Retention(RetentionPolicy.RUNTIME) // 运行时可见，容器可通过反射找到重置方法
+@Target(ElementType.METHOD) // 仅允许标注在方法上
+public @interface OnRelease { // 定义 OnRelease 注解
+    // 无属性的标记注解
+}
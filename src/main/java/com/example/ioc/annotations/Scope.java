@@ -0,0 +1,22 @@
+package com.example.ioc.annotations; // 声明包路径
+
+/**
+ * 组件的作用域，由 {@link Component#scope()} 指定。
+ * <p>
+ * 设计说明：
+ * 1) 只有 {@link #SINGLETON} 组件在启动时创建、执行 {@link InvokeOnStart} 回调、参与冻结注册表；
+ * 2) 其余作用域在获取时按预先计算的注入计划创建，不登记为单例；
+ * 3) {@link #TENANT} 组件在每个容器（包括子容器）中各有一个实例，子容器的其余单例与父容器共享。
+ */
+public enum Scope { // 定义作用域枚举
+    /** 容器内唯一实例（默认）。 */
+    SINGLETON,
+    /** 每次 {@code getBean} 或每个注入点都创建新实例。 */
+    PROTOTYPE,
+    /** 从有界对象池借出、用完归还；通过 {@code getPool} 或注入 {@code BeanPool<T>} 使用，归还时调用 {@link OnRelease} 方法。 */
+    POOLED,
+    /** 每个线程一个实例；接口类型的注入点注入按当前线程转发的代理。 */
+    THREAD,
+    /** 每个容器一个实例（首次获取时创建并执行 {@link InvokeOnStart} 回调）；子容器各自持有，不与父容器共享。 */
+    TENANT
+}
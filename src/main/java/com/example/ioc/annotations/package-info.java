@@ -4,5 +4,9 @@
  * - `@Component`：标记可被容器管理的组件。
  * - `@Inject`：标记依赖注入的构造器或字段。
  * - `@InvokeOnStart`：标记容器启动后需要回调的方法。
+ * - `@InvokeOnStop`：标记容器关闭时需要回调的方法（释放资源）。
+ * - `@Lazy`：标记延迟创建的组件或延迟注入的注入点。
+ * - `Scope`：组件作用域（单例、原型、池化、线程、租户）。
+ * - `@OnRelease`：标记池化组件归还对象池时调用的重置方法。
  */
 package com.example.ioc.annotations; // 声明注解包，便于归类管理
@@ -0,0 +1,159 @@
+package com.example.ioc.processor; // 声明包路径：编译期工具与运行期容器分开存放
+
+import com.example.ioc.ComponentIndex; // 引入索引常量，保证处理器与容器读写同一位置、同一格式
+
+import javax.annotation.processing.AbstractProcessor; // 引入注解处理器基类
+import javax.annotation.processing.Filer; // 引入 Filer，用于读写编译输出目录中的资源
+import javax.annotation.processing.RoundEnvironment; // 引入 RoundEnvironment，获取每轮的被注解元素
+import javax.annotation.processing.SupportedAnnotationTypes; // 引入 @SupportedAnnotationTypes 声明关心的注解
+import javax.lang.model.SourceVersion; // 引入 SourceVersion，声明支持的源码版本
+import javax.lang.model.element.Element; // 引入 Element，表示源码中的程序元素
+import javax.lang.model.element.TypeElement; // 引入 TypeElement，表示类型元素
+import javax.tools.Diagnostic; // 引入 Diagnostic，输出编译期提示
+import javax.tools.FileObject; // 引入 FileObject，表示索引文件
+import javax.tools.StandardLocation; // 引入 StandardLocation，指定写入 CLASS_OUTPUT
+
+import java.io.BufferedReader; // 引入 BufferedReader，读取已有索引
+import java.io.IOException; // 引入 IOException，读写索引可能抛出
+import java.io.InputStreamReader; // 引入 InputStreamReader，按 UTF-8 解码
+import java.io.OutputStreamWriter; // 引入 OutputStreamWriter，按 UTF-8 编码
+import java.io.Writer; // 引入 Writer，写出索引内容
+import java.nio.charset.StandardCharsets; // 引入 StandardCharsets，固定字符集
+import java.util.HashSet; // 引入 HashSet，记录本次编译涉及的类型
+import java.util.Map; // 引入 Map，保存“类名 -> 标记集合”
+import java.util.Set; // 引入 Set，作为标记集合的类型
+import java.util.TreeMap; // 引入 TreeMap，让输出按类名排序、便于比对
+import java.util.TreeSet; // 引入 TreeSet，让标记有序输出
+
+/**
+ * 编译期组件索引生成器。
+ * <p>
+ * 收集 {@code @Component}、{@code @Inject}、{@code @InvokeOnStart} 所在的类型，
+ * 在最后一轮把结果写入 {@link ComponentIndex#LOCATION}，容器启动时即可直接读取索引而无需扫描类路径。
+ * <p>
+ * 增量编译时只会处理部分源文件，因此写出前会合并已有索引：本次编译涉及的类型以新结果为准，
+ * 其余类型保留原条目（运行期加载失败的陈旧条目会被容器跳过）。
+ */
+@SupportedAnnotationTypes({ // 声明关心的三个注解
+        "com.example.ioc.annotations.Component",
+        "com.example.ioc.annotations.Inject",
+        "com.example.ioc.annotations.InvokeOnStart"
+})
+public class ComponentIndexProcessor extends AbstractProcessor { // 注解处理器实现
+
+    private final Map<String, Set<String>> collected = new TreeMap<>(); // 本次编译收集到的“类名 -> 标记”
+    private final Set<String> processedTypes = new HashSet<>(); // 本次编译涉及的全部类型（用于剔除旧条目）
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() { // 跟随编译器支持的最新版本，避免高版本 JDK 警告
+        return SourceVersion.latestSupported(); // 返回当前编译器支持的最新源码版本
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) { // 每轮回调
+        for (Element root : roundEnv.getRootElements()) { // 记录本轮出现的所有类型
+            collectTypeNames(root); // 递归收集（含嵌套类型）
+        }
+        for (TypeElement annotation : annotations) { // 遍历本轮出现的目标注解
+            final String marker = markerOf(annotation.getQualifiedName().toString()); // 注解 -> 索引标记
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) { // 遍历被标注的元素
+                final TypeElement owner = owningType(element); // 找到元素所属的类型
+                if (owner != null) { // 理论上总能找到
+                    record(owner, marker); // 登记标记
+                }
+            }
+        }
+        if (roundEnv.processingOver()) { // 最后一轮：统一写出
+            writeIndex(); // 合并并写出索引
+        }
+        return false; // 不独占注解，允许其他处理器继续处理
+    }
+
+    private static String markerOf(String annotationName) { // 将注解全名映射为索引标记
+        if (annotationName.endsWith(".Component")) { // @Component
+            return ComponentIndex.COMPONENT; // 组件标记
+        } else if (annotationName.endsWith(".Inject")) { // @Inject
+            return ComponentIndex.INJECT; // 注入点标记
+        }
+        return ComponentIndex.START; // 剩下的只有 @InvokeOnStart
+    }
+
+    private static TypeElement owningType(Element element) { // 字段/构造器/方法向上找到声明它的类型
+        Element current = element; // 从元素自身开始
+        while (current != null && !(current instanceof TypeElement)) { // 直到遇到类型元素
+            current = current.getEnclosingElement(); // 向外层移动
+        }
+        return (TypeElement) current; // 可能为 null（极端情况）
+    }
+
+    private void collectTypeNames(Element element) { // 记录类型及其嵌套类型的二进制名
+        if (!(element instanceof TypeElement)) { // 只关心类型元素
+            return; // 其他元素直接忽略
+        }
+        processedTypes.add(binaryName((TypeElement) element)); // 记录该类型
+        for (Element enclosed : element.getEnclosedElements()) { // 处理嵌套类型
+            if (enclosed.getKind().isClass() || enclosed.getKind().isInterface()) { // 仅类/接口/枚举/注解
+                collectTypeNames(enclosed); // 递归
+            }
+        }
+    }
+
+    private void record(TypeElement type, String marker) { // 登记某个类型的一个标记
+        final String name = binaryName(type); // 使用二进制名（嵌套类为 Outer$Inner），运行期可直接 Class.forName
+        Set<String> markers = collected.get(name); // 取出已有标记
+        if (markers == null) { // 首次登记
+            markers = new TreeSet<>(); // 有序集合
+            collected.put(name, markers); // 放入收集结果
+        }
+        markers.add(marker); // 添加标记
+    }
+
+    private String binaryName(TypeElement type) { // 计算类型的二进制名
+        return processingEnv.getElementUtils().getBinaryName(type).toString(); // 交给编译器计算，正确处理嵌套类
+    }
+
+    private void writeIndex() { // 合并旧索引并写出
+        final Filer filer = processingEnv.getFiler(); // 获取 Filer
+        final Map<String, String> merged = new TreeMap<>(); // 合并后的“类名 -> 标记串”
+        readExisting(filer, merged); // 先读入已有索引（增量编译场景）
+        for (String type : processedTypes) { // 本次编译涉及的类型以新结果为准
+            merged.remove(type); // 先移除旧条目（注解可能已被删除）
+        }
+        for (Map.Entry<String, Set<String>> e : collected.entrySet()) { // 写入本次收集结果
+            merged.put(e.getKey(), String.join(",", e.getValue())); // 标记按字母序拼接
+        }
+        if (merged.isEmpty()) { // 没有任何条目时不生成文件
+            return; // 容器会对该根回退到扫描
+        }
+        try { // 写文件可能抛出 I/O 异常
+            final FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.LOCATION); // 创建索引资源
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) { // 按 UTF-8 写出
+                writer.write("# generated by ComponentIndexProcessor, do not edit\n"); // 文件头注释
+                for (Map.Entry<String, String> e : merged.entrySet()) { // 逐条写出
+                    writer.write(e.getKey() + "=" + e.getValue() + "\n"); // 一行一个类型
+                }
+            }
+        } catch (IOException e) { // 写出失败不应中断编译
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Unable to write component index: " + e.getMessage()); // 以警告形式报告
+        }
+    }
+
+    private static void readExisting(Filer filer, Map<String, String> out) { // 读取输出目录中已有的索引
+        try { // 文件不存在时会抛出异常
+            final FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.LOCATION); // 定位旧索引
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) { // 按 UTF-8 读取
+                String line; // 当前行
+                while ((line = reader.readLine()) != null) { // 逐行读取
+                    final int eq = line.indexOf('='); // 定位分隔符
+                    if (!line.startsWith("#") && eq > 0) { // 跳过注释与非法行
+                        out.put(line.substring(0, eq).trim(), line.substring(eq + 1).trim()); // 登记旧条目
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) { // 首次编译时索引不存在
+            // 忽略：没有旧索引即从空白开始
+        }
+    }
+}
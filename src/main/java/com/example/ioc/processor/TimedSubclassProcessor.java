@@ -0,0 +1,289 @@
+package com.example.ioc.processor; // 声明包路径：编译期工具与运行期容器分开存放
+
+import javax.annotation.processing.AbstractProcessor; // 引入注解处理器基类
+import javax.annotation.processing.RoundEnvironment; // 引入 RoundEnvironment，获取每轮的被注解元素
+import javax.annotation.processing.SupportedAnnotationTypes; // 引入 @SupportedAnnotationTypes 声明关心的注解
+import javax.lang.model.SourceVersion; // 引入 SourceVersion，声明支持的源码版本
+import javax.lang.model.element.AnnotationMirror; // 引入 AnnotationMirror，按名称识别 @Timed
+import javax.lang.model.element.Element; // 引入 Element，表示源码中的程序元素
+import javax.lang.model.element.ElementKind; // 引入 ElementKind，区分类、方法与构造器
+import javax.lang.model.element.ExecutableElement; // 引入 ExecutableElement，表示方法与构造器
+import javax.lang.model.element.Modifier; // 引入 Modifier，判断能否继承与覆盖
+import javax.lang.model.element.NestingKind; // 引入 NestingKind，排除内部类与局部类
+import javax.lang.model.element.PackageElement; // 引入 PackageElement，读取包名
+import javax.lang.model.element.TypeElement; // 引入 TypeElement，表示类型元素
+import javax.lang.model.element.TypeParameterElement; // 引入 TypeParameterElement，复制泛型方法的类型参数
+import javax.lang.model.element.VariableElement; // 引入 VariableElement，表示方法参数
+import javax.lang.model.type.ArrayType; // 引入 ArrayType，计算数组参数的简单名
+import javax.lang.model.type.DeclaredType; // 引入 DeclaredType，计算类参数的简单名
+import javax.lang.model.type.TypeKind; // 引入 TypeKind，判断返回值是否为 void
+import javax.lang.model.type.TypeMirror; // 引入 TypeMirror，表示参数与返回类型
+import javax.tools.Diagnostic; // 引入 Diagnostic，输出编译期提示
+
+import java.io.IOException; // 引入 IOException，写出源码可能抛出
+import java.io.Writer; // 引入 Writer，写出生成的源码
+import java.util.ArrayList; // 引入 ArrayList，收集计时方法与构造器
+import java.util.LinkedHashSet; // 引入 LinkedHashSet，按出现顺序收集类型
+import java.util.List; // 引入 List，作为收集结果类型
+import java.util.Set; // 引入 Set，作为类型集合类型
+
+/**
+ * 编译期计时子类生成器。
+ * <p>
+ * 为每个声明了 {@code @Timed}（类或方法）的类生成同包的 {@code Foo$$Timed extends Foo implements Instrumented}：
+ * 每个非私有构造器生成同参构造器，每个计时方法生成覆盖方法，在 {@code super} 调用前后读取 {@link System#nanoTime()}
+ * 并记录到容器绑定的 {@code MethodTimer}。容器实例化组件时按约定的类名查找子类，找到即实例化子类。
+ * <p>
+ * 无法生成子类的情况（final 类、私有类、内部类、泛型类、没有非私有构造器）以及无法覆盖的方法
+ * （private、static、final）给出编译警告并跳过；前者在运行期退回接口注入点的计时代理。
+ */
+@SupportedAnnotationTypes("com.example.ioc.annotations.Timed") // 只关心 @Timed
+public class TimedSubclassProcessor extends AbstractProcessor { // 注解处理器实现
+
+    private static final String TIMED = "com.example.ioc.annotations.Timed"; // 注解全名
+    private static final String SUFFIX = "$$Timed"; // 与容器查找子类时的约定一致
+    private static final String TIMER = "com.example.ioc.MethodTimer"; // 记录器类型
+    private static final String INSTRUMENTED = "com.example.ioc.Instrumented"; // 绑定接口
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() { // 跟随编译器支持的最新版本，避免高版本 JDK 警告
+        return SourceVersion.latestSupported(); // 返回当前编译器支持的最新源码版本
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) { // 每轮回调
+        final Set<TypeElement> types = new LinkedHashSet<>(); // 本轮需要生成子类的类型
+        for (TypeElement annotation : annotations) { // 只有 @Timed
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) { // 遍历被标注的元素
+                if (element.getKind() == ElementKind.METHOD) { // 方法级标注
+                    types.add((TypeElement) element.getEnclosingElement()); // 所属类型
+                } else if (element instanceof TypeElement) { // 类级标注
+                    types.add((TypeElement) element); // 类型本身
+                }
+            }
+        }
+        for (TypeElement type : types) { // 逐个生成
+            generate(type); // 检查并写出子类
+        }
+        return false; // 不独占注解，允许其他处理器继续处理
+    }
+
+    private void generate(TypeElement type) { // 为单个类型生成子类
+        final String problem = subclassProblem(type); // 能否继承
+        if (problem != null) { // 无法生成
+            warn(type, "@Timed: cannot generate a timed subclass for " + type.getQualifiedName() + " (" + problem
+                    + "); only interface injection points will be timed"); // 提示运行期退回代理
+            return; // 跳过
+        }
+        final List<ExecutableElement> constructors = new ArrayList<>(); // 非私有构造器
+        final List<ExecutableElement> methods = new ArrayList<>(); // 计时方法
+        final boolean all = isTimed(type); // 类级标注
+        for (Element e : type.getEnclosedElements()) { // 本类声明的成员
+            final Set<Modifier> mods = e.getModifiers(); // 修饰符
+            if (e.getKind() == ElementKind.CONSTRUCTOR) { // 构造器
+                if (!mods.contains(Modifier.PRIVATE)) { // 子类可调用
+                    constructors.add((ExecutableElement) e); // 收集
+                }
+            } else if (e.getKind() == ElementKind.METHOD && (isTimed(e) || (all && mods.contains(Modifier.PUBLIC)))) { // 计时方法
+                if (mods.contains(Modifier.PRIVATE) || mods.contains(Modifier.STATIC) || mods.contains(Modifier.FINAL)) { // 无法覆盖
+                    if (isTimed(e)) { // 只对显式标注的方法给出警告
+                        warn(e, "@Timed has no effect on private, static or final method " + e.getSimpleName()); // 提示
+                    }
+                    continue; // 跳过
+                }
+                methods.add((ExecutableElement) e); // 收集
+            }
+        }
+        if (constructors.isEmpty()) { // 没有可调用的构造器
+            warn(type, "@Timed: " + type.getQualifiedName() + " has no non-private constructor; only interface injection points will be timed"); // 提示
+            return; // 跳过
+        }
+        if (methods.isEmpty()) { // 没有可覆盖的计时方法
+            return; // 无需子类
+        }
+        write(type, constructors, methods); // 写出源码
+    }
+
+    private static String subclassProblem(TypeElement type) { // 判断能否生成子类
+        final Set<Modifier> mods = type.getModifiers(); // 修饰符
+        if (type.getKind() != ElementKind.CLASS) { // 接口、枚举、注解
+            return "not a class"; // 无法继承
+        }
+        if (mods.contains(Modifier.FINAL)) { // final 类
+            return "final class"; // 无法继承
+        }
+        if (mods.contains(Modifier.ABSTRACT)) { // 抽象类不会由容器实例化
+            return "abstract class"; // 无需子类
+        }
+        if (mods.contains(Modifier.PRIVATE)) { // 私有嵌套类
+            return "private class"; // 同包子类不可见
+        }
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL
+                && (type.getNestingKind() != NestingKind.MEMBER || !mods.contains(Modifier.STATIC))) { // 内部类、局部类、匿名类
+            return "inner class"; // 构造器隐含外部实例
+        }
+        if (!type.getTypeParameters().isEmpty()) { // 泛型类
+            return "generic class"; // 不复制类型参数
+        }
+        return null; // 可以生成
+    }
+
+    private void write(TypeElement type, List<ExecutableElement> constructors, List<ExecutableElement> methods) { // 写出子类源码
+        final String pkg = packageOf(type); // 包名
+        final String binary = processingEnv.getElementUtils().getBinaryName(type).toString(); // 二进制名（嵌套类为 Outer$Inner）
+        final String simple = binary.substring(pkg.isEmpty() ? 0 : pkg.length() + 1) + SUFFIX; // 子类的简单名
+        final StringBuilder sb = new StringBuilder(); // 源码
+        sb.append("// generated by TimedSubclassProcessor, do not edit\n"); // 文件头
+        if (!pkg.isEmpty()) { // 非默认包
+            sb.append("package ").append(pkg).append(";\n\n"); // 包声明
+        }
+        sb.append("public class ").append(simple).append(" extends ").append(type.getQualifiedName())
+                .append(" implements ").append(INSTRUMENTED).append(" {\n"); // 类声明
+        for (int i = 0; i < methods.size(); i++) { // 每个计时方法一个记录器字段
+            sb.append("    private ").append(TIMER).append(" timer$").append(i).append(";\n"); // 绑定前为 null
+        }
+        for (ExecutableElement c : constructors) { // 同参构造器
+            sb.append("\n    ").append(access(c)).append(simple).append('('); // 构造器声明
+            parameters(sb, c); // 参数列表
+            sb.append(')'); // 参数结束
+            throwsClause(sb, c); // 异常声明
+            sb.append(" {\n        super("); // 调用父类构造器
+            arguments(sb, c); // 实参
+            sb.append(");\n    }\n"); // 构造器结束
+        }
+        sb.append("\n    @Override\n    public void bindTimers(java.util.function.Function<String, ").append(TIMER)
+                .append("> timers) {\n"); // 绑定方法
+        for (int i = 0; i < methods.size(); i++) { // 按签名取得记录器
+            sb.append("        this.timer$").append(i).append(" = timers.apply(\"").append(signature(methods.get(i)))
+                    .append("\");\n"); // 赋值
+        }
+        sb.append("    }\n"); // 绑定方法结束
+        for (int i = 0; i < methods.size(); i++) { // 覆盖方法
+            override(sb, methods.get(i), "timer$" + i); // 生成覆盖方法
+        }
+        sb.append("}\n"); // 类结束
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile((pkg.isEmpty() ? "" : pkg + ".") + simple, type).openWriter()) { // 以原类型为来源元素，便于增量编译
+            writer.write(sb.toString()); // 写出源码
+        } catch (IOException e) { // 写出失败不应中断编译
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Unable to write timed subclass for " + type.getQualifiedName() + ": " + e.getMessage(), type); // 以警告形式报告
+        }
+    }
+
+    private void override(StringBuilder sb, ExecutableElement m, String timer) { // 生成单个覆盖方法
+        final boolean isVoid = m.getReturnType().getKind() == TypeKind.VOID; // 是否有返回值
+        sb.append("\n    @Override\n    ").append(access(m)); // 访问修饰符与原方法一致
+        if (!m.getTypeParameters().isEmpty()) { // 泛型方法
+            sb.append('<'); // 类型参数开始
+            for (int i = 0; i < m.getTypeParameters().size(); i++) { // 逐个复制
+                final TypeParameterElement p = m.getTypeParameters().get(i); // 类型参数
+                sb.append(i > 0 ? ", " : "").append(p.getSimpleName()); // 名称
+                final List<? extends TypeMirror> bounds = p.getBounds(); // 上界
+                if (!(bounds.size() == 1 && "java.lang.Object".equals(bounds.get(0).toString()))) { // 有显式上界
+                    for (int b = 0; b < bounds.size(); b++) { // 逐个上界
+                        sb.append(b == 0 ? " extends " : " & ").append(bounds.get(b)); // 上界
+                    }
+                }
+            }
+            sb.append("> "); // 类型参数结束
+        }
+        sb.append(m.getReturnType()).append(' ').append(m.getSimpleName()).append('('); // 返回类型与方法名
+        parameters(sb, m); // 参数列表
+        sb.append(')'); // 参数结束
+        throwsClause(sb, m); // 异常声明
+        final StringBuilder call = new StringBuilder("super.").append(m.getSimpleName()).append('('); // 父类调用
+        arguments(call, m); // 实参
+        call.append(')'); // 调用结束
+        final String ret = isVoid ? "" : "return "; // 是否返回
+        sb.append(" {\n"); // 方法体开始
+        sb.append("        final ").append(TIMER).append(" timer = this.").append(timer).append(";\n"); // 读取记录器
+        sb.append("        if (timer == null || !timer.sample()) {\n"); // 绑定之前（父类构造器中）的调用，或采样时未轮到
+        sb.append("            ").append(ret).append(call).append(";\n"); // 直接调用
+        if (isVoid) { // 无返回值时需要显式返回
+            sb.append("            return;\n"); // 结束
+        }
+        sb.append("        }\n"); // 分支结束
+        sb.append("        final long start = System.nanoTime();\n"); // 开始时间
+        sb.append("        try {\n"); // 异常同样计时
+        sb.append("            ").append(ret).append(call).append(";\n"); // 调用父类
+        sb.append("        } finally {\n"); // 记录耗时
+        sb.append("            timer.record(System.nanoTime() - start);\n"); // 记录
+        sb.append("        }\n    }\n"); // 方法结束
+    }
+
+    private static String access(ExecutableElement e) { // 访问修饰符（覆盖方法不能降低可见性）
+        final Set<Modifier> mods = e.getModifiers(); // 修饰符
+        if (mods.contains(Modifier.PUBLIC)) { // 公开
+            return "public "; // 保持公开
+        }
+        return mods.contains(Modifier.PROTECTED) ? "protected " : ""; // 受保护或包可见
+    }
+
+    private static void parameters(StringBuilder sb, ExecutableElement e) { // 形参列表
+        final List<? extends VariableElement> params = e.getParameters(); // 参数
+        for (int i = 0; i < params.size(); i++) { // 逐个输出
+            final TypeMirror t = params.get(i).asType(); // 参数类型
+            sb.append(i > 0 ? ", " : ""); // 分隔符
+            if (e.isVarArgs() && i == params.size() - 1 && t.getKind() == TypeKind.ARRAY) { // 可变参数
+                sb.append(((ArrayType) t).getComponentType()).append("..."); // 保持可变参数形式
+            } else { // 普通参数
+                sb.append(t); // 参数类型
+            }
+            sb.append(" p").append(i); // 参数名
+        }
+    }
+
+    private static void arguments(StringBuilder sb, ExecutableElement e) { // 实参列表
+        for (int i = 0; i < e.getParameters().size(); i++) { // 逐个输出
+            sb.append(i > 0 ? ", " : "").append('p').append(i); // 参数名
+        }
+    }
+
+    private static void throwsClause(StringBuilder sb, ExecutableElement e) { // 异常声明
+        final List<? extends TypeMirror> thrown = e.getThrownTypes(); // 声明的异常
+        for (int i = 0; i < thrown.size(); i++) { // 逐个输出
+            sb.append(i == 0 ? " throws " : ", ").append(thrown.get(i)); // 异常类型
+        }
+    }
+
+    private String signature(ExecutableElement m) { // 方法签名：与运行期 TimedMethods.signature 一致
+        final StringBuilder sb = new StringBuilder(m.getSimpleName()).append('('); // 方法名
+        final List<? extends VariableElement> params = m.getParameters(); // 参数
+        for (int i = 0; i < params.size(); i++) { // 逐个拼接
+            sb.append(i > 0 ? "," : "").append(simpleName(processingEnv.getTypeUtils().erasure(params.get(i).asType()))); // 擦除后的简单名
+        }
+        return sb.append(')').toString(); // 返回签名
+    }
+
+    private static String simpleName(TypeMirror t) { // 与 Class.getSimpleName 一致的简单名
+        if (t.getKind() == TypeKind.ARRAY) { // 数组
+            return simpleName(((ArrayType) t).getComponentType()) + "[]"; // 组件类型加 []
+        }
+        if (t.getKind() == TypeKind.DECLARED) { // 类或接口
+            return ((DeclaredType) t).asElement().getSimpleName().toString(); // 简单名
+        }
+        return t.toString(); // 基本类型
+    }
+
+    private static String packageOf(TypeElement type) { // 所在包名
+        Element e = type; // 从类型开始
+        while (!(e instanceof PackageElement)) { // 向外找到包
+            e = e.getEnclosingElement(); // 外层元素
+        }
+        return ((PackageElement) e).getQualifiedName().toString(); // 包名
+    }
+
+    private static boolean isTimed(Element e) { // 元素是否直接标注了 @Timed
+        for (AnnotationMirror a : e.getAnnotationMirrors()) { // 遍历注解
+            if (TIMED.contentEquals(((TypeElement) a.getAnnotationType().asElement()).getQualifiedName())) { // 找到 @Timed
+                return true; // 命中
+            }
+        }
+        return false; // 未标注
+    }
+
+    private void warn(Element e, String message) { // 输出编译警告
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, e); // 定位到元素
+    }
+}
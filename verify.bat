@@ -37,7 +37,18 @@ if errorlevel 1 (
 )
 
 REM 输出步骤提示
-echo === [Step 5] 检查仓库状态 ===
+echo === [Step 5] 并发检查：单例只创建一次、跨线程循环依赖不死锁 ===
+REM 检查程序位于基准模块（不依赖 JMH），只编译检查程序与其夹具
+set "CHECK_DIR=target\concurrency-check"
+set "CHECK_SRC=benchmarks\src\main\java\com\example\ioc\bench"
+if not exist "%CHECK_DIR%" mkdir "%CHECK_DIR%"
+javac -nowarn -encoding UTF-8 -proc:none -cp target\classes -d "%CHECK_DIR%" %CHECK_SRC%\ConcurrencyCheck.java %CHECK_SRC%\concurrent\package-info.java %CHECK_SRC%\concurrent\Counted.java %CHECK_SRC%\concurrent\CycleA.java %CHECK_SRC%\concurrent\CycleB.java %CHECK_SRC%\concurrent\CycleBarrier.java %CHECK_SRC%\concurrent\StressLeaf.java %CHECK_SRC%\concurrent\StressMiddle.java %CHECK_SRC%\concurrent\StressRoot.java || (echo ❌ 并发检查编译失败 & exit /b 1)
+REM 失败时以非零状态退出
+java -cp "target\classes;%CHECK_DIR%" com.example.ioc.bench.ConcurrencyCheck || (echo ❌ 并发检查失败 & exit /b 1)
+echo ✅ 并发检查通过
+
+REM 输出步骤提示
+echo === [Step 6] 检查仓库状态 ===
 REM 搜索是否存在构建产物
 git status --porcelain | findstr /R "target/ .*\.class" >nul
 if errorlevel 1 (
@@ -48,6 +59,6 @@ if errorlevel 1 (
 )
 
 REM 输出步骤提示
-echo === [Step 6] 自检完成 ===
+echo === [Step 7] 自检完成 ===
 REM 输出完成信息
 echo 🎉 项目通过基本验证，可提交
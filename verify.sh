@@ -23,7 +23,16 @@ else  # 输出不符合预期时的分支
   exit 1  # 退出脚本
 fi  # 条件语句结束
 
-echo "=== [Step 5] 检查仓库状态 ==="  # 输出步骤提示
+echo "=== [Step 5] 并发检查：单例只创建一次、跨线程循环依赖不死锁 ==="  # 输出步骤提示
+CHECK_DIR=target/concurrency-check  # 检查程序的编译输出目录
+CHECK_SRC=benchmarks/src/main/java/com/example/ioc/bench  # 检查程序位于基准模块（不依赖 JMH）
+mkdir -p "$CHECK_DIR"  # 确保输出目录存在
+javac -nowarn -encoding UTF-8 -proc:none -cp target/classes -d "$CHECK_DIR" \
+  "$CHECK_SRC/ConcurrencyCheck.java" "$CHECK_SRC"/concurrent/*.java || { echo "❌ 并发检查编译失败"; exit 1; }  # 只编译检查程序与其夹具
+java -cp "target/classes:$CHECK_DIR" com.example.ioc.bench.ConcurrencyCheck || { echo "❌ 并发检查失败"; exit 1; }  # 失败时以非零状态退出
+echo "✅ 并发检查通过"  # 输出成功信息
+
+echo "=== [Step 6] 检查仓库状态 ==="  # 输出步骤提示
 if git status --porcelain | grep -E 'target/|\\.class'; then  # 检查是否存在构建产物
   echo "❌ 检测到二进制或构建产物被追踪，请清理后再提交"  # 提示清理构建产物
   exit 1  # 退出脚本
@@ -31,5 +40,5 @@ else  # 未检测到构建产物时的分支
   echo "✅ 无二进制产物被追踪"  # 输出成功信息
 fi  # 条件语句结束
 
-echo "=== [Step 6] 自检完成 ==="  # 输出步骤提示
+echo "=== [Step 7] 自检完成 ==="  # 输出步骤提示
 echo "🎉 项目通过基本验证，可提交"  # 输出完成信息